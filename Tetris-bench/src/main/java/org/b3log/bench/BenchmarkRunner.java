@@ -0,0 +1,71 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark runner, the main class of {@code benchmarks.jar}.
+ * <p>
+ * Accepts the JMH command line options, for example, {@code java -jar benchmarks.jar LruMemoryCache -f 1}. Unless
+ * {@code -rf} is specified results are also written as JSON to {@value #DEFAULT_RESULT_FILE} (or {@code -rff}) for
+ * regression tracking.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Default result file.
+     */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Private constructor.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Main.
+     *
+     * @param args the specified JMH command line options
+     * @throws Exception exception
+     */
+    public static void main(final String[] args) throws Exception {
+        final List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+
+            if (!options.contains("-rff")) {
+                options.add("-rff");
+                options.add(DEFAULT_RESULT_FILE);
+            }
+        }
+
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.LatkeBeanManager;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.util.MD5;
+import org.b3log.symphony.cache.ArticleFeedCache;
+import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.TagRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.ArticleMgmtService;
+import org.b3log.symphony.service.CommentMgmtService;
+import org.b3log.symphony.service.FollowMgmtService;
+import org.b3log.symphony.service.UserMgmtService;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds users, tags, articles, comments and follows through the management services, so the data carries the same
+ * counters, revisions, tag relations and notifications as data produced by real usage.
+ * <p>
+ * Tags and authors are skewed, a few tags and users get most of the articles, comments and followers.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class DataGenerator {
+
+    /**
+     * Password of the generated users.
+     */
+    static final String PASSWORD = "load";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(DataGenerator.class);
+
+    /**
+     * Count of tags of an article, generating tags kicks in below three.
+     */
+    private static final int ARTICLE_TAG_CNT = 3;
+
+    /**
+     * Markdown paragraphs articles and comments are assembled from.
+     */
+    private static final String[] PARAGRAPHS = {
+            "Latke 是一个简单易用的 Java Web 应用开发框架，包含 MVC、IoC、事件通知、ORM、插件等组件。",
+            "在实体模型上使用 **JSON** 贯穿前后端，使用 `JSONObject` 作为实体，开发效率很高。",
+            "* 注解式、函数式路由\n* 依赖注入\n* 多种数据库 ORM",
+            "```java\npublic void index(final HTTPRequestContext context) {\n    context.renderJSON().renderTrueResult();\n}\n```",
+            "> Symphony 是一个现代化的社区平台，欢迎 :smile: 参与开发，见 https://github.com/b3log/symphony",
+            "| 模块 | 说明 |\n| --- | --- |\n| latke-core | 核心 |\n| latke-repository | 存储 |",
+            "The quick brown fox jumps over the lazy dog, then reads the [guide](https://hacpai.com/guide) again."
+    };
+
+    /**
+     * Count of users.
+     */
+    private final int userCnt;
+
+    /**
+     * Count of tags.
+     */
+    private final int tagCnt;
+
+    /**
+     * Count of articles.
+     */
+    private final int articleCnt;
+
+    /**
+     * Average count of comments of an article.
+     */
+    private final int commentCnt;
+
+    /**
+     * Count of users and tags a user follows.
+     */
+    private final int followCnt;
+
+    /**
+     * Random.
+     */
+    private final Random random = new Random(88250);
+
+    /**
+     * Generated users.
+     */
+    private final List<JSONObject> users = new ArrayList<>();
+
+    /**
+     * Generated article ids, newest first.
+     */
+    private final List<String> articleIds = new ArrayList<>();
+
+    /**
+     * Constructs a generator.
+     *
+     * @param userCnt    the specified count of users
+     * @param tagCnt     the specified count of tags
+     * @param articleCnt the specified count of articles
+     * @param commentCnt the specified average count of comments of an article
+     * @param followCnt  the specified count of users and tags a user follows
+     */
+    DataGenerator(final int userCnt, final int tagCnt, final int articleCnt, final int commentCnt,
+                  final int followCnt) {
+        this.userCnt = userCnt;
+        this.tagCnt = Math.max(ARTICLE_TAG_CNT, tagCnt);
+        this.articleCnt = articleCnt;
+        this.commentCnt = commentCnt;
+        this.followCnt = followCnt;
+    }
+
+    /**
+     * Gets the generated users.
+     *
+     * @return users, each one holds the user name and id
+     */
+    List<JSONObject> getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the generated article ids.
+     *
+     * @return article ids, newest first
+     */
+    List<String> getArticleIds() {
+        return articleIds;
+    }
+
+    /**
+     * Generates the data.
+     *
+     * @throws Exception exception
+     */
+    void generate() throws Exception {
+        final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
+        final long start = System.currentTimeMillis();
+
+        try {
+            genUsers(beanManager);
+            genArticles(beanManager);
+            genComments(beanManager);
+            genFollows(beanManager);
+
+            // Same as the servlet listener, caches loaded at startup were empty
+            beanManager.getReference(TagCache.class).loadTags();
+            beanManager.getReference(DomainCache.class).loadDomains();
+            beanManager.getReference(ArticleFeedCache.class).loadFeeds();
+        } finally {
+            JdbcRepository.dispose();
+        }
+
+        LOGGER.log(Level.INFO, "Generated data [users={0}, articles={1}] in [{2}] seconds",
+                users.size(), articleIds.size(), (System.currentTimeMillis() - start) / 1000);
+    }
+
+    /**
+     * Generates users.
+     *
+     * @param beanManager the specified bean manager
+     * @throws Exception exception
+     */
+    private void genUsers(final LatkeBeanManager beanManager) throws Exception {
+        final UserMgmtService userMgmtService = beanManager.getReference(UserMgmtService.class);
+        final UserRepository userRepository = beanManager.getReference(UserRepository.class);
+
+        for (int i = 0; i < userCnt; i++) {
+            final JSONObject user = new JSONObject();
+            user.put(User.USER_NAME, "load" + i);
+            user.put(User.USER_EMAIL, "load" + i + "@b3log.org");
+            user.put(User.USER_PASSWORD, MD5.hash(PASSWORD));
+            user.put(UserExt.USER_LANGUAGE, "en_US");
+            user.put(UserExt.USER_STATUS, UserExt.USER_STATUS_C_VALID);
+            user.put(UserExt.USER_GUIDE_STEP, UserExt.USER_GUIDE_STEP_FIN);
+            final String userId = userMgmtService.addUser(user);
+
+            users.add(userRepository.get(userId));
+        }
+
+        LOGGER.log(Level.INFO, "Generated [{0}] users", users.size());
+    }
+
+    /**
+     * Generates articles, newer articles are created later.
+     *
+     * @param beanManager the specified bean manager
+     * @throws Exception exception
+     */
+    private void genArticles(final LatkeBeanManager beanManager) throws Exception {
+        final ArticleMgmtService articleMgmtService = beanManager.getReference(ArticleMgmtService.class);
+
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < articleCnt; i++) {
+            final Set<String> tags = new LinkedHashSet<>();
+            while (tags.size() < ARTICLE_TAG_CNT) {
+                tags.add("LoadTag" + skewed(tagCnt));
+            }
+
+            final JSONObject article = new JSONObject();
+            article.put(User.USER_NAME, users.get(skewed(users.size())).optString(User.USER_NAME));
+            article.put(Common.TIME, now - TimeUnit.MINUTES.toMillis(articleCnt - i));
+            article.put(Article.ARTICLE_TITLE, "Load test article " + i);
+            article.put(Article.ARTICLE_TAGS, String.join(",", tags));
+            article.put(Article.ARTICLE_CONTENT, content(3 + random.nextInt(8)));
+            article.put(Article.ARTICLE_REWARD_CONTENT, "");
+            article.put(Article.ARTICLE_REWARD_POINT, 0);
+            articleIds.add(0, articleMgmtService.addArticleByAdmin(article));
+
+            if (0 == (i + 1) % 500) {
+                LOGGER.log(Level.INFO, "Generated [{0}] articles", i + 1);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Generated [{0}] articles", articleIds.size());
+    }
+
+    /**
+     * Generates comments, recent articles get more comments.
+     *
+     * @param beanManager the specified bean manager
+     * @throws Exception exception
+     */
+    private void genComments(final LatkeBeanManager beanManager) throws Exception {
+        final CommentMgmtService commentMgmtService = beanManager.getReference(CommentMgmtService.class);
+
+        final int total = articleCnt * commentCnt;
+        for (int i = 0; i < total; i++) {
+            final JSONObject commenter = users.get(skewed(users.size()));
+            // Seeding is not throttled by minStepCmtTime
+            commenter.put(UserExt.USER_LATEST_CMT_TIME, 0L);
+
+            final JSONObject comment = new JSONObject();
+            comment.put(Comment.COMMENT_AUTHOR_ID, commenter.optString(Keys.OBJECT_ID));
+            comment.put(Comment.COMMENT_ON_ARTICLE_ID, articleIds.get(skewed(articleIds.size())));
+            comment.put(Comment.COMMENT_CONTENT, content(1 + random.nextInt(2)));
+            comment.put(Comment.COMMENT_T_COMMENTER, commenter);
+            commentMgmtService.addComment(comment);
+
+            if (0 == (i + 1) % 1000) {
+                LOGGER.log(Level.INFO, "Generated [{0}] comments", i + 1);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Generated [{0}] comments", total);
+    }
+
+    /**
+     * Generates follows of users and tags.
+     *
+     * @param beanManager the specified bean manager
+     * @throws Exception exception
+     */
+    private void genFollows(final LatkeBeanManager beanManager) throws Exception {
+        final FollowMgmtService followMgmtService = beanManager.getReference(FollowMgmtService.class);
+        final TagRepository tagRepository = beanManager.getReference(TagRepository.class);
+
+        final List<String> tagIds = new ArrayList<>();
+        for (int i = 0; i < tagCnt; i++) {
+            final JSONObject tag = tagRepository.getByTitle("LoadTag" + i);
+            if (null != tag) {
+                tagIds.add(tag.optString(Keys.OBJECT_ID));
+            }
+        }
+
+        for (final JSONObject user : users) {
+            final String userId = user.optString(Keys.OBJECT_ID);
+
+            final Set<String> followingUserIds = new LinkedHashSet<>();
+            for (int i = 0; i < followCnt * 4 && followingUserIds.size() < followCnt; i++) {
+                final String followingUserId = users.get(skewed(users.size())).optString(Keys.OBJECT_ID);
+                if (!followingUserId.equals(userId)) {
+                    followingUserIds.add(followingUserId);
+                }
+            }
+            for (final String followingUserId : followingUserIds) {
+                followMgmtService.followUser(userId, followingUserId);
+            }
+
+            final Set<String> followingTagIds = new LinkedHashSet<>();
+            for (int i = 0; !tagIds.isEmpty() && i < followCnt * 4 && followingTagIds.size() < followCnt; i++) {
+                followingTagIds.add(tagIds.get(skewed(tagIds.size())));
+            }
+            for (final String followingTagId : followingTagIds) {
+                followMgmtService.followTag(userId, followingTagId);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Generated follows of [{0}] users", users.size());
+    }
+
+    /**
+     * Gets a random index in [0, size) skewed to the head.
+     *
+     * @param size the specified size
+     * @return index
+     */
+    private int skewed(final int size) {
+        final double r = random.nextDouble();
+
+        return (int) (size * r * r);
+    }
+
+    /**
+     * Generates markdown content of the specified count of paragraphs.
+     *
+     * @param paragraphCnt the specified count of paragraphs
+     * @return markdown content
+     */
+    private String content(final int paragraphCnt) {
+        final StringBuilder ret = new StringBuilder();
+        for (int i = 0; i < paragraphCnt; i++) {
+            ret.append(PARAGRAPHS[random.nextInt(PARAGRAPHS.length)]).append("\n\n");
+        }
+
+        return ret.toString();
+    }
+}
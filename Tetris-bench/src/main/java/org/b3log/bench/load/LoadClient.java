@@ -0,0 +1,267 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.util.StatusCodes;
+import org.json.JSONObject;
+
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.ContainerProvider;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP and WebSocket client of a virtual user, keeps the cookies of the user and records every request into
+ * {@link Metrics}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class LoadClient {
+
+    /**
+     * User-Agent, a desktop browser.
+     */
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/69.0.3497.100 Safari/537.36";
+
+    /**
+     * Timeout in milliseconds.
+     */
+    private static final int TIMEOUT = 30 * 1000;
+
+    /**
+     * WebSocket container.
+     */
+    private static final WebSocketContainer WEB_SOCKET_CONTAINER = ContainerProvider.getWebSocketContainer();
+
+    /**
+     * Serve path.
+     */
+    private final String servePath;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Cookies, &lt;name, value&gt;.
+     */
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    /**
+     * Constructs a client.
+     *
+     * @param servePath the specified serve path
+     * @param metrics   the specified metrics
+     */
+    LoadClient(final String servePath, final Metrics metrics) {
+        this.servePath = servePath;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets a page.
+     *
+     * @param endpoint the specified endpoint name
+     * @param path     the specified path, for example, /article/1500000000000
+     * @return page, returns {@code null} if failed
+     */
+    String get(final String endpoint, final String path) {
+        final long start = System.nanoTime();
+        String ret = null;
+        try {
+            ret = send(endpoint, "GET", path, null, null);
+        } catch (final IOException e) {
+            // Recorded as an error
+        }
+        metrics.request(endpoint, System.nanoTime() - start, null != ret);
+
+        return ret;
+    }
+
+    /**
+     * Posts the specified JSON request, the request succeeds if the status code of the response JSON object is
+     * {@code true} or {@link StatusCodes#SUCC}.
+     *
+     * @param endpoint    the specified endpoint name
+     * @param path        the specified path
+     * @param requestJSON the specified JSON request
+     * @param csrfToken   the specified CSRF token, {@code null} if not required
+     * @return response, returns {@code null} if failed
+     */
+    JSONObject post(final String endpoint, final String path, final JSONObject requestJSON, final String csrfToken) {
+        final long start = System.nanoTime();
+        JSONObject ret = null;
+        try {
+            final String response = send(endpoint, "POST", path, requestJSON.toString(), csrfToken);
+            if (null != response) {
+                ret = new JSONObject(response);
+                final Object statusCode = ret.opt(Keys.STATUS_CODE);
+                if (!Boolean.TRUE.equals(statusCode) && !Integer.valueOf(StatusCodes.SUCC).equals(statusCode)) {
+                    ret = null;
+                }
+            }
+        } catch (final Exception e) {
+            // Recorded as an error
+        }
+        metrics.request(endpoint, System.nanoTime() - start, null != ret);
+
+        return ret;
+    }
+
+    /**
+     * Opens a WebSocket session to the specified channel with the cookies of this client.
+     *
+     * @param endpoint the specified endpoint name
+     * @param path     the specified channel path, for example, /article-channel?articleId=1500000000000&amp;articleType=0
+     * @return session, returns {@code null} if failed
+     */
+    Session connect(final String endpoint, final String path) {
+        final String cookie = cookieHeader();
+        final ClientEndpointConfig config = ClientEndpointConfig.Builder.create()
+                .configurator(new ClientEndpointConfig.Configurator() {
+                    @Override
+                    public void beforeRequest(final Map<String, List<String>> headers) {
+                        if (!cookie.isEmpty()) {
+                            headers.put("Cookie", Collections.singletonList(cookie));
+                        }
+                    }
+                }).build();
+
+        final long start = System.nanoTime();
+        Session ret = null;
+        try {
+            ret = WEB_SOCKET_CONTAINER.connectToServer(new Endpoint() {
+                @Override
+                public void onOpen(final Session session, final EndpointConfig config) {
+                    session.addMessageHandler(String.class, message -> {
+                        // Pushed heat, comments and commands are ignored
+                    });
+                }
+            }, config, URI.create(StringUtils.replaceOnce(servePath, "http", "ws") + path));
+        } catch (final Exception e) {
+            // Recorded as an error
+        }
+        metrics.request(endpoint, System.nanoTime() - start, null != ret);
+
+        return ret;
+    }
+
+    /**
+     * Sends a request.
+     *
+     * @param endpoint  the specified endpoint name
+     * @param method    the specified method
+     * @param path      the specified path
+     * @param body      the specified body, {@code null} if none
+     * @param csrfToken the specified CSRF token, {@code null} if none
+     * @return response body, returns {@code null} if the status code is not 200
+     * @throws IOException io exception
+     */
+    private String send(final String endpoint, final String method, final String path, final String body,
+                        final String csrfToken) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection) new URL(servePath + path).openConnection();
+        conn.setRequestMethod(method);
+        conn.setInstanceFollowRedirects(false);
+        conn.setConnectTimeout(TIMEOUT);
+        conn.setReadTimeout(TIMEOUT);
+        conn.setRequestProperty("User-Agent", USER_AGENT);
+        conn.setRequestProperty(StatementCountFilter.ENDPOINT_HEADER, endpoint);
+        final String cookie = cookieHeader();
+        if (!cookie.isEmpty()) {
+            conn.setRequestProperty("Cookie", cookie);
+        }
+        if (null != csrfToken) {
+            conn.setRequestProperty(Common.CSRF_TOKEN, csrfToken);
+            conn.setRequestProperty("Referer", servePath + path);
+        }
+
+        if (null != body) {
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+            try (final OutputStream outputStream = conn.getOutputStream()) {
+                outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        final int status = conn.getResponseCode();
+        final List<String> setCookies = conn.getHeaderFields().get("Set-Cookie");
+        if (null != setCookies) {
+            synchronized (cookies) {
+                for (final String setCookie : setCookies) {
+                    final String pair = StringUtils.substringBefore(setCookie, ";");
+                    final String name = StringUtils.substringBefore(pair, "=").trim();
+                    final String value = StringUtils.substringAfter(pair, "=").trim();
+                    if (value.isEmpty() || StringUtils.containsIgnoreCase(setCookie, "Max-Age=0")) {
+                        cookies.remove(name);
+                    } else {
+                        cookies.put(name, value);
+                    }
+                }
+            }
+        }
+
+        final InputStream inputStream = HttpURLConnection.HTTP_OK == status
+                ? conn.getInputStream() : conn.getErrorStream();
+        final String ret = null == inputStream ? null : IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        if (null != inputStream) {
+            inputStream.close();
+        }
+
+        return HttpURLConnection.HTTP_OK == status ? ret : null;
+    }
+
+    /**
+     * Gets the Cookie header value.
+     *
+     * @return Cookie header value, returns {@code ""} if no cookies
+     */
+    private String cookieHeader() {
+        synchronized (cookies) {
+            final StringBuilder ret = new StringBuilder();
+            for (final Map.Entry<String, String> cookie : cookies.entrySet()) {
+                if (0 < ret.length()) {
+                    ret.append("; ");
+                }
+                ret.append(cookie.getKey()).append('=').append(cookie.getValue());
+            }
+
+            return ret.toString();
+        }
+    }
+}
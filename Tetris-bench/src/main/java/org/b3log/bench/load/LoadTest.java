@@ -0,0 +1,155 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end load test, starts Symphony on embedded Jetty with an in-memory H2 database, seeds data and drives
+ * virtual users against it, then reports latency percentiles, throughput and SQL statements per request of each
+ * endpoint, and the connection pool occupancy.
+ * <p>
+ * Runs with {@code mvn -pl Tetris-bench -Pload package} (Latke and Symphony installed), options are system
+ * properties:
+ * <ul>
+ * <li>load.port, default 8090</li>
+ * <li>load.webapp, Symphony web application directory, default ../Tetris-sym/src/main/webapp</li>
+ * <li>load.users / load.tags / load.articles, default 200 / 50 / 1000</li>
+ * <li>load.comments, average comments per article, default 5</li>
+ * <li>load.follows, users and tags each user follows, default 10</li>
+ * <li>load.vus, virtual users, default 32</li>
+ * <li>load.loggedIn, percentage of logged in virtual users, default 50</li>
+ * <li>load.think, maximum think time in milliseconds, default 0</li>
+ * <li>load.warmup / load.duration, seconds, default 30 / 120</li>
+ * <li>load.maxConnCnt, database connections, default 32</li>
+ * <li>load.result, JSON result file, default {@value #DEFAULT_RESULT_FILE}</li>
+ * </ul>
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class LoadTest {
+
+    /**
+     * Default result file.
+     */
+    public static final String DEFAULT_RESULT_FILE = "load-result.json";
+
+    /**
+     * Connection pool sample interval in milliseconds.
+     */
+    private static final long POOL_SAMPLE_INTERVAL = 50;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LoadTest.class);
+
+    /**
+     * Private constructor.
+     */
+    private LoadTest() {
+    }
+
+    /**
+     * Main.
+     *
+     * @param args ignored, options are system properties
+     * @throws Exception exception
+     */
+    public static void main(final String[] args) throws Exception {
+        final int vuCnt = Integer.getInteger("load.vus", 32);
+        final int loggedInPercent = Integer.getInteger("load.loggedIn", 50);
+        final long thinkMillis = Long.getLong("load.think", 0L);
+        final int warmup = Integer.getInteger("load.warmup", 30);
+        final int duration = Integer.getInteger("load.duration", 120);
+
+        final Metrics metrics = new Metrics();
+        final SymphonyServer server = new SymphonyServer(Integer.getInteger("load.port", 8090),
+                System.getProperty("load.webapp", "../Tetris-sym/src/main/webapp"),
+                Integer.getInteger("load.maxConnCnt", 32), metrics);
+        server.start();
+
+        try {
+            final DataGenerator dataGenerator = new DataGenerator(Integer.getInteger("load.users", 200),
+                    Integer.getInteger("load.tags", 50), Integer.getInteger("load.articles", 1000),
+                    Integer.getInteger("load.comments", 5), Integer.getInteger("load.follows", 10));
+            dataGenerator.generate();
+
+            final List<JSONObject> users = dataGenerator.getUsers();
+            final List<String> articleIds = dataGenerator.getArticleIds();
+            final long minStepCmtTime = Symphonys.getLong("minStepCmtTime");
+
+            final ScheduledExecutorService poolSampler = Executors.newSingleThreadScheduledExecutor();
+            poolSampler.scheduleAtFixedRate(() -> metrics.pool(Connections.getActiveConnectionCount()),
+                    POOL_SAMPLE_INTERVAL, POOL_SAMPLE_INTERVAL, TimeUnit.MILLISECONDS);
+
+            final AtomicBoolean running = new AtomicBoolean(true);
+            final ExecutorService vus = Executors.newFixedThreadPool(vuCnt);
+            for (int i = 0; i < vuCnt; i++) {
+                final JSONObject user = i * 100 < loggedInPercent * vuCnt ? users.get(i % users.size()) : null;
+                vus.submit(new VirtualUser(new LoadClient(server.getServePath(), metrics), user, articleIds,
+                        thinkMillis, minStepCmtTime, running, i));
+            }
+
+            LOGGER.log(Level.INFO, "Started [{0}] virtual users, warming up [{1}] seconds", vuCnt, warmup);
+            TimeUnit.SECONDS.sleep(warmup);
+            metrics.reset();
+
+            LOGGER.log(Level.INFO, "Measuring [{0}] seconds", duration);
+            TimeUnit.SECONDS.sleep(duration);
+            final JSONObject result = metrics.toJSON();
+            metrics.print(System.out);
+            poolSampler.shutdownNow();
+
+            running.set(false);
+            vus.shutdown();
+            vus.awaitTermination(1, TimeUnit.MINUTES);
+
+            final File resultFile = new File(System.getProperty("load.result", DEFAULT_RESULT_FILE));
+            result.put("vus", vuCnt).put("loggedInPercent", loggedInPercent).put("thinkMillis", thinkMillis)
+                    .put("maxConnCnt", Connections.getMaxConnectionCount());
+            Files.write(resultFile.toPath(), result.toString(2).getBytes(StandardCharsets.UTF_8));
+            LOGGER.log(Level.INFO, "Wrote result to [{0}]", resultFile.getAbsolutePath());
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Load test failed", e);
+            server.stop();
+
+            System.exit(1);
+        }
+
+        server.stop();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test metrics, latencies, errors and statement counts per endpoint, and connection pool occupancy.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class Metrics {
+
+    /**
+     * Reported percentiles.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    /**
+     * Endpoints, &lt;endpoint name, endpoint&gt;.
+     */
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    /**
+     * Connection pool occupancy samples, {count, sum of leased connections, peak leased connections}.
+     */
+    private final long[] pool = new long[3];
+
+    /**
+     * Start time of this round in milliseconds.
+     */
+    private volatile long startTime = System.currentTimeMillis();
+
+    /**
+     * Clears the recorded samples and starts a new round, for example, after warmup.
+     */
+    void reset() {
+        endpoints.clear();
+        synchronized (pool) {
+            Arrays.fill(pool, 0);
+        }
+        startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records a request of the specified endpoint.
+     *
+     * @param endpoint the specified endpoint
+     * @param nanos    the specified latency in nanoseconds
+     * @param success  whether the request succeeded
+     */
+    void request(final String endpoint, final long nanos, final boolean success) {
+        endpoint(endpoint).request(nanos, success);
+    }
+
+    /**
+     * Records the statement count of a request of the specified endpoint.
+     *
+     * @param endpoint the specified endpoint
+     * @param count    the specified statement count
+     */
+    void statements(final String endpoint, final long count) {
+        endpoint(endpoint).statements(count);
+    }
+
+    /**
+     * Records a connection pool occupancy sample.
+     *
+     * @param leased the specified count of leased connections
+     */
+    void pool(final int leased) {
+        synchronized (pool) {
+            pool[0]++;
+            pool[1] += leased;
+            pool[2] = Math.max(pool[2], leased);
+        }
+    }
+
+    /**
+     * Prints a report of this round to the specified output.
+     *
+     * @param out the specified output
+     */
+    void print(final PrintStream out) {
+        final double seconds = elapsedSeconds();
+
+        out.println();
+        out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms", "Stmts/req");
+        for (final Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            final Endpoint endpoint = entry.getValue();
+            synchronized (endpoint) {
+                out.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %10s%n",
+                        entry.getKey(), endpoint.size, endpoint.errors, endpoint.size / seconds,
+                        millis(endpoint.percentile(PERCENTILES[0])), millis(endpoint.percentile(PERCENTILES[1])),
+                        millis(endpoint.percentile(PERCENTILES[2])), millis(endpoint.percentile(100)),
+                        0 == endpoint.statementSamples ? "-"
+                                : String.format("%.1f", (double) endpoint.statements / endpoint.statementSamples));
+            }
+        }
+        synchronized (pool) {
+            out.printf("%nConnection pool: avg leased %.1f, peak leased %d%n", averageLeased(), pool[2]);
+        }
+        out.println();
+    }
+
+    /**
+     * Gets a JSON report of this round.
+     *
+     * @return report, for example,
+     * <pre>
+     * {
+     *     "seconds": double,
+     *     "endpoints": [{
+     *         "name": "GET /", "requests": long, "errors": long, "throughput": double,
+     *         "p50": double, "p90": double, "p99": double, "max": double, // milliseconds
+     *         "statementsPerRequest": double // -1 if not measured
+     *     }, ....],
+     *     "pool": {"averageLeased": double, "peakLeased": long}
+     * }
+     * </pre>
+     */
+    JSONObject toJSON() {
+        final double seconds = elapsedSeconds();
+        final JSONArray endpointArray = new JSONArray();
+        for (final Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            final Endpoint endpoint = entry.getValue();
+            synchronized (endpoint) {
+                endpointArray.put(new JSONObject()
+                        .put("name", entry.getKey())
+                        .put("requests", endpoint.size)
+                        .put("errors", endpoint.errors)
+                        .put("throughput", endpoint.size / seconds)
+                        .put("p50", millis(endpoint.percentile(PERCENTILES[0])))
+                        .put("p90", millis(endpoint.percentile(PERCENTILES[1])))
+                        .put("p99", millis(endpoint.percentile(PERCENTILES[2])))
+                        .put("max", millis(endpoint.percentile(100)))
+                        .put("statementsPerRequest", 0 == endpoint.statementSamples ? -1
+                                : (double) endpoint.statements / endpoint.statementSamples));
+            }
+        }
+
+        final JSONObject poolJSON = new JSONObject();
+        synchronized (pool) {
+            poolJSON.put("averageLeased", averageLeased()).put("peakLeased", pool[2]);
+        }
+
+        return new JSONObject().put("seconds", seconds).put("endpoints", endpointArray).put("pool", poolJSON);
+    }
+
+    /**
+     * Gets the elapsed seconds of this round.
+     *
+     * @return elapsed seconds
+     */
+    private double elapsedSeconds() {
+        return Math.max(1, System.currentTimeMillis() - startTime) / 1000D;
+    }
+
+    /**
+     * Gets the average count of leased connections, callers must hold the lock of {@link #pool}.
+     *
+     * @return average count of leased connections
+     */
+    private double averageLeased() {
+        return 0 == pool[0] ? 0 : (double) pool[1] / pool[0];
+    }
+
+    /**
+     * Gets or creates the endpoint of the specified name.
+     *
+     * @param name the specified name
+     * @return endpoint
+     */
+    private Endpoint endpoint(final String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    /**
+     * Converts the specified nanoseconds to milliseconds.
+     *
+     * @param nanos the specified nanoseconds
+     * @return milliseconds
+     */
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Samples of an endpoint.
+     */
+    private static final class Endpoint {
+
+        /**
+         * Latencies in nanoseconds, the first {@link #size} elements are valid.
+         */
+        private long[] latencies = new long[1024];
+
+        /**
+         * Count of requests.
+         */
+        private int size;
+
+        /**
+         * Count of failed requests.
+         */
+        private long errors;
+
+        /**
+         * Sum of statement counts.
+         */
+        private long statements;
+
+        /**
+         * Count of requests with statement count.
+         */
+        private long statementSamples;
+
+        /**
+         * Whether {@link #latencies} is sorted.
+         */
+        private boolean sorted;
+
+        /**
+         * Records a request.
+         *
+         * @param nanos   the specified latency in nanoseconds
+         * @param success whether the request succeeded
+         */
+        synchronized void request(final long nanos, final boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            sorted = false;
+
+            if (!success) {
+                errors++;
+            }
+        }
+
+        /**
+         * Records a statement count.
+         *
+         * @param count the specified statement count
+         */
+        synchronized void statements(final long count) {
+            statements += count;
+            statementSamples++;
+        }
+
+        /**
+         * Gets the latency at the specified percentile (nearest rank), callers must hold the lock.
+         *
+         * @param percentile the specified percentile, (0, 100]
+         * @return latency in nanoseconds, returns {@code 0} if no samples
+         */
+        long percentile(final double percentile) {
+            if (0 == size) {
+                return 0;
+            }
+
+            if (!sorted) {
+                Arrays.sort(latencies, 0, size);
+                sorted = true;
+            }
+
+            final int rank = (int) Math.ceil(percentile / 100 * size);
+
+            return latencies[Math.max(0, rank - 1)];
+        }
+    }
+}
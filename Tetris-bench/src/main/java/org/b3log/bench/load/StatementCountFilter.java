@@ -0,0 +1,84 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.b3log.latke.repository.jdbc.util.JdbcUtil;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * Records the count of SQL statements executed by each request into {@link Metrics}.
+ * <p>
+ * Requests are attributed to the endpoint named by the {@value #ENDPOINT_HEADER} header the load client sends, work
+ * handed off to other threads (asynchronous events for example) is not counted.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class StatementCountFilter implements Filter {
+
+    /**
+     * Endpoint header.
+     */
+    static final String ENDPOINT_HEADER = "X-Load-Endpoint";
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Constructs a filter with the specified metrics.
+     *
+     * @param metrics the specified metrics
+     */
+    StatementCountFilter(final Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        JdbcUtil.resetStatementCount();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            final String endpoint = ((HttpServletRequest) request).getHeader(ENDPOINT_HEADER);
+            if (null != endpoint) {
+                metrics.statements(endpoint, JdbcUtil.getStatementCount());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
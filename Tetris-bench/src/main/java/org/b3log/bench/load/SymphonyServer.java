@@ -0,0 +1,145 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.b3log.latke.Latkes;
+import org.b3log.symphony.processor.channel.ArticleChannel;
+import org.b3log.symphony.processor.channel.ArticleListChannel;
+import org.b3log.symphony.processor.channel.UserChannel;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.webapp.WebAppContext;
+import org.eclipse.jetty.websocket.jsr356.server.deploy.WebSocketServerContainerInitializer;
+
+import javax.servlet.DispatcherType;
+import javax.websocket.server.ServerContainer;
+import java.util.EnumSet;
+
+/**
+ * Symphony on embedded Jetty with an in-memory H2 database.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class SymphonyServer {
+
+    /**
+     * Port.
+     */
+    private final int port;
+
+    /**
+     * Web application directory.
+     */
+    private final String webappDir;
+
+    /**
+     * Maximum count of database connections.
+     */
+    private final int maxConnCnt;
+
+    /**
+     * Metrics statement counts are recorded into.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Jetty.
+     */
+    private Server server;
+
+    /**
+     * Constructs a server.
+     *
+     * @param port       the specified port
+     * @param webappDir  the specified web application directory, for example, ../Tetris-sym/src/main/webapp
+     * @param maxConnCnt the specified maximum count of database connections
+     * @param metrics    the specified metrics
+     */
+    SymphonyServer(final int port, final String webappDir, final int maxConnCnt, final Metrics metrics) {
+        this.port = port;
+        this.webappDir = webappDir;
+        this.maxConnCnt = maxConnCnt;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the serve path.
+     *
+     * @return serve path, for example, http://localhost:8090
+     */
+    String getServePath() {
+        return Latkes.getServePath();
+    }
+
+    /**
+     * Starts the server, returns after Symphony initialized.
+     *
+     * @throws Exception exception
+     */
+    void start() throws Exception {
+        // Must happen before Latke reads local.properties
+        Latkes.setLocalProperty("runtimeDatabase", Latkes.RuntimeDatabase.H2.name());
+        Latkes.setLocalProperty("jdbc.driver", "org.h2.Driver");
+        Latkes.setLocalProperty("jdbc.URL", "jdbc:h2:mem:symphony;DB_CLOSE_DELAY=-1");
+        Latkes.setLocalProperty("jdbc.username", "sa");
+        Latkes.setLocalProperty("jdbc.password", "");
+        Latkes.setLocalProperty("jdbc.pool", "h2");
+        Latkes.setLocalProperty("jdbc.maxConnCnt", String.valueOf(maxConnCnt));
+
+        final String portStr = String.valueOf(port);
+        Latkes.setServerScheme("http");
+        Latkes.setServerHost("localhost");
+        Latkes.setServerPort(portStr);
+        Latkes.setStaticServerScheme("http");
+        Latkes.setStaticServerHost("localhost");
+        Latkes.setStaticServerPort(portStr);
+
+        final WebAppContext webapp = new WebAppContext();
+        webapp.setContextPath("/");
+        webapp.setResourceBase(webappDir);
+        webapp.setClassLoader(Thread.currentThread().getContextClassLoader());
+        webapp.addFilter(new FilterHolder(new StatementCountFilter(metrics)), "/*",
+                EnumSet.of(DispatcherType.REQUEST));
+
+        server = new Server(port);
+        server.setHandler(webapp);
+
+        final ServerContainer serverContainer = WebSocketServerContainerInitializer.configureContext(webapp);
+        serverContainer.addEndpoint(ArticleChannel.class);
+        serverContainer.addEndpoint(ArticleListChannel.class);
+        serverContainer.addEndpoint(UserChannel.class);
+
+        server.start();
+        if (!webapp.isAvailable()) {
+            throw new IllegalStateException("Symphony is not available", webapp.getUnavailableException());
+        }
+    }
+
+    /**
+     * Stops the server.
+     *
+     * @throws Exception exception
+     */
+    void stop() throws Exception {
+        if (null != server) {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.bench.load;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.model.User;
+import org.b3log.latke.util.MD5;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+
+import javax.websocket.Session;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A virtual user browsing Symphony until stopped.
+ * <p>
+ * Each step picks a scenario by weight:
+ * <ul>
+ * <li>25% index</li>
+ * <li>15% recent articles</li>
+ * <li>40% article view, the article channel is open while reading</li>
+ * <li>10% article view then comment (logged in users only, at most once per minStepCmtTime)</li>
+ * <li>10% commented notifications (logged in users only)</li>
+ * </ul>
+ * Logged in users keep the user channel open. Anonymous users view an article instead of the logged in only
+ * scenarios. Articles are picked skewed to the newest ones.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class VirtualUser implements Runnable {
+
+    /**
+     * Client.
+     */
+    private final LoadClient client;
+
+    /**
+     * User, {@code null} for anonymous.
+     */
+    private final JSONObject user;
+
+    /**
+     * Article ids, newest first.
+     */
+    private final List<String> articleIds;
+
+    /**
+     * Maximum think time between steps in milliseconds.
+     */
+    private final long thinkMillis;
+
+    /**
+     * Minimum interval between two comments of a user in milliseconds.
+     */
+    private final long minStepCmtTime;
+
+    /**
+     * Running flag.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Random.
+     */
+    private final Random random;
+
+    /**
+     * Time of the latest comment.
+     */
+    private long latestCmtTime;
+
+    /**
+     * Constructs a virtual user.
+     *
+     * @param client         the specified client
+     * @param user           the specified user, {@code null} for anonymous
+     * @param articleIds     the specified article ids, newest first
+     * @param thinkMillis    the specified maximum think time in milliseconds
+     * @param minStepCmtTime the specified minimum interval between two comments in milliseconds
+     * @param running        the specified running flag
+     * @param seed           the specified random seed
+     */
+    VirtualUser(final LoadClient client, final JSONObject user, final List<String> articleIds,
+                final long thinkMillis, final long minStepCmtTime, final AtomicBoolean running, final long seed) {
+        this.client = client;
+        this.user = user;
+        this.articleIds = articleIds;
+        this.thinkMillis = thinkMillis;
+        this.minStepCmtTime = minStepCmtTime;
+        this.running = running;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        final boolean loggedIn = null != user && login();
+        final Session userChannel = loggedIn ? client.connect("WS /user-channel", "/user-channel") : null;
+
+        try {
+            while (running.get()) {
+                final int scenario = random.nextInt(100);
+                if (scenario < 25) {
+                    client.get("GET /", "/");
+                } else if (scenario < 40) {
+                    client.get("GET /recent", "/recent?p=" + (1 + random.nextInt(5)));
+                } else if (scenario < 80 || !loggedIn) {
+                    viewArticle(pickArticleId());
+                } else if (scenario < 90) {
+                    comment();
+                } else {
+                    client.get("GET /notifications/commented", "/notifications/commented");
+                }
+
+                think();
+            }
+        } finally {
+            close(userChannel);
+        }
+    }
+
+    /**
+     * Logs in.
+     *
+     * @return {@code true} if logged in, returns {@code false} otherwise
+     */
+    private boolean login() {
+        final JSONObject requestJSON = new JSONObject();
+        requestJSON.put("nameOrEmail", user.optString(User.USER_NAME));
+        requestJSON.put(User.USER_PASSWORD, MD5.hash(DataGenerator.PASSWORD));
+        requestJSON.put("rememberLogin", true);
+
+        return null != client.post("POST /login", "/login", requestJSON, null);
+    }
+
+    /**
+     * Views an article then comments on it unless the latest comment is too recent.
+     */
+    private void comment() {
+        final String articleId = pickArticleId();
+        final String page = viewArticle(articleId);
+        if (System.currentTimeMillis() - latestCmtTime < minStepCmtTime) {
+            return;
+        }
+
+        final String csrfToken = StringUtils.substringBetween(page, "Label.csrfToken = \"", "\"");
+        if (StringUtils.isBlank(csrfToken)) {
+            return;
+        }
+
+        final JSONObject requestJSON = new JSONObject();
+        requestJSON.put(Article.ARTICLE_T_ID, articleId);
+        requestJSON.put(Comment.COMMENT_CONTENT, "Load test comment " + random.nextInt() + "，谢谢分享 :smile:");
+        requestJSON.put(Comment.COMMENT_ANONYMOUS, false);
+        requestJSON.put(UserExt.USER_COMMENT_VIEW_MODE, UserExt.USER_COMMENT_VIEW_MODE_C_TRADITIONAL);
+        client.post("POST /comment", "/comment", requestJSON, csrfToken);
+        latestCmtTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Views the specified article, keeps the article channel open while reading.
+     *
+     * @param articleId the specified article id
+     * @return article page, returns {@code null} if failed
+     */
+    private String viewArticle(final String articleId) {
+        final String ret = client.get("GET /article/{id}", "/article/" + articleId);
+        if (null != ret) {
+            final Session articleChannel = client.connect("WS /article-channel",
+                    "/article-channel?articleId=" + articleId + "&articleType=" + Article.ARTICLE_TYPE_C_NORMAL);
+            think();
+            close(articleChannel);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Picks an article id, skewed to the newest ones.
+     *
+     * @return article id
+     */
+    private String pickArticleId() {
+        final double r = random.nextDouble();
+
+        return articleIds.get((int) (articleIds.size() * r * r * r));
+    }
+
+    /**
+     * Sleeps a random think time.
+     */
+    private void think() {
+        if (0 >= thinkMillis) {
+            return;
+        }
+
+        try {
+            Thread.sleep((long) (random.nextDouble() * thinkMillis));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the specified WebSocket session quietly.
+     *
+     * @param session the specified session, may be {@code null}
+     */
+    private static void close(final Session session) {
+        if (null == session) {
+            return;
+        }
+
+        try {
+            session.close();
+        } catch (final Exception e) {
+            // Ignored
+        }
+    }
+}
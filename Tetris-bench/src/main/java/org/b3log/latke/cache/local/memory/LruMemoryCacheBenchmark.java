@@ -0,0 +1,140 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.latke.cache.local.memory;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LruMemoryCache} under contention, a read heavy and a write heavy mix of threads sharing one cache which
+ * holds half of the key space.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LruMemoryCacheBenchmark {
+
+    /**
+     * Maximum cached count.
+     */
+    private static final int MAX_CNT = 1024;
+
+    /**
+     * Key space.
+     */
+    private static final int KEY_CNT = MAX_CNT * 2;
+
+    /**
+     * Keys.
+     */
+    private final String[] keys = new String[KEY_CNT];
+
+    /**
+     * Values.
+     */
+    private final JSONObject[] values = new JSONObject[KEY_CNT];
+
+    /**
+     * Cache.
+     */
+    private LruMemoryCache cache;
+
+    /**
+     * Fills the cache.
+     */
+    @Setup
+    public void setup() {
+        cache = new LruMemoryCache();
+        cache.setMaxCount(MAX_CNT);
+
+        for (int i = 0; i < KEY_CNT; i++) {
+            keys[i] = String.valueOf(1500000000000L + i);
+            values[i] = new JSONObject().put("oId", keys[i]).put("articleTitle", "Title " + i);
+        }
+        for (int i = 0; i < MAX_CNT; i++) {
+            cache.put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Reader of the read heavy mix.
+     *
+     * @return value
+     */
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public JSONObject readHeavyGet() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(KEY_CNT)]);
+    }
+
+    /**
+     * Writer of the read heavy mix.
+     */
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void readHeavyPut() {
+        final int i = ThreadLocalRandom.current().nextInt(KEY_CNT);
+        cache.put(keys[i], values[i]);
+    }
+
+    /**
+     * Reader of the write heavy mix.
+     *
+     * @return value
+     */
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public JSONObject writeHeavyGet() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(KEY_CNT)]);
+    }
+
+    /**
+     * Writer of the write heavy mix.
+     */
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public void writeHeavyPut() {
+        final int i = ThreadLocalRandom.current().nextInt(KEY_CNT);
+        cache.put(keys[i], values[i]);
+    }
+}
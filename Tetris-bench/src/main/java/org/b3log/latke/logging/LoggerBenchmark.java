@@ -0,0 +1,106 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.latke.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Logger} benchmark of a disabled TRACE statement: eager concatenation, level gated, supplier and pattern.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggerBenchmark {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LoggerBenchmark.class);
+
+    /**
+     * Request URI.
+     */
+    private String uri = "/article/1353745196354";
+
+    /**
+     * Count.
+     */
+    private int cnt = 42;
+
+    /**
+     * Ensures TRACE is disabled.
+     */
+    @Setup
+    public void setup() {
+        if (LOGGER.isTraceEnabled()) {
+            throw new IllegalStateException("TRACE must be disabled for this benchmark");
+        }
+    }
+
+    /**
+     * Concatenates the message before the level check.
+     */
+    @Benchmark
+    public void eager() {
+        LOGGER.log(Level.TRACE, "Matched [uri=" + uri + ", cnt=" + cnt + "]");
+    }
+
+    /**
+     * Checks the level before concatenating.
+     */
+    @Benchmark
+    public void gated() {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.log(Level.TRACE, "Matched [uri=" + uri + ", cnt=" + cnt + "]");
+        }
+    }
+
+    /**
+     * Builds the message in a supplier.
+     */
+    @Benchmark
+    public void supplier() {
+        LOGGER.log(Level.TRACE, () -> "Matched [uri=" + uri + ", cnt=" + cnt + "]");
+    }
+
+    /**
+     * Formats a pattern with arguments.
+     */
+    @Benchmark
+    public void pattern() {
+        LOGGER.log(Level.TRACE, "Matched [uri={0}, cnt={1}]", uri, cnt);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.latke.repository.jdbc.util;
+
+import org.b3log.latke.Latkes;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JdbcUtil#queryJsonArray(String, List, Connection, String)} benchmark on an in-memory H2 database, measures
+ * the result set to JSON conversion of article-like rows, and the per-query overhead of a by-id lookup with and
+ * without the prepared statement cache.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JdbcUtilBenchmark {
+
+    /**
+     * Table name.
+     */
+    private static final String TABLE = "bench_article";
+
+    /**
+     * Columns, {name, repository type, SQL type}.
+     */
+    private static final String[][] COLUMNS = {
+            {"oId", "String", "VARCHAR(19)"},
+            {"articleTitle", "String", "VARCHAR(255)"},
+            {"articleContent", "String", "VARCHAR(4000)"},
+            {"articleAuthorId", "String", "VARCHAR(19)"},
+            {"articleTags", "String", "VARCHAR(255)"},
+            {"articleCommentCount", "int", "INT"},
+            {"articleViewCount", "int", "INT"},
+            {"articleCreateTime", "long", "BIGINT"},
+            {"articleUpdateTime", "long", "BIGINT"},
+            {"articleRandomDouble", "double", "DOUBLE"},
+            {"articleCommentable", "boolean", "BOOLEAN"}
+    };
+
+    /**
+     * Count of rows per query.
+     */
+    @Param({"20", "200"})
+    public int rows;
+
+    /**
+     * Size of the prepared statement cache, 0 disables it.
+     */
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    /**
+     * Connection.
+     */
+    private Connection connection;
+
+    /**
+     * Query SQL.
+     */
+    private String sql;
+
+    /**
+     * By-id query SQL.
+     */
+    private String getSql;
+
+    /**
+     * Creates and fills the table, registers its definitions.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        // Read once when JdbcUtil is initialized, each parameter combination runs in its own fork
+        Latkes.setLocalProperty("jdbc.statementCacheSize", String.valueOf(statementCacheSize));
+
+        // Column names are matched upper-cased on H2 runtime, exactly (quoted) otherwise
+        final boolean upper = Latkes.RuntimeDatabase.H2 == Latkes.getRuntimeDatabase();
+
+        final Map<String, List<FieldDefinition>> repositories = new HashMap<>();
+        final List<FieldDefinition> definitions = new ArrayList<>();
+        final StringBuilder ddl = new StringBuilder("CREATE TABLE " + TABLE + " (");
+        final StringBuilder insert = new StringBuilder("INSERT INTO " + TABLE + " VALUES (");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            final FieldDefinition definition = new FieldDefinition();
+            definition.setName(COLUMNS[i][0]);
+            definition.setType(COLUMNS[i][1]);
+            definition.setIsKey(0 == i);
+            definitions.add(definition);
+
+            ddl.append(0 == i ? "" : ", ").append(column(COLUMNS[i][0], upper)).append(' ').append(COLUMNS[i][2])
+                    .append(0 == i ? " PRIMARY KEY" : "");
+            insert.append(0 == i ? "?" : ", ?");
+        }
+        repositories.put(TABLE, definitions);
+        JdbcRepositories.setRepositoriesMap(repositories);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        JdbcUtil.executeSql("DROP TABLE IF EXISTS " + TABLE, connection);
+        JdbcUtil.executeSql(ddl.append(')').toString(), connection);
+
+        final String content = String.join("", Collections.nCopies(20, "Latke 是一个 Java Web 框架，"));
+        try (final PreparedStatement statement = connection.prepareStatement(insert.append(')').toString())) {
+            for (int i = 0; i < rows; i++) {
+                final long id = 1500000000000L + i;
+                statement.setString(1, String.valueOf(id));
+                statement.setString(2, "Benchmark article " + i);
+                statement.setString(3, content);
+                statement.setString(4, "1499999999999");
+                statement.setString(5, "Java,Latke,Benchmark");
+                statement.setInt(6, i % 50);
+                statement.setInt(7, i * 7);
+                statement.setLong(8, id);
+                statement.setLong(9, id + 1000);
+                statement.setDouble(10, Math.random());
+                statement.setBoolean(11, 0 == i % 2);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        sql = "SELECT * FROM " + TABLE + " ORDER BY " + column("oId", upper);
+        getSql = "SELECT * FROM " + TABLE + " WHERE " + column("oId", upper) + " = ?";
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws Exception exception
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    /**
+     * Queries all rows into a JSON array.
+     *
+     * @return rows
+     * @throws Exception exception
+     */
+    @Benchmark
+    public JSONArray queryJsonArray() throws Exception {
+        return JdbcUtil.queryJsonArray(sql, Collections.emptyList(), connection, TABLE);
+    }
+
+    /**
+     * Gets a row by id.
+     *
+     * @return row
+     * @throws Exception exception
+     */
+    @Benchmark
+    public JSONObject getById() throws Exception {
+        final String id = String.valueOf(1500000000000L + ThreadLocalRandom.current().nextInt(rows));
+
+        return JdbcUtil.queryJsonObject(getSql, Collections.singletonList(id), connection, TABLE);
+    }
+
+    /**
+     * Gets the column name in SQL.
+     *
+     * @param name  the specified column name
+     * @param upper whether uses upper-cased column names
+     * @return column name in SQL
+     */
+    private static String column(final String name, final boolean upper) {
+        return upper ? name : '"' + name + '"';
+    }
+}
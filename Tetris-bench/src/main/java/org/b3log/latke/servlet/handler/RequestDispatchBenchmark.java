@@ -0,0 +1,94 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.latke.servlet.handler;
+
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.config.Discoverer;
+import org.b3log.latke.servlet.annotation.RequestProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestDispatchHandler#doMatch(String, String)} benchmark over the routes of the Symphony processors.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestDispatchBenchmark {
+
+    /**
+     * Request URI, static and variable routes early and late in the route list, and a miss.
+     */
+    @Param({"/", "/recent", "/notifications/commented", "/member/88250/points", "/article/1353745196354",
+            "/not/found"})
+    public String uri;
+
+    /**
+     * Handler.
+     */
+    private RequestDispatchHandler handler;
+
+    /**
+     * Collects the routes.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        Latkes.setContextPath("");
+
+        final List<Class<?>> processorClasses = new ArrayList<>();
+        for (final Class<?> clazz : Discoverer.discover("org.b3log.symphony.processor")) {
+            if (clazz.isAnnotationPresent(RequestProcessor.class)) {
+                processorClasses.add(clazz);
+            }
+        }
+
+        handler = new RequestDispatchHandler(processorClasses);
+    }
+
+    /**
+     * Matches a GET request.
+     *
+     * @return match result
+     */
+    @Benchmark
+    public MatchResult doMatch() {
+        return handler.doMatch(uri, "GET");
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.latke.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JSONObject} serialize/parse and {@link BinaryJSON} encode/decode benchmark on a comment list response.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JSONBenchmark {
+
+    /**
+     * Count of comments.
+     */
+    @Param({"20", "200"})
+    public int comments;
+
+    /**
+     * Response.
+     */
+    private JSONObject response;
+
+    /**
+     * Response as JSON text.
+     */
+    private String text;
+
+    /**
+     * Response as binary.
+     */
+    private byte[] binary;
+
+    /**
+     * Reused writer.
+     */
+    private final CharArrayWriter writer = new CharArrayWriter(64 * 1024);
+
+    /**
+     * Builds the response.
+     */
+    @Setup
+    public void setup() {
+        final JSONArray list = new JSONArray();
+        for (int i = 0; i < comments; i++) {
+            final long id = 1500000000000L + i;
+            list.put(new JSONObject()
+                    .put("oId", String.valueOf(id))
+                    .put("commentContent", "<p>回复 @88250 第 " + i + " 楼：\"Latke\" 的 <code>JSONRenderer</code> 很快</p>")
+                    .put("commentAuthorName", "user" + i)
+                    .put("commentAuthorThumbnailURL", "https://img.hacpai.com/avatar/" + id + "?imageView2/1/w/48")
+                    .put("commentCreateTime", id)
+                    .put("commentOnArticleId", "1499999999999")
+                    .put("commentSharpURL", "/article/1499999999999#" + id)
+                    .put("commentGoodCnt", i % 7)
+                    .put("commentBadCnt", 0)
+                    .put("commentScore", 1.5D * i)
+                    .put("commentNice", 0 == i % 10)
+                    .put("commentAnonymous", 0)
+                    .put("commentOriginalCommentId", ""));
+        }
+        response = new JSONObject().put("sc", true).put("comments", list).put("pagination",
+                new JSONObject().put("paginationPageCount", 10).put("paginationPageNums", new JSONArray().put(1).put(2)));
+
+        text = response.toString();
+        binary = BinaryJSON.encode(response);
+    }
+
+    /**
+     * Serializes into a string.
+     *
+     * @return JSON text
+     */
+    @Benchmark
+    public String serializeToString() {
+        return response.toString();
+    }
+
+    /**
+     * Serializes into a writer, as the JSON renderer does.
+     *
+     * @return count of written chars
+     * @throws Exception exception
+     */
+    @Benchmark
+    public int serializeToWriter() throws Exception {
+        writer.reset();
+        response.write(writer);
+
+        return writer.size();
+    }
+
+    /**
+     * Parses JSON text.
+     *
+     * @return parsed response
+     * @throws Exception exception
+     */
+    @Benchmark
+    public JSONObject parse() throws Exception {
+        return new JSONObject(text);
+    }
+
+    /**
+     * Encodes as binary.
+     *
+     * @return encoded bytes
+     */
+    @Benchmark
+    public byte[] binaryEncode() {
+        return BinaryJSON.encode(response);
+    }
+
+    /**
+     * Decodes binary.
+     *
+     * @return decoded response
+     * @throws Exception exception
+     */
+    @Benchmark
+    public JSONObject binaryDecode() throws Exception {
+        return BinaryJSON.decode(binary);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.symphony.model.Article;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ArticleFeedCache} deep pagination benchmark, the last pages of a large global feed and of a tag feed.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArticleFeedCacheBenchmark {
+
+    /**
+     * Article count.
+     */
+    private static final int CNT = 200000;
+
+    /**
+     * Tag count.
+     */
+    private static final int TAG_CNT = 100;
+
+    /**
+     * Page size.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Cache.
+     */
+    private ArticleFeedCache cache;
+
+    /**
+     * Fills the cache.
+     */
+    @Setup
+    public void setup() {
+        cache = new ArticleFeedCache();
+        final long base = System.currentTimeMillis() - CNT;
+        for (int i = 0; i < CNT; i++) {
+            cache.putArticle(new JSONObject().put(Keys.OBJECT_ID, String.valueOf(base + i)).
+                    put(Article.ARTICLE_TAGS, "Tag" + (i % TAG_CNT)).
+                    put(Article.ARTICLE_STICK, 0L).
+                    put(Article.ARTICLE_COMMENT_CNT, i % 50).
+                    put(Article.ARTICLE_LATEST_CMT_TIME, base + i).
+                    put(Article.ARTICLE_PERFECT, 0).
+                    put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID).
+                    put(Article.ARTICLE_TYPE, 0));
+        }
+        cache.setLoaded();
+    }
+
+    /**
+     * Gets the last page of the global feed.
+     *
+     * @return article ids
+     */
+    @Benchmark
+    public List<String> globalLastPage() {
+        return cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, CNT - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    /**
+     * Gets the last page of a tag feed.
+     *
+     * @return article ids
+     */
+    @Benchmark
+    public List<String> tagLastPage() {
+        return cache.getIds(ArticleFeedCache.Feed.TAG_REPLY, "tag7", CNT / TAG_CNT - PAGE_SIZE, PAGE_SIZE);
+    }
+}
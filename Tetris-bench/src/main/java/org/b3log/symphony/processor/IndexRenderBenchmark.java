@@ -0,0 +1,238 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor;
+
+import freemarker.cache.FileTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateExceptionHandler;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index page (<i>skins/classic/index.ftl</i>) rendering benchmark with a synthetic data model of an anonymous visit.
+ * <p>
+ * The skin directory is taken from system property <i>bench.skinsDir</i>, defaults to the Symphony module's classic
+ * skin.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IndexRenderBenchmark {
+
+    /**
+     * Count of articles in each list.
+     */
+    private static final int ARTICLE_CNT = 20;
+
+    /**
+     * Count of index tags.
+     */
+    private static final int TAG_CNT = 13;
+
+    /**
+     * Index template.
+     */
+    private Template template;
+
+    /**
+     * Data model.
+     */
+    private Map<String, Object> dataModel;
+
+    /**
+     * Output.
+     */
+    private CharArrayWriter writer;
+
+    /**
+     * Loads the template and builds the data model.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        final String skinsDir = System.getProperty("bench.skinsDir", "../Tetris-sym/src/main/webapp/skins/classic");
+        final Configuration cfg = new Configuration(Configuration.VERSION_2_3_23);
+        cfg.setDefaultEncoding("UTF-8");
+        cfg.setTimeZone(TimeZone.getTimeZone("Asia/Shanghai"));
+        cfg.setTemplateLoader(new FileTemplateLoader(new File(skinsDir)));
+        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        cfg.setLogTemplateExceptions(false);
+        template = cfg.getTemplate("index.ftl");
+
+        dataModel = new HashMap<>();
+        final Properties langs = new Properties();
+        try (final InputStream inputStream = IndexRenderBenchmark.class.getResourceAsStream("/lang_en_US.properties")) {
+            langs.load(inputStream);
+        }
+        for (final String key : langs.stringPropertyNames()) {
+            dataModel.put(key, langs.getProperty(key));
+        }
+
+        fillCommon(dataModel);
+        dataModel.put("recentArticles", articles("recent"));
+        dataModel.put("perfectArticles", articles("perfect"));
+        dataModel.put("followingTagArticles", Collections.emptyList());
+        dataModel.put("followingUserArticles", Collections.emptyList());
+        for (int i = 0; i < TAG_CNT; i++) {
+            final JSONObject tag = new JSONObject();
+            tag.put("tagURI", "tag" + i);
+            tag.put("tagTitle", "Tag " + i);
+            tag.put("tagIconPath", "tag" + i + ".png");
+            dataModel.put("tag" + i, tag);
+        }
+
+        writer = new CharArrayWriter(64 * 1024);
+    }
+
+    /**
+     * Renders the index page.
+     *
+     * @return rendered length
+     * @throws Exception exception
+     */
+    @Benchmark
+    public int render() throws Exception {
+        writer.reset();
+        template.process(dataModel, writer);
+
+        return writer.size();
+    }
+
+    /**
+     * Fills the header and footer variables of an anonymous visit.
+     *
+     * @param dataModel the specified data model
+     */
+    private static void fillCommon(final Map<String, Object> dataModel) {
+        dataModel.put("servePath", "https://hacpai.com");
+        dataModel.put("staticServePath", "https://static.hacpai.com");
+        dataModel.put("contextPath", "");
+        dataModel.put("serverHost", "hacpai.com");
+        dataModel.put("serverPort", "443");
+        dataModel.put("wsScheme", "wss");
+        dataModel.put("staticResourceVersion", "1539860442537");
+        dataModel.put("miniPostfix", ".min");
+        dataModel.put("version", "2.4.0");
+        dataModel.put("year", "2026");
+        dataModel.put("elapsed", 0L);
+        dataModel.put("isLoggedIn", false);
+        dataModel.put("isAdminLoggedIn", false);
+        dataModel.put("isDailyCheckin", false);
+        dataModel.put("useCaptchaCheckin", true);
+        dataModel.put("esEnabled", false);
+        dataModel.put("algoliaEnabled", false);
+        dataModel.put("mouseEffects", false);
+        dataModel.put("siteVisitStatCode", "");
+        dataModel.put("macroHeadPCCode", "");
+        dataModel.put("footerPCCode", "");
+        dataModel.put("HeaderBannerLabel", "");
+        dataModel.put("ADLabel", "");
+
+        final List<JSONObject> domains = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final JSONObject domain = new JSONObject();
+            domain.put("domainURI", "domain" + i);
+            domain.put("domainTitle", "Domain " + i);
+            domain.put("domainIconPath", "");
+            domains.add(domain);
+        }
+        dataModel.put("domains", domains);
+    }
+
+    /**
+     * Generates a list of articles.
+     *
+     * @param prefix the specified id prefix
+     * @return articles
+     */
+    private static List<JSONObject> articles(final String prefix) {
+        final List<JSONObject> ret = new ArrayList<>();
+        for (int i = 0; i < ARTICLE_CNT; i++) {
+            final JSONObject author = new JSONObject();
+            author.put("userIntro", "Java 开发者");
+
+            final List<JSONObject> tags = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                final JSONObject tag = new JSONObject();
+                tag.put("tagURI", "tag" + j);
+                tag.put("tagTitle", "Tag " + j);
+                tags.add(tag);
+            }
+
+            final JSONObject latestCmt = new JSONObject();
+            latestCmt.put("clientCommentId", "");
+
+            final JSONObject article = new JSONObject();
+            article.put("oId", prefix + i);
+            article.put("articleType", 0);
+            article.put("articlePerfect", i % 5 == 0 ? 1 : 0);
+            article.put("articleAnonymous", 0);
+            article.put("articleTitleEmoj", "Latke 简介 " + i + " <img alt=\"smile\" src=\"/emoji/smile.png\">");
+            article.put("articlePermalink", "/article/" + prefix + i);
+            article.put("articleAuthorName", "user" + i);
+            article.put("articleAuthorThumbnailURL48", "https://img.hacpai.com/avatar/" + i + "?imageView2/1/w/48");
+            article.put("articleAuthor", author);
+            article.put("articleTagObjs", (Object) tags);
+            article.put("articleCommentCount", i * 3);
+            article.put("articleViewCount", i * 120);
+            article.put("articleViewCntDisplayFormat", (i * 120 / 1000) + "K");
+            article.put("articleLatestCmterName", 0 == i % 2 ? "someone" : "user" + (i + 1));
+            article.put("articleLatestCmt", latestCmt);
+            article.put("cmtTimeAgo", i + " minutes ago ");
+            article.put("articlePreviewContent", "Latke 是一个简单易用的 Java Web 应用开发框架。");
+            article.put("articleThumbnailURL", 0 == i % 3 ? "https://img.hacpai.com/bing/" + i + ".jpg" : "");
+            article.put("articleHeat", i % 6);
+            article.put("articleStick", 0L);
+            article.put("articleStickRemains", 0L);
+            ret.add(article);
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.channel;
+
+import org.apache.commons.lang.StringUtils;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Article list channel heat broadcast benchmark, one tick of heat changes sent to simulated sessions, by scanning all
+ * sessions per change (as before {@link ArticleHeatAggregator}) and by the aggregator.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArticleHeatBenchmark {
+
+    /**
+     * Articles on a list page.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Count of article list pages browsed.
+     */
+    private static final int PAGE_CNT = 50;
+
+    /**
+     * Count of sessions.
+     */
+    @Param({"10000"})
+    private int sessionCnt;
+
+    /**
+     * Count of heat changes in a tick.
+     */
+    @Param({"100"})
+    private int changeCnt;
+
+    /**
+     * Sent messages.
+     */
+    private long sent;
+
+    /**
+     * Session articles of the full scan, &lt;session, "articleId1,articleId2"&gt;.
+     */
+    private Map<Session, String> sessions;
+
+    /**
+     * Aggregator.
+     */
+    private ArticleHeatAggregator aggregator;
+
+    /**
+     * Changed articles of a tick.
+     */
+    private String[] changedArticleIds;
+
+    /**
+     * Creates sessions browsing list pages, the first pages are browsed the most.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(88250);
+        final RemoteEndpoint.Async remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.Async.class}, (proxy, method, args) -> {
+                    sent++;
+
+                    return null;
+                });
+
+        sessions = new ConcurrentHashMap<>();
+        aggregator = new ArticleHeatAggregator();
+        for (int i = 0; i < sessionCnt; i++) {
+            final Session session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Session.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "isOpen":
+                                return true;
+                            case "getAsyncRemote":
+                                return remote;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return null;
+                        }
+                    });
+
+            final int page = (int) (PAGE_CNT * Math.pow(random.nextDouble(), 3));
+            final String[] articleIds = new String[PAGE_SIZE];
+            for (int j = 0; j < PAGE_SIZE; j++) {
+                articleIds[j] = articleId(page * PAGE_SIZE + j);
+            }
+
+            sessions.put(session, StringUtils.join(articleIds, ','));
+            aggregator.addSession(session, articleIds);
+        }
+
+        changedArticleIds = new String[changeCnt];
+        for (int i = 0; i < changeCnt; i++) {
+            changedArticleIds[i] = articleId((int) (PAGE_CNT * PAGE_SIZE * Math.pow(random.nextDouble(), 3)));
+        }
+    }
+
+    /**
+     * Sends every change to the sessions found by scanning all sessions.
+     *
+     * @return sent messages
+     */
+    @Benchmark
+    public long scan() {
+        for (final String articleId : changedArticleIds) {
+            final String msgStr = new JSONObject().put("articleId", articleId).put("operation", "+").toString();
+            for (final Map.Entry<Session, String> entry : sessions.entrySet()) {
+                if (!StringUtils.contains(entry.getValue(), articleId)) {
+                    continue;
+                }
+
+                final Session session = entry.getKey();
+                if (session.isOpen()) {
+                    session.getAsyncRemote().sendText(msgStr);
+                }
+            }
+        }
+
+        return sent;
+    }
+
+    /**
+     * Accumulates the changes and flushes them once.
+     *
+     * @return sent messages
+     */
+    @Benchmark
+    public long aggregate() {
+        for (final String articleId : changedArticleIds) {
+            aggregator.heat(articleId, 1);
+        }
+
+        return aggregator.flush();
+    }
+
+    /**
+     * Gets the id of the specified article.
+     *
+     * @param i the specified article index
+     * @return article id
+     */
+    private static String articleId(final int i) {
+        return String.valueOf(1500000000000L + i);
+    }
+}
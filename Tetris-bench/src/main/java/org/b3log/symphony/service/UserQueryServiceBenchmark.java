@@ -0,0 +1,101 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.model.User;
+import org.b3log.symphony.repository.UserRepository;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserQueryService#getUserNames(String)} benchmark, users are served from memory so only the mention parsing
+ * is measured.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserQueryServiceBenchmark {
+
+    /**
+     * Comment with mentions of users and non-users.
+     */
+    private String text = "@88250 @Vanessa 这个问题在 #Latke# 里修过了，见 https://github.com/b3log/latke/issues/42 ，"
+            + "另外 @Daniel, @someone_not_exist 也看看。\n<p>@88250</p> 谢谢！@Vanessa";
+
+    /**
+     * User query service.
+     */
+    private UserQueryService userQueryService;
+
+    /**
+     * Wires the service with an in-memory user repository.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        final Map<String, JSONObject> users = new HashMap<>();
+        for (final String name : new String[]{"88250", "Vanessa", "Daniel"}) {
+            users.put(name, new JSONObject().put(User.USER_NAME, name));
+        }
+
+        final UserRepository userRepository = new UserRepository() {
+            @Override
+            public JSONObject getByName(final String name) {
+                return users.get(name);
+            }
+        };
+
+        userQueryService = new UserQueryService();
+        final Field field = UserQueryService.class.getDeclaredField("userRepository");
+        field.setAccessible(true);
+        field.set(userQueryService, userRepository);
+    }
+
+    /**
+     * Gets mentioned user names.
+     *
+     * @return user names
+     */
+    @Benchmark
+    public Set<String> getUserNames() {
+        return userQueryService.getUserNames(text);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Markdowns#toHTML(String)} benchmark, uncached (distinct content each call) and cached.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MarkdownsBenchmark {
+
+    /**
+     * Article-like markdown.
+     */
+    static final String MARKDOWN = "## Latke 简介\n\n"
+            + "[Latke](https://github.com/b3log/latke) 是一个简单易用的 Java Web 应用开发框架，包含 MVC、IoC、"
+            + "事件通知、ORM、插件等组件。@88250 @Vanessa :smile:\n\n"
+            + "* 注解式、函数式路由\n* 依赖注入\n* 多种数据库 ORM\n  1. MySQL\n  2. H2\n\n"
+            + "> 在实体模型上使用 JSON 贯穿前后端，使用 **JSONObject** 作为实体。\n\n"
+            + "```java\n@RequestProcessing(value = \"/\", method = HTTPRequestMethod.GET)\n"
+            + "public void index(final HTTPRequestContext context) {\n    context.renderJSON().renderTrueResult();\n}\n```\n\n"
+            + "| 模块 | 说明 |\n| --- | --- |\n| latke-core | 核心 |\n| latke-repository | 存储 |\n\n"
+            + "更多内容见 <https://hacpai.com/tag/latke>，欢迎 `PR`。\n";
+
+    /**
+     * Sequence to make contents distinct.
+     */
+    private long seq;
+
+    /**
+     * Initializes the runtime.
+     */
+    @Setup
+    public void setup() {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Renders content never seen before.
+     *
+     * @return HTML
+     */
+    @Benchmark
+    public String toHTML() {
+        return Markdowns.toHTML(MARKDOWN + "\n" + seq++);
+    }
+
+    /**
+     * Renders the same content.
+     *
+     * @return HTML
+     */
+    @Benchmark
+    public String toHTMLCached() {
+        return Markdowns.toHTML(MARKDOWN);
+    }
+}
@@ -24,6 +24,7 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.servlet.AbstractServletListener;
+import org.b3log.latke.taskqueue.local.LocalTaskQueueService;
 import org.b3log.latke.util.Strings;
 import org.b3log.latke.util.freemarker.Templates;
 
@@ -46,7 +47,7 @@ import java.util.concurrent.Executors;
  * Latke framework configuration utility facade.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.7.9.16, Jul 7, 2017
+ * @version 2.7.12.0, Oct 19, 2026
  * @see #initRuntimeEnv()
  * @see #shutdown()
  * @see #getServePath()
@@ -625,6 +626,13 @@ public final class Latkes {
         final RuntimeCache runtimeCache = getRuntimeCache();
         LOGGER.log(Level.INFO, "Runtime cache is [{0}]", runtimeCache);
 
+        if ("true".equals(LATKE_PROPS.getProperty("logging.async"))) {
+            final int bufferSize = Integer.valueOf(LATKE_PROPS.getProperty("logging.asyncBufferSize", "8192"));
+            Logger.startAsync(bufferSize);
+
+            LOGGER.log(Level.INFO, "Started asynchronous logging [bufferSize={0}]", bufferSize);
+        }
+
         locale = new Locale("en_US");
     }
 
@@ -723,6 +731,20 @@ public final class Latkes {
         return LOCAL_PROPS.getProperty(key);
     }
 
+    /**
+     * Sets a property with the specified key and value, overrides the one loaded from file "local.properties".
+     * <p>
+     * Takes effect only if invoked before the property is read, for example, a load test switches the runtime
+     * database to H2 before {@link #initRuntimeEnv()}.
+     * </p>
+     *
+     * @param key   the specified key
+     * @param value the specified value
+     */
+    public static void setLocalProperty(final String key, final String value) {
+        LOCAL_PROPS.setProperty(key, value);
+    }
+
     /**
      * Gets a property specified by the given key from file "latke.properties".
      *
@@ -758,6 +780,7 @@ public final class Latkes {
     public static void shutdown() {
         try {
             CronService.shutdown();
+            LocalTaskQueueService.shutdown();
 
             EXECUTOR_SERVICE.shutdown();
 
@@ -793,6 +816,8 @@ public final class Latkes {
                 LOGGER.log(Level.ERROR, "Unregister JDBC driver [" + driver + "] failed", e);
             }
         }
+
+        Logger.stopAsync();
     }
 
     /**
@@ -15,6 +15,9 @@
  */
 package org.b3log.latke.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import org.b3log.latke.Latkes;
 import org.json.JSONObject;
 
@@ -22,7 +25,7 @@ import org.json.JSONObject;
  * Abstract cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.2.7, Jul 6, 2017
+ * @version 2.0.3.0, Oct 19, 2026
  */
 public abstract class AbstractCache implements Cache {
 
@@ -71,6 +74,26 @@ public abstract class AbstractCache implements Cache {
         Latkes.EXECUTOR_SERVICE.submit(() -> put(key, value));
     }
 
+    @Override
+    public Map<String, JSONObject> get(final Collection<String> keys) {
+        final Map<String, JSONObject> ret = new HashMap<>();
+        for (final String key : keys) {
+            final JSONObject value = get(key);
+            if (null != value) {
+                ret.put(key, value);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void put(final Map<String, JSONObject> values) {
+        for (final Map.Entry<String, JSONObject> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public final long getHitCount() {
         return hitCount;
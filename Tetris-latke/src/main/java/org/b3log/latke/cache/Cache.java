@@ -19,6 +19,7 @@ package org.b3log.latke.cache;
 import org.json.JSONObject;
 
 import java.util.Collection;
+import java.util.Map;
 
 
 /**
@@ -28,7 +29,7 @@ import java.util.Collection;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.2.9, Jul 6, 2017
+ * @version 2.1.0.0, Oct 19, 2026
  */
 public interface Cache {
 
@@ -87,6 +88,24 @@ public interface Cache {
      */
     JSONObject get(final String key);
 
+    /**
+     * Gets objects by the specified keys.
+     * <p>
+     * Implementations may fetch all of them in one round trip, for example, Redis cache.
+     * </p>
+     *
+     * @param keys the specified keys
+     * @return found objects, &lt;key, object&gt;, returns an empty map if not found
+     */
+    Map<String, JSONObject> get(final Collection<String> keys);
+
+    /**
+     * Puts the specified objects into this cache.
+     *
+     * @param values the specified objects, &lt;key, object&gt;
+     */
+    void put(final Map<String, JSONObject> values);
+
     /**
      * Removes a object by the specified key.
      *
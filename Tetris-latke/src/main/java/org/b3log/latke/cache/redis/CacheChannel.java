@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.cache.redis;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.util.Pool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis pub/sub channel which carries cache invalidations between nodes.
+ * <p>
+ * Each pool has one channel, subscribed by a daemon thread with a dedicated connection. A message is
+ * {@code node\ntype\ncache name\npayload}, type {@link #KEYS} evicts the keys (one per line) from local near caches,
+ * type {@link #VERSION} tells the new namespace version of the cache. Messages sent by this node are ignored. After
+ * every (re)subscription the registered caches are resynchronized since messages may have been missed meanwhile.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ */
+final class CacheChannel {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CacheChannel.class);
+
+    /**
+     * Channel name.
+     */
+    static final String NAME = "latke:cache:invalidations";
+
+    /**
+     * Message type of key evictions.
+     */
+    static final String KEYS = "K";
+
+    /**
+     * Message type of namespace version changes.
+     */
+    static final String VERSION = "V";
+
+    /**
+     * Channels, &lt;pool, channel&gt;.
+     */
+    private static final Map<Pool<Jedis>, CacheChannel> CHANNELS = new IdentityHashMap<>();
+
+    /**
+     * Id of this node.
+     */
+    private final String node = UUID.randomUUID().toString();
+
+    /**
+     * Pool.
+     */
+    private final Pool<Jedis> pool;
+
+    /**
+     * Registered caches, &lt;cache name, cache&gt;.
+     */
+    private final Map<String, RedisCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Subscriber thread.
+     */
+    private final Thread subscriber;
+
+    /**
+     * Current subscription.
+     */
+    private volatile JedisPubSub subscription;
+
+    /**
+     * Whether this channel is running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a channel with the specified pool.
+     *
+     * @param pool the specified pool
+     */
+    private CacheChannel(final Pool<Jedis> pool) {
+        this.pool = pool;
+
+        subscriber = new Thread(this::subscribe, "Latke-CacheChannel");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    /**
+     * Registers the specified cache, which has a near cache, to the channel of the specified pool, starts the channel
+     * if need.
+     *
+     * @param pool  the specified pool
+     * @param cache the specified cache
+     * @return channel
+     */
+    static synchronized CacheChannel join(final Pool<Jedis> pool, final RedisCache cache) {
+        CacheChannel ret = CHANNELS.get(pool);
+        if (null == ret) {
+            ret = new CacheChannel(pool);
+            CHANNELS.put(pool, ret);
+        }
+
+        ret.caches.put(cache.getName(), cache);
+
+        return ret;
+    }
+
+    /**
+     * Closes all channels.
+     */
+    static synchronized void closeAll() {
+        for (final CacheChannel channel : CHANNELS.values()) {
+            channel.close();
+        }
+
+        CHANNELS.clear();
+    }
+
+    /**
+     * Builds a message.
+     *
+     * @param type      the specified message type
+     * @param cacheName the specified cache name
+     * @param payload   the specified payload, keys or version
+     * @return message
+     */
+    String message(final String type, final String cacheName, final Collection<String> payload) {
+        return node + '\n' + type + '\n' + cacheName + '\n' + String.join("\n", payload);
+    }
+
+    /**
+     * Handles the specified message.
+     *
+     * @param message the specified message
+     */
+    private void handle(final String message) {
+        final String[] parts = message.split("\n", 4);
+        if (4 != parts.length || node.equals(parts[0])) {
+            return;
+        }
+
+        final RedisCache cache = caches.get(parts[2]);
+        if (null == cache) {
+            return;
+        }
+
+        if (KEYS.equals(parts[1])) {
+            cache.evictLocal(Arrays.asList(parts[3].split("\n")));
+        } else if (VERSION.equals(parts[1])) {
+            cache.versionChanged(Long.parseLong(parts[3]));
+        }
+    }
+
+    /**
+     * Subscribes the channel until closed, reconnects on failures.
+     */
+    private void subscribe() {
+        while (running) {
+            try (final Jedis jedis = pool.getResource()) {
+                subscription = new JedisPubSub() {
+                    @Override
+                    public void onSubscribe(final String channel, final int subscribedChannels) {
+                        final List<RedisCache> registered = new ArrayList<>(caches.values());
+                        for (final RedisCache cache : registered) {
+                            cache.resync();
+                        }
+                    }
+
+                    @Override
+                    public void onMessage(final String channel, final String message) {
+                        try {
+                            handle(message);
+                        } catch (final Exception e) {
+                            LOGGER.log(Level.WARN, "Handles cache invalidation [" + message + "] failed", e);
+                        }
+                    }
+                };
+                jedis.subscribe(subscription, NAME);
+            } catch (final Exception e) {
+                if (!running) {
+                    return;
+                }
+
+                LOGGER.log(Level.WARN, "Cache invalidation channel broken, resubscribes in 1 second", e);
+                try {
+                    Thread.sleep(1000);
+                } catch (final InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes this channel.
+     */
+    private void close() {
+        running = false;
+
+        final JedisPubSub s = subscription;
+        if (null != s && s.isSubscribed()) {
+            try {
+                s.unsubscribe();
+            } catch (final Exception e) {
+                LOGGER.log(Level.WARN, "Unsubscribes cache invalidation channel failed", e);
+            }
+        }
+
+        subscriber.interrupt();
+    }
+}
@@ -27,7 +27,7 @@ import redis.clients.jedis.Protocol;
  * Redis connection utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Jul 6, 2017
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 2.3.13
  */
 final class Connections {
@@ -81,10 +81,21 @@ final class Connections {
         return pool.getResource();
     }
 
+    /**
+     * Gets the pool.
+     *
+     * @return pool, returns {@code null} if the runtime cache is not {@link Latkes.RuntimeCache#REDIS}
+     */
+    static JedisPool getPool() {
+        return pool;
+    }
+
     /**
      * Shutdowns pool.
      */
     static void shutdown() {
-        pool.close();
+        if (null != pool) {
+            pool.close();
+        }
     }
 }
@@ -15,22 +15,53 @@
  */
 package org.b3log.latke.cache.redis;
 
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Latkes;
 import org.b3log.latke.cache.AbstractCache;
+import org.b3log.latke.cache.local.memory.LruMemoryCache;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
+import org.b3log.latke.util.BinaryJSON;
 import org.json.JSONObject;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.util.Pool;
+import redis.clients.util.SafeEncoder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Redis cache.
+ * <p>
+ * Keys are namespaced as {@code name:version:key}, {@link #removeAll()} increments the version stored at
+ * {@code name:version} so that readers switch at once, then deletes the entries of the previous version with
+ * {@code SCAN} batches. Values are encoded with {@link BinaryJSON}, reading also accepts JSON text.
+ * </p>
+ * <p>
+ * Configurations in local.properties, the {@code .<cache name>} suffixed ones override the defaults:
+ * <ul>
+ * <li>{@code redis.binary}: stores values as JSON text if {@code false}, defaults to {@code true}</li>
+ * <li>{@code redis.ttl}, {@code redis.ttl.<cache name>}: time to live in seconds, {@code 0} (default) for never
+ * expire</li>
+ * <li>{@code redis.nearCacheCnt}, {@code redis.nearCacheCnt.<cache name>}: size of the local near cache in front of
+ * Redis, {@code 0} (default) disables it. Near caches are invalidated via a pub/sub {@link CacheChannel}, which
+ * is joined and published to only by caches with a near cache, so the size should be configured alike on all
+ * nodes</li>
+ * </ul>
+ * Without a near cache other nodes see a {@link #removeAll()} once they recheck the namespace version, within
+ * 10 seconds.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Jul 7, 2017
+ * @version 2.0.1.0, Oct 19, 2026
  * @since 2.3.13
  */
 public final class RedisCache extends AbstractCache {
@@ -40,116 +71,442 @@ public final class RedisCache extends AbstractCache {
      */
     private static final Logger LOGGER = Logger.getLogger(RedisCache.class);
 
+    /**
+     * Interval of namespace version checks in milliseconds, bounds the staleness if invalidations are missed.
+     */
+    private static final long VERSION_CHECK_INTERVAL = 10 * 1000;
+
+    /**
+     * Count of keys scanned per batch when deleting an old namespace.
+     */
+    private static final int PURGE_BATCH = 1000;
+
+    /**
+     * Pool.
+     */
+    private final Pool<Jedis> pool;
+
+    /**
+     * Whether stores values with binary encoding.
+     */
+    private boolean binary = true;
+
+    /**
+     * Time to live in seconds, {@code 0} for never expire.
+     */
+    private int ttl;
+
+    /**
+     * Near cache, {@code null} if disabled.
+     */
+    private volatile LruMemoryCache nearCache;
+
+    /**
+     * Invalidation channel, {@code null} if the near cache is disabled.
+     */
+    private CacheChannel channel;
+
+    /**
+     * Namespace version.
+     */
+    private volatile long version;
+
+    /**
+     * Time of the last namespace version check.
+     */
+    private volatile long versionCheckTime;
+
+    /**
+     * Constructs a redis cache with the connection pool configured in local.properties.
+     */
+    public RedisCache() {
+        this(Connections.getPool());
+    }
+
+    /**
+     * Constructs a redis cache with the specified connection pool.
+     *
+     * @param pool the specified connection pool
+     */
+    public RedisCache(final Pool<Jedis> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the name and loads configurations of this cache, joins the invalidation channel if the near cache is
+     * enabled.
+     *
+     * @param name the specified name
+     */
+    @Override
+    public void setName(final String name) {
+        super.setName(name);
+
+        final String binaryConf = getConf("redis.binary");
+        if (StringUtils.isNotBlank(binaryConf)) {
+            binary = Boolean.valueOf(binaryConf);
+        }
+        final String ttlConf = getConf("redis.ttl");
+        if (StringUtils.isNotBlank(ttlConf)) {
+            setTimeToLive(Integer.valueOf(ttlConf));
+        }
+        final String nearCacheCntConf = getConf("redis.nearCacheCnt");
+        if (StringUtils.isNotBlank(nearCacheCntConf)) {
+            setNearCacheCnt(Integer.valueOf(nearCacheCntConf));
+        }
+
+        if (null != nearCache) {
+            channel = CacheChannel.join(pool, this);
+        }
+    }
+
+    /**
+     * Sets whether stores values with binary encoding.
+     *
+     * @param binary {@code true} for binary, {@code false} for JSON text
+     */
+    public void setBinary(final boolean binary) {
+        this.binary = binary;
+    }
+
+    /**
+     * Sets the time to live of entries.
+     *
+     * @param ttl the specified time to live in seconds, {@code 0} for never expire
+     */
+    public void setTimeToLive(final int ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Sets the size of the near cache.
+     *
+     * @param nearCacheCnt the specified size, {@code 0} disables the near cache
+     */
+    public void setNearCacheCnt(final int nearCacheCnt) {
+        if (0 >= nearCacheCnt) {
+            nearCache = null;
+
+            return;
+        }
+
+        final LruMemoryCache cache = new LruMemoryCache();
+        cache.setMaxCount(nearCacheCnt);
+        nearCache = cache;
+
+        if (null == channel && null != getName()) {
+            channel = CacheChannel.join(pool, this);
+        }
+    }
+
     @Override
     public boolean contains(final String key) {
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
+        final LruMemoryCache near = nearCache;
+        if (null != near && null != near.get(key)) {
+            return true;
+        }
 
-            return jedis.exists(key);
+        try (final Jedis jedis = pool.getResource()) {
+            return jedis.exists(cacheKey(jedis, key));
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Contains key [" + key + "] failed", e);
 
             return false;
-        } finally {
-            if (null != jedis) {
-                jedis.close();
-            }
         }
     }
 
     @Override
     public void put(final String key, final JSONObject value) {
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
+        put(Collections.singletonMap(key, value));
+    }
 
-            jedis.set(getName() + key, value.toString());
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Put data to cache with key [" + key + "] failed", e);
-        } finally {
-            if (null != jedis) {
-                jedis.close();
+    @Override
+    public void put(final Map<String, JSONObject> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        try (final Jedis jedis = pool.getResource()) {
+            final Pipeline pipeline = jedis.pipelined();
+            for (final Map.Entry<String, JSONObject> entry : values.entrySet()) {
+                final byte[] cacheKey = SafeEncoder.encode(cacheKey(jedis, entry.getKey()));
+                final byte[] bytes = encode(entry.getValue());
+                if (0 < ttl) {
+                    pipeline.setex(cacheKey, ttl, bytes);
+                } else {
+                    pipeline.set(cacheKey, bytes);
+                }
+            }
+            publishEvictions(pipeline, values.keySet());
+            pipeline.sync();
+
+            final LruMemoryCache near = nearCache;
+            if (null != near) {
+                for (final Map.Entry<String, JSONObject> entry : values.entrySet()) {
+                    near.put(entry.getKey(), entry.getValue());
+                }
             }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Put data to cache with keys [" + values.keySet() + "] failed", e);
         }
     }
 
     @Override
     public JSONObject get(final String key) {
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
+        return get(Collections.singletonList(key)).get(key);
+    }
 
-            final String s = jedis.get(getName() + key);
-            if (null == s) {
-                return null;
+    @Override
+    public Map<String, JSONObject> get(final Collection<String> keys) {
+        final Map<String, JSONObject> ret = new HashMap<>();
+        final LruMemoryCache near = nearCache;
+        final List<String> misses = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final JSONObject value = null == near ? null : near.get(key);
+            if (null != value) {
+                ret.put(key, value);
+                hitCountInc();
+            } else {
+                misses.add(key);
             }
+        }
 
-            return new JSONObject(s);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get data from cache with key [" + key + "] failed", e);
+        if (misses.isEmpty()) {
+            return ret;
+        }
 
-            return null;
-        } finally {
-            if (null != jedis) {
-                jedis.close();
+        try (final Jedis jedis = pool.getResource()) {
+            final byte[][] cacheKeys = new byte[misses.size()][];
+            for (int i = 0; i < cacheKeys.length; i++) {
+                cacheKeys[i] = SafeEncoder.encode(cacheKey(jedis, misses.get(i)));
             }
+
+            final List<byte[]> values = jedis.mget(cacheKeys);
+            for (int i = 0; i < cacheKeys.length; i++) {
+                final byte[] bytes = values.get(i);
+                if (null == bytes) {
+                    missCountInc();
+
+                    continue;
+                }
+
+                final String key = misses.get(i);
+                final JSONObject value = decode(bytes);
+                ret.put(key, value);
+                hitCountInc();
+                if (null != near) {
+                    near.put(key, value);
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Get data from cache with keys [" + misses + "] failed", e);
         }
+
+        return ret;
     }
 
     @Override
     public void remove(final String key) {
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
-
-            jedis.del(getName() + key);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Remove data to cache with key [" + key + "] failed", e);
-        } finally {
-            if (null != jedis) {
-                jedis.close();
-            }
-        }
+        remove(Collections.singletonList(key));
     }
 
     @Override
     public void remove(final Collection<String> keys) {
-        final List<String> cacheKeys = new ArrayList<>(keys.size());
-        final String cacheName = getName();
-        for (final String key : keys) {
-            cacheKeys.add(cacheName + key);
+        if (keys.isEmpty()) {
+            return;
         }
 
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
+        final LruMemoryCache near = nearCache;
+        if (null != near) {
+            near.remove(keys);
+        }
+
+        try (final Jedis jedis = pool.getResource()) {
+            final byte[][] cacheKeys = new byte[keys.size()][];
+            int i = 0;
+            for (final String key : keys) {
+                cacheKeys[i++] = SafeEncoder.encode(cacheKey(jedis, key));
+            }
 
-            jedis.del(cacheKeys.toArray(new String[]{}));
+            final Pipeline pipeline = jedis.pipelined();
+            pipeline.del(cacheKeys);
+            publishEvictions(pipeline, keys);
+            pipeline.sync();
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Remove data to cache with keys [" + keys + "] failed", e);
-        } finally {
-            if (null != jedis) {
-                jedis.close();
-            }
         }
     }
 
     @Override
     public void removeAll() {
-        Jedis jedis = null;
-        try {
-            jedis = Connections.getJedis();
+        final LruMemoryCache near = nearCache;
+        if (null != near) {
+            near.removeAll();
+        }
 
-            final Set<String> keys = jedis.keys("*");
-            remove(keys);
+        try (final Jedis jedis = pool.getResource()) {
+            final long newVersion = jedis.incr(versionKey());
+            versionChanged(newVersion);
+            if (null != channel) {
+                jedis.publish(CacheChannel.NAME, channel.message(CacheChannel.VERSION, getName(),
+                        Collections.singletonList(String.valueOf(newVersion))));
+            }
+            purge(jedis, newVersion - 1);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Clear cache failed", e);
-        } finally {
-            if (null != jedis) {
-                jedis.close();
+        }
+    }
+
+    @Override
+    public void collect() {
+    }
+
+    /**
+     * Evicts the specified keys from the near cache, invoked by {@link CacheChannel} when other nodes change them.
+     *
+     * @param keys the specified keys
+     */
+    void evictLocal(final Collection<String> keys) {
+        final LruMemoryCache near = nearCache;
+        if (null != near) {
+            near.remove(keys);
+        }
+    }
+
+    /**
+     * Switches to the specified namespace version, invoked by {@link CacheChannel} when other nodes clear this
+     * cache.
+     *
+     * @param newVersion the specified namespace version
+     */
+    void versionChanged(final long newVersion) {
+        final LruMemoryCache near = nearCache;
+        if (null != near) {
+            near.removeAll();
+        }
+
+        version = newVersion;
+        versionCheckTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Reloads the namespace version and drops the near cache, invoked by {@link CacheChannel} after (re)subscribing.
+     */
+    void resync() {
+        try (final Jedis jedis = pool.getResource()) {
+            versionChanged(loadVersion(jedis));
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Resyncs cache [" + getName() + "] failed", e);
+        }
+    }
+
+    /**
+     * Gets the redis key of the specified key, reloads the namespace version if it has not been checked for a while.
+     *
+     * @param jedis the specified jedis
+     * @param key   the specified key
+     * @return redis key
+     */
+    private String cacheKey(final Jedis jedis, final String key) {
+        final long now = System.currentTimeMillis();
+        if (now - versionCheckTime > VERSION_CHECK_INTERVAL) {
+            final long loaded = loadVersion(jedis);
+            if (loaded != version) {
+                versionChanged(loaded);
             }
+            versionCheckTime = now;
         }
+
+        return getName() + ':' + version + ':' + key;
+    }
+
+    /**
+     * Loads the namespace version.
+     *
+     * @param jedis the specified jedis
+     * @return namespace version, returns {@code 0} if not set yet
+     */
+    private long loadVersion(final Jedis jedis) {
+        final String ret = jedis.get(versionKey());
+
+        return null == ret ? 0 : Long.parseLong(ret);
+    }
+
+    /**
+     * Gets the redis key of the namespace version.
+     *
+     * @return redis key of the namespace version
+     */
+    private String versionKey() {
+        return getName() + ":version";
+    }
+
+    /**
+     * Deletes the entries of the specified namespace version.
+     *
+     * @param jedis      the specified jedis
+     * @param oldVersion the specified namespace version
+     */
+    private void purge(final Jedis jedis, final long oldVersion) {
+        final ScanParams params = new ScanParams().match(getName() + ':' + oldVersion + ":*").count(PURGE_BATCH);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            final ScanResult<String> result = jedis.scan(cursor, params);
+            final List<String> keys = result.getResult();
+            if (!keys.isEmpty()) {
+                jedis.del(keys.toArray(new String[keys.size()]));
+            }
+            cursor = result.getStringCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+
+    /**
+     * Publishes evictions of the specified keys in the specified pipeline if near caches may hold them.
+     *
+     * @param pipeline the specified pipeline
+     * @param keys     the specified keys
+     */
+    private void publishEvictions(final Pipeline pipeline, final Collection<String> keys) {
+        if (null != channel) {
+            pipeline.publish(CacheChannel.NAME, channel.message(CacheChannel.KEYS, getName(), keys));
+        }
+    }
+
+    /**
+     * Encodes the specified value.
+     *
+     * @param value the specified value
+     * @return encoded bytes
+     */
+    private byte[] encode(final JSONObject value) {
+        return binary ? BinaryJSON.encode(value) : value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the specified bytes, binary or JSON text.
+     *
+     * @param bytes the specified bytes
+     * @return value
+     * @throws Exception exception
+     */
+    private static JSONObject decode(final byte[] bytes) throws Exception {
+        if (BinaryJSON.isBinary(bytes)) {
+            return BinaryJSON.decode(bytes);
+        }
+
+        return new JSONObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the configuration of this cache by the specified key, prefers {@code key.<cache name>}.
+     *
+     * @param key the specified key
+     * @return configuration value, returns {@code null} if not found
+     */
+    private String getConf(final String key) {
+        final String ret = Latkes.getLocalProperty(key + "." + getName());
+
+        return null != ret ? ret : Latkes.getLocalProperty(key);
     }
 
     /**
@@ -157,13 +514,10 @@ public final class RedisCache extends AbstractCache {
      */
     public static void shutdown() {
         try {
+            CacheChannel.closeAll();
             Connections.shutdown();
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Shutdown redis connection pool failed", e);
         }
     }
-
-    @Override
-    public void collect() {
-    }
 }
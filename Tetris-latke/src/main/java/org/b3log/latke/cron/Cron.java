@@ -15,23 +15,33 @@
  */
 package org.b3log.latke.cron;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
-import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.urlfetch.HTTPRequest;
 import org.b3log.latke.urlfetch.URLFetchService;
 import org.b3log.latke.urlfetch.URLFetchServiceFactory;
 
 /**
- * A cron job is a scheduled task, it will invoke {@link #url a URL} via an HTTP GET request, at a given time of day.
+ * A cron job is a scheduled task, it will invoke a {@link Scheduled scheduled bean method} in-process, or
+ * {@link #url a URL} via an HTTP GET request for jobs configured in cron.xml, at a given time of day.
+ *
+ * <p>
+ * A run is skipped if the former run of the same job is still running. Run counts and durations are recorded for
+ * monitoring.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.0, Dec 23, 2015
+ * @version 2.1.0.0, Oct 19, 2026
  */
-public final class Cron extends TimerTask {
+public final class Cron implements Runnable {
 
     /**
      * Logger.
@@ -82,6 +92,51 @@ public final class Cron extends TimerTask {
      */
     private long period;
 
+    /**
+     * The bean this cron job to invoke, {@code null} for URL cron jobs.
+     */
+    private Object bean;
+
+    /**
+     * The bean method this cron job to invoke, {@code null} for URL cron jobs.
+     */
+    private Method method;
+
+    /**
+     * Whether this cron job is running.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Run count.
+     */
+    private final AtomicLong runCount = new AtomicLong();
+
+    /**
+     * Count of runs skipped because the former run was still running.
+     */
+    private final AtomicLong skipCount = new AtomicLong();
+
+    /**
+     * Count of failed runs.
+     */
+    private final AtomicLong failCount = new AtomicLong();
+
+    /**
+     * Total run duration in milliseconds.
+     */
+    private final AtomicLong totalDuration = new AtomicLong();
+
+    /**
+     * Maximum run duration in milliseconds.
+     */
+    private volatile long maxDuration;
+
+    /**
+     * Last run duration in milliseconds.
+     */
+    private volatile long lastDuration;
+
     /**
      * Constructs a cron job with the specified URL, description and schedule.
      *
@@ -97,8 +152,76 @@ public final class Cron extends TimerTask {
         parse(schedule);
     }
 
+    /**
+     * Constructs a cron job with the specified bean, method, description and schedule.
+     *
+     * @param bean the specified bean
+     * @param method the specified method, a public method without arguments of the bean
+     * @param description the specified description
+     * @param schedule the specified schedule
+     */
+    public Cron(final Object bean, final Method method, final String description, final String schedule) {
+        this.bean = bean;
+        this.method = method;
+        this.url = method.getDeclaringClass().getName() + '#' + method.getName();
+        this.description = description;
+        this.schedule = schedule;
+
+        parse(schedule);
+    }
+
     @Override
     public void run() {
+        if (!running.compareAndSet(false, true)) {
+            skipCount.incrementAndGet();
+            LOGGER.log(Level.WARN, "Skipped a run of cron job [{0}], the former run is still running", url);
+
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        try {
+            if (null == method) {
+                fetch();
+            } else {
+                invoke();
+            }
+        } finally {
+            final long duration = System.currentTimeMillis() - start;
+            runCount.incrementAndGet();
+            totalDuration.addAndGet(duration);
+            lastDuration = duration;
+            if (duration > maxDuration) {
+                maxDuration = duration;
+            }
+
+            running.set(false);
+
+            LOGGER.log(Level.DEBUG, "Executed cron job [{0}] in [{1}]ms", url, duration);
+        }
+    }
+
+    /**
+     * Invokes the bean method.
+     */
+    private void invoke() {
+        try {
+            method.invoke(bean);
+        } catch (final InvocationTargetException e) {
+            failCount.incrementAndGet();
+            LOGGER.log(Level.ERROR, "Cron job [" + url + "] failed", e.getTargetException());
+        } catch (final Exception e) {
+            failCount.incrementAndGet();
+            LOGGER.log(Level.ERROR, "Cron job [" + url + "] failed", e);
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+
+    /**
+     * Fetches the URL.
+     */
+    private void fetch() {
         LOGGER.debug("Executing scheduled task....");
 
         final URLFetchService urlFetchService = URLFetchServiceFactory.getURLFetchService();
@@ -108,10 +231,11 @@ public final class Cron extends TimerTask {
         try {
             request.setURL(new URL(url));
             request.setRequestMethod(HTTPRequestMethod.GET);
-            urlFetchService.fetchAsync(request);
+            urlFetchService.fetch(request);
 
             LOGGER.log(Level.DEBUG, "Executed scheduled task[url={0}]", url);
         } catch (final Exception e) {
+            failCount.incrementAndGet();
             LOGGER.log(Level.ERROR, "Scheduled task execute failed", e);
 
         }
@@ -174,6 +298,60 @@ public final class Cron extends TimerTask {
         return url;
     }
 
+    /**
+     * Gets the run count.
+     *
+     * @return run count
+     */
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    /**
+     * Gets the count of runs skipped because the former run was still running.
+     *
+     * @return skip count
+     */
+    public long getSkipCount() {
+        return skipCount.get();
+    }
+
+    /**
+     * Gets the count of failed runs.
+     *
+     * @return fail count
+     */
+    public long getFailCount() {
+        return failCount.get();
+    }
+
+    /**
+     * Gets the total run duration in milliseconds.
+     *
+     * @return total duration
+     */
+    public long getTotalDuration() {
+        return totalDuration.get();
+    }
+
+    /**
+     * Gets the maximum run duration in milliseconds.
+     *
+     * @return maximum duration
+     */
+    public long getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Gets the last run duration in milliseconds.
+     *
+     * @return last duration
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
     /**
      * Sets the URL with the specified URL.
      *
@@ -16,6 +16,9 @@
 package org.b3log.latke.cron;
 
 import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.LatkeBeanManager;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.ioc.bean.LatkeBean;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.w3c.dom.Document;
@@ -25,19 +28,27 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Cron jobs service.
  * <p>
- * Loads cron jobs configurations from cron.xml and schedules tasks.
+ * Collects cron jobs from {@link Scheduled} bean methods and cron.xml, and schedules them on a shared
+ * {@link ScheduledExecutorService}. Each run is delayed by a random jitter (at most {@value #MAX_JITTER_RATIO_PERCENT}%
+ * of the period, {@value #MAX_JITTER} ms in maximum) so jobs with the same schedule do not fire together.
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.0, Sep 8, 2017
+ * @version 3.0.0.0, Oct 19, 2026
  */
 public final class CronService {
 
@@ -52,14 +63,29 @@ public final class CronService {
     private static final List<Cron> CRONS = new ArrayList<>();
 
     /**
-     * Timers.
+     * Initial delay of cron jobs in milliseconds.
      */
-    private static final List<Timer> TIMERS = new ArrayList<>();
+    private static final long INITIAL_DELAY = Cron.TEN * Cron.THOUSAND;
 
     /**
-     * Cron setup interval in seconds.
+     * Maximum jitter ratio in percentage of period.
      */
-    private static final int SETUP_INTERVAL = 5;
+    private static final int MAX_JITTER_RATIO_PERCENT = 10;
+
+    /**
+     * Maximum jitter in milliseconds.
+     */
+    private static final long MAX_JITTER = Cron.SIXTY * Cron.THOUSAND;
+
+    /**
+     * Thread count of the scheduler.
+     */
+    private static final int THREAD_CNT = 4;
+
+    /**
+     * Scheduler.
+     */
+    private static ScheduledExecutorService scheduler;
 
     /**
      * Private default constructor.
@@ -68,58 +94,167 @@ public final class CronService {
     }
 
     /**
-     * Constructs cron jobs and schedules them.
+     * Gets the shared scheduler, creates it if not exists.
+     *
+     * @return scheduler
      */
-    public static void start() {
-        new Thread(() -> {
-            LOGGER.info("Constructing cron service....");
+    public static synchronized ScheduledExecutorService getScheduler() {
+        if (null == scheduler) {
+            final AtomicInteger threadNum = new AtomicInteger();
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(THREAD_CNT, runnable -> {
+                final Thread ret = new Thread(runnable, "Cron-" + threadNum.incrementAndGet());
+                ret.setDaemon(true);
+
+                return ret;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+
+            scheduler = executor;
+        }
+
+        return scheduler;
+    }
 
-            shutdown();
+    /**
+     * Gets all cron jobs.
+     *
+     * @return cron jobs
+     */
+    public static List<Cron> getCrons() {
+        synchronized (CRONS) {
+            return Collections.unmodifiableList(new ArrayList<>(CRONS));
+        }
+    }
 
-            try {
-                loadCronXML();
+    /**
+     * Constructs cron jobs and schedules them.
+     */
+    public static void start() {
+        LOGGER.info("Constructing cron service....");
 
-                for (final Cron cron : CRONS) {
-                    final Timer timer = new Timer();
-                    TIMERS.add(timer);
+        shutdown();
 
-                    cron.setURL(Latkes.getServer() + Latkes.getContextPath() + cron.getURL());
-                    timer.scheduleAtFixedRate(cron, Cron.TEN * Cron.THOUSAND, cron.getPeriod());
+        try {
+            final List<Cron> crons = new ArrayList<>();
+            loadScheduledMethods(crons);
+            loadCronXML(crons);
 
-                    LOGGER.log(Level.DEBUG, "Scheduled a cron job[url={0}]", cron.getURL());
+            final ScheduledExecutorService executor = getScheduler();
+            for (final Cron cron : crons) {
+                if (0 >= cron.getPeriod()) {
+                    LOGGER.log(Level.WARN, "Ignored a cron job [url={0}, schedule={1}] with an invalid schedule",
+                            cron.getURL(), cron.getSchedule());
 
-                    TimeUnit.SECONDS.sleep(SETUP_INTERVAL);
+                    continue;
                 }
 
-                LOGGER.log(Level.DEBUG, "[{0}] cron jobs totally", CRONS.size());
-            } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Can not initialize Cron Service!", e);
+                schedule(executor, cron, INITIAL_DELAY + jitter(cron.getPeriod()));
+
+                LOGGER.log(Level.DEBUG, "Scheduled a cron job[url={0}]", cron.getURL());
+            }
 
-                throw new IllegalStateException(e);
+            synchronized (CRONS) {
+                CRONS.addAll(crons);
             }
 
-            LOGGER.info("Constructed Cron Service");
-        }).start();
+            LOGGER.log(Level.DEBUG, "[{0}] cron jobs totally", crons.size());
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Can not initialize Cron Service!", e);
+
+            throw new IllegalStateException(e);
+        }
+
+        LOGGER.info("Constructed Cron Service");
     }
 
     /**
      * Stops all cron jobs and clears cron job list.
      */
     public static void shutdown() {
-        CRONS.clear();
+        synchronized (CRONS) {
+            CRONS.clear();
+        }
 
-        for (final Timer timer : TIMERS) {
-            timer.cancel();
+        synchronized (CronService.class) {
+            if (null != scheduler) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
         }
-        TIMERS.clear();
 
         LOGGER.log(Level.INFO, "Closed cron service");
     }
 
     /**
-     * Loads cron.xml.
+     * Schedules a run of the specified cron job after the specified delay, the run schedules the next run once it
+     * is triggered, the next run will be skipped if this run is still running then.
+     *
+     * @param executor the specified executor
+     * @param cron     the specified cron job
+     * @param delay    the specified delay in milliseconds
+     */
+    private static void schedule(final ScheduledExecutorService executor, final Cron cron, final long delay) {
+        executor.schedule(() -> {
+            if (executor.isShutdown()) {
+                return;
+            }
+
+            schedule(executor, cron, cron.getPeriod() + jitter(cron.getPeriod()));
+            cron.run();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Generates a random jitter for the specified period.
+     *
+     * @param period the specified period in milliseconds
+     * @return jitter in milliseconds
+     */
+    private static long jitter(final long period) {
+        final long max = Math.min(period * MAX_JITTER_RATIO_PERCENT / 100, MAX_JITTER);
+        if (0 >= max) {
+            return 0;
+        }
+
+        return ThreadLocalRandom.current().nextLong(max);
+    }
+
+    /**
+     * Loads cron jobs from {@link Scheduled} bean methods.
+     *
+     * @param crons the specified cron jobs to add to
+     */
+    private static void loadScheduledMethods(final List<Cron> crons) {
+        final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
+        if (null == beanManager) {
+            return;
+        }
+
+        for (final LatkeBean<?> bean : beanManager.getBeans()) {
+            for (final Method method : bean.getBeanClass().getDeclaredMethods()) {
+                final Scheduled scheduled = method.getAnnotation(Scheduled.class);
+                if (null == scheduled) {
+                    continue;
+                }
+
+                if (!Modifier.isPublic(method.getModifiers()) || 0 != method.getParameterCount()) {
+                    LOGGER.log(Level.WARN, "Ignored a scheduled method [{0}#{1}], it must be public and take no arguments",
+                            bean.getBeanClass().getName(), method.getName());
+
+                    continue;
+                }
+
+                crons.add(new Cron(beanManager.getReference(bean), method, scheduled.description(), scheduled.schedule()));
+            }
+        }
+    }
+
+    /**
+     * Loads cron jobs from cron.xml.
+     *
+     * @param crons the specified cron jobs to add to
      */
-    private static void loadCronXML() {
+    private static void loadCronXML(final List<Cron> crons) {
         final File cronXML = Latkes.getWebFile("/WEB-INF/cron.xml");
 
         if (null == cronXML || !cronXML.exists()) {
@@ -137,10 +272,10 @@ public final class CronService {
 
             root.normalize();
 
-            final NodeList crons = root.getElementsByTagName("cron");
+            final NodeList cronElements = root.getElementsByTagName("cron");
 
-            for (int i = 0; i < crons.getLength(); i++) {
-                final Element cronElement = (Element) crons.item(i);
+            for (int i = 0; i < cronElements.getLength(); i++) {
+                final Element cronElement = (Element) cronElements.item(i);
                 final Element urlElement = (Element) cronElement.getElementsByTagName("url").item(0);
                 final Element descriptionElement = (Element) cronElement.getElementsByTagName("description").item(0);
                 final Element scheduleElement = (Element) cronElement.getElementsByTagName("schedule").item(0);
@@ -149,7 +284,9 @@ public final class CronService {
                 final String description = descriptionElement.getTextContent();
                 final String schedule = scheduleElement.getTextContent();
 
-                CRONS.add(new Cron(url, description, schedule));
+                final Cron cron = new Cron(url, description, schedule);
+                cron.setURL(Latkes.getServer() + Latkes.getContextPath() + url);
+                crons.add(cron);
             }
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Reads cron.xml failed", e);
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.cron;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that an annotated bean method is a cron job, {@link CronService} invokes it in-process on the given
+ * schedule.
+ *
+ * <p>
+ * The annotated method must be public and take no arguments, its return value is ignored.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see CronService
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scheduled {
+
+    /**
+     * The schedule, same format as the schedule in cron.xml, for examples:
+     * <ul>
+     * <li>every 12 hours</li>
+     * <li>every 10 minutes</li>
+     * <li>every 30 seconds</li>
+     * </ul>
+     *
+     * @return schedule
+     */
+    String schedule();
+
+    /**
+     * The description.
+     *
+     * @return description
+     */
+    String description() default "";
+}
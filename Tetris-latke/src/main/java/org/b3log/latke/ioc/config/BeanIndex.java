@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.ioc.config;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bean index, loaded from the {@value #LOCATION} resources generated by {@link BeanIndexer} at compile time.
+ *
+ * <p>
+ * Each line of an index is either "bean &lt;className&gt;" or "route &lt;className&gt; &lt;methodName&gt;
+ * &lt;paramType,paramType...&gt;". If no index is on the classpath, {@link #get()} returns {@code null} and callers
+ * fall back to scanning.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @see BeanIndexer
+ */
+public final class BeanIndex {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BeanIndex.class);
+
+    /**
+     * Index resource location.
+     */
+    public static final String LOCATION = "META-INF/latke/beans.idx";
+
+    /**
+     * Bean entry type.
+     */
+    static final String BEAN = "bean";
+
+    /**
+     * Route entry type.
+     */
+    static final String ROUTE = "route";
+
+    /**
+     * Primitive types.
+     */
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (final Class<?> primitive : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+                long.class, float.class, double.class}) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    /**
+     * Loaded index, {@code null} if there is no index on the classpath.
+     */
+    private static volatile BeanIndex instance;
+
+    /**
+     * Whether the index has been loaded.
+     */
+    private static volatile boolean loaded;
+
+    /**
+     * Classpath roots holding an index, for example "file:/app/WEB-INF/classes/".
+     */
+    private final Set<String> roots = new LinkedHashSet<>();
+
+    /**
+     * Bean class names.
+     */
+    private final Set<String> beanClassNames = new LinkedHashSet<>();
+
+    /**
+     * Routes, &lt;className, [[methodName, paramTypes]]&gt;.
+     */
+    private final Map<String, List<String[]>> routes = new HashMap<>();
+
+    /**
+     * Private constructor.
+     */
+    private BeanIndex() {
+    }
+
+    /**
+     * Gets the bean index of the current context class loader.
+     *
+     * @return bean index, returns {@code null} if there is no index on the classpath
+     */
+    public static BeanIndex get() {
+        if (!loaded) {
+            synchronized (BeanIndex.class) {
+                if (!loaded) {
+                    instance = load(Thread.currentThread().getContextClassLoader());
+                    loaded = true;
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Loads all index resources from the specified class loader.
+     *
+     * @param classLoader the specified class loader
+     * @return bean index, returns {@code null} if not found or failed to load
+     */
+    private static BeanIndex load(final ClassLoader classLoader) {
+        try {
+            final Enumeration<URL> urls = classLoader.getResources(LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+
+            final BeanIndex ret = new BeanIndex();
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                final String urlString = url.toString();
+                ret.roots.add(urlString.substring(0, urlString.length() - LOCATION.length()));
+                try (final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while (null != (line = reader.readLine())) {
+                        ret.parse(line.trim());
+                    }
+                }
+
+                LOGGER.log(Level.DEBUG, "Loaded bean index [{0}]", url);
+            }
+
+            return ret;
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Loads bean index failed, falls back to scanning", e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Parses the specified index line.
+     *
+     * @param line the specified index line
+     */
+    private void parse(final String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return;
+        }
+
+        final String[] parts = line.split(" ");
+        if (BEAN.equals(parts[0]) && 2 == parts.length) {
+            beanClassNames.add(parts[1]);
+        } else if (ROUTE.equals(parts[0]) && 3 <= parts.length) {
+            final String paramTypes = 4 == parts.length ? parts[3] : "";
+            routes.computeIfAbsent(parts[1], k -> new ArrayList<>()).add(new String[]{parts[2], paramTypes});
+        }
+    }
+
+    /**
+     * Gets the classpath roots holding an index, the bean classes of other roots are not indexed.
+     *
+     * @return classpath roots, for example "file:/app/WEB-INF/classes/" or "jar:file:/app/WEB-INF/lib/a.jar!/"
+     */
+    public Set<String> getRoots() {
+        return Collections.unmodifiableSet(roots);
+    }
+
+    /**
+     * Gets the indexed bean class names.
+     *
+     * @return bean class names (binary names), returns an empty set if not found
+     */
+    public Set<String> getBeanClassNames() {
+        return Collections.unmodifiableSet(beanClassNames);
+    }
+
+    /**
+     * Gets the indexed {@code @RequestProcessing} methods of the specified request processor class.
+     *
+     * @param processorClass the specified request processor class
+     * @return methods, returns {@code null} if the class is not indexed or the index does not match the class, the
+     * caller should scan the class in this case
+     */
+    public List<Method> getRouteMethods(final Class<?> processorClass) {
+        if (!beanClassNames.contains(processorClass.getName())) {
+            return null;
+        }
+
+        final List<String[]> methods = routes.get(processorClass.getName());
+        if (null == methods) {
+            return Collections.emptyList();
+        }
+
+        final ClassLoader classLoader = processorClass.getClassLoader();
+        final List<Method> ret = new ArrayList<>(methods.size());
+        try {
+            for (final String[] method : methods) {
+                final String[] paramTypeNames = method[1].isEmpty() ? new String[0] : method[1].split(",");
+                final Class<?>[] paramTypes = new Class<?>[paramTypeNames.length];
+                for (int i = 0; i < paramTypeNames.length; i++) {
+                    paramTypes[i] = toClass(paramTypeNames[i], classLoader);
+                }
+
+                ret.add(processorClass.getDeclaredMethod(method[0], paramTypes));
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARN, "Bean index is stale for class [" + processorClass.getName() + "], scans it", e);
+
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Resolves the specified type name.
+     *
+     * @param typeName the specified type name, binary name, primitive keyword or component name with "[]" suffix
+     * @param classLoader the specified class loader
+     * @return class
+     * @throws ClassNotFoundException class not found exception
+     */
+    private static Class<?> toClass(final String typeName, final ClassLoader classLoader) throws ClassNotFoundException {
+        if (typeName.endsWith("[]")) {
+            final Class<?> componentType = toClass(typeName.substring(0, typeName.length() - 2), classLoader);
+
+            return Array.newInstance(componentType, 0).getClass();
+        }
+
+        final Class<?> primitive = PRIMITIVES.get(typeName);
+        if (null != primitive) {
+            return primitive;
+        }
+
+        return Class.forName(typeName, false, classLoader);
+    }
+}
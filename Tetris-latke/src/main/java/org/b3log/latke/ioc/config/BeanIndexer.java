@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.ioc.config;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor generates the bean index ({@value BeanIndex#LOCATION}) at compile time.
+ *
+ * <p>
+ * Records every class annotated with {@code @RequestProcessor}, {@code @Service}, {@code @Repository} or
+ * {@code @Named}, and every {@code @RequestProcessing} method of the request processors, so {@link Discoverer} and
+ * the request dispatcher can skip classpath scanning at startup. The processor is registered through
+ * {@code META-INF/services}, applications compiled against Latke get the index without configuration. Entries
+ * written by a previous (incremental) compilation are kept if their classes are not part of the current one.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see BeanIndex
+ */
+public final class BeanIndexer extends AbstractProcessor {
+
+    /**
+     * Request processor annotation name.
+     */
+    private static final String REQUEST_PROCESSOR = "org.b3log.latke.servlet.annotation.RequestProcessor";
+
+    /**
+     * Request processing annotation name.
+     */
+    private static final String REQUEST_PROCESSING = "org.b3log.latke.servlet.annotation.RequestProcessing";
+
+    /**
+     * Bean annotation names.
+     */
+    private static final Set<String> BEAN_ANNOTATIONS = new HashSet<>(Arrays.asList(REQUEST_PROCESSOR,
+            "org.b3log.latke.service.annotation.Service",
+            "org.b3log.latke.repository.annotation.Repository",
+            "org.b3log.latke.ioc.inject.Named"));
+
+    /**
+     * Index entries of this compilation.
+     */
+    private final Set<String> entries = new TreeSet<>();
+
+    /**
+     * Binary names of the classes of this compilation.
+     */
+    private final Set<String> compiledClassNames = new HashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return BEAN_ANNOTATIONS;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element rootElement : roundEnv.getRootElements()) {
+            collectClassNames(rootElement);
+        }
+
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+                    continue; // e.g. @Named on fields and parameters
+                }
+
+                if (null == getAnnotation(element, annotation.getQualifiedName().toString())) {
+                    continue; // Inherited, the classpath scanning only checks the annotations present on the class
+                }
+
+                index((TypeElement) element);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            write();
+        }
+
+        return false;
+    }
+
+    /**
+     * Indexes the specified bean class.
+     *
+     * @param beanClass the specified bean class
+     */
+    private void index(final TypeElement beanClass) {
+        final String className = getBinaryName(beanClass);
+        entries.add(BeanIndex.BEAN + ' ' + className);
+
+        if (null == getAnnotation(beanClass, REQUEST_PROCESSOR)) {
+            return;
+        }
+
+        for (final Element enclosed : beanClass.getEnclosedElements()) {
+            if (ElementKind.METHOD != enclosed.getKind() || null == getAnnotation(enclosed, REQUEST_PROCESSING)) {
+                continue;
+            }
+
+            final ExecutableElement method = (ExecutableElement) enclosed;
+            final List<String> paramTypes = new ArrayList<>();
+            for (final VariableElement param : method.getParameters()) {
+                paramTypes.add(getTypeName(param.asType()));
+            }
+
+            entries.add(BeanIndex.ROUTE + ' ' + className + ' ' + method.getSimpleName() + ' '
+                    + String.join(",", paramTypes));
+        }
+    }
+
+    /**
+     * Writes the index, merges the entries of the classes not compiled this time from the previous index.
+     */
+    private void write() {
+        final Filer filer = processingEnv.getFiler();
+        final Set<String> lines = new LinkedHashSet<>();
+
+        try {
+            final FileObject previous = filer.getResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    final String[] parts = line.split(" ");
+                    if (line.startsWith("#") || 2 > parts.length || compiledClassNames.contains(parts[1])) {
+                        continue;
+                    }
+
+                    if (null == processingEnv.getElementUtils().getTypeElement(parts[1].replace('$', '.'))) {
+                        continue; // Removed
+                    }
+
+                    lines.add(line);
+                }
+            }
+        } catch (final Exception e) {
+            // No previous index
+        }
+
+        lines.addAll(entries);
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        try {
+            final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", BeanIndex.LOCATION);
+            try (final Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Latke bean index, generated by " + BeanIndexer.class.getName() + ", do not edit\n");
+                for (final String line : new TreeSet<>(lines)) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (final Exception e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Writes bean index [" + BeanIndex.LOCATION + "] failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Collects binary names of the specified element and its nested classes.
+     *
+     * @param element the specified element
+     */
+    private void collectClassNames(final Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+
+        compiledClassNames.add(getBinaryName((TypeElement) element));
+        for (final Element enclosed : element.getEnclosedElements()) {
+            collectClassNames(enclosed);
+        }
+    }
+
+    /**
+     * Gets the annotation mirror of the specified annotation name present on the specified element.
+     *
+     * @param element the specified element
+     * @param annotationName the specified annotation name
+     * @return annotation mirror, returns {@code null} if not found
+     */
+    private static AnnotationMirror getAnnotation(final Element element, final String annotationName) {
+        for (final AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotationMirror;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the binary name of the specified class.
+     *
+     * @param typeElement the specified class
+     * @return binary name, for example "org.b3log.Outer$Inner"
+     */
+    private String getBinaryName(final TypeElement typeElement) {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    /**
+     * Gets the runtime name of the erasure of the specified type.
+     *
+     * @param type the specified type
+     * @return binary name for classes, keyword for primitives, component name with "[]" suffix for arrays
+     */
+    private String getTypeName(final TypeMirror type) {
+        final Types types = processingEnv.getTypeUtils();
+        final TypeMirror erasure = types.erasure(type);
+
+        if (TypeKind.ARRAY == erasure.getKind()) {
+            return getTypeName(((ArrayType) erasure).getComponentType()) + "[]";
+        }
+
+        if (erasure.getKind().isPrimitive()) {
+            return erasure.toString();
+        }
+
+        final Elements elements = processingEnv.getElementUtils();
+
+        return elements.getBinaryName((TypeElement) types.asElement(erasure)).toString();
+    }
+}
@@ -34,6 +34,7 @@ import org.b3log.latke.util.Strings;
 import java.io.DataInputStream;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -42,8 +43,14 @@ import java.util.Set;
 /**
  * Bean discoverer.
  *
+ * <p>
+ * Uses the compile time {@link BeanIndex bean index} for the classpath roots holding one, scans the other classpath
+ * roots (for example a jar built without the indexer).
+ * </p>
+ *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.4, Mar 30, 2010
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
  */
 public final class Discoverer {
 
@@ -86,6 +93,16 @@ public final class Discoverer {
 
         final String[] splitPaths = scanPath.split(",");
 
+        Set<String> indexedRoots = Collections.emptySet();
+        final BeanIndex beanIndex = BeanIndex.get();
+        if (null != beanIndex) {
+            // Skips scanning the indexed classpath roots, walking the classpath roots is the major cost of startup
+            ret.addAll(discoverIndexed(beanIndex, splitPaths));
+            indexedRoots = beanIndex.getRoots();
+
+            LOGGER.log(Level.INFO, "Discovered [{0}] bean classes from bean index", ret.size());
+        }
+
         // Adds some built-in components
         final String[] paths = ArrayUtils.concatenate(splitPaths, BUILT_IN_COMPONENT_PKGS);
 
@@ -102,7 +119,7 @@ public final class Discoverer {
                 path = path.replaceAll("\\.", "/") + "/**/*.class";
             }
 
-            urls.addAll(ClassPathResolver.getResources(path));
+            urls.addAll(ClassPathResolver.getResources(path, indexedRoots));
         }
 
         for (URL url : urls) {
@@ -172,4 +189,40 @@ public final class Discoverer {
 
         return ret;
     }
+
+    /**
+     * Loads the indexed bean classes matching the specified scan paths.
+     *
+     * @param beanIndex the specified bean index
+     * @param scanPaths the specified scan paths, packages or ant-style classpath patterns
+     * @return bean classes
+     */
+    private static Collection<Class<?>> discoverIndexed(final BeanIndex beanIndex, final String[] scanPaths) {
+        final String[] patterns = new String[scanPaths.length];
+        for (int i = 0; i < scanPaths.length; i++) {
+            final String path = scanPaths[i].trim();
+            patterns[i] = AntPathMatcher.isPattern(path) ? path : path.replaceAll("\\.", "/") + "/**/*.class";
+        }
+
+        final Collection<Class<?>> ret = new HashSet<Class<?>>();
+        for (final String className : beanIndex.getBeanClassNames()) {
+            final String classPath = className.replace('.', '/') + ".class";
+
+            for (final String pattern : patterns) {
+                if (!AntPathMatcher.match(pattern, classPath)) {
+                    continue;
+                }
+
+                try {
+                    ret.add(Thread.currentThread().getContextClassLoader().loadClass(className));
+                } catch (final ClassNotFoundException e) {
+                    LOGGER.log(Level.WARN, "Indexed bean class [" + className + "] not found, the bean index may be stale");
+                }
+
+                break;
+            }
+        }
+
+        return ret;
+    }
 }
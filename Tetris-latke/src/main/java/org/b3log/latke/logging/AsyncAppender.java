@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous appender, holds formatted logging records in a bounded ring buffer and writes them to slf4j on a
+ * daemon thread.
+ *
+ * <p>
+ * Appending never blocks the caller, records are dropped and counted if the buffer is full. Caller location (line
+ * number etc.) is resolved on the writer thread, so it is not reliable while this appender is enabled.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see Logger#startAsync(int)
+ */
+final class AsyncAppender implements Runnable {
+
+    /**
+     * Writer thread waits at most this milliseconds for records before checking the running flag.
+     */
+    private static final long POLL_MILLIS = 500;
+
+    /**
+     * Ring buffer.
+     */
+    private final BlockingQueue<Record> buffer;
+
+    /**
+     * Dropped record count.
+     */
+    private final AtomicLong droppedCnt = new AtomicLong();
+
+    /**
+     * Writer thread.
+     */
+    private final Thread writer;
+
+    /**
+     * Whether the writer is running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Constructs an asynchronous appender with the specified buffer capacity and starts its writer thread.
+     *
+     * @param capacity the specified buffer capacity
+     */
+    AsyncAppender(final int capacity) {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(this, "Latke-AsyncLogger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param proxy the specified slf4j logger
+     * @param level the specified level
+     * @param msg the specified formatted message
+     * @param throwable the specified throwable, may be {@code null}
+     */
+    void append(final org.slf4j.Logger proxy, final Level level, final String msg, final Throwable throwable) {
+        if (!buffer.offer(new Record(proxy, level, msg, throwable))) {
+            droppedCnt.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the dropped record count.
+     *
+     * @return dropped record count
+     */
+    long getDroppedCnt() {
+        return droppedCnt.get();
+    }
+
+    /**
+     * Stops the writer thread after the buffered records have been written.
+     */
+    void stop() {
+        running = false;
+        try {
+            writer.join(POLL_MILLIS * 4);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                final Record record = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (null != record) {
+                    Logger.emit(record.proxy, record.level, record.msg, record.throwable);
+                }
+            } catch (final InterruptedException e) {
+                running = false;
+            } catch (final Throwable t) {
+                // A broken appender downstream must not kill the writer thread
+                t.printStackTrace();
+            }
+        }
+
+        final long dropped = droppedCnt.get();
+        if (0 < dropped) {
+            System.err.println("Async logger dropped [" + dropped + "] records");
+        }
+    }
+
+    /**
+     * Buffered logging record.
+     */
+    private static final class Record {
+
+        /**
+         * Slf4j logger.
+         */
+        private final org.slf4j.Logger proxy;
+
+        /**
+         * Level.
+         */
+        private final Level level;
+
+        /**
+         * Formatted message.
+         */
+        private final String msg;
+
+        /**
+         * Throwable.
+         */
+        private final Throwable throwable;
+
+        /**
+         * Constructs a record.
+         *
+         * @param proxy the specified slf4j logger
+         * @param level the specified level
+         * @param msg the specified message
+         * @param throwable the specified throwable
+         */
+        private Record(final org.slf4j.Logger proxy, final Level level, final String msg, final Throwable throwable) {
+            this.proxy = proxy;
+            this.level = level;
+            this.msg = msg;
+            this.throwable = throwable;
+        }
+    }
+}
@@ -15,23 +15,25 @@
  */
 package org.b3log.latke.logging;
 
-import static org.b3log.latke.logging.Level.DEBUG;
-import static org.b3log.latke.logging.Level.ERROR;
-import static org.b3log.latke.logging.Level.INFO;
-import static org.b3log.latke.logging.Level.TRACE;
-import static org.b3log.latke.logging.Level.WARN;
 import org.slf4j.LoggerFactory;
 import org.slf4j.spi.LocationAwareLogger;
 
+import java.text.MessageFormat;
+import java.util.function.Supplier;
+
 /**
  * Latke logger.
  *
  * <p>
- * The logging will delegate to slf4j.
+ * The logging will delegate to slf4j. Every logging method checks the level first, messages are formatted (or
+ * supplied) only if the level is enabled, and the one and two arguments overloads avoid allocating a varargs array.
+ * If asynchronous logging is started (see {@link #startAsync(int)}), formatted records are handed to a bounded ring
+ * buffer and written on a daemon thread, so callers never block on logging I/O.
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.1, Jan 4, 2016
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
  * @see Level
  */
 public final class Logger {
@@ -41,6 +43,11 @@ public final class Logger {
      */
     private static final String FQCN = Logger.class.getName();
 
+    /**
+     * Asynchronous appender, {@code null} for synchronous logging.
+     */
+    private static volatile AsyncAppender asyncAppender;
+
     /**
      * SLF4j logger.
      */
@@ -75,18 +82,51 @@ public final class Logger {
         return new Logger(clazz.getName());
     }
 
+    /**
+     * Starts asynchronous logging with the specified ring buffer capacity. Does nothing if it has been started.
+     *
+     * @param capacity the specified ring buffer capacity
+     */
+    public static synchronized void startAsync(final int capacity) {
+        if (null != asyncAppender) {
+            return;
+        }
+
+        asyncAppender = new AsyncAppender(capacity);
+    }
+
+    /**
+     * Stops asynchronous logging, the buffered records will be written before this method returns.
+     */
+    public static synchronized void stopAsync() {
+        final AsyncAppender appender = asyncAppender;
+        if (null == appender) {
+            return;
+        }
+
+        asyncAppender = null;
+        appender.stop();
+    }
+
+    /**
+     * Gets the count of records dropped by asynchronous logging because the ring buffer was full.
+     *
+     * @return dropped record count, returns {@code 0} if asynchronous logging is not started
+     */
+    public static long getAsyncDroppedCnt() {
+        final AsyncAppender appender = asyncAppender;
+
+        return null == appender ? 0 : appender.getDroppedCnt();
+    }
+
     /**
      * Logs the specified message at the ERROR level.
      *
      * @param msg the specified message
      */
     public void error(final String msg) {
-        if (proxy.isErrorEnabled()) {
-            if (proxy instanceof LocationAwareLogger) {
-                ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.ERROR_INT, msg, null, null);
-            } else {
-                proxy.error(msg);
-            }
+        if (isErrorEnabled()) {
+            write(Level.ERROR, msg, null);
         }
     }
 
@@ -96,12 +136,8 @@ public final class Logger {
      * @param msg the specified message
      */
     public void warn(final String msg) {
-        if (proxy.isWarnEnabled()) {
-            if (proxy instanceof LocationAwareLogger) {
-                ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.WARN_INT, msg, null, null);
-            } else {
-                proxy.warn(msg);
-            }
+        if (isWarnEnabled()) {
+            write(Level.WARN, msg, null);
         }
     }
 
@@ -111,12 +147,8 @@ public final class Logger {
      * @param msg the specified message
      */
     public void info(final String msg) {
-        if (proxy.isInfoEnabled()) {
-            if (proxy instanceof LocationAwareLogger) {
-                ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.INFO_INT, msg, null, null);
-            } else {
-                proxy.info(msg);
-            }
+        if (isInfoEnabled()) {
+            write(Level.INFO, msg, null);
         }
     }
 
@@ -126,12 +158,8 @@ public final class Logger {
      * @param msg the specified message
      */
     public void debug(final String msg) {
-        if (proxy.isDebugEnabled()) {
-            if (proxy instanceof LocationAwareLogger) {
-                ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.DEBUG_INT, msg, null, null);
-            } else {
-                proxy.debug(msg);
-            }
+        if (isDebugEnabled()) {
+            write(Level.DEBUG, msg, null);
         }
     }
 
@@ -141,12 +169,8 @@ public final class Logger {
      * @param msg the specified message
      */
     public void trace(final String msg) {
-        if (proxy.isTraceEnabled()) {
-            if (proxy instanceof LocationAwareLogger) {
-                ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.TRACE_INT, msg, null, null);
-            } else {
-                proxy.trace(msg);
-            }
+        if (isTraceEnabled()) {
+            write(Level.TRACE, msg, null);
         }
     }
 
@@ -158,59 +182,63 @@ public final class Logger {
      * @param throwable the specified throwable
      */
     public void log(final Level level, final String msg, final Throwable throwable) {
-        switch (level) {
-            case ERROR:
-                if (proxy.isErrorEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.ERROR_INT, msg, null, throwable);
-                    } else {
-                        proxy.error(msg, throwable);
-                    }
-                }
-
-                break;
-            case WARN:
-                if (proxy.isWarnEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.WARN_INT, msg, null, throwable);
-                    } else {
-                        proxy.warn(msg, throwable);
-                    }
-                }
+        if (isLoggable(level)) {
+            write(level, msg, throwable);
+        }
+    }
 
-                break;
-            case INFO:
-                if (proxy.isInfoEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.INFO_INT, msg, null, throwable);
-                    } else {
-                        proxy.info(msg, throwable);
-                    }
-                }
+    /**
+     * Logs the message supplied by the specified supplier with the specified logging level. The supplier is invoked
+     * only if the level is enabled.
+     *
+     * @param level the specified logging level
+     * @param msgSupplier the specified message supplier
+     */
+    public void log(final Level level, final Supplier<String> msgSupplier) {
+        if (isLoggable(level)) {
+            write(level, msgSupplier.get(), null);
+        }
+    }
 
-                break;
-            case DEBUG:
-                if (proxy.isDebugEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.DEBUG_INT, msg, null, throwable);
-                    } else {
-                        proxy.debug(msg, throwable);
-                    }
-                }
+    /**
+     * Logs the message supplied by the specified supplier with the specified logging level and throwable. The
+     * supplier is invoked only if the level is enabled.
+     *
+     * @param level the specified logging level
+     * @param msgSupplier the specified message supplier
+     * @param throwable the specified throwable
+     */
+    public void log(final Level level, final Supplier<String> msgSupplier, final Throwable throwable) {
+        if (isLoggable(level)) {
+            write(level, msgSupplier.get(), throwable);
+        }
+    }
 
-                break;
-            case TRACE:
-                if (proxy.isTraceEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.TRACE_INT, msg, null, throwable);
-                    } else {
-                        proxy.trace(msg, throwable);
-                    }
-                }
+    /**
+     * Logs the specified message with the specified logging level and argument.
+     *
+     * @param level the specified logging level
+     * @param msg the specified message
+     * @param arg the specified argument, an {@code Object[]} argument is treated as the argument array for the
+     * callers compiled against the varargs method
+     */
+    public void log(final Level level, final String msg, final Object arg) {
+        if (isLoggable(level)) {
+            write(level, format(msg, arg instanceof Object[] ? (Object[]) arg : new Object[]{arg}), null);
+        }
+    }
 
-                break;
-            default:
-                throw new IllegalStateException("Logging level [" + level + "] is invalid");
+    /**
+     * Logs the specified message with the specified logging level and arguments.
+     *
+     * @param level the specified logging level
+     * @param msg the specified message
+     * @param arg0 the specified first argument
+     * @param arg1 the specified second argument
+     */
+    public void log(final Level level, final String msg, final Object arg0, final Object arg1) {
+        if (isLoggable(level)) {
+            write(level, format(msg, new Object[]{arg0, arg1}), null);
         }
     }
 
@@ -222,70 +250,8 @@ public final class Logger {
      * @param args the specified arguments
      */
     public void log(final Level level, final String msg, final Object... args) {
-        String message = msg;
-
-        if (null != args && 0 < args.length) {
-            // Is it a java.text style format?
-            // Ideally we could match with Pattern.compile("\\{\\d").matcher(format).find())
-            // However the cost is 14% higher, so we cheaply check for 1 of the first 4 parameters
-            if (msg.indexOf("{0") >= 0 || msg.indexOf("{1") >= 0 || msg.indexOf("{2") >= 0 || msg.indexOf("{3") >= 0) {
-                message = java.text.MessageFormat.format(msg, args);
-            }
-        }
-
-        switch (level) {
-            case ERROR:
-                if (proxy.isErrorEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.ERROR_INT, message, null, null);
-                    } else {
-                        proxy.error(message);
-                    }
-                }
-
-                break;
-            case WARN:
-                if (proxy.isWarnEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.WARN_INT, message, null, null);
-                    } else {
-                        proxy.warn(message);
-                    }
-                }
-
-                break;
-            case INFO:
-                if (proxy.isInfoEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.INFO_INT, message, null, null);
-                    } else {
-                        proxy.info(message);
-                    }
-                }
-
-                break;
-            case DEBUG:
-                if (proxy.isDebugEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.DEBUG_INT, message, null, null);
-                    } else {
-                        proxy.debug(message);
-                    }
-                }
-
-                break;
-            case TRACE:
-                if (proxy.isTraceEnabled()) {
-                    if (proxy instanceof LocationAwareLogger) {
-                        ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.TRACE_INT, message, null, null);
-                    } else {
-                        proxy.trace(message);
-                    }
-                }
-
-                break;
-            default:
-                throw new IllegalStateException("Logging level [" + level + "] is invalid");
+        if (isLoggable(level)) {
+            write(level, format(msg, args), null);
         }
     }
 
@@ -376,4 +342,100 @@ public final class Logger {
                 throw new IllegalStateException("Logging level [" + level + "] is invalid");
         }
     }
+
+    /**
+     * Formats the specified message with the specified arguments.
+     *
+     * @param msg the specified message
+     * @param args the specified arguments
+     * @return formatted message
+     */
+    private static String format(final String msg, final Object[] args) {
+        if (null == args || 0 == args.length) {
+            return msg;
+        }
+
+        // Is it a java.text style format?
+        // Ideally we could match with Pattern.compile("\\{\\d").matcher(format).find())
+        // However the cost is 14% higher, so we cheaply check for 1 of the first 4 parameters
+        if (msg.indexOf("{0") >= 0 || msg.indexOf("{1") >= 0 || msg.indexOf("{2") >= 0 || msg.indexOf("{3") >= 0) {
+            return MessageFormat.format(msg, args);
+        }
+
+        return msg;
+    }
+
+    /**
+     * Writes the specified message, to the asynchronous appender if it is started, to slf4j directly otherwise. The
+     * caller should have checked the level.
+     *
+     * @param level the specified logging level
+     * @param msg the specified message
+     * @param throwable the specified throwable, may be {@code null}
+     */
+    private void write(final Level level, final String msg, final Throwable throwable) {
+        final AsyncAppender appender = asyncAppender;
+        if (null != appender) {
+            appender.append(proxy, level, msg, throwable);
+
+            return;
+        }
+
+        emit(proxy, level, msg, throwable);
+    }
+
+    /**
+     * Writes the specified message to the specified slf4j logger.
+     *
+     * @param proxy the specified slf4j logger
+     * @param level the specified logging level
+     * @param msg the specified message
+     * @param throwable the specified throwable, may be {@code null}
+     */
+    static void emit(final org.slf4j.Logger proxy, final Level level, final String msg, final Throwable throwable) {
+        switch (level) {
+            case ERROR:
+                if (proxy instanceof LocationAwareLogger) {
+                    ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.ERROR_INT, msg, null, throwable);
+                } else {
+                    proxy.error(msg, throwable);
+                }
+
+                break;
+            case WARN:
+                if (proxy instanceof LocationAwareLogger) {
+                    ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.WARN_INT, msg, null, throwable);
+                } else {
+                    proxy.warn(msg, throwable);
+                }
+
+                break;
+            case INFO:
+                if (proxy instanceof LocationAwareLogger) {
+                    ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.INFO_INT, msg, null, throwable);
+                } else {
+                    proxy.info(msg, throwable);
+                }
+
+                break;
+            case DEBUG:
+                if (proxy instanceof LocationAwareLogger) {
+                    ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.DEBUG_INT, msg, null, throwable);
+                } else {
+                    proxy.debug(msg, throwable);
+                }
+
+                break;
+            case TRACE:
+                if (proxy instanceof LocationAwareLogger) {
+                    ((LocationAwareLogger) proxy).log(null, FQCN, LocationAwareLogger.TRACE_INT, msg, null, throwable);
+                } else {
+                    proxy.trace(msg, throwable);
+                }
+
+                break;
+            default:
+                throw new IllegalStateException("Logging level [" + level + "] is invalid");
+        }
+    }
 }
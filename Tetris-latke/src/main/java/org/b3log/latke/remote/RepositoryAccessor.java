@@ -17,8 +17,15 @@ package org.b3log.latke.remote;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.io.IOUtils;
@@ -40,6 +47,7 @@ import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.JSONRenderer;
+import org.b3log.latke.servlet.renderer.NDJSONRenderer;
 import org.b3log.latke.util.Strings;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -49,7 +57,7 @@ import org.json.JSONObject;
  * Accesses repository via HTTP protocol.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.5, Jan 8, 2016
+ * @version 2.1.0.1, Oct 19, 2026
  */
 @RequestProcessor
 public class RepositoryAccessor {
@@ -59,6 +67,16 @@ public class RepositoryAccessor {
      */
     private static final Logger LOGGER = Logger.getLogger(RepositoryAccessor.class);
 
+    /**
+     * Newline delimited JSON format.
+     */
+    private static final String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * Count of records added in one transaction while importing newline delimited JSON.
+     */
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     /**
      * Gets whether repositories is writable.
      *
@@ -212,6 +230,13 @@ public class RepositoryAccessor {
      * </p>
      *
      * <p>
+     * With parameter <em>format=ndjson</em> the whole repository is streamed instead, one record per line, and
+     * parameters pageNum and pageSize are not required. Optional parameter <em>compression</em> ({@code gzip} or
+     * {@code zip}) compresses the stream. Records are read with a cursor, so the memory used does not grow with the
+     * repository size.
+     * </p>
+     *
+     * <p>
      * Renders response like the following:
      * <pre>
      * {
@@ -256,6 +281,16 @@ public class RepositoryAccessor {
             return;
         }
 
+        if (FORMAT_NDJSON.equals(request.getParameter("format"))) {
+            final NDJSONRenderer ndjsonRenderer = new NDJSONRenderer();
+            ndjsonRenderer.setRepository(repository);
+            ndjsonRenderer.setCompression(request.getParameter("compression"));
+            ndjsonRenderer.setFileName(repositoryName);
+            context.setRenderer(ndjsonRenderer);
+
+            return;
+        }
+
         final Query query = new Query().setCurrentPageNum(Integer.valueOf(request.getParameter("pageNum"))).setPageSize(
                 Integer.valueOf(request.getParameter("pageSize")));
 
@@ -287,6 +322,14 @@ public class RepositoryAccessor {
      * </p>
      *
      * <p>
+     * With query parameter <em>format=ndjson</em> the post body is read as newline delimited JSON, one record per
+     * line, optionally compressed as specified by query parameter <em>compression</em> ({@code gzip} or {@code zip}).
+     * The body is read line by line and records are added with batched inserts, committed every
+     * {@value #IMPORT_BATCH_SIZE} records. Records committed before a failure are kept and their count is rendered as
+     * "count".
+     * </p>
+     *
+     * <p>
      * Renders response like the following:
      * <pre>
      * {
@@ -313,6 +356,32 @@ public class RepositoryAccessor {
         jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_OK);
         jsonObject.put(Keys.MSG, "Put data");
 
+        if (FORMAT_NDJSON.equals(request.getParameter("format"))) {
+            final String repositoryName = request.getParameter("repositoryName");
+            if (Strings.isEmptyOrNull(repositoryName)) {
+                jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_BAD_REQUEST);
+                jsonObject.put(Keys.MSG, "Requires parameter[repositoryName]");
+
+                return;
+            }
+
+            if (badCompression(request, jsonObject) || !authSucc(request, jsonObject)) {
+                return;
+            }
+
+            jsonObject.put("count", 0);
+            try {
+                importData(request, getRepository(repositoryName), repositoryName, jsonObject);
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Puts data failed", e);
+
+                jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                jsonObject.put(Keys.MSG, "Puts data failed[errorMsg=" + e.getMessage() + "]");
+            }
+
+            return;
+        }
+
         final StringBuilder dataBuilder = new StringBuilder();
 
         if (badPutDataRequest(request, jsonObject, dataBuilder) || !authSucc(request, jsonObject)) {
@@ -320,71 +389,170 @@ public class RepositoryAccessor {
         }
 
         final String repositoryName = request.getParameter("repositoryName");
-        Repository repository = Repositories.getRepository(repositoryName);
-
-        if (null == repository) {
-            final String tableNamePrefix = StringUtils.isNotBlank(Latkes.getLocalProperty("jdbc.tablePrefix"))
-                    ? Latkes.getLocalProperty("jdbc.tablePrefix") + "_"
-                    : "";
-            final String withoutTablePrefix = StringUtils.substringAfter(repositoryName, tableNamePrefix);
-
-            repository = new AbstractRepository(withoutTablePrefix) {
-            };
-        }
+        final Repository repository = getRepository(repositoryName);
 
         final Transaction transaction = repository.beginTransaction();
 
         try {
             final String dataContent = dataBuilder.toString();
             final JSONArray data = new JSONArray(dataContent);
+            final JSONArray keysDescription = Repositories.getRepositoryKeysDescription(repositoryName);
 
             for (int i = 0; i < data.length(); i++) {
                 final JSONObject record = data.getJSONObject(i);
 
-                // Date type fixing
-                final JSONArray keysDescription = Repositories.getRepositoryKeysDescription(repositoryName);
+                fixRecord(record, keysDescription);
 
-                for (int j = 0; j < keysDescription.length(); j++) {
-                    final JSONObject keyDescription = keysDescription.optJSONObject(j);
-                    final String key = keyDescription.optString("name");
-                    final String type = keyDescription.optString("type");
+                repository.add(record);
+            }
+
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
 
-                    if ("Date".equals(type)) {
-                        final Locale defaultLocale = Locale.getDefault();
+            LOGGER.log(Level.ERROR, "Puts data failed", e);
 
-                        Locale.setDefault(Locale.US);
-                        record.put(key,
-                                DateUtils.parseDate(record.optString(key),
-                                        new String[]{"EEE MMM dd HH:mm:ss z yyyy", "EEE MMM d HH:mm:ss z yyyy", "yyyy-MM-dd HH:mm:ss.SSS"}));
-                        Locale.setDefault(defaultLocale);
-                    }
+            jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            jsonObject.put(Keys.MSG, "Puts data failed[errorMsg=" + e.getMessage() + "]");
+        }
+    }
 
-                    if ("String".equals(type)) {
-                        final int length = keyDescription.optInt("length");
-                        final String value = record.optString(key);
+    /**
+     * Imports newline delimited JSON records from the body of the specified request into the specified repository.
+     *
+     * @param request        the specified request
+     * @param repository     the specified repository
+     * @param repositoryName the specified repository name
+     * @param jsonObject     the specified json object to render, "count" of the committed records is kept in it
+     * @throws Exception exception
+     */
+    private void importData(final HttpServletRequest request, final Repository repository,
+            final String repositoryName, final JSONObject jsonObject) throws Exception {
+        final JSONArray keysDescription = Repositories.getRepositoryKeysDescription(repositoryName);
+        final String compression = request.getParameter("compression");
+
+        InputStream inputStream = request.getInputStream();
+        if (NDJSONRenderer.COMPRESSION_GZIP.equals(compression)) {
+            inputStream = new GZIPInputStream(inputStream, 8192);
+        } else if (NDJSONRenderer.COMPRESSION_ZIP.equals(compression)) {
+            final ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+            if (null == zipInputStream.getNextEntry()) {
+                return;
+            }
+            inputStream = zipInputStream;
+        }
 
-                        if (value.length() > length) {
-                            record.put(key, value.substring(0, length));
-                        }
-                    }
+        long cnt = 0;
+        final List<JSONObject> records = new ArrayList<>(IMPORT_BATCH_SIZE);
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
                 }
 
-                repository.add(record);
+                final JSONObject record = new JSONObject(line);
+                fixRecord(record, keysDescription);
+                records.add(record);
+
+                if (IMPORT_BATCH_SIZE <= records.size()) {
+                    cnt += addBatch(repository, records);
+                    records.clear();
+                    jsonObject.put("count", cnt);
+                }
             }
 
+            cnt += addBatch(repository, records);
+            jsonObject.put("count", cnt);
+        }
+    }
+
+    /**
+     * Adds the specified records into the specified repository in a transaction.
+     *
+     * @param repository the specified repository
+     * @param records    the specified records
+     * @return count of the added records
+     * @throws Exception exception
+     */
+    private int addBatch(final Repository repository, final List<JSONObject> records) throws Exception {
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        final Transaction transaction = repository.beginTransaction();
+        try {
+            repository.addBatch(records);
             transaction.commit();
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
             }
 
-            LOGGER.log(Level.ERROR, "Puts data failed", e);
+            throw e;
+        }
 
-            jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            jsonObject.put(Keys.MSG, "Puts data failed[errorMsg=" + e.getMessage() + "]");
+        return records.size();
+    }
+
+    /**
+     * Fixes the specified record to fit the specified keys description, parses dates and truncates strings.
+     *
+     * @param record          the specified record
+     * @param keysDescription the specified keys description
+     * @throws Exception exception
+     */
+    private static void fixRecord(final JSONObject record, final JSONArray keysDescription) throws Exception {
+        for (int j = 0; j < keysDescription.length(); j++) {
+            final JSONObject keyDescription = keysDescription.optJSONObject(j);
+            final String key = keyDescription.optString("name");
+            final String type = keyDescription.optString("type");
+
+            if ("Date".equals(type)) {
+                final Locale defaultLocale = Locale.getDefault();
+
+                Locale.setDefault(Locale.US);
+                record.put(key,
+                        DateUtils.parseDate(record.optString(key),
+                                new String[]{"EEE MMM dd HH:mm:ss z yyyy", "EEE MMM d HH:mm:ss z yyyy", "yyyy-MM-dd HH:mm:ss.SSS"}));
+                Locale.setDefault(defaultLocale);
+            }
+
+            if ("String".equals(type)) {
+                final int length = keyDescription.optInt("length");
+                final String value = record.optString(key);
+
+                if (value.length() > length) {
+                    record.put(key, value.substring(0, length));
+                }
+            }
         }
     }
 
+    /**
+     * Gets a repository by the specified repository name, falls back to a repository of the table if the name is not
+     * registered.
+     *
+     * @param repositoryName the specified repository name
+     * @return repository
+     */
+    private static Repository getRepository(final String repositoryName) {
+        final Repository ret = Repositories.getRepository(repositoryName);
+        if (null != ret) {
+            return ret;
+        }
+
+        final String tableNamePrefix = StringUtils.isNotBlank(Latkes.getLocalProperty("jdbc.tablePrefix"))
+                ? Latkes.getLocalProperty("jdbc.tablePrefix") + "_"
+                : "";
+        final String withoutTablePrefix = StringUtils.substringAfter(repositoryName, tableNamePrefix);
+
+        return new AbstractRepository(withoutTablePrefix) {
+        };
+    }
+
     /**
      * Creates tables.
      *
@@ -497,6 +665,10 @@ public class RepositoryAccessor {
             return true;
         }
 
+        if (FORMAT_NDJSON.equals(request.getParameter("format"))) {
+            return badCompression(request, jsonObject);
+        }
+
         if (Strings.isEmptyOrNull(pageNumString)) {
             jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_BAD_REQUEST);
             jsonObject.put(Keys.MSG, "Requires parameter[pageNum]");
@@ -528,6 +700,31 @@ public class RepositoryAccessor {
         return false;
     }
 
+    /**
+     * Determines whether parameter <em>compression</em> of the specified request is neither empty, {@code gzip} nor
+     * {@code zip}.
+     *
+     * <p>
+     * If it is bad, puts {@link Keys#STATUS_CODE sc} and {@link Keys#MSG msg} into the specified json object to
+     * render.
+     * </p>
+     *
+     * @param request the specified request
+     * @param jsonObject the specified jsonObject
+     * @return {@code true} if it is bad, returns {@code false} otherwise
+     */
+    private static boolean badCompression(final HttpServletRequest request, final JSONObject jsonObject) {
+        final String compression = request.getParameter("compression");
+        if (!Strings.isEmptyOrNull(compression) && !NDJSONRenderer.COMPRESSION_GZIP.equals(compression)
+                && !NDJSONRenderer.COMPRESSION_ZIP.equals(compression)) {
+            jsonObject.put(Keys.STATUS_CODE, HttpServletResponse.SC_BAD_REQUEST);
+            jsonObject.put(Keys.MSG, "Parameter[compression] must be [gzip] or [zip]");
+            return true;
+        }
+
+        return false;
+    }
+
     /**
      * Determines whether the specified put data request is bad.
      *
@@ -38,7 +38,7 @@ import java.util.Map;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.2.1.10, Oct 17, 2017
+ * @version 2.4.1.0, Oct 19, 2026
  */
 public abstract class AbstractRepository implements Repository {
 
@@ -109,6 +109,19 @@ public abstract class AbstractRepository implements Repository {
         return repository.add(jsonObject);
     }
 
+    @Override
+    public void addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+        if (!isWritable() && !isInternalCall()) {
+            throw new RepositoryException("The repository[name=" + getName() + "] is not writable at present");
+        }
+
+        for (final JSONObject jsonObject : jsonObjects) {
+            Repositories.check(getName(), jsonObject, Keys.OBJECT_ID);
+        }
+
+        repository.addBatch(jsonObjects);
+    }
+
     @Override
     public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
         if (!isWritable() && !isInternalCall()) {
@@ -183,6 +196,16 @@ public abstract class AbstractRepository implements Repository {
         }
     }
 
+    @Override
+    public long scan(final Query query, final RowHandler handler) throws RepositoryException {
+        return repository.scan(query, handler);
+    }
+
+    @Override
+    public int execute(final String statement, final Object... params) throws RepositoryException {
+        return repository.execute(statement, params);
+    }
+
     @Override
     public List<JSONObject> getRandomly(final int fetchSize) throws RepositoryException {
         return repository.getRandomly(fetchSize);
@@ -23,7 +23,7 @@ import org.json.JSONObject;
  * None repository implementation.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.1, Sep 4, 2016
+ * @version 1.4.1.0, Oct 19, 2026
  */
 public final class NoneRepository implements Repository {
 
@@ -40,6 +40,11 @@ public final class NoneRepository implements Repository {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
+    @Override
+    public void addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
     @Override
     public void update(final String id, final JSONObject jsonObject) throws RepositoryException {
         throw new UnsupportedOperationException("Not supported yet.");
@@ -75,6 +80,16 @@ public final class NoneRepository implements Repository {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
+    @Override
+    public long scan(final Query query, final RowHandler handler) throws RepositoryException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public int execute(final String statement, final Object... params) throws RepositoryException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
     @Override
     public List<JSONObject> getRandomly(final int fetchSize) throws RepositoryException {
         throw new UnsupportedOperationException("Not supported yet.");
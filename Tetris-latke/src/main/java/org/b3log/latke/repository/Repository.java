@@ -23,7 +23,7 @@ import org.json.JSONObject;
  * Repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.5, Sep 4, 2016
+ * @version 1.4.1.0, Oct 19, 2026
  */
 public interface Repository {
 
@@ -36,6 +36,18 @@ public interface Repository {
      */
     String add(final JSONObject jsonObject) throws RepositoryException;
 
+    /**
+     * Adds the specified json objects with batched statements in the current transaction.
+     * <p>
+     * Object ids are generated the same way as {@link #add(JSONObject)} and put back into the json objects.
+     * Overrides of {@link #add(JSONObject)} in subclasses are not invoked for these objects.
+     * </p>
+     *
+     * @param jsonObjects the specified json objects
+     * @throws RepositoryException repository exception
+     */
+    void addBatch(final List<JSONObject> jsonObjects) throws RepositoryException;
+
     /**
      * Updates a certain json object by the specified id and the specified new json object.
      *
@@ -124,6 +136,39 @@ public interface Repository {
      */
     List<JSONObject> select(final String statement, final Object... params) throws RepositoryException;
 
+    /**
+     * Scans json objects by the specified query with a forward-only cursor, rows are handed to the specified handler
+     * one by one instead of being loaded into memory at once.
+     * <p>
+     * Filters, sorts and projections of the specified query are honored, its pagination is ignored. Scanning uses a
+     * dedicated connection, so the handler may call this repository (or others) freely, but rows written by the
+     * current transaction and not yet committed are invisible to the scan.
+     * </p>
+     *
+     * @param query   the specified query
+     * @param handler the specified row handler
+     * @return count of the handled rows
+     * @throws RepositoryException repository exception
+     */
+    long scan(final Query query, final RowHandler handler) throws RepositoryException;
+
+    /**
+     * Executes the specified data manipulation statement (insert, update or delete) with the specified parameters in
+     * the current transaction.
+     * <p>
+     * Use it for conditional or relative updates the database has to do atomically, for example,
+     * <pre>
+     * update symphony_user set userPoint = userPoint - ? where oId = ? and userPoint &gt;= ?
+     * </pre>
+     * </p>
+     *
+     * @param statement the specified statement
+     * @param params    the specified parameters
+     * @return count of the affected rows
+     * @throws RepositoryException repository exception
+     */
+    int execute(final String statement, final Object... params) throws RepositoryException;
+
     /**
      * Gets a list of json objects randomly with the specified fetch size.
      *
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.repository;
+
+import org.json.JSONObject;
+
+/**
+ * Row handler, receives rows one by one from {@link Repository#scan(Query, RowHandler)}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see Repository#scan(Query, RowHandler)
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * Handles the specified row.
+     *
+     * @param row the specified row, only holds the projected properties if the query has projections
+     * @return {@code true} to continue scanning, returns {@code false} to stop
+     * @throws Exception exception
+     */
+    boolean handle(final JSONObject row) throws Exception;
+}
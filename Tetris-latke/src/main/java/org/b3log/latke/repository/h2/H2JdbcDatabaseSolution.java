@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.repository.h2;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.repository.jdbc.AbstractJdbcDatabaseSolution;
+import org.b3log.latke.repository.jdbc.mapping.DateMapping;
+import org.b3log.latke.repository.jdbc.mapping.IntMapping;
+import org.b3log.latke.repository.jdbc.mapping.LongMapping;
+import org.b3log.latke.repository.jdbc.mapping.Mapping;
+import org.b3log.latke.repository.jdbc.mapping.NumberMapping;
+import org.b3log.latke.repository.jdbc.mapping.StringMapping;
+import org.b3log.latke.repository.jdbc.util.FieldDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * H2 database solution, used with the in-memory or embedded H2 database (tests, benchmarks and load tests).
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ */
+public class H2JdbcDatabaseSolution extends AbstractJdbcDatabaseSolution {
+
+    /**
+     * Public constructor.
+     */
+    public H2JdbcDatabaseSolution() {
+        registerType("int", new IntMapping());
+        registerType("boolean", new H2BooleanMapping());
+        registerType("long", new LongMapping());
+        registerType("double", new NumberMapping());
+        registerType("String", new StringMapping());
+        registerType("Date", new DateMapping());
+    }
+
+    @Override
+    public String queryPage(final int start, final int end, final String selectSql, final String filterSql,
+                            final String orderBySql, final String tableName) {
+        final StringBuilder sql = new StringBuilder();
+
+        sql.append(selectSql).append(" from ").append(tableName);
+        if (StringUtils.isNotBlank(filterSql)) {
+            sql.append(" where ").append(filterSql);
+        }
+        sql.append(orderBySql);
+        sql.append(" limit ").append(end - start).append(" offset ").append(start);
+
+        return sql.toString();
+    }
+
+    @Override
+    public String getRandomlySql(final String tableName, final int fetchSize) {
+        return "select * from " + tableName + " order by rand() limit " + fetchSize;
+    }
+
+    @Override
+    protected void createDropTableSql(final StringBuilder dropTableSql, final String tableName) {
+        dropTableSql.append("drop table if exists ").append(tableName).append(";");
+    }
+
+    @Override
+    protected void createTableHead(final StringBuilder createTableSql, final String tableName) {
+        createTableSql.append("create table if not exists ").append(tableName).append("(");
+    }
+
+    @Override
+    protected void createTableBody(final StringBuilder createTableSql, final List<FieldDefinition> fieldDefinitions) {
+        final List<FieldDefinition> keys = new ArrayList<>();
+        for (final FieldDefinition fieldDefinition : fieldDefinitions) {
+            final String type = fieldDefinition.getType();
+            if (null == type) {
+                throw new RuntimeException("the type of fieldDefinitions should not be null");
+            }
+
+            final Mapping mapping = getJdbcTypeMapping().get(type);
+            if (null == mapping) {
+                throw new RuntimeException("the type [" + type + "] is not supported");
+            }
+
+            createTableSql.append(mapping.toDataBaseSting(fieldDefinition)).append(",   ");
+            if (fieldDefinition.getIsKey()) {
+                keys.add(fieldDefinition);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            createTableSql.setLength(createTableSql.length() - ",   ".length());
+        } else {
+            createTableSql.append("primary key(");
+            for (int i = 0; i < keys.size(); i++) {
+                if (0 < i) {
+                    createTableSql.append(",");
+                }
+                createTableSql.append(keys.get(i).getName());
+            }
+            createTableSql.append(")");
+        }
+    }
+
+    @Override
+    protected void createTableEnd(final StringBuilder createTableSql) {
+        createTableSql.append(")");
+    }
+
+    @Override
+    public void clearTableSql(final StringBuilder clearTableSql, final String tableName, final boolean ifdrop) {
+        if (ifdrop) {
+            clearTableSql.append("drop table if exists ").append(tableName);
+        } else {
+            clearTableSql.append("truncate table ").append(tableName);
+        }
+    }
+
+    /**
+     * Boolean mapping, H2 stores booleans natively instead of the char(1) of the common mapping.
+     *
+     * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     */
+    private static final class H2BooleanMapping implements Mapping {
+
+        @Override
+        public String toDataBaseSting(final FieldDefinition definition) {
+            final StringBuilder sql = new StringBuilder(definition.getName()).append(" boolean");
+            if (!definition.getNullable()) {
+                sql.append(" not null");
+            }
+
+            return sql.toString();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * H2 database solution.
+ */
+package org.b3log.latke.repository.h2;
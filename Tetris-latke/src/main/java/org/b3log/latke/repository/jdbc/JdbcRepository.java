@@ -38,14 +38,27 @@ import java.util.*;
 
 /**
  * JDBC repository implementation.
+ * <p>
+ * Statements in a transaction run on the connection of the transaction, other statements lease a connection from the
+ * pool and return it right after, so no connection is held across rendering or remote calls.
+ * </p>
+ * <p>
+ * If read replicas are configured, reads ({@code get}, {@code count}, {@code select}) outside transactions go to the
+ * replicas, except for a read-your-writes window after the current request committed a transaction.
+ * </p>
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.10, Oct 17, 2017
+ * @version 1.6.1.1, Oct 19, 2026
  */
 @SuppressWarnings("unchecked")
 public final class JdbcRepository implements Repository {
 
+    /**
+     * Fetch size of {@link #scan(Query, RowHandler) scan}.
+     */
+    private static final int SCAN_FETCH_SIZE = 512;
+
     /**
      * Repository cache name.
      */
@@ -57,14 +70,14 @@ public final class JdbcRepository implements Repository {
     public static final ThreadLocal<JdbcTransaction> TX = new InheritableThreadLocal<>();
 
     /**
-     * The current JDBC connection.
+     * Logger.
      */
-    public static final ThreadLocal<Connection> CONN = new ThreadLocal<>();
+    private static final Logger LOGGER = Logger.getLogger(JdbcRepository.class);
 
     /**
-     * Logger.
+     * Time of the last committed transaction of the current thread, cleared in {@link #dispose()} (request end).
      */
-    private static final Logger LOGGER = Logger.getLogger(JdbcRepository.class);
+    private static final ThreadLocal<Long> WRITE_TIME = new ThreadLocal<>();
 
     /**
      * Key generator.
@@ -109,7 +122,8 @@ public final class JdbcRepository implements Repository {
     }
 
     /**
-     * dispose the resource when requestDestroyed .
+     * dispose the resource when requestDestroyed, closes the connection of the current transaction if it was not
+     * committed or rolled back. Connections outside transactions are leased per statement and returned already.
      */
     public static void dispose() {
         final JdbcTransaction jdbcTransaction = TX.get();
@@ -118,16 +132,7 @@ public final class JdbcRepository implements Repository {
             jdbcTransaction.dispose();
         }
 
-        final Connection connection = CONN.get();
-        if (null != connection) {
-            try {
-                connection.close();
-            } catch (final SQLException e) {
-                throw new RuntimeException("Close connection failed", e);
-            } finally {
-                CONN.set(null);
-            }
-        }
+        WRITE_TIME.remove();
     }
 
     @Override
@@ -155,11 +160,57 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "add:" + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
 
         return ret;
     }
 
+    @Override
+    public void addBatch(final List<JSONObject> jsonObjects) throws RepositoryException {
+        final JdbcTransaction currentTransaction = TX.get();
+        if (null == currentTransaction) {
+            throw new RepositoryException("Invoking addBatch() outside a transaction");
+        }
+
+        if (jsonObjects.isEmpty()) {
+            return;
+        }
+
+        final Connection connection = getConnection();
+        try {
+            // Objects may carry different keys, each distinct insert statement gets its own batch
+            final Map<String, List<List<Object>>> batches = new LinkedHashMap<>();
+            for (final JSONObject jsonObject : jsonObjects) {
+                if (Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
+                    toOracleClobEmpty(jsonObject);
+                }
+
+                final List<Object> paramList = new ArrayList<>();
+                final StringBuilder sql = new StringBuilder();
+                buildAddSql(jsonObject, paramList, sql);
+                batches.computeIfAbsent(sql.toString(), k -> new ArrayList<>()).add(paramList);
+            }
+
+            for (final Map.Entry<String, List<List<Object>>> batch : batches.entrySet()) {
+                JdbcUtil.executeBatch(batch.getKey(), batch.getValue(), connection);
+            }
+
+            for (final JSONObject jsonObject : jsonObjects) {
+                JdbcUtil.fromOracleClobEmpty(jsonObject);
+            }
+        } catch (final SQLException se) {
+            LOGGER.log(Level.ERROR, "addBatch:" + se.getMessage(), se);
+            throw new JDBCRepositoryException(se);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "addBatch:" + e.getMessage(), e);
+            throw new RepositoryException(e);
+        } finally {
+            release(connection);
+        }
+    }
+
     /**
      * buildAddSql.
      *
@@ -264,6 +315,8 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "update:" + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
     }
 
@@ -379,6 +432,8 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "remove:" + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
     }
 
@@ -398,7 +453,7 @@ public final class JdbcRepository implements Repository {
         JSONObject ret;
 
         final StringBuilder sql = new StringBuilder();
-        final Connection connection = getConnection();
+        final Connection connection = getReadConnection();
 
         try {
             get(sql);
@@ -411,6 +466,8 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "get:" + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
 
         return ret;
@@ -460,11 +517,11 @@ public final class JdbcRepository implements Repository {
         }
 
         final StringBuilder sql = new StringBuilder();
-        final Connection connection = getConnection();
+        final Connection connection = getReadConnection();
         final List<Object> paramList = new ArrayList<>();
 
         try {
-            final Map<String, Object> paginationCnt = get(currentPageNum, pageSize, pageCount, query, sql, paramList);
+            final Map<String, Object> paginationCnt = get(currentPageNum, pageSize, pageCount, query, sql, paramList, connection);
 
             // page
             final JSONObject pagination = new JSONObject();
@@ -487,6 +544,8 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "query: " + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
 
         return ret;
@@ -496,7 +555,7 @@ public final class JdbcRepository implements Repository {
     public List<JSONObject> select(final String statement, final Object... params) throws RepositoryException {
         JSONArray jsonResults;
 
-        final Connection connection = getConnection();
+        final Connection connection = getReadConnection();
         try {
             if (null == params || 0 == params.length) {
                 jsonResults = JdbcUtil.queryJsonArray(statement, Collections.emptyList(), connection, getName());
@@ -510,6 +569,58 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "query: " + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public int execute(final String statement, final Object... params) throws RepositoryException {
+        final JdbcTransaction currentTransaction = TX.get();
+        if (null == currentTransaction) {
+            throw new RepositoryException("Invoking execute() outside a transaction");
+        }
+
+        final Connection connection = getConnection();
+        try {
+            return JdbcUtil.executeUpdate(statement, null == params ? Collections.emptyList() : Arrays.asList(params),
+                    connection);
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "execute:" + e.getMessage(), e);
+            throw new JDBCRepositoryException(e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public long scan(final Query query, final RowHandler handler) throws RepositoryException {
+        final StringBuilder sql = new StringBuilder();
+        final List<Object> paramList = new ArrayList<>();
+
+        final StringBuilder filterSql = new StringBuilder();
+        final StringBuilder orderBySql = new StringBuilder();
+
+        getSelectSql(sql, query.getProjections());
+        getFilterSql(filterSql, paramList, query.getFilter());
+        getOrderBySql(orderBySql, query.getSorts());
+
+        sql.append(" from ").append(getName());
+        if (StringUtils.isNotBlank(filterSql.toString())) {
+            sql.append(" where ").append(filterSql);
+        }
+        sql.append(orderBySql);
+
+        // A dedicated connection holds the cursor, statements of the handler lease their own
+        try (final Connection connection = Connections.getConnection()) {
+            return JdbcUtil.queryStream(sql.toString(), paramList, connection, getName(), SCAN_FETCH_SIZE, handler);
+        } catch (final SQLException e) {
+            throw new JDBCRepositoryException(e);
+        } catch (final RepositoryException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "scan: " + e.getMessage(), e);
+            throw new RepositoryException(e);
         }
     }
 
@@ -524,12 +635,14 @@ public final class JdbcRepository implements Repository {
      * @param query          query
      * @param sql            sql
      * @param paramList      paramList
+     * @param connection     connection
      * @return &lt;pageCnt, Integer&gt;,<br/>
      * &lt;recordCnt, Integer&gt;<br/>
      * @throws RepositoryException RepositoryException
      */
     private Map<String, Object> get(final int currentPageNum, final int pageSize, final int pageCount,
-                                    final Query query, final StringBuilder sql, final List<Object> paramList) throws RepositoryException {
+                                    final Query query, final StringBuilder sql, final List<Object> paramList,
+                                    final Connection connection) throws RepositoryException {
         final Map<String, Object> ret = new HashMap<>();
 
         int pageCnt = pageCount;
@@ -551,7 +664,7 @@ public final class JdbcRepository implements Repository {
                 countSql.append(" where ").append(filterSql);
             }
 
-            recordCnt = (int) count(countSql, paramList);
+            recordCnt = (int) count(countSql, paramList, connection);
 
             if (0 == recordCnt) {
                 ret.put(Pagination.PAGINATION_PAGE_COUNT, 0);
@@ -685,7 +798,7 @@ public final class JdbcRepository implements Repository {
         final StringBuilder sql = new StringBuilder();
         JSONArray jsonArray;
 
-        final Connection connection = getConnection();
+        final Connection connection = getReadConnection();
 
         getRandomly(fetchSize, sql);
         try {
@@ -700,6 +813,8 @@ public final class JdbcRepository implements Repository {
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "getRandomly:" + e.getMessage(), e);
             throw new RepositoryException(e);
+        } finally {
+            release(connection);
         }
 
         return jsonObjects;
@@ -747,8 +862,24 @@ public final class JdbcRepository implements Repository {
      * @throws RepositoryException RepositoryException
      */
     private long count(final StringBuilder sql, final List<Object> paramList) throws RepositoryException {
-        final Connection connection = getConnection();
+        final Connection connection = getReadConnection();
+        try {
+            return count(sql, paramList, connection);
+        } finally {
+            release(connection);
+        }
+    }
 
+    /**
+     * count with the specified connection.
+     *
+     * @param sql        sql
+     * @param paramList  paramList
+     * @param connection connection
+     * @return count
+     * @throws RepositoryException RepositoryException
+     */
+    private long count(final StringBuilder sql, final List<Object> paramList, final Connection connection) throws RepositoryException {
         JSONObject jsonObject;
         long count;
 
@@ -822,32 +953,89 @@ public final class JdbcRepository implements Repository {
     }
 
     /**
-     * getConnection. default using current JdbcTransaction's connection,if null get a new one.
+     * Gets a connection, the connection of the current transaction if there is an active one, otherwise leases a new
+     * auto-commit connection from the pool, which should be returned by {@link #release(Connection)} right after the
+     * statement.
      *
      * @return {@link Connection}
+     * @throws RepositoryException if can not lease a connection
      */
-    private Connection getConnection() {
+    private Connection getConnection() throws RepositoryException {
         final JdbcTransaction jdbcTransaction = TX.get();
 
         if (null != jdbcTransaction && jdbcTransaction.isActive()) {
             return jdbcTransaction.getConnection();
         }
 
-        Connection ret = CONN.get();
-
         try {
-            if (null != ret && !ret.isClosed()) {
-                return ret;
-            }
+            final Connection ret = Connections.getConnection();
+            ret.setAutoCommit(true);
 
-            ret = Connections.getConnection();
-
-            CONN.set(ret);
+            return ret;
         } catch (final SQLException e) {
             LOGGER.log(Level.ERROR, "Gets connection failed", e);
+
+            throw new JDBCRepositoryException(e);
         }
+    }
 
-        return ret;
+    /**
+     * Gets a connection for reading, the connection of the current transaction if there is an active one, a connection
+     * of the primary database if the current thread committed a transaction within the read-your-writes window,
+     * otherwise a connection of a read replica (see {@link Connections#getReplicaConnection()}).
+     *
+     * @return {@link Connection}
+     * @throws RepositoryException if can not lease a connection
+     */
+    private Connection getReadConnection() throws RepositoryException {
+        final JdbcTransaction jdbcTransaction = TX.get();
+        if ((null != jdbcTransaction && jdbcTransaction.isActive()) || !Connections.hasReplicas()) {
+            return getConnection();
+        }
+
+        final Long writeTime = WRITE_TIME.get();
+        if (null != writeTime && System.currentTimeMillis() - writeTime < Connections.getReadYourWritesWindow()) {
+            return getConnection();
+        }
+
+        try {
+            final Connection ret = Connections.getReplicaConnection();
+            ret.setAutoCommit(true);
+
+            return ret;
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "Gets replica connection failed", e);
+
+            throw new JDBCRepositoryException(e);
+        }
+    }
+
+    /**
+     * Records that the current thread committed a transaction, reads of the current thread go to the primary database
+     * in the following read-your-writes window.
+     */
+    static void written() {
+        if (Connections.hasReplicas()) {
+            WRITE_TIME.set(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Returns the specified connection to the pool if it is not the connection of the current transaction.
+     *
+     * @param connection the specified connection
+     */
+    private static void release(final Connection connection) {
+        final JdbcTransaction jdbcTransaction = TX.get();
+        if (null == connection || (null != jdbcTransaction && connection == jdbcTransaction.getConnection())) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "Closes connection failed", e);
+        }
     }
 
     /**
@@ -29,7 +29,7 @@ import org.b3log.latke.repository.jdbc.util.Connections;
  * 
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Mar 6, 2013
+ * @version 1.0.1.0, Oct 19, 2026
  */
 public final class JdbcTransaction implements Transaction {
 
@@ -66,6 +66,8 @@ public final class JdbcTransaction implements Transaction {
         try {
             connection.commit();
             ifSuccess = true;
+
+            JdbcRepository.written();
         } catch (final SQLException e) {
             throw new RuntimeException("commit mistake", e);
         }
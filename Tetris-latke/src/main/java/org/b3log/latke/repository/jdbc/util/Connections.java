@@ -17,6 +17,7 @@ package org.b3log.latke.repository.jdbc.util;
 
 import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.pool.DruidDataSourceFactory;
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -27,18 +28,29 @@ import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JDBC connection utilities.
  * <p>
  * Uses <a href="https://github.com/alibaba/druid">Druid</a> or <a href="http://www.h2database.com">H2</a> as the underlying connection pool.
  * </p>
+ * <p>
+ * Read replicas are configured by "jdbc.replicaURLs" (comma separated, same driver and account as "jdbc.URL"), each
+ * of them has a pool of the same type, {@link #getReplicaConnection()} leases from them round-robin.
+ * </p>
+ * <p>
+ * The pools are initialized with the local properties on class loading, {@link #init()} reinitializes them after the
+ * "jdbc.*" local properties changed, for example, in tests.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="mailto:385321165@qq.com">DASHU</a>
- * @version 1.2.3.4, Oct 16, 2017
+ * @version 1.3.0.0, Oct 19, 2026
  */
 public final class Connections {
 
@@ -67,6 +79,26 @@ public final class Connections {
      */
     private static DruidDataSource druid;
 
+    /**
+     * Connection pools of read replicas - H2.
+     */
+    private static final List<JdbcConnectionPool> H2_REPLICAS = new ArrayList<>();
+
+    /**
+     * Connection pools of read replicas - Druid.
+     */
+    private static final List<DruidDataSource> DRUID_REPLICAS = new ArrayList<>();
+
+    /**
+     * Replica URLs.
+     */
+    private static final List<String> REPLICA_URLS = new ArrayList<>();
+
+    /**
+     * Next replica.
+     */
+    private static final AtomicInteger NEXT_REPLICA = new AtomicInteger();
+
     /**
      * Transaction isolation.
      */
@@ -92,7 +124,22 @@ public final class Connections {
      */
     private static String password;
 
+    /**
+     * Read-your-writes window in milliseconds.
+     */
+    private static long readYourWritesWindow;
+
     static {
+        init();
+    }
+
+    /**
+     * Initializes the connection pools with the current local properties, the pools initialized before are shut down
+     * first. Must not be invoked while connections are leased.
+     */
+    public static synchronized void init() {
+        shutdownConnectionPool();
+
         try {
             if (Latkes.RuntimeDatabase.NONE != Latkes.getRuntimeDatabase()) {
                 final String driver = Latkes.getLocalProperty("jdbc.driver");
@@ -122,44 +169,40 @@ public final class Connections {
                     throw new IllegalStateException("Undefined transaction isolation [" + transactionIsolation + ']');
                 }
 
+                final String window = Latkes.getLocalProperty("jdbc.readYourWritesWindow");
+                readYourWritesWindow = StringUtils.isNotBlank(window) ? Long.valueOf(window) : 1000;
+
+                final String replicaURLs = Latkes.getLocalProperty("jdbc.replicaURLs");
+                if (StringUtils.isNotBlank(replicaURLs)) {
+                    for (final String replicaURL : replicaURLs.split(",")) {
+                        if (StringUtils.isNotBlank(replicaURL)) {
+                            REPLICA_URLS.add(replicaURL.trim());
+                        }
+                    }
+                }
+
                 if ("h2".equals(poolType)) {
                     LOGGER.log(Level.DEBUG, "Initialing database connection pool [h2]");
 
-                    h2 = JdbcConnectionPool.create(url, userName, password);
-                    h2.setMaxConnections(maxConnCnt);
+                    h2 = createH2(url, maxConnCnt);
+                    for (final String replicaURL : REPLICA_URLS) {
+                        H2_REPLICAS.add(createH2(replicaURL, maxConnCnt));
+                    }
                 } else if ("druid".equals(poolType)) {
                     LOGGER.log(Level.DEBUG, "Initialing database connection pool [druid]");
 
-                    final Properties props = new Properties();
-                    final InputStream is = Connections.class.getResourceAsStream("/druid.properties");
-                    if (null != is) {
-                        props.load(is);
-                        druid = (DruidDataSource) DruidDataSourceFactory.createDataSource(props);
-                    } else {
-                        druid = new DruidDataSource();
-                        druid.setTestOnReturn(true);
-                        druid.setTestOnBorrow(false);
-                        druid.setTestWhileIdle(true);
-                        if (Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
-                            druid.setValidationQuery("SELECT 1 FROM DUAL");
-                        } else {
-                            druid.setValidationQuery("SELECT 1");
-                        }
-                        druid.setMaxWait(CONN_TIMEOUT);
-                        druid.setValidationQueryTimeout(CONN_TIMEOUT);
+                    druid = createDruid(url, driver, minConnCnt, maxConnCnt);
+                    for (final String replicaURL : REPLICA_URLS) {
+                        DRUID_REPLICAS.add(createDruid(replicaURL, driver, minConnCnt, maxConnCnt));
                     }
-
-                    druid.setUsername(userName);
-                    druid.setPassword(password);
-                    druid.setUrl(url);
-                    druid.setDriverClassName(driver);
-                    druid.setInitialSize(minConnCnt);
-                    druid.setMinIdle(minConnCnt);
-                    druid.setMaxActive(maxConnCnt);
                 } else if ("none".equals(poolType)) {
                     LOGGER.info("Do not use database connection pool");
                 }
 
+                if (!REPLICA_URLS.isEmpty()) {
+                    LOGGER.info("Initialized [" + REPLICA_URLS.size() + "] read replicas");
+                }
+
                 LOGGER.info("Initialized connection pool [type=" + poolType + ']');
             }
         } catch (final Exception e) {
@@ -179,7 +222,9 @@ public final class Connections {
         }
 
         if ("h2".equals(poolType)) {
-            LOGGER.log(Level.TRACE, "Connection pool[leasedConns={0}]", new Object[]{h2.getActiveConnections()});
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.log(Level.TRACE, "Connection pool[leasedConns={0}]", h2.getActiveConnections());
+            }
             final Connection ret = h2.getConnection();
 
             ret.setTransactionIsolation(transactionIsolationInt);
@@ -187,7 +232,9 @@ public final class Connections {
 
             return ret;
         } else if ("druid".equals(poolType)) {
-            LOGGER.log(Level.TRACE, "Connection pool[leasedConns={0}]", new Object[]{druid.getActiveConnections()});
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.log(Level.TRACE, "Connection pool[leasedConns={0}]", druid.getActiveConnections());
+            }
 
             final Connection ret = druid.getConnection();
 
@@ -209,19 +256,179 @@ public final class Connections {
         throw new IllegalStateException("Not found database connection pool [" + poolType + "]");
     }
 
+    /**
+     * Gets a connection of a read replica, replicas are used round-robin. Returns a connection of the primary database
+     * if there is no replica or the chosen replica is unavailable.
+     *
+     * @return a connection
+     * @throws SQLException SQL exception
+     */
+    public static Connection getReplicaConnection() throws SQLException {
+        if (REPLICA_URLS.isEmpty()) {
+            return getConnection();
+        }
+
+        final int index = Math.floorMod(NEXT_REPLICA.getAndIncrement(), REPLICA_URLS.size());
+        try {
+            final Connection ret;
+            if ("h2".equals(poolType)) {
+                ret = H2_REPLICAS.get(index).getConnection();
+            } else if ("druid".equals(poolType)) {
+                ret = DRUID_REPLICAS.get(index).getConnection();
+            } else {
+                ret = DriverManager.getConnection(REPLICA_URLS.get(index), userName, password);
+            }
+
+            ret.setTransactionIsolation(transactionIsolationInt);
+            ret.setAutoCommit(false);
+
+            return ret;
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARN, "Gets connection of replica [" + REPLICA_URLS.get(index) + "] failed, uses the primary", e);
+
+            return getConnection();
+        }
+    }
+
+    /**
+     * Checks whether read replicas are configured.
+     *
+     * @return {@code true} if configured, returns {@code false} otherwise
+     */
+    public static boolean hasReplicas() {
+        return !REPLICA_URLS.isEmpty();
+    }
+
+    /**
+     * Gets the read-your-writes window, configured by "jdbc.readYourWritesWindow", default 1000.
+     *
+     * @return read-your-writes window in milliseconds
+     */
+    public static long getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    /**
+     * Gets the count of connections leased from the pool.
+     *
+     * @return leased connection count, returns {@code -1} if not using a connection pool
+     */
+    public static int getActiveConnectionCount() {
+        if (null != h2) {
+            return h2.getActiveConnections();
+        }
+
+        if (null != druid) {
+            return druid.getActiveCount();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the maximum count of connections of the pool.
+     *
+     * @return maximum connection count, returns {@code -1} if not using a connection pool
+     */
+    public static int getMaxConnectionCount() {
+        if (null != h2) {
+            return h2.getMaxConnections();
+        }
+
+        if (null != druid) {
+            return druid.getMaxActive();
+        }
+
+        return -1;
+    }
+
     /**
      * Shutdowns the connection pool.
      */
-    public static void shutdownConnectionPool() {
+    public static synchronized void shutdownConnectionPool() {
         if (null != h2) {
             h2.dispose();
+            h2 = null;
             LOGGER.info("Closed [H2] database connection pool");
         }
 
         if (null != druid) {
             druid.close();
+            druid = null;
             LOGGER.info("Closed [druid] database connection pool");
         }
+
+        // Plain loops, a method reference would load the pool class even if it is not on the classpath
+        for (final JdbcConnectionPool replica : H2_REPLICAS) {
+            replica.dispose();
+        }
+        H2_REPLICAS.clear();
+        for (final DruidDataSource replica : DRUID_REPLICAS) {
+            replica.close();
+        }
+        DRUID_REPLICAS.clear();
+        REPLICA_URLS.clear();
+        poolType = null;
+    }
+
+    /**
+     * Creates a H2 connection pool with the specified URL.
+     *
+     * @param jdbcURL    the specified URL
+     * @param maxConnCnt the specified maximum connection count
+     * @return connection pool
+     */
+    private static JdbcConnectionPool createH2(final String jdbcURL, final int maxConnCnt) {
+        final JdbcConnectionPool ret = JdbcConnectionPool.create(jdbcURL, userName, password);
+        ret.setMaxConnections(maxConnCnt);
+
+        return ret;
+    }
+
+    /**
+     * Creates a Druid connection pool with the specified URL, uses the finer configurations in "druid.properties" if
+     * found.
+     *
+     * @param jdbcURL    the specified URL
+     * @param driver     the specified driver class name
+     * @param minConnCnt the specified minimum connection count
+     * @param maxConnCnt the specified maximum connection count
+     * @return connection pool
+     * @throws Exception exception
+     */
+    private static DruidDataSource createDruid(final String jdbcURL, final String driver, final int minConnCnt,
+                                               final int maxConnCnt) throws Exception {
+        final DruidDataSource ret;
+        final Properties props = new Properties();
+        final InputStream is = Connections.class.getResourceAsStream("/druid.properties");
+        if (null != is) {
+            props.load(is);
+            ret = (DruidDataSource) DruidDataSourceFactory.createDataSource(props);
+        } else {
+            ret = new DruidDataSource();
+            ret.setTestOnReturn(true);
+            ret.setTestOnBorrow(false);
+            ret.setTestWhileIdle(true);
+            if (Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
+                ret.setValidationQuery("SELECT 1 FROM DUAL");
+            } else {
+                ret.setValidationQuery("SELECT 1");
+            }
+            ret.setMaxWait(CONN_TIMEOUT);
+            ret.setValidationQueryTimeout(CONN_TIMEOUT);
+            ret.setPoolPreparedStatements(true);
+            ret.setMaxPoolPreparedStatementPerConnectionSize(64);
+        }
+
+        ret.setUsername(userName);
+        ret.setPassword(password);
+        ret.setUrl(jdbcURL);
+        ret.setDriverClassName(driver);
+        ret.setInitialSize(minConnCnt);
+        ret.setMinIdle(minConnCnt);
+        ret.setMaxActive(maxConnCnt);
+
+        return ret;
     }
 
     /**
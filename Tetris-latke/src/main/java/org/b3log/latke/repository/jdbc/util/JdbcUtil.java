@@ -22,6 +22,7 @@ import org.b3log.latke.Latkes;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.RowHandler;
 import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -29,17 +30,25 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.sql.*;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDBC utilities.
+ * <p>
+ * Prepared statements are cached per connection (the connection the current thread is using), keyed by SQL with an
+ * LRU bound of "jdbc.statementCacheSize" (local.properties, default {@value #DEFAULT_STATEMENT_CACHE_SIZE}, 0
+ * disables). Row decoding uses column readers built from the repository definitions once per table and SQL.
+ * </p>
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.2.5, Oct 17, 2017
+ * @version 1.4.2.0, Oct 19, 2026
  */
 public final class JdbcUtil {
 
@@ -48,6 +57,59 @@ public final class JdbcUtil {
      */
     private static final Logger LOGGER = Logger.getLogger(JdbcUtil.class);
 
+    /**
+     * Default size of the prepared statement cache.
+     */
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * Size of the prepared statement cache of a connection.
+     */
+    private static final int STATEMENT_CACHE_SIZE = StringUtils.isNotBlank(Latkes.getLocalProperty("jdbc.statementCacheSize"))
+            ? Integer.valueOf(Latkes.getLocalProperty("jdbc.statementCacheSize")) : DEFAULT_STATEMENT_CACHE_SIZE;
+
+    /**
+     * Prepared statement cache of the connection the current thread is using.
+     */
+    private static final ThreadLocal<StatementCache> STATEMENTS = ThreadLocal.withInitial(StatementCache::new);
+
+    /**
+     * Maximum count of cached column readers.
+     */
+    private static final int MAX_COLUMNS_CNT = 1024;
+
+    /**
+     * Column readers, &lt;tableName + SQL, readers&gt;.
+     */
+    private static final Map<String, Columns> COLUMNS = new ConcurrentHashMap<>();
+
+    /**
+     * Field definitions keyed by column name, &lt;tableName, definitions&gt;.
+     */
+    private static final Map<String, Definitions> DEFINITIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Count of the statements executed by the current thread.
+     */
+    private static final ThreadLocal<long[]> STATEMENT_CNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Gets the count of the statements executed by the current thread since the last
+     * {@link #resetStatementCount() reset}.
+     *
+     * @return statement count
+     */
+    public static long getStatementCount() {
+        return STATEMENT_CNT.get()[0];
+    }
+
+    /**
+     * Resets the statement count of the current thread, for example, at the beginning of a request.
+     */
+    public static void resetStatementCount() {
+        STATEMENT_CNT.get()[0] = 0;
+    }
+
     /**
      * Executes the specified SQL with the specified connection.
      *
@@ -58,6 +120,7 @@ public final class JdbcUtil {
      */
     public static boolean executeSql(final String sql, final Connection connection) throws SQLException {
         LOGGER.log(Level.TRACE, "executeSql: {0}", sql);
+        STATEMENT_CNT.get()[0]++;
 
         final Statement statement = connection.createStatement();
         final boolean isSuccess = !statement.execute(sql);
@@ -77,15 +140,70 @@ public final class JdbcUtil {
      */
     public static boolean executeSql(final String sql, final List<Object> paramList, final Connection connection) throws SQLException {
         LOGGER.log(Level.TRACE, "Execute SQL [{0}]", sql);
+        STATEMENT_CNT.get()[0]++;
 
-        final PreparedStatement preparedStatement = connection.prepareStatement(sql);
-        for (int i = 1; i <= paramList.size(); i++) {
-            preparedStatement.setObject(i, paramList.get(i - 1));
+        final PreparedStatement preparedStatement = prepare(sql, paramList, connection);
+        try {
+            return preparedStatement.execute();
+        } finally {
+            release(preparedStatement);
         }
-        final boolean isSuccess = preparedStatement.execute();
-        preparedStatement.close();
+    }
 
-        return isSuccess;
+    /**
+     * Executes the specified data manipulation SQL with the specified params and connection.
+     *
+     * @param sql        the specified SQL
+     * @param paramList  the specified params
+     * @param connection the specified connection
+     * @return count of the affected rows
+     * @throws SQLException SQLException
+     */
+    public static int executeUpdate(final String sql, final List<Object> paramList, final Connection connection) throws SQLException {
+        LOGGER.log(Level.TRACE, "Execute update SQL [{0}]", sql);
+        STATEMENT_CNT.get()[0]++;
+
+        final PreparedStatement preparedStatement = prepare(sql, paramList, connection);
+        try {
+            return preparedStatement.executeUpdate();
+        } finally {
+            release(preparedStatement);
+        }
+    }
+
+    /**
+     * Executes the specified data manipulation SQL once for each of the specified param lists as a single batch.
+     *
+     * @param sql        the specified SQL
+     * @param paramLists the specified param lists
+     * @param connection the specified connection
+     * @return count of the affected rows
+     * @throws SQLException SQLException
+     */
+    public static int executeBatch(final String sql, final List<List<Object>> paramLists, final Connection connection)
+            throws SQLException {
+        LOGGER.log(Level.TRACE, "Execute batch SQL [{0}, size={1}]", sql, paramLists.size());
+        STATEMENT_CNT.get()[0]++;
+
+        final PreparedStatement preparedStatement = prepare(sql, Collections.emptyList(), connection);
+        try {
+            for (final List<Object> paramList : paramLists) {
+                for (int i = 1; i <= paramList.size(); i++) {
+                    preparedStatement.setObject(i, paramList.get(i - 1));
+                }
+                preparedStatement.addBatch();
+            }
+
+            int ret = 0;
+            for (final int cnt : preparedStatement.executeBatch()) {
+                ret += Math.max(cnt, 0);
+            }
+
+            return ret;
+        } finally {
+            preparedStatement.clearBatch();
+            release(preparedStatement);
+        }
     }
 
     /**
@@ -138,20 +256,87 @@ public final class JdbcUtil {
     private static JSONObject queryJson(final String sql, final List<Object> paramList, final Connection connection,
                                         final boolean ifOnlyOne, final String tableName) throws SQLException, JSONException, RepositoryException {
         LOGGER.log(Level.TRACE, "Query SQL [{0}]", sql);
+        STATEMENT_CNT.get()[0]++;
 
-        final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        final PreparedStatement preparedStatement = prepare(sql, paramList, connection);
+        try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+            return resultSetToJsonObject(resultSet, ifOnlyOne, sql, tableName);
+        } finally {
+            release(preparedStatement);
+        }
+    }
 
-        for (int i = 1; i <= paramList.size(); i++) {
-            preparedStatement.setObject(i, paramList.get(i - 1));
+    /**
+     * Queries with the specified SQL, params and connection, hands the results to the specified row handler one by one
+     * through a forward-only, read-only cursor.
+     * <p>
+     * The statement fetches rows in batches of the specified fetch size, on MySQL the driver streams rows (fetch size
+     * {@link Integer#MIN_VALUE}) so the result set is never buffered as a whole. H2 ignores the fetch size of an
+     * embedded connection, the query runs with lazy execution there instead. Callers should use a connection
+     * dedicated to this cursor since MySQL does not allow other statements on a connection with an open stream.
+     * </p>
+     *
+     * @param sql        the specified SQL
+     * @param paramList  the specified params
+     * @param connection the specified connection
+     * @param tableName  the specified table name
+     * @param fetchSize  the specified fetch size
+     * @param handler    the specified row handler
+     * @return count of the handled rows
+     * @throws Exception exception
+     */
+    public static long queryStream(final String sql, final List<Object> paramList, final Connection connection,
+                                   final String tableName, final int fetchSize, final RowHandler handler) throws Exception {
+        LOGGER.log(Level.TRACE, "Query stream SQL [{0}]", sql);
+        STATEMENT_CNT.get()[0]++;
+
+        final boolean lazy = Latkes.RuntimeDatabase.H2 == Latkes.getRuntimeDatabase();
+        if (lazy) {
+            setLazyQueryExecution(connection, true);
         }
 
-        final ResultSet resultSet = preparedStatement.executeQuery();
-        final JSONObject jsonObject = resultSetToJsonObject(resultSet, ifOnlyOne, tableName);
+        long ret = 0;
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            preparedStatement.setFetchSize(Latkes.RuntimeDatabase.MYSQL == Latkes.getRuntimeDatabase()
+                    ? Integer.MIN_VALUE : fetchSize);
+
+            for (int i = 1; i <= paramList.size(); i++) {
+                preparedStatement.setObject(i, paramList.get(i - 1));
+            }
 
-        resultSet.close();
-        preparedStatement.close();
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final Column[] columns = getColumns(resultSet, sql, tableName);
+                while (resultSet.next()) {
+                    ret++;
 
-        return jsonObject;
+                    if (!handler.handle(rowToJsonObject(resultSet, columns, tableName))) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (lazy) {
+                // The setting stays with the connection, which goes back to the pool
+                setLazyQueryExecution(connection, false);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Sets lazy query execution of the specified H2 connection, a lazily executed query computes its rows while they
+     * are fetched instead of buffering the whole result.
+     *
+     * @param connection the specified connection
+     * @param lazy       whether to execute queries lazily
+     * @throws SQLException SQL exception
+     */
+    private static void setLazyQueryExecution(final Connection connection, final boolean lazy) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + (lazy ? 1 : 0));
+        }
     }
 
     /**
@@ -159,16 +344,49 @@ public final class JdbcUtil {
      *
      * @param resultSet resultSet
      * @param ifOnlyOne ifOnlyOne
+     * @param sql       the SQL of the result set
      * @param tableName tableName
      * @return JSONObject
      * @throws SQLException        SQLException
      * @throws JSONException       JSONException
      * @throws RepositoryException RepositoryException
      */
-    private static JSONObject resultSetToJsonObject(final ResultSet resultSet, final boolean ifOnlyOne, final String tableName)
+    private static JSONObject resultSetToJsonObject(final ResultSet resultSet, final boolean ifOnlyOne, final String sql,
+                                                    final String tableName)
             throws SQLException, JSONException, RepositoryException {
-        final ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        final Column[] columns = getColumns(resultSet, sql, tableName);
+
+        final JSONArray jsonArray = new JSONArray();
+        JSONObject jsonObject;
+
+        while (resultSet.next()) {
+            jsonArray.put(rowToJsonObject(resultSet, columns, tableName));
+        }
+
+        if (ifOnlyOne) {
+            if (jsonArray.length() > 0) {
+                jsonObject = jsonArray.getJSONObject(0);
+                return jsonObject;
+            }
+
+            return null;
+        }
 
+        jsonObject = new JSONObject();
+        jsonObject.put(Keys.RESULTS, jsonArray);
+
+        return jsonObject;
+    }
+
+    /**
+     * Gets field definitions of the specified table, keyed by column name. The map is built once per repository
+     * definitions of the table.
+     *
+     * @param tableName the specified table name
+     * @return field definitions
+     * @throws RepositoryException if not found field definitions of the specified table
+     */
+    private static Map<String, FieldDefinition> getFieldDefinitions(final String tableName) throws RepositoryException {
         final List<FieldDefinition> definitionList = JdbcRepositories.getRepositoriesMap().get(tableName);
 
         if (definitionList == null) {
@@ -176,80 +394,166 @@ public final class JdbcUtil {
             throw new RepositoryException("resultSetToJsonObject: null definitionList finded for table  " + tableName);
         }
 
-        final Map<String, FieldDefinition> dMap = new HashMap<String, FieldDefinition>();
+        final Definitions cached = DEFINITIONS.get(tableName);
+        if (null != cached && cached.source == definitionList) {
+            return cached.byColumn;
+        }
+
+        final Map<String, FieldDefinition> ret = new HashMap<String, FieldDefinition>();
 
         for (FieldDefinition fieldDefinition : definitionList) {
             if (Latkes.RuntimeDatabase.H2 == Latkes.getRuntimeDatabase() || Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
-                dMap.put(fieldDefinition.getName().toUpperCase(), fieldDefinition);
+                ret.put(fieldDefinition.getName().toUpperCase(), fieldDefinition);
             } else {
-                dMap.put(fieldDefinition.getName(), fieldDefinition);
+                ret.put(fieldDefinition.getName(), fieldDefinition);
             }
         }
 
+        DEFINITIONS.put(tableName, new Definitions(definitionList, ret));
+
+        return ret;
+    }
+
+    /**
+     * Gets the column readers of the specified result set, built once per table and SQL.
+     *
+     * @param resultSet the specified result set
+     * @param sql       the SQL of the specified result set
+     * @param tableName the specified table name
+     * @return column readers
+     * @throws SQLException        SQLException
+     * @throws RepositoryException if not found field definitions of the specified table
+     */
+    private static Column[] getColumns(final ResultSet resultSet, final String sql, final String tableName)
+            throws SQLException, RepositoryException {
+        final Map<String, FieldDefinition> dMap = getFieldDefinitions(tableName);
+        final ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
         final int numColumns = resultSetMetaData.getColumnCount();
 
-        final JSONArray jsonArray = new JSONArray();
-        JSONObject jsonObject;
-        String columnName;
+        final String key = tableName + ':' + sql;
+        final Columns cached = COLUMNS.get(key);
+        if (null != cached && cached.definitions == dMap && cached.readers.length == numColumns) {
+            return cached.readers;
+        }
 
-        while (resultSet.next()) {
-            jsonObject = new JSONObject();
-
-            for (int i = 1; i < numColumns + 1; i++) {
-                columnName = resultSetMetaData.getColumnName(i);
-
-                final FieldDefinition definition = dMap.get(columnName);
-
-                if (definition == null) { // COUNT(OID)
-                    jsonObject.put(columnName, resultSet.getObject(columnName));
-                } else if ("boolean".equals(definition.getType())) {
-                    jsonObject.put(definition.getName(), resultSet.getBoolean(columnName));
-                } else {
-                    final Object v = resultSet.getObject(columnName);
-                    if (v instanceof Clob) {
-                        final Clob clob = (Clob) v;
-                        String str = null;
-                        try {
-                            str = IOUtils.toString(clob.getCharacterStream());
-                        } catch (final IOException e) {
-                            LOGGER.log(Level.ERROR,
-                                    "Cant not read column[name=" + columnName + "] in table[name=" + tableName + "] on H2", e);
-                        } finally {
-                            try {
-                                clob.free();
-                            } catch (final Exception e) { // Some drivers dose not implement free(), for example, jtds
-                                LOGGER.log(Level.ERROR, "clob.free error", e);
-                            }
-                        }
-
-                        jsonObject.put(definition.getName(), str);
-                    } else {
-                        jsonObject.put(definition.getName(), v);
+        final Column[] ret = new Column[numColumns];
+        for (int i = 1; i < numColumns + 1; i++) {
+            final String columnName = resultSetMetaData.getColumnName(i);
+            final FieldDefinition definition = dMap.get(columnName);
+
+            if (definition == null) { // COUNT(OID)
+                ret[i - 1] = new Column(i, columnName, Column.RAW);
+            } else if ("boolean".equals(definition.getType())) {
+                ret[i - 1] = new Column(i, definition.getName(), Column.BOOLEAN);
+            } else {
+                ret[i - 1] = new Column(i, definition.getName(), Column.VALUE);
+            }
+        }
+
+        if (MAX_COLUMNS_CNT <= COLUMNS.size()) {
+            COLUMNS.clear(); // Ad-hoc SQL, starts over rather than tracking recency
+        }
+        COLUMNS.put(key, new Columns(dMap, ret));
+
+        return ret;
+    }
+
+    /**
+     * Converts the current row of the specified result set to a JSON object.
+     *
+     * @param resultSet the specified result set
+     * @param columns   column readers of the specified result set
+     * @param tableName the specified table name
+     * @return JSON object
+     * @throws SQLException  SQLException
+     * @throws JSONException JSONException
+     */
+    private static JSONObject rowToJsonObject(final ResultSet resultSet, final Column[] columns, final String tableName)
+            throws SQLException, JSONException {
+        final JSONObject ret = new JSONObject();
+
+        for (final Column column : columns) {
+            if (Column.BOOLEAN == column.kind) {
+                ret.put(column.name, resultSet.getBoolean(column.index));
+
+                continue;
+            }
+
+            final Object v = resultSet.getObject(column.index);
+            if (Column.VALUE == column.kind && v instanceof Clob) {
+                final Clob clob = (Clob) v;
+                String str = null;
+                try {
+                    str = IOUtils.toString(clob.getCharacterStream());
+                } catch (final IOException e) {
+                    LOGGER.log(Level.ERROR,
+                            "Cant not read column[name=" + column.name + "] in table[name=" + tableName + "] on H2", e);
+                } finally {
+                    try {
+                        clob.free();
+                    } catch (final Exception e) { // Some drivers dose not implement free(), for example, jtds
+                        LOGGER.log(Level.ERROR, "clob.free error", e);
                     }
                 }
-            }
 
-            if (Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
-                jsonObject.remove("R__");
-                fromOracleClobEmpty(jsonObject);
+                ret.put(column.name, str);
+            } else {
+                ret.put(column.name, v);
             }
+        }
 
-            jsonArray.put(jsonObject);
+        if (Latkes.RuntimeDatabase.ORACLE == Latkes.getRuntimeDatabase()) {
+            ret.remove("R__");
+            fromOracleClobEmpty(ret);
         }
 
-        if (ifOnlyOne) {
-            if (jsonArray.length() > 0) {
-                jsonObject = jsonArray.getJSONObject(0);
-                return jsonObject;
+        return ret;
+    }
+
+    /**
+     * Prepares the specified SQL with the specified params on the specified connection, reuses the cached statement if
+     * found. The returned statement should be handed back by {@link #release(PreparedStatement)}.
+     *
+     * @param sql        the specified SQL
+     * @param paramList  the specified params
+     * @param connection the specified connection
+     * @return prepared statement
+     * @throws SQLException SQLException
+     */
+    private static PreparedStatement prepare(final String sql, final List<Object> paramList, final Connection connection)
+            throws SQLException {
+        PreparedStatement ret = null;
+        if (0 < STATEMENT_CACHE_SIZE) {
+            final StatementCache cache = STATEMENTS.get();
+            ret = cache.get(connection, sql);
+            if (null == ret) {
+                ret = connection.prepareStatement(sql);
+                cache.put(sql, ret);
             }
+        } else {
+            ret = connection.prepareStatement(sql);
+        }
 
-            return null;
+        for (int i = 1; i <= paramList.size(); i++) {
+            ret.setObject(i, paramList.get(i - 1));
         }
 
-        jsonObject = new JSONObject();
-        jsonObject.put(Keys.RESULTS, jsonArray);
+        return ret;
+    }
 
-        return jsonObject;
+    /**
+     * Releases the specified statement prepared by {@link #prepare(String, List, Connection)}, closes it if the cache
+     * is disabled.
+     *
+     * @param statement the specified statement
+     * @throws SQLException SQLException
+     */
+    private static void release(final PreparedStatement statement) throws SQLException {
+        if (0 < STATEMENT_CACHE_SIZE) {
+            statement.clearParameters();
+        } else {
+            statement.close();
+        }
     }
 
     /**
@@ -280,4 +584,185 @@ public final class JdbcUtil {
      */
     private JdbcUtil() {
     }
+
+    /**
+     * Prepared statement cache of a connection, statements are closed with the connection or when evicted.
+     */
+    private static final class StatementCache {
+
+        /**
+         * Connection of the cached statements.
+         */
+        private Connection connection;
+
+        /**
+         * Cached statements, &lt;SQL, statement&gt;, in access order.
+         */
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= STATEMENT_CACHE_SIZE) {
+                    return false;
+                }
+
+                close(eldest.getValue());
+
+                return true;
+            }
+        };
+
+        /**
+         * Gets the cached statement of the specified SQL on the specified connection, switches the cache to the
+         * specified connection if it is not the cached one.
+         *
+         * @param connection the specified connection
+         * @param sql        the specified SQL
+         * @return statement, returns {@code null} if not cached
+         * @throws SQLException SQLException
+         */
+        PreparedStatement get(final Connection connection, final String sql) throws SQLException {
+            if (connection != this.connection) {
+                statements.values().forEach(StatementCache::close);
+                statements.clear();
+                this.connection = connection;
+
+                return null;
+            }
+
+            final PreparedStatement ret = statements.get(sql);
+            if (null != ret && ret.isClosed()) {
+                statements.remove(sql);
+
+                return null;
+            }
+
+            return ret;
+        }
+
+        /**
+         * Caches the specified statement of the current connection.
+         *
+         * @param sql       the specified SQL
+         * @param statement the specified statement
+         */
+        void put(final String sql, final PreparedStatement statement) {
+            statements.put(sql, statement);
+        }
+
+        /**
+         * Closes the specified statement quietly, it may be closed with its connection already.
+         *
+         * @param statement the specified statement
+         */
+        private static void close(final PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (final SQLException e) {
+                LOGGER.log(Level.TRACE, "Closes cached statement failed", e);
+            }
+        }
+    }
+
+    /**
+     * Field definitions of a table keyed by column name.
+     */
+    private static final class Definitions {
+
+        /**
+         * Repository definitions the map built from.
+         */
+        private final List<FieldDefinition> source;
+
+        /**
+         * Field definitions keyed by column name.
+         */
+        private final Map<String, FieldDefinition> byColumn;
+
+        /**
+         * Constructs definitions.
+         *
+         * @param source   the specified repository definitions
+         * @param byColumn the specified field definitions keyed by column name
+         */
+        Definitions(final List<FieldDefinition> source, final Map<String, FieldDefinition> byColumn) {
+            this.source = source;
+            this.byColumn = byColumn;
+        }
+    }
+
+    /**
+     * Column readers of a table and SQL.
+     */
+    private static final class Columns {
+
+        /**
+         * Field definitions the readers built from.
+         */
+        private final Map<String, FieldDefinition> definitions;
+
+        /**
+         * Readers.
+         */
+        private final Column[] readers;
+
+        /**
+         * Constructs column readers.
+         *
+         * @param definitions the specified field definitions
+         * @param readers     the specified readers
+         */
+        Columns(final Map<String, FieldDefinition> definitions, final Column[] readers) {
+            this.definitions = definitions;
+            this.readers = readers;
+        }
+    }
+
+    /**
+     * Column reader.
+     */
+    private static final class Column {
+
+        /**
+         * Column without definition, for example, COUNT(OID).
+         */
+        private static final int RAW = 0;
+
+        /**
+         * Boolean column.
+         */
+        private static final int BOOLEAN = 1;
+
+        /**
+         * Other defined column, CLOB values are read as strings.
+         */
+        private static final int VALUE = 2;
+
+        /**
+         * Column index, starts from 1.
+         */
+        private final int index;
+
+        /**
+         * Property name.
+         */
+        private final String name;
+
+        /**
+         * Kind.
+         */
+        private final int kind;
+
+        /**
+         * Constructs a column reader.
+         *
+         * @param index the specified column index
+         * @param name  the specified property name
+         * @param kind  the specified kind
+         */
+        Column(final int index, final String name, final int kind) {
+            this.index = index;
+            this.name = name;
+            this.kind = kind;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -43,7 +44,8 @@ import java.util.jar.JarFile;
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.1, Jan 20, 2013
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
  */
 public final class ClassPathResolver {
 
@@ -80,6 +82,18 @@ public final class ClassPathResolver {
      * @return all URLS
      */
     public static Set<URL> getResources(final String locationPattern) {
+        return getResources(locationPattern, Collections.<String>emptySet());
+    }
+
+    /**
+     * Gets all URLs (resources) under the pattern, skips the specified classpath roots.
+     *
+     * @param locationPattern the pattern of classPath (a ant-style string)
+     * @param skippedRoots    the specified classpath roots to skip, for example "file:/app/WEB-INF/classes/" or
+     *                        "jar:file:/app/WEB-INF/lib/a.jar!/"
+     * @return all URLS
+     */
+    public static Set<URL> getResources(final String locationPattern, final Set<String> skippedRoots) {
 
         final Set<URL> result = new HashSet<URL>();
 
@@ -88,6 +102,14 @@ public final class ClassPathResolver {
         final Set<URL> rootDirResources = getResourcesFromRoot(scanRootPath);
 
         for (final URL rootDirResource : rootDirResources) {
+            final String classPathRoot = StringUtils.removeEnd(rootDirResource.toString(),
+                    StringUtils.removeStart(scanRootPath, "/"));
+            if (skippedRoots.contains(classPathRoot)) {
+                LOGGER.log(Level.DEBUG, "Skips classpath root [{0}]", classPathRoot);
+
+                continue;
+            }
+
             LOGGER.log(Level.INFO, "RootDirResource [protocol={0}, path={1}]",
                     new Object[]{rootDirResource.getProtocol(), rootDirResource.getPath()});
 
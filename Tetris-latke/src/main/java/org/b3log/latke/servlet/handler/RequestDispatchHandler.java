@@ -19,6 +19,7 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.Lifecycle;
 import org.b3log.latke.ioc.bean.LatkeBean;
+import org.b3log.latke.ioc.config.BeanIndex;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -33,6 +34,8 @@ import org.weborganic.furi.URIResolveResult;
 import javax.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
@@ -44,7 +47,7 @@ import org.b3log.latke.util.AntPathMatcher;
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.3, Dec 23, 2015
+ * @version 1.0.3.0, Oct 19, 2026
  */
 public class RequestDispatchHandler implements Handler {
 
@@ -67,12 +70,33 @@ public class RequestDispatchHandler implements Handler {
      * constructor.
      */
     public RequestDispatchHandler() {
+        this(getProcessorClasses());
+    }
+
+    /**
+     * Constructs a handler with the specified processor classes, used by benchmarks.
+     *
+     * @param processorClasses the specified processor classes
+     */
+    RequestDispatchHandler(final Collection<Class<?>> processorClasses) {
+        genInfo(processorClasses);
+    }
 
+    /**
+     * Gets classes of the processor beans.
+     *
+     * @return processor classes
+     */
+    private static Collection<Class<?>> getProcessorClasses() {
         final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
         final Set<LatkeBean<?>> processBeans = beanManager.getBeans(RequestProcessor.class);
 
-        // do scan in  beanManager
-        genInfo(processBeans);
+        final List<Class<?>> ret = new ArrayList<>(processBeans.size());
+        for (final LatkeBean<?> processBean : processBeans) {
+            ret.add(processBean.getBeanClass());
+        }
+
+        return ret;
     }
 
     @Override
@@ -82,7 +106,7 @@ public class RequestDispatchHandler implements Handler {
         final String requestURI = getRequestURI(request);
         final String httpMethod = getHTTPMethod(request);
 
-        LOGGER.log(Level.DEBUG, "Request[requestURI={0}, method={1}]", new Object[]{requestURI, httpMethod});
+        LOGGER.log(Level.DEBUG, "Request[requestURI={0}, method={1}]", requestURI, httpMethod);
 
         final MatchResult result = doMatch(requestURI, httpMethod);
 
@@ -101,7 +125,7 @@ public class RequestDispatchHandler implements Handler {
      * @return MatchResult
      */
     // XXX: Performance Issue 
-    private MatchResult doMatch(final String requestURI, final String httpMethod) {
+    MatchResult doMatch(final String requestURI, final String httpMethod) {
         MatchResult ret = null;
 
         final String contextPath = Latkes.getContextPath();
@@ -212,19 +236,21 @@ public class RequestDispatchHandler implements Handler {
     }
 
     /**
-     * scan beans to get the processor info.
+     * scan processor classes to get the processor info.
      *
-     * @param processBeans processBeans which contains {@link RequestProcessor}
+     * @param processorClasses processor classes which annotated with {@link RequestProcessor}
      */
-    private void genInfo(final Set<LatkeBean<?>> processBeans) {
-
-        for (final LatkeBean<?> latkeBean : processBeans) {
-            final Class<?> clz = latkeBean.getBeanClass();
-
-            final Method[] declaredMethods = clz.getDeclaredMethods();
+    private void genInfo(final Collection<Class<?>> processorClasses) {
+        final BeanIndex beanIndex = BeanIndex.get();
+
+        for (final Class<?> clz : processorClasses) {
+            // Indexed processors only reflect on their request processing methods
+            List<Method> methods = null == beanIndex ? null : beanIndex.getRouteMethods(clz);
+            if (null == methods) {
+                methods = Arrays.asList(clz.getDeclaredMethods());
+            }
 
-            for (int i = 0; i < declaredMethods.length; i++) {
-                final Method mthd = declaredMethods[i];
+            for (final Method mthd : methods) {
                 final RequestProcessing requestProcessingMethodAnn = mthd.getAnnotation(RequestProcessing.class);
 
                 if (null == requestProcessingMethodAnn) {
@@ -232,7 +258,7 @@ public class RequestDispatchHandler implements Handler {
                 }
 
                 LOGGER.log(Level.DEBUG, "Added a processor method[className={0}], method[{1}]",
-                        new Object[]{clz.getCanonicalName(), mthd.getName()});
+                        clz.getCanonicalName(), mthd.getName());
 
                 addProcessorInfo(requestProcessingMethodAnn, mthd);
             }
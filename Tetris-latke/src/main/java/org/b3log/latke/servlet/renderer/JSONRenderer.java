@@ -23,12 +23,13 @@ import org.json.JSONObject;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 
 /**
  * <a href="http://json.org">JSON</a> HTTP response renderer.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.1.1, Mar 5, 2017
+ * @version 1.2.2.0, Oct 19, 2026
  */
 public final class JSONRenderer extends AbstractHTTPResponseRenderer {
 
@@ -137,20 +138,21 @@ public final class JSONRenderer extends AbstractHTTPResponseRenderer {
         try {
             final PrintWriter writer = response.getWriter();
 
-            final int indent = 4;
-            final String output = pretty ? jsonObject.toString(indent) : jsonObject.toString();
-
             if (!jsonp) {
                 response.setContentType("application/json");
-                writer.println(output);
+                writeJSON(writer);
+                writer.println();
             } else {
                 response.setContentType("application/javascript");
-                writer.print(callback + "(" + output + ")");
+                writer.write(callback);
+                writer.write('(');
+                writeJSON(writer);
+                writer.write(')');
             }
 
             writer.close();
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "FreeMarker renders error", e);
+            LOGGER.log(Level.ERROR, "JSON renders error", e);
 
             try {
                 response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -159,4 +161,25 @@ public final class JSONRenderer extends AbstractHTTPResponseRenderer {
             }
         }
     }
+
+    /**
+     * Writes the json object to the specified writer.
+     * <p>
+     * Compact output is streamed into the writer directly, the pretty form is still built as a string since it is
+     * only used for debugging.
+     * </p>
+     *
+     * @param writer the specified writer
+     * @throws Exception exception
+     */
+    private void writeJSON(final Writer writer) throws Exception {
+        if (pretty) {
+            final int indent = 4;
+            writer.write(jsonObject.toString(indent));
+
+            return;
+        }
+
+        jsonObject.write(writer);
+    }
 }
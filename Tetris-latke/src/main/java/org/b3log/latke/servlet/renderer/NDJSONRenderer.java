@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.servlet.renderer;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.servlet.HTTPRequestContext;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <a href="http://ndjson.org">Newline delimited JSON</a> HTTP response renderer.
+ * <p>
+ * Rows of the specified repository are scanned with a cursor and written to the response one per line as they are
+ * read, optionally gzipped or zipped, so the memory used does not grow with the row count.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ */
+public final class NDJSONRenderer extends AbstractHTTPResponseRenderer {
+
+    /**
+     * Gzip compression.
+     */
+    public static final String COMPRESSION_GZIP = "gzip";
+
+    /**
+     * Zip compression.
+     */
+    public static final String COMPRESSION_ZIP = "zip";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(NDJSONRenderer.class);
+
+    /**
+     * Repository to scan.
+     */
+    private Repository repository;
+
+    /**
+     * Query of the scan.
+     */
+    private Query query = new Query();
+
+    /**
+     * Compression, {@link #COMPRESSION_GZIP}, {@link #COMPRESSION_ZIP} or {@code null} for none.
+     */
+    private String compression;
+
+    /**
+     * Download file name without extension.
+     */
+    private String fileName = "data";
+
+    /**
+     * Sets the repository to scan with the specified repository.
+     *
+     * @param repository the specified repository
+     */
+    public void setRepository(final Repository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Sets the query of the scan with the specified query, its pagination is ignored.
+     *
+     * @param query the specified query
+     */
+    public void setQuery(final Query query) {
+        this.query = query;
+    }
+
+    /**
+     * Sets the compression with the specified compression.
+     *
+     * @param compression the specified compression, {@link #COMPRESSION_GZIP}, {@link #COMPRESSION_ZIP} or
+     *                    {@code null} for none
+     */
+    public void setCompression(final String compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the download file name with the specified file name.
+     *
+     * @param fileName the specified file name without extension
+     */
+    public void setFileName(final String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void render(final HTTPRequestContext context) {
+        final HttpServletResponse response = context.getResponse();
+
+        String file = fileName + ".ndjson";
+        if (COMPRESSION_GZIP.equals(compression)) {
+            response.setContentType("application/gzip");
+            file += ".gz";
+        } else if (COMPRESSION_ZIP.equals(compression)) {
+            response.setContentType("application/zip");
+            file = fileName + ".zip";
+        } else {
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + file + "\"");
+
+        final long[] cnt = {0};
+        try {
+            final OutputStream outputStream = response.getOutputStream();
+            OutputStream out = outputStream;
+            if (COMPRESSION_GZIP.equals(compression)) {
+                out = new GZIPOutputStream(outputStream, 8192);
+            } else if (COMPRESSION_ZIP.equals(compression)) {
+                final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+                zipOutputStream.putNextEntry(new ZipEntry(fileName + ".ndjson"));
+                out = zipOutputStream;
+            }
+
+            try (final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                repository.scan(query, row -> {
+                    row.write(writer);
+                    writer.write('\n');
+                    cnt[0]++;
+
+                    return true;
+                });
+            }
+        } catch (final Exception e) {
+            // The response may have been committed, the client sees a truncated stream
+            LOGGER.log(Level.ERROR, "NDJSON renders error after [" + cnt[0] + "] rows", e);
+
+            if (!response.isCommitted()) {
+                try {
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } catch (final IOException ex) {
+                    LOGGER.log(Level.ERROR, "Can not send error 500!", ex);
+                }
+            }
+        }
+    }
+}
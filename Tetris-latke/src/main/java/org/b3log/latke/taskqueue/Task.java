@@ -24,7 +24,7 @@ import org.b3log.latke.servlet.HTTPRequestMethod;
  * Task.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.3, Sep 20, 2012
+ * @version 1.1.0.0, Oct 19, 2026
  */
 public final class Task implements Serializable {
 
@@ -53,6 +53,29 @@ public final class Task implements Serializable {
      */
     private byte[] payload;
 
+    /**
+     * Handler, runs the task in-process instead of requesting the {@link #url URL} if set.
+     */
+    private transient Runnable handler;
+
+    /**
+     * Gets the handler.
+     *
+     * @return handler, returns {@code null} if not set
+     */
+    public Runnable getHandler() {
+        return handler;
+    }
+
+    /**
+     * Sets the handler with the specified handler.
+     *
+     * @param handler the specified handler
+     */
+    public void setHandler(final Runnable handler) {
+        this.handler = handler;
+    }
+
     /**
      * Gets the request method.
      *
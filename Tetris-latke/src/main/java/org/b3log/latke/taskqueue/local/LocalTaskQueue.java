@@ -25,7 +25,8 @@ import org.b3log.latke.taskqueue.TaskHandle;
  * LocalTaskQueue.
  * 
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
- * @version 1.0.0.0, Apr 5, 2012
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.2.0.0, Oct 19, 2026
  */
 public class LocalTaskQueue implements Queue {
 
@@ -47,10 +48,10 @@ public class LocalTaskQueue implements Queue {
     @Override
     public TaskHandle add(final Task task) {
 
-        // trigger the task right now
+        // trigger the task right now on the task queue executor, cron jobs keep the scheduler threads
         final LocalTaskRunner localTaskRunner = new LocalTaskRunner(task, retryLimit);
 
-        localTaskRunner.start();
+        LocalTaskQueueService.getExecutor().execute(localTaskRunner);
 
         return new LocalTaskhandle();
     }
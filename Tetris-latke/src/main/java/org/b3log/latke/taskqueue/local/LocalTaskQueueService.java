@@ -19,6 +19,11 @@ package org.b3log.latke.taskqueue.local;
 import java.io.File;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.b3log.latke.Latkes;
@@ -33,10 +38,16 @@ import org.w3c.dom.NodeList;
 
 /**
  * Local task queue service.
+ * <p>
+ * Tasks of all queues run on an executor of this service, {@value #THREAD_CNT} threads with at most
+ * {@value #QUEUE_CAPACITY} waiting tasks. A task added while the executor is full runs in the adding thread instead of
+ * being dropped. {@link #shutdown()} stops accepting tasks and waits for the accepted ones.
+ * </p>
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Apr 15, 2012
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
  */
 public final class LocalTaskQueueService implements TaskQueueService {
 
@@ -55,6 +66,74 @@ public final class LocalTaskQueueService implements TaskQueueService {
      */
     private static boolean inited;
 
+    /**
+     * Thread count of the executor.
+     */
+    private static final int THREAD_CNT = 4;
+
+    /**
+     * Maximum count of the tasks waiting in the executor.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * Maximum time to wait for the accepted tasks on shutdown in milliseconds.
+     */
+    private static final long DRAIN_TIMEOUT = 30 * 1000;
+
+    /**
+     * Executor of tasks.
+     */
+    private static ThreadPoolExecutor executor;
+
+    /**
+     * Gets the executor of tasks, creates it if not exists.
+     *
+     * @return executor
+     */
+    static synchronized ExecutorService getExecutor() {
+        if (null == executor) {
+            final AtomicInteger threadNum = new AtomicInteger();
+            executor = new ThreadPoolExecutor(THREAD_CNT, THREAD_CNT, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                final Thread ret = new Thread(runnable, "TaskQueue-" + threadNum.incrementAndGet());
+                ret.setDaemon(true);
+
+                return ret;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        return executor;
+    }
+
+    /**
+     * Stops accepting tasks and waits at most {@value #DRAIN_TIMEOUT} milliseconds for the accepted ones.
+     */
+    public static void shutdown() {
+        final ThreadPoolExecutor toShutdown;
+        synchronized (LocalTaskQueueService.class) {
+            toShutdown = executor;
+            executor = null;
+        }
+
+        if (null == toShutdown) {
+            return;
+        }
+
+        toShutdown.shutdown();
+        try {
+            if (!toShutdown.awaitTermination(DRAIN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                LOGGER.log(Level.WARN, "Drops [" + toShutdown.shutdownNow().size() + "] tasks not run in ["
+                        + DRAIN_TIMEOUT + "ms]");
+            }
+        } catch (final InterruptedException e) {
+            toShutdown.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        LOGGER.log(Level.INFO, "Closed task queue service");
+    }
+
     /**
      * Initializes the queue.
      */
@@ -21,6 +21,7 @@ import java.net.URL;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.taskqueue.Task;
 import org.b3log.latke.urlfetch.HTTPRequest;
 import org.b3log.latke.urlfetch.HTTPResponse;
@@ -28,13 +29,15 @@ import org.b3log.latke.urlfetch.URLFetchService;
 import org.b3log.latke.urlfetch.URLFetchServiceFactory;
 
 /**
- * run the task in queue, now using httpUrlfetch to handle the request.
+ * run the task in queue, invokes the {@link Task#getHandler() handler} in-process if the task has one, otherwise
+ * using httpUrlfetch to handle the request.
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Sep 20, 2012
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
  */
-public final class LocalTaskRunner extends Thread {
+public final class LocalTaskRunner implements Runnable {
 
     /**
      * Logger.
@@ -69,6 +72,12 @@ public final class LocalTaskRunner extends Thread {
 
     @Override
     public void run() {
+        if (null != task.getHandler()) {
+            handle();
+
+            return;
+        }
+
         urlFetchService = URLFetchServiceFactory.getURLFetchService();
 
         final HTTPRequest httpRequest = new HTTPRequest();
@@ -98,6 +107,23 @@ public final class LocalTaskRunner extends Thread {
         }
     }
 
+    /**
+     * Runs the handler of the task in-process, retries if it throws an exception.
+     */
+    private void handle() {
+        for (int retry = 0; retry < retryLimit; retry++) {
+            try {
+                task.getHandler().run();
+
+                return;
+            } catch (final Exception e) {
+                LOGGER.log(Level.INFO, "The task[{0}] throw exception {1}", new Object[]{task.getName(), e.getMessage()});
+            } finally {
+                JdbcRepository.dispose();
+            }
+        }
+    }
+
     /**
      * do task using urlfetch(method:get),if wrong return false.
      *
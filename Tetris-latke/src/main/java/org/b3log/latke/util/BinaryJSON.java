@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2009-2017, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.latke.util;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of JSON objects, used for cache values.
+ * <p>
+ * An encoded value starts with {@link #MAGIC}, which never begins a JSON text, so readers may accept both formats
+ * via {@link #isBinary(byte[])}. Each value is a one byte tag followed by its payload: integers are zigzag varints,
+ * doubles are 8 bytes big-endian, strings and keys are a varint byte length followed by UTF-8 bytes, objects and
+ * arrays are a varint entry count followed by the entries. Big numbers are kept as their text.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ */
+public final class BinaryJSON {
+
+    /**
+     * Magic byte of an encoded value.
+     */
+    public static final byte MAGIC = (byte) 0xB3;
+
+    /**
+     * Tag of null.
+     */
+    private static final byte NULL = 0;
+
+    /**
+     * Tag of true.
+     */
+    private static final byte TRUE = 1;
+
+    /**
+     * Tag of false.
+     */
+    private static final byte FALSE = 2;
+
+    /**
+     * Tag of int.
+     */
+    private static final byte INT = 3;
+
+    /**
+     * Tag of long.
+     */
+    private static final byte LONG = 4;
+
+    /**
+     * Tag of double.
+     */
+    private static final byte DOUBLE = 5;
+
+    /**
+     * Tag of float.
+     */
+    private static final byte FLOAT = 6;
+
+    /**
+     * Tag of string.
+     */
+    private static final byte STRING = 7;
+
+    /**
+     * Tag of object.
+     */
+    private static final byte OBJECT = 8;
+
+    /**
+     * Tag of array.
+     */
+    private static final byte ARRAY = 9;
+
+    /**
+     * Tag of big decimal.
+     */
+    private static final byte BIG_DECIMAL = 10;
+
+    /**
+     * Tag of big integer.
+     */
+    private static final byte BIG_INTEGER = 11;
+
+    /**
+     * Private constructor.
+     */
+    private BinaryJSON() {
+    }
+
+    /**
+     * Determines whether the specified bytes are encoded by {@link #encode(JSONObject)}.
+     *
+     * @param bytes the specified bytes
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    public static boolean isBinary(final byte[] bytes) {
+        return null != bytes && 0 < bytes.length && MAGIC == bytes[0];
+    }
+
+    /**
+     * Encodes the specified json object.
+     *
+     * @param jsonObject the specified json object
+     * @return encoded bytes
+     */
+    public static byte[] encode(final JSONObject jsonObject) {
+        final Output out = new Output();
+        out.write(MAGIC);
+        writeObject(jsonObject, out);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the specified bytes.
+     *
+     * @param bytes the specified bytes, must be encoded by {@link #encode(JSONObject)}
+     * @return json object
+     * @throws JSONException if the specified bytes are malformed
+     */
+    public static JSONObject decode(final byte[] bytes) throws JSONException {
+        if (!isBinary(bytes)) {
+            throw new JSONException("Not a binary JSON value");
+        }
+
+        final Input in = new Input(bytes);
+        in.pos = 1;
+        try {
+            if (OBJECT != in.read()) {
+                throw new JSONException("Expected an object at offset [1]");
+            }
+
+            return readObject(in);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw new JSONException("Truncated binary JSON value");
+        }
+    }
+
+    /**
+     * Writes the specified json object.
+     *
+     * @param jsonObject the specified json object
+     * @param out        the specified output
+     */
+    private static void writeObject(final JSONObject jsonObject, final Output out) {
+        out.write(OBJECT);
+        out.writeVarint(jsonObject.length());
+
+        final Iterator<String> keys = jsonObject.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            out.writeString(key);
+            writeValue(jsonObject.opt(key), out);
+        }
+    }
+
+    /**
+     * Writes the specified value.
+     *
+     * @param value the specified value
+     * @param out   the specified output
+     */
+    private static void writeValue(final Object value, final Output out) {
+        if (null == value || JSONObject.NULL.equals(value)) {
+            out.write(NULL);
+        } else if (value instanceof String) {
+            out.write(STRING);
+            out.writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.write(INT);
+            out.writeVarlong(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.write(LONG);
+            out.writeVarlong((Long) value);
+        } else if (value instanceof Double) {
+            out.write(DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            out.write(FLOAT);
+            out.writeLong(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof JSONObject) {
+            writeObject((JSONObject) value, out);
+        } else if (value instanceof JSONArray) {
+            writeArray((JSONArray) value, out);
+        } else if (value instanceof BigDecimal) {
+            out.write(BIG_DECIMAL);
+            out.writeString(value.toString());
+        } else if (value instanceof BigInteger) {
+            out.write(BIG_INTEGER);
+            out.writeString(value.toString());
+        } else if (value instanceof Map) {
+            writeObject(new JSONObject((Map) value), out);
+        } else if (value instanceof Collection) {
+            writeArray(new JSONArray((Collection) value), out);
+        } else if (value.getClass().isArray()) {
+            try {
+                writeArray(new JSONArray(value), out);
+            } catch (final JSONException e) {
+                throw new IllegalArgumentException(e);
+            }
+        } else {
+            out.write(STRING);
+            out.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Writes the specified json array.
+     *
+     * @param jsonArray the specified json array
+     * @param out       the specified output
+     */
+    private static void writeArray(final JSONArray jsonArray, final Output out) {
+        final int length = jsonArray.length();
+        out.write(ARRAY);
+        out.writeVarint(length);
+        for (int i = 0; i < length; i++) {
+            writeValue(jsonArray.opt(i), out);
+        }
+    }
+
+    /**
+     * Reads a json object, the tag has been consumed.
+     *
+     * @param in the specified input
+     * @return json object
+     * @throws JSONException if the input is malformed
+     */
+    private static JSONObject readObject(final Input in) throws JSONException {
+        final int length = in.readVarint();
+        final JSONObject ret = new JSONObject();
+        for (int i = 0; i < length; i++) {
+            final String key = in.readString();
+            ret.put(key, readValue(in));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads a value.
+     *
+     * @param in the specified input
+     * @return value
+     * @throws JSONException if the input is malformed
+     */
+    private static Object readValue(final Input in) throws JSONException {
+        final byte tag = in.read();
+        switch (tag) {
+            case NULL:
+                return JSONObject.NULL;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return (int) in.readVarlong();
+            case LONG:
+                return in.readVarlong();
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case FLOAT:
+                return Float.intBitsToFloat((int) in.readLong());
+            case STRING:
+                return in.readString();
+            case OBJECT:
+                return readObject(in);
+            case ARRAY:
+                final int length = in.readVarint();
+                final JSONArray ret = new JSONArray();
+                for (int i = 0; i < length; i++) {
+                    ret.put(readValue(in));
+                }
+
+                return ret;
+            case BIG_DECIMAL:
+                return new BigDecimal(in.readString());
+            case BIG_INTEGER:
+                return new BigInteger(in.readString());
+            default:
+                throw new JSONException("Unknown tag [" + tag + "] at offset [" + (in.pos - 1) + "]");
+        }
+    }
+
+    /**
+     * Growable output buffer.
+     */
+    private static final class Output {
+
+        /**
+         * Buffer.
+         */
+        private byte[] buf = new byte[256];
+
+        /**
+         * Count of written bytes.
+         */
+        private int count;
+
+        /**
+         * Ensures the buffer could hold the specified count of more bytes.
+         *
+         * @param more the specified count
+         */
+        private void ensure(final int more) {
+            if (count + more > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + more));
+            }
+        }
+
+        /**
+         * Writes a byte.
+         *
+         * @param b the specified byte
+         */
+        private void write(final byte b) {
+            ensure(1);
+            buf[count++] = b;
+        }
+
+        /**
+         * Writes an unsigned varint.
+         *
+         * @param value the specified value, must not be negative
+         */
+        private void writeVarint(int value) {
+            ensure(5);
+            while (0 != (value & ~0x7F)) {
+                buf[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[count++] = (byte) value;
+        }
+
+        /**
+         * Writes a zigzag varlong.
+         *
+         * @param value the specified value
+         */
+        private void writeVarlong(final long value) {
+            long v = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while (0 != (v & ~0x7FL)) {
+                buf[count++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[count++] = (byte) v;
+        }
+
+        /**
+         * Writes a fixed 8 bytes long.
+         *
+         * @param value the specified value
+         */
+        private void writeLong(final long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * Writes a string, ASCII strings are copied without an intermediate byte array.
+         *
+         * @param value the specified string
+         */
+        private void writeString(final String value) {
+            final int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarint(bytes.length);
+                    ensure(bytes.length);
+                    System.arraycopy(bytes, 0, buf, count, bytes.length);
+                    count += bytes.length;
+
+                    return;
+                }
+            }
+
+            writeVarint(length);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                buf[count++] = (byte) value.charAt(i);
+            }
+        }
+
+        /**
+         * Gets the written bytes.
+         *
+         * @return written bytes
+         */
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+
+    /**
+     * Input over a byte array.
+     */
+    private static final class Input {
+
+        /**
+         * Bytes.
+         */
+        private final byte[] buf;
+
+        /**
+         * Read position.
+         */
+        private int pos;
+
+        /**
+         * Constructs an input with the specified bytes.
+         *
+         * @param buf the specified bytes
+         */
+        private Input(final byte[] buf) {
+            this.buf = buf;
+        }
+
+        /**
+         * Reads a byte.
+         *
+         * @return byte
+         */
+        private byte read() {
+            return buf[pos++];
+        }
+
+        /**
+         * Reads an unsigned varint.
+         *
+         * @return value
+         * @throws JSONException if the varint is malformed
+         */
+        private int readVarint() throws JSONException {
+            int ret = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final byte b = buf[pos++];
+                ret |= (b & 0x7F) << shift;
+                if (0 == (b & 0x80)) {
+                    if (0 > ret) {
+                        throw new JSONException("Malformed varint at offset [" + (pos - 1) + "]");
+                    }
+
+                    return ret;
+                }
+            }
+
+            throw new JSONException("Malformed varint at offset [" + (pos - 1) + "]");
+        }
+
+        /**
+         * Reads a zigzag varlong.
+         *
+         * @return value
+         * @throws JSONException if the varlong is malformed
+         */
+        private long readVarlong() throws JSONException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (0 == (b & 0x80)) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+
+            throw new JSONException("Malformed varlong at offset [" + (pos - 1) + "]");
+        }
+
+        /**
+         * Reads a fixed 8 bytes long.
+         *
+         * @return value
+         */
+        private long readLong() {
+            long ret = 0;
+            for (int i = 0; i < 8; i++) {
+                ret = (ret << 8) | (buf[pos++] & 0xFF);
+            }
+
+            return ret;
+        }
+
+        /**
+         * Reads a string.
+         *
+         * @return string
+         * @throws JSONException if the string is malformed
+         */
+        private String readString() throws JSONException {
+            final int length = readVarint();
+            if (pos + length > buf.length) {
+                throw new JSONException("Truncated string at offset [" + pos + "]");
+            }
+
+            final String ret = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+
+            return ret;
+        }
+    }
+}
@@ -26,6 +26,7 @@ package org.json;
  */
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -80,7 +81,7 @@ import java.util.Map;
  * </ul>
 
  * @author JSON.org
- * @version 2009-04-13
+ * @version 2026-10-19
  */
 public class JSONArray implements Serializable {
 
@@ -823,7 +824,9 @@ public class JSONArray implements Serializable {
      */
     public String toString() {
         try {
-            return '[' + join(",") + ']';
+            StringWriter sw = new StringWriter();
+            write(sw);
+            return sw.toString();
         } catch (Exception e) {
             return null;
         }
@@ -907,15 +910,7 @@ public class JSONArray implements Serializable {
                 if (b) {
                     writer.write(',');
                 }
-                Object v = this.myArrayList.get(i);
-
-                if (v instanceof JSONObject) {
-                    ((JSONObject) v).write(writer);
-                } else if (v instanceof JSONArray) {
-                    ((JSONArray) v).write(writer);
-                } else {
-                    writer.write(JSONObject.valueToString(v));
-                }
+                JSONObject.writeValue(this.myArrayList.get(i), writer);
                 b = true;
             }
             writer.write(']');
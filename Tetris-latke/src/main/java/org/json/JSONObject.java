@@ -26,6 +26,7 @@ package org.json;
  */
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -96,10 +97,31 @@ import java.util.TreeSet;
  * <code>0x-</code> <small>(hex)</small> prefix.</li> </ul>
  *
  * @author JSON.org
- * @version 2009-03-06
+ * @version 2026-10-19
  */
 public class JSONObject implements Serializable {
 
+    /**
+     * Escape sequences of the ASCII characters, null for the characters which
+     * are written as is.
+     */
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        for (int c = 0; c < ' '; c += 1) {
+            String t = "000" + Integer.toHexString(c);
+            ESCAPES[c] = "\\u" + t.substring(t.length() - 4);
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\r'] = "\\r";
+    }
+
+
     /**
      * Default serial version uid.
      */
@@ -1115,66 +1137,59 @@ public class JSONObject implements Serializable {
      * @return A String correctly formatted for insertion in a JSON text.
      */
     public static String quote(String string) {
+        StringWriter sw = new StringWriter(null == string ? 2 : string.length() + 4);
+        try {
+            quote(string, sw);
+        } catch (IOException e) {
+            // StringWriter does not throw
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Write a string in double quotes with backslash sequences in all the
+     * right places to a writer, the same as {@link #quote(String)} without
+     * building the intermediate string. Runs of characters which need no
+     * escaping are written in one call.
+     *
+     * @param string A String
+     * @param writer The writer
+     * @throws IOException If the writer fails
+     */
+    static void quote(String string, Writer writer) throws IOException {
         if (string == null || string.length() == 0) {
-            return "\"\"";
+            writer.write("\"\"");
+            return;
         }
 
-        char b;
-        char c = 0;
-        int i;
         int len = string.length();
-        StringBuffer sb = new StringBuffer(len + 4);
-        String t;
+        int last = 0;
 
-        sb.append('"');
-        for (i = 0; i < len; i += 1) {
-            b = c;
-            c = string.charAt(i);
-            switch (c) {
-            case '\\':
-            case '"':
-                sb.append('\\');
-                sb.append(c);
-                break;
+        writer.write('"');
+        for (int i = 0; i < len; i += 1) {
+            char c = string.charAt(i);
+            String escape;
 
-            case '/':
-                if (b == '<') {
-                    sb.append('\\');
+            if (c < ESCAPES.length) {
+                escape = ESCAPES[c];
+                if (c == '/' && i > 0 && string.charAt(i - 1) == '<') {
+                    escape = "\\/";
                 }
-                sb.append(c);
-                break;
-
-            case '\b':
-                sb.append("\\b");
-                break;
-
-            case '\t':
-                sb.append("\\t");
-                break;
-
-            case '\n':
-                sb.append("\\n");
-                break;
-
-            case '\f':
-                sb.append("\\f");
-                break;
-
-            case '\r':
-                sb.append("\\r");
-                break;
+            } else if ((c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
+                String t = "000" + Integer.toHexString(c);
+                escape = "\\u" + t.substring(t.length() - 4);
+            } else {
+                escape = null;
+            }
 
-            default:
-                if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
-                    t = "000" + Integer.toHexString(c);
-                    sb.append("\\u" + t.substring(t.length() - 4));
-                } else {
-                    sb.append(c);
-                }
+            if (escape != null) {
+                writer.write(string, last, i - last);
+                writer.write(escape);
+                last = i + 1;
             }
         }
-        sb.append('"');
-        return sb.toString();
+        writer.write(string, last, len - last);
+        writer.write('"');
     }
 
     /**
@@ -1318,26 +1333,15 @@ public class JSONObject implements Serializable {
      */
     public String toString() {
         try {
-            Iterator keys = keys();
-            StringBuffer sb = new StringBuffer("{");
-
-            while (keys.hasNext()) {
-                if (sb.length() > 1) {
-                    sb.append(',');
-                }
-                Object o = keys.next();
-
-                sb.append(quote(o.toString()));
-                sb.append(':');
-                sb.append(valueToString(this.map.get(o)));
-            }
-            sb.append('}');
-            return sb.toString();
+            StringWriter sw = new StringWriter();
+            write(sw);
+            return sw.toString();
         } catch (Exception e) {
             return null;
         }
     }
 
+
     /**
      * Make a prettyprinted JSON text of this JSONObject. <p> Warning: This
      * method assumes that the data structure is acyclical.
@@ -1531,27 +1535,19 @@ public class JSONObject implements Serializable {
     public Writer write(Writer writer) throws JSONException {
         try {
             boolean b = false;
-            Iterator keys = keys();
+            Iterator entries = this.map.entrySet().iterator();
 
             writer.write('{');
 
-            while (keys.hasNext()) {
+            while (entries.hasNext()) {
                 if (b) {
                     writer.write(',');
                 }
-                Object k = keys.next();
+                Map.Entry entry = (Map.Entry) entries.next();
 
-                writer.write(quote(k.toString()));
+                quote(entry.getKey().toString(), writer);
                 writer.write(':');
-                Object v = this.map.get(k);
-
-                if (v instanceof JSONObject) {
-                    ((JSONObject) v).write(writer);
-                } else if (v instanceof JSONArray) {
-                    ((JSONArray) v).write(writer);
-                } else {
-                    writer.write(valueToString(v));
-                }
+                writeValue(entry.getValue(), writer);
                 b = true;
             }
             writer.write('}');
@@ -1560,4 +1556,40 @@ public class JSONObject implements Serializable {
             throw new JSONException(e);
         }
     }
+
+    /**
+     * Write the JSON text of a value to a writer, the same text as
+     * {@link #valueToString(Object)} but without building intermediate
+     * strings for objects, arrays and strings.
+     *
+     * @param value The value to be serialized
+     * @param writer The writer
+     * @throws JSONException If the value is or contains an invalid number
+     * @throws IOException If the writer fails
+     */
+    static void writeValue(Object value, Writer writer) throws JSONException, IOException {
+        if (value == null || value.equals(null)) {
+            writer.write("null");
+        } else if (value instanceof String) {
+            quote((String) value, writer);
+        } else if (value instanceof JSONObject) {
+            ((JSONObject) value).write(writer);
+        } else if (value instanceof JSONArray) {
+            ((JSONArray) value).write(writer);
+        } else if (value instanceof JSONString) {
+            writer.write(valueToString(value));
+        } else if (value instanceof Number) {
+            writer.write(numberToString((Number) value));
+        } else if (value instanceof Boolean) {
+            writer.write(value.toString());
+        } else if (value instanceof Map) {
+            new JSONObject((Map) value).write(writer);
+        } else if (value instanceof Collection) {
+            new JSONArray((Collection) value).write(writer);
+        } else if (value.getClass().isArray()) {
+            new JSONArray(value).write(writer);
+        } else {
+            quote(value.toString(), writer);
+        }
+    }
 }
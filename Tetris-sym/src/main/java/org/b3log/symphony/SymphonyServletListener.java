@@ -18,7 +18,6 @@
 package org.b3log.symphony;
 
 import eu.bitwalker.useragentutils.BrowserType;
-import eu.bitwalker.useragentutils.UserAgent;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
@@ -32,19 +31,28 @@ import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.AbstractServletListener;
 import org.b3log.latke.util.*;
+import org.b3log.symphony.cache.ArticleFeedCache;
 import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.cache.TagCache;
 import org.b3log.symphony.event.*;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.processor.channel.ArticleListChannel;
 import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.ChatRoomMgmtService;
 import org.b3log.symphony.service.InitMgmtService;
+import org.b3log.symphony.service.PresenceMgmtService;
+import org.b3log.symphony.service.SearchIndexMgmtService;
+import org.b3log.symphony.service.SitemapMgmtService;
+import org.b3log.symphony.service.StatisticMgmtService;
 import org.b3log.symphony.service.UserMgmtService;
 import org.b3log.symphony.service.UserQueryService;
-import org.b3log.symphony.util.Crypts;
+import org.b3log.symphony.util.Captchas;
+import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.util.UserAgents;
 import org.json.JSONObject;
 
 import javax.servlet.ServletContextEvent;
@@ -60,7 +68,7 @@ import java.util.Locale;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 3.19.10.3, Feb 7, 2018
+ * @version 3.23.5.0, Oct 19, 2026
  * @since 0.2.0
  */
 public final class SymphonyServletListener extends AbstractServletListener {
@@ -100,6 +108,9 @@ public final class SymphonyServletListener extends AbstractServletListener {
         final InitMgmtService initMgmtService = beanManager.getReference(InitMgmtService.class);
         initMgmtService.initSym();
 
+        final StatisticMgmtService statisticMgmtService = beanManager.getReference(StatisticMgmtService.class);
+        statisticMgmtService.initStatistic();
+
         // Register event listeners
         final EventManager eventManager = beanManager.getReference(EventManager.class);
 
@@ -133,12 +144,45 @@ public final class SymphonyServletListener extends AbstractServletListener {
         final ArticleUpdateAudioHandler articleUpdateAudioHandler = beanManager.getReference(ArticleUpdateAudioHandler.class);
         eventManager.registerListener(articleUpdateAudioHandler);
 
+        final UserAddStatisticHandler userAddStatisticHandler = beanManager.getReference(UserAddStatisticHandler.class);
+        eventManager.registerListener(userAddStatisticHandler);
+
+        final ArticleAddStatisticHandler articleAddStatisticHandler = beanManager.getReference(ArticleAddStatisticHandler.class);
+        eventManager.registerListener(articleAddStatisticHandler);
+
+        final CommentAddStatisticHandler commentAddStatisticHandler = beanManager.getReference(CommentAddStatisticHandler.class);
+        eventManager.registerListener(commentAddStatisticHandler);
+
+        final ArticleSitemapAdder articleSitemapAdder = beanManager.getReference(ArticleSitemapAdder.class);
+        eventManager.registerListener(articleSitemapAdder);
+
+        final ArticleSitemapUpdater articleSitemapUpdater = beanManager.getReference(ArticleSitemapUpdater.class);
+        eventManager.registerListener(articleSitemapUpdater);
+
         final TagCache tagCache = beanManager.getReference(TagCache.class);
         tagCache.loadTags();
 
         final DomainCache domainCache = beanManager.getReference(DomainCache.class);
         domainCache.loadDomains();
 
+        final ArticleFeedCache articleFeedCache = beanManager.getReference(ArticleFeedCache.class);
+        Symphonys.EXECUTOR_SERVICE.submit(articleFeedCache::loadFeeds);
+
+        final ChatRoomMgmtService chatRoomMgmtService = beanManager.getReference(ChatRoomMgmtService.class);
+        chatRoomMgmtService.start();
+
+        Captchas.start();
+        ArticleListChannel.start();
+
+        final PresenceMgmtService presenceMgmtService = beanManager.getReference(PresenceMgmtService.class);
+        presenceMgmtService.start();
+
+        final SearchIndexMgmtService searchIndexMgmtService = beanManager.getReference(SearchIndexMgmtService.class);
+        searchIndexMgmtService.start();
+
+        final SitemapMgmtService sitemapMgmtService = beanManager.getReference(SitemapMgmtService.class);
+        Symphonys.EXECUTOR_SERVICE.submit(sitemapMgmtService::genSitemaps);
+
         JdbcRepository.dispose();
 
         LOGGER.info("Initialized the context");
@@ -149,6 +193,15 @@ public final class SymphonyServletListener extends AbstractServletListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
+        final ChatRoomMgmtService chatRoomMgmtService = beanManager.getReference(ChatRoomMgmtService.class);
+        chatRoomMgmtService.stop();
+        Captchas.stop();
+        ArticleListChannel.stop();
+        final PresenceMgmtService presenceMgmtService = beanManager.getReference(PresenceMgmtService.class);
+        presenceMgmtService.stop();
+        final SearchIndexMgmtService searchIndexMgmtService = beanManager.getReference(SearchIndexMgmtService.class);
+        searchIndexMgmtService.stop();
+
         super.contextDestroyed(servletContextEvent);
 
         Symphonys.EXECUTOR_SERVICE.shutdown();
@@ -191,31 +244,7 @@ public final class SymphonyServletListener extends AbstractServletListener {
 
         httpServletRequest.setAttribute(UserExt.USER_AVATAR_VIEW_MODE, UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
 
-        final String userAgentStr = httpServletRequest.getHeader(Common.USER_AGENT);
-
-        final UserAgent userAgent = UserAgent.parseUserAgentString(userAgentStr);
-        BrowserType browserType = userAgent.getBrowser().getBrowserType();
-
-        if (StringUtils.containsIgnoreCase(userAgentStr, "mobile")
-                || StringUtils.containsIgnoreCase(userAgentStr, "MQQBrowser")
-                || StringUtils.containsIgnoreCase(userAgentStr, "iphone")
-                || StringUtils.containsIgnoreCase(userAgentStr, "MicroMessenger")
-                || StringUtils.containsIgnoreCase(userAgentStr, "CFNetwork")
-                || StringUtils.containsIgnoreCase(userAgentStr, "Android")) {
-            browserType = BrowserType.MOBILE_BROWSER;
-        } else if (StringUtils.containsIgnoreCase(userAgentStr, "Iframely")
-                || StringUtils.containsIgnoreCase(userAgentStr, "Google")
-                || StringUtils.containsIgnoreCase(userAgentStr, "B3log")
-                || StringUtils.containsIgnoreCase(userAgentStr, "BUbiNG")) {
-            browserType = BrowserType.ROBOT;
-        } else if (BrowserType.UNKNOWN == browserType) {
-            if (!StringUtils.containsIgnoreCase(userAgentStr, "Java")
-                    && !StringUtils.containsIgnoreCase(userAgentStr, "MetaURI")
-                    && !StringUtils.containsIgnoreCase(userAgentStr, "Feed")) {
-                LOGGER.log(Level.WARN, "Unknown client [UA=" + userAgentStr + ", remoteAddr="
-                        + Requests.getRemoteAddr(httpServletRequest) + ", URI=" + httpServletRequest.getRequestURI() + "]");
-            }
-        }
+        final BrowserType browserType = UserAgents.getBrowserType(httpServletRequest);
 
         if (BrowserType.ROBOT == browserType) {
             LOGGER.log(Level.DEBUG, "Request made from a search engine[User-Agent={0}]",
@@ -235,11 +264,13 @@ public final class SymphonyServletListener extends AbstractServletListener {
 
         httpServletRequest.setAttribute(Common.IS_MOBILE, BrowserType.MOBILE_BROWSER == browserType);
 
-        // Gets the session of this request
-        final HttpSession session = httpServletRequest.getSession();
-        LOGGER.log(Level.TRACE, "Gets a session[id={0}, remoteAddr={1}, User-Agent={2}, isNew={3}]",
-                session.getId(), httpServletRequest.getRemoteAddr(),
-                httpServletRequest.getHeader(Common.USER_AGENT), session.isNew());
+        // Sessions are created on login only, bots and anonymous visitors do not hold one
+        final HttpSession session = httpServletRequest.getSession(false);
+        if (null != session) {
+            LOGGER.log(Level.TRACE, "Gets a session[id={0}, remoteAddr={1}, User-Agent={2}]",
+                    session.getId(), httpServletRequest.getRemoteAddr(),
+                    httpServletRequest.getHeader(Common.USER_AGENT));
+        }
 
         resolveSkinDir(httpServletRequest);
     }
@@ -304,7 +335,7 @@ public final class SymphonyServletListener extends AbstractServletListener {
                             continue;
                         }
 
-                        final String value = Crypts.decryptByAES(cookie.getValue(), Symphonys.get("cookie.secret"));
+                        final String value = Sessions.decryptCookie(cookie.getValue());
                         if (StringUtils.isBlank(value)) {
                             break;
                         }
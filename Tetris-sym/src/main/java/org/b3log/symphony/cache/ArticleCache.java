@@ -28,11 +28,15 @@ import org.b3log.symphony.util.JSONs;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Article cache. 文章缓存
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.4, Jul 23, 2017
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -97,6 +101,36 @@ public class ArticleCache {
 		return JSONs.clone(article);
 	}
 
+	/**
+	 * Gets articles by the specified article ids, fetches them from the underlying cache in one batch.
+	 *
+	 * @param ids the specified article ids
+	 * @return articles, &lt;article id, article&gt;, only contains the found ones
+	 */
+	public Map<String, JSONObject> getArticles(final Collection<String> ids) {
+		final Map<String, JSONObject> ret = new HashMap<>();
+		for (final Map.Entry<String, JSONObject> entry : ARTICLE_CACHE.get(ids).entrySet()) {
+			ret.put(entry.getKey(), JSONs.clone(entry.getValue()));
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Adds or updates the specified articles in one batch.
+	 *
+	 * @param articles the specified articles
+	 */
+	public void putArticles(final Collection<JSONObject> articles) {
+		final Map<String, JSONObject> values = new HashMap<>();
+		for (final JSONObject article : articles) {
+			values.put(article.optString(Keys.OBJECT_ID), JSONs.clone(article));
+		}
+
+		ARTICLE_CACHE.put(values);
+		ARTICLE_ABSTRACT_CACHE.remove(values.keySet());
+	}
+
 	/**
 	 * Adds or updates the specified article.
 	 *
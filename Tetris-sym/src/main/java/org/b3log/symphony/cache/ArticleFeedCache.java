@@ -0,0 +1,634 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.apache.commons.lang.time.DateUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.LatkeBeanManagerImpl;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Query;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Article feed cache.
+ * <p>
+ * Keeps article ids in sorted skip lists per {@link Feed feed}, globally and per tag, so list pages are served as id
+ * slices followed by article cache gets instead of ORDER BY + LIMIT/OFFSET queries. Entries are updated by
+ * {@link ArticleRepository} writes and rebuilt from the database at startup, callers fall back to queries until
+ * {@link #isLoaded() loaded}.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Named
+@Singleton
+public class ArticleFeedCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleFeedCache.class);
+
+    /**
+     * Feeds.
+     */
+    public enum Feed {
+
+        /**
+         * Recent articles, sticked first, then create time desc.
+         */
+        RECENT_DEFAULT(Entry::isRecentShowing, Comparator.comparingLong((Entry e) -> -e.stick)),
+
+        /**
+         * Recent articles of the latest month, sticked first, then comment count desc.
+         */
+        RECENT_HOT(Entry::isRecentShowing, Comparator.comparingLong((Entry e) -> -e.stick)
+                .thenComparingInt(e -> -e.cmtCnt)),
+
+        /**
+         * Recent articles, sticked first, then score desc.
+         */
+        RECENT_GOOD(Entry::isRecentShowing, Comparator.comparingLong((Entry e) -> -e.stick)
+                .thenComparingDouble(e -> -e.score)),
+
+        /**
+         * Recent articles, sticked first, then latest comment time desc.
+         */
+        RECENT_REPLY(Entry::isRecentShowing, Comparator.comparingLong((Entry e) -> -e.stick)
+                .thenComparingLong(e -> -e.latestCmtTime)),
+
+        /**
+         * Index recent articles, sticked first, then latest comment (or create) time desc.
+         */
+        INDEX_RECENT(Entry::isIndexShowing, Comparator.comparingLong((Entry e) -> -e.stick)
+                .thenComparingLong(e -> -(0 == e.latestCmtTime ? e.createTime : e.latestCmtTime))),
+
+        /**
+         * Hot articles, score desc, then latest comment time desc.
+         */
+        TOP(Entry::isShowing, Comparator.comparingDouble((Entry e) -> -e.score)
+                .thenComparingLong(e -> -e.latestCmtTime)),
+
+        /**
+         * Perfect articles, create time desc.
+         */
+        PERFECT(e -> Article.ARTICLE_PERFECT_C_PERFECT == e.perfect, Comparator.comparingInt(e -> 0)),
+
+        /**
+         * Tag articles, create time desc.
+         */
+        TAG_DEFAULT(e -> true, Comparator.comparingInt(e -> 0)),
+
+        /**
+         * Tag articles, comment count desc.
+         */
+        TAG_HOT(e -> true, Comparator.comparingInt((Entry e) -> -e.cmtCnt)),
+
+        /**
+         * Tag articles, score desc.
+         */
+        TAG_GOOD(e -> true, Comparator.comparingDouble((Entry e) -> -e.score)),
+
+        /**
+         * Tag articles, latest comment time desc.
+         */
+        TAG_REPLY(e -> true, Comparator.comparingLong((Entry e) -> -e.latestCmtTime)),
+
+        /**
+         * Tag articles, perfect first.
+         */
+        TAG_PERFECT(e -> true, Comparator.comparingInt((Entry e) -> -e.perfect));
+
+        /**
+         * Global feeds.
+         */
+        static final Feed[] GLOBALS = {RECENT_DEFAULT, RECENT_HOT, RECENT_GOOD, RECENT_REPLY, INDEX_RECENT, TOP, PERFECT};
+
+        /**
+         * Tag feeds.
+         */
+        static final Feed[] TAGS = {TAG_DEFAULT, TAG_HOT, TAG_GOOD, TAG_REPLY, TAG_PERFECT};
+
+        /**
+         * Entry filter.
+         */
+        private final Predicate<Entry> filter;
+
+        /**
+         * Entry comparator, ties are broken by id desc.
+         */
+        private final Comparator<Entry> comparator;
+
+        /**
+         * Constructs a feed with the specified filter and comparator.
+         *
+         * @param filter     the specified filter
+         * @param comparator the specified comparator
+         */
+        Feed(final Predicate<Entry> filter, final Comparator<Entry> comparator) {
+            this.filter = filter;
+            this.comparator = comparator.thenComparing((Entry e) -> e.id, Comparator.reverseOrder());
+        }
+
+        /**
+         * Gets the feed of the specified tag sort mode.
+         *
+         * @param sortMode the specified sort mode, 0: default, 1: hot, 2: score, 3: reply, 4: perfect
+         * @return feed
+         */
+        public static Feed ofTagSortMode(final int sortMode) {
+            return 0 <= sortMode && sortMode < TAGS.length ? TAGS[sortMode] : TAG_DEFAULT;
+        }
+
+        /**
+         * Gets the feed of the specified recent sort mode.
+         *
+         * @param sortMode the specified sort mode, 0: default, 1: hot, 2: score, 3: reply
+         * @return feed
+         */
+        public static Feed ofRecentSortMode(final int sortMode) {
+            switch (sortMode) {
+                case 1:
+                    return RECENT_HOT;
+                case 2:
+                    return RECENT_GOOD;
+                case 3:
+                    return RECENT_REPLY;
+                default:
+                    return RECENT_DEFAULT;
+            }
+        }
+    }
+
+    /**
+     * Sorted entries of global feeds.
+     */
+    private final Map<Feed, SortedEntries> globalFeeds = new EnumMap<>(Feed.class);
+
+    /**
+     * Sorted entries of tag feeds, &lt;lower case tag title, &lt;feed, entries&gt;&gt;.
+     */
+    private final Map<String, Map<Feed, SortedEntries>> tagFeeds = new ConcurrentHashMap<>();
+
+    /**
+     * Current entries, &lt;article id, entry&gt;.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Whether loaded.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Public constructor.
+     */
+    public ArticleFeedCache() {
+        for (final Feed feed : Feed.GLOBALS) {
+            globalFeeds.put(feed, new SortedEntries(feed));
+        }
+    }
+
+    /**
+     * Loads all articles from the database, articles written during loading are kept.
+     */
+    public void loadFeeds() {
+        final long start = System.currentTimeMillis();
+        final ArticleRepository articleRepository = LatkeBeanManagerImpl.getInstance().getReference(ArticleRepository.class);
+        final Query query = new Query().
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Article.ARTICLE_STICK, Long.class).
+                addProjection(Article.ARTICLE_LATEST_CMT_TIME, Long.class).
+                addProjection(Article.ARTICLE_COMMENT_CNT, Integer.class).
+                addProjection(Article.REDDIT_SCORE, Double.class).
+                addProjection(Article.ARTICLE_PERFECT, Integer.class).
+                addProjection(Article.ARTICLE_STATUS, Integer.class).
+                addProjection(Article.ARTICLE_TYPE, Integer.class).
+                addProjection(Article.ARTICLE_TAGS, String.class);
+        try {
+            final long cnt = articleRepository.scan(query, article -> {
+                final Entry entry = new Entry(article);
+                synchronized (this) {
+                    if (!entries.containsKey(entry.id)) {
+                        add(entry);
+                    }
+                }
+
+                return true;
+            });
+            loaded = true;
+
+            LOGGER.log(Level.INFO, "Loaded [" + cnt + "] articles into feeds in [" + (System.currentTimeMillis() - start) + "ms]");
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads article feeds failed", e);
+        }
+    }
+
+    /**
+     * Whether all articles have been loaded.
+     *
+     * @return {@code true} if loaded, returns {@code false} otherwise
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Marks loaded, for feeds filled by {@link #putArticle(JSONObject)} only.
+     */
+    void setLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Adds or updates the specified article.
+     *
+     * @param article the specified article
+     */
+    public synchronized void putArticle(final JSONObject article) {
+        final Entry entry = new Entry(article);
+        final Entry old = entries.get(entry.id);
+        if (null != old) {
+            if (old.equals(entry)) {
+                return;
+            }
+
+            remove(old);
+        }
+
+        add(entry);
+    }
+
+    /**
+     * Removes an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public synchronized void removeArticle(final String articleId) {
+        final Entry old = entries.get(articleId);
+        if (null != old) {
+            remove(old);
+        }
+    }
+
+    /**
+     * Gets article ids of the specified feed.
+     *
+     * @param feed     the specified feed
+     * @param tagTitle the specified tag title, required by tag feeds, ignored by global feeds
+     * @param offset   the specified offset
+     * @param size     the specified size
+     * @return article ids, returns an empty list if not found
+     */
+    public List<String> getIds(final Feed feed, final String tagTitle, final int offset, final int size) {
+        final SortedEntries sortedEntries = getSortedEntries(feed, tagTitle);
+        if (null == sortedEntries || size <= 0) {
+            return Collections.emptyList();
+        }
+
+        final Predicate<Entry> filter = getReadFilter(feed);
+        final List<String> ret = new ArrayList<>(size);
+        int skipped = 0;
+        for (final Entry entry : sortedEntries.set) {
+            if (null != filter && !filter.test(entry)) {
+                continue;
+            }
+
+            if (skipped < offset) {
+                skipped++;
+
+                continue;
+            }
+
+            ret.add(entry.id);
+            if (ret.size() >= size) {
+                break;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets article count of the specified feed.
+     *
+     * @param feed     the specified feed
+     * @param tagTitle the specified tag title, required by tag feeds, ignored by global feeds
+     * @return article count
+     */
+    public int count(final Feed feed, final String tagTitle) {
+        final SortedEntries sortedEntries = getSortedEntries(feed, tagTitle);
+        if (null == sortedEntries) {
+            return 0;
+        }
+
+        final Predicate<Entry> filter = getReadFilter(feed);
+        if (null == filter) {
+            return sortedEntries.cnt.get();
+        }
+
+        return (int) sortedEntries.set.stream().filter(filter).count();
+    }
+
+    /**
+     * Gets the filter applied when reading the specified feed.
+     *
+     * @param feed the specified feed
+     * @return filter, returns {@code null} if no filter
+     */
+    private static Predicate<Entry> getReadFilter(final Feed feed) {
+        if (Feed.RECENT_HOT != feed) {
+            return null;
+        }
+
+        final String monthAgo = String.valueOf(DateUtils.addMonths(new Date(), -1).getTime());
+
+        return entry -> entry.id.compareTo(monthAgo) >= 0;
+    }
+
+    /**
+     * Gets sorted entries of the specified feed and tag title.
+     *
+     * @param feed     the specified feed
+     * @param tagTitle the specified tag title
+     * @return sorted entries, returns {@code null} if not found
+     */
+    private SortedEntries getSortedEntries(final Feed feed, final String tagTitle) {
+        if (null != globalFeeds.get(feed)) {
+            return globalFeeds.get(feed);
+        }
+
+        final Map<Feed, SortedEntries> feeds = tagFeeds.get(StringUtils.lowerCase(StringUtils.trim(tagTitle)));
+        if (null == feeds) {
+            return null;
+        }
+
+        return feeds.get(feed);
+    }
+
+    /**
+     * Adds the specified entry to all feeds it belongs to.
+     *
+     * @param entry the specified entry
+     */
+    private void add(final Entry entry) {
+        entries.put(entry.id, entry);
+        for (final SortedEntries sortedEntries : globalFeeds.values()) {
+            sortedEntries.add(entry);
+        }
+
+        for (final String tag : entry.tagTitles) {
+            final Map<Feed, SortedEntries> feeds = tagFeeds.computeIfAbsent(tag, t -> {
+                final Map<Feed, SortedEntries> ret = new EnumMap<>(Feed.class);
+                for (final Feed feed : Feed.TAGS) {
+                    ret.put(feed, new SortedEntries(feed));
+                }
+
+                return ret;
+            });
+            for (final SortedEntries sortedEntries : feeds.values()) {
+                sortedEntries.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified entry from all feeds it belongs to.
+     *
+     * @param entry the specified entry
+     */
+    private void remove(final Entry entry) {
+        entries.remove(entry.id);
+        for (final SortedEntries sortedEntries : globalFeeds.values()) {
+            sortedEntries.remove(entry);
+        }
+
+        for (final String tag : entry.tagTitles) {
+            final Map<Feed, SortedEntries> feeds = tagFeeds.get(tag);
+            if (null == feeds) {
+                continue;
+            }
+
+            for (final SortedEntries sortedEntries : feeds.values()) {
+                sortedEntries.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Sorted entries of a feed.
+     */
+    private static final class SortedEntries {
+
+        /**
+         * Feed.
+         */
+        private final Feed feed;
+
+        /**
+         * Entries.
+         */
+        private final ConcurrentSkipListSet<Entry> set;
+
+        /**
+         * Entry count, {@link ConcurrentSkipListSet#size()} is linear.
+         */
+        private final AtomicInteger cnt = new AtomicInteger();
+
+        /**
+         * Constructs sorted entries of the specified feed.
+         *
+         * @param feed the specified feed
+         */
+        private SortedEntries(final Feed feed) {
+            this.feed = feed;
+            set = new ConcurrentSkipListSet<>(feed.comparator);
+        }
+
+        /**
+         * Adds the specified entry if accepted by the feed.
+         *
+         * @param entry the specified entry
+         */
+        private void add(final Entry entry) {
+            if (feed.filter.test(entry) && set.add(entry)) {
+                cnt.incrementAndGet();
+            }
+        }
+
+        /**
+         * Removes the specified entry.
+         *
+         * @param entry the specified entry
+         */
+        private void remove(final Entry entry) {
+            if (set.remove(entry)) {
+                cnt.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Feed entry, holds the sort keys of an article. Entries are immutable, an article update replaces its entry.
+     */
+    private static final class Entry {
+
+        /**
+         * Article id.
+         */
+        private final String id;
+
+        /**
+         * Create time.
+         */
+        private final long createTime;
+
+        /**
+         * Stick.
+         */
+        private final long stick;
+
+        /**
+         * Latest comment time.
+         */
+        private final long latestCmtTime;
+
+        /**
+         * Comment count.
+         */
+        private final int cmtCnt;
+
+        /**
+         * Reddit score.
+         */
+        private final double score;
+
+        /**
+         * Perfect.
+         */
+        private final int perfect;
+
+        /**
+         * Status.
+         */
+        private final int status;
+
+        /**
+         * Type.
+         */
+        private final int type;
+
+        /**
+         * Tags.
+         */
+        private final String tags;
+
+        /**
+         * Lower case tag titles.
+         */
+        private final Set<String> tagTitles;
+
+        /**
+         * Constructs an entry with the specified article.
+         *
+         * @param article the specified article
+         */
+        private Entry(final JSONObject article) {
+            id = article.optString(Keys.OBJECT_ID);
+            createTime = NumberUtils.toLong(id);
+            stick = article.optLong(Article.ARTICLE_STICK);
+            latestCmtTime = article.optLong(Article.ARTICLE_LATEST_CMT_TIME);
+            cmtCnt = article.optInt(Article.ARTICLE_COMMENT_CNT);
+            score = article.optDouble(Article.REDDIT_SCORE, 0D);
+            perfect = article.optInt(Article.ARTICLE_PERFECT);
+            status = article.optInt(Article.ARTICLE_STATUS);
+            type = article.optInt(Article.ARTICLE_TYPE);
+            tags = article.optString(Article.ARTICLE_TAGS);
+            tagTitles = new HashSet<>();
+            for (final String tagTitle : StringUtils.split(tags, ',')) {
+                if (StringUtils.isNotBlank(tagTitle)) {
+                    tagTitles.add(tagTitle.trim().toLowerCase());
+                }
+            }
+        }
+
+        /**
+         * Whether shows in hot lists.
+         *
+         * @return {@code true} if shows, returns {@code false} otherwise
+         */
+        private boolean isShowing() {
+            return Article.ARTICLE_STATUS_C_VALID == status && Article.ARTICLE_TYPE_C_DISCUSSION != type;
+        }
+
+        /**
+         * Whether shows in the index recent list.
+         *
+         * @return {@code true} if shows, returns {@code false} otherwise
+         */
+        private boolean isIndexShowing() {
+            return isShowing() && !Tag.TAG_TITLE_C_SANDBOX.equals(tags);
+        }
+
+        /**
+         * Whether shows in recent lists.
+         *
+         * @return {@code true} if shows, returns {@code false} otherwise
+         */
+        private boolean isRecentShowing() {
+            return isIndexShowing() && !tags.startsWith("B3log");
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+
+            final Entry entry = (Entry) o;
+
+            return stick == entry.stick && latestCmtTime == entry.latestCmtTime && cmtCnt == entry.cmtCnt
+                    && Double.compare(entry.score, score) == 0 && perfect == entry.perfect && status == entry.status
+                    && type == entry.type && id.equals(entry.id) && tags.equals(entry.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
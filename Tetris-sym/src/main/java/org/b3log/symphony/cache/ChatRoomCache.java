@@ -0,0 +1,272 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Chat room message cache.
+ * <p>
+ * Recent messages are kept in a lock-free ring buffer of {@code chatRoom.msgCnt} slots, readers never block writers.
+ * Messages are also appended to the log file {@code chatRoom.log} (one JSON per line) so the history survives
+ * restarts, {@link #loadMessages()} replays the tail of the log and compacts it if it grows too long. Appending is
+ * expected from one thread (the chat room pipeline of {@link org.b3log.symphony.service.ChatRoomMgmtService}).
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Named
+@Singleton
+public class ChatRoomCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ChatRoomCache.class);
+
+    /**
+     * The log is compacted to the ring capacity on loading if it holds more than capacity * this factor messages.
+     */
+    private static final int COMPACT_FACTOR = 50;
+
+    /**
+     * Ring buffer slots.
+     */
+    private final AtomicReferenceArray<Slot> slots;
+
+    /**
+     * Sequence of the next message.
+     */
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * Log file, {@code null} if persistence is disabled.
+     */
+    private final File logFile;
+
+    /**
+     * Log writer, opened by {@link #loadMessages()}.
+     */
+    private Writer logWriter;
+
+    /**
+     * Constructs a chat room cache with the capacity and log file configured in symphony.properties.
+     */
+    public ChatRoomCache() {
+        this(Symphonys.getInt("chatRoom.msgCnt"), StringUtils.isBlank(Symphonys.get("chatRoom.log"))
+                ? null : new File(Symphonys.get("chatRoom.log")));
+    }
+
+    /**
+     * Constructs a chat room cache with the specified capacity and log file.
+     *
+     * @param capacity the specified capacity
+     * @param logFile  the specified log file, {@code null} to disable persistence
+     */
+    public ChatRoomCache(final int capacity, final File logFile) {
+        slots = new AtomicReferenceArray<>(capacity);
+        this.logFile = logFile;
+    }
+
+    /**
+     * Gets the recent messages.
+     *
+     * @return messages, newest first
+     */
+    public List<JSONObject> getMessages() {
+        final int capacity = slots.length();
+        final long end = cursor.get();
+        final List<JSONObject> ret = new ArrayList<>(capacity);
+
+        for (long seq = end - 1; seq >= 0 && seq >= end - capacity; seq--) {
+            final Slot slot = slots.get((int) (seq % capacity));
+
+            // Skips the slot being written or already overwritten by a newer message
+            if (null != slot && seq == slot.seq) {
+                ret.add(slot.msg);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Puts the specified messages into the ring buffer and appends them to the log.
+     *
+     * @param msgs the specified messages, oldest first
+     */
+    public void putMessages(final List<JSONObject> msgs) {
+        for (final JSONObject msg : msgs) {
+            final long seq = cursor.getAndIncrement();
+            slots.set((int) (seq % slots.length()), new Slot(seq, msg));
+        }
+
+        if (null == logWriter) {
+            return;
+        }
+
+        try {
+            for (final JSONObject msg : msgs) {
+                logWriter.write(msg.toString());
+                logWriter.write('\n');
+            }
+            logWriter.flush();
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Appends chat room messages to log [" + logFile + "] failed", e);
+        }
+    }
+
+    /**
+     * Loads messages from the log and opens the log for appending.
+     */
+    public synchronized void loadMessages() {
+        if (null == logFile || null != logWriter) {
+            return;
+        }
+
+        final int capacity = slots.length();
+        final Deque<String> tail = new ArrayDeque<>(capacity);
+        long lineCnt = 0;
+
+        try {
+            final File dir = logFile.getAbsoluteFile().getParentFile();
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IOException("Creates directory [" + dir + "] failed");
+            }
+
+            if (logFile.exists()) {
+                try (final BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+                    String line;
+                    while (null != (line = reader.readLine())) {
+                        if (StringUtils.isBlank(line)) {
+                            continue;
+                        }
+
+                        lineCnt++;
+                        if (tail.size() == capacity) {
+                            tail.pollFirst();
+                        }
+                        tail.addLast(line);
+                    }
+                }
+            }
+
+            final List<JSONObject> msgs = new ArrayList<>(tail.size());
+            for (final String line : tail) {
+                try {
+                    msgs.add(new JSONObject(line));
+                } catch (final Exception e) {
+                    LOGGER.log(Level.WARN, "Skips broken chat room log line [" + line + "]");
+                }
+            }
+            putMessages(msgs);
+
+            if (lineCnt > (long) capacity * COMPACT_FACTOR) {
+                compact(tail);
+            }
+
+            logWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(logFile, true), StandardCharsets.UTF_8));
+
+            LOGGER.log(Level.INFO, "Loaded [{0}] chat room messages from log [{1}]", msgs.size(), logFile);
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads chat room messages from log [" + logFile + "] failed", e);
+        }
+    }
+
+    /**
+     * Closes the log.
+     */
+    public synchronized void close() {
+        if (null == logWriter) {
+            return;
+        }
+
+        try {
+            logWriter.close();
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Closes chat room log [" + logFile + "] failed", e);
+        }
+        logWriter = null;
+    }
+
+    /**
+     * Rewrites the log with the specified lines.
+     *
+     * @param lines the specified lines
+     * @throws IOException io exception
+     */
+    private void compact(final Deque<String> lines) throws IOException {
+        final File tmp = new File(logFile.getPath() + ".tmp");
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            for (final String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+
+        Files.move(tmp.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Ring buffer slot.
+     */
+    private static final class Slot {
+
+        /**
+         * Message sequence.
+         */
+        private final long seq;
+
+        /**
+         * Message.
+         */
+        private final JSONObject msg;
+
+        /**
+         * Constructs a slot.
+         *
+         * @param seq the specified sequence
+         * @param msg the specified message
+         */
+        private Slot(final long seq, final JSONObject msg) {
+            this.seq = seq;
+            this.msg = msg;
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.cache;
 
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.ioc.inject.Named;
 import org.b3log.latke.ioc.inject.Singleton;
@@ -32,7 +33,7 @@ import java.util.List;
  * Domain cache. 领域缓存
  * 
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.1, Apr 26, 2017
+ * @version 1.0.3.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -74,6 +75,7 @@ public class DomainCache {
 	/**
 	 * Loads domains.
 	 */
+	@Scheduled(schedule = "every 6 hours", description = "Cache domains")
 	public void loadDomains() {
 		DOMAINS.clear();
 		DOMAINS.addAll(domainQueryService.getMostTagDomain(Integer.MAX_VALUE));
@@ -19,6 +19,7 @@ package org.b3log.symphony.cache;
 
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
 import org.b3log.latke.ioc.inject.Named;
@@ -40,7 +41,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Tag cache.
  *标签缓存
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.6.3, Jul 23, 2017
+ * @version 1.5.8.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -178,6 +179,7 @@ public class TagCache {
     /**
      * Loads all tags.
      */
+    @Scheduled(schedule = "every 30 minutes", description = "Cache tags")
     public void loadTags() {
         loadAllTags();
         loadIconTags();
@@ -255,11 +257,29 @@ public class TagCache {
         final TagRepository tagRepository = beanManager.getReference(TagRepository.class);
 
         final Query query = new Query().setFilter(
-                new PropertyFilter(Tag.TAG_STATUS, FilterOperator.EQUAL, Tag.TAG_STATUS_C_VALID))
-                .setCurrentPageNum(1).setPageSize(Integer.MAX_VALUE).setPageCount(1);
+                new PropertyFilter(Tag.TAG_STATUS, FilterOperator.EQUAL, Tag.TAG_STATUS_C_VALID));
         try {
-            final JSONObject result = tagRepository.get(query);
-            final List<JSONObject> tags = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
+            final List<JSONObject> tags = new ArrayList<>();
+            tagRepository.scan(query, tag -> {
+                final String title = tag.optString(Tag.TAG_TITLE);
+                if ("".equals(title)
+                        || StringUtils.contains(title, " ")
+                        || StringUtils.contains(title, "　")) { // filter legacy data
+                    return true;
+                }
+
+                if (!Tag.containsWhiteListTags(title)) {
+                    if (!Tag.TAG_TITLE_PATTERN.matcher(title).matches() || title.length() > Tag.MAX_TAG_TITLE_LENGTH) {
+                        return true;
+                    }
+                }
+
+                Tag.fillDescription(tag);
+                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, title.toLowerCase());
+                tags.add(tag);
+
+                return true;
+            });
 
             // for legacy data migration
 //            final Transaction transaction = tagRepository.beginTransaction();
@@ -286,31 +306,6 @@ public class TagCache {
 //                LOGGER.log(Level.ERROR, "Migrates tag data failed", e);
 //            }
 
-            final Iterator<JSONObject> iterator = tags.iterator();
-            while (iterator.hasNext()) {
-                final JSONObject tag = iterator.next();
-
-                String title = tag.optString(Tag.TAG_TITLE);
-                if ("".equals(title)
-                        || StringUtils.contains(title, " ")
-                        || StringUtils.contains(title, "　")) { // filter legacy data
-                    iterator.remove();
-
-                    continue;
-                }
-
-                if (!Tag.containsWhiteListTags(title)) {
-                    if (!Tag.TAG_TITLE_PATTERN.matcher(title).matches() || title.length() > Tag.MAX_TAG_TITLE_LENGTH) {
-                        iterator.remove();
-
-                        continue;
-                    }
-                }
-
-                Tag.fillDescription(tag);
-                tag.put(Tag.TAG_T_TITLE_LOWER_CASE, tag.optString(Tag.TAG_TITLE).toLowerCase());
-            }
-
             Collections.sort(tags, (t1, t2) -> {
                 final String u1Title = t1.optString(Tag.TAG_T_TITLE_LOWER_CASE);
                 final String u2Title = t2.optString(Tag.TAG_T_TITLE_LOWER_CASE);
@@ -50,7 +50,7 @@ import java.util.Set;
  * Sends article add related notifications.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.4.14, Jan 30, 2018
+ * @version 1.3.5.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Named
@@ -207,21 +207,17 @@ public class ArticleAddNotifier extends AbstractEventListener<JSONObject> {
 			if (StringUtils.containsIgnoreCase(tags, Symphonys.get("systemAnnounce"))) {
 				final long latestLoginTime = DateUtils.addDays(new Date(), -15).getTime();
 
-				final JSONObject result = userQueryService.getLatestLoggedInUsers(latestLoginTime, 1, Integer.MAX_VALUE,
-						Integer.MAX_VALUE);
-				final JSONArray users = result.optJSONArray(User.USERS);
-
-				for (int i = 0; i < users.length(); i++) {
-					final String userId = users.optJSONObject(i).optString(Keys.OBJECT_ID);
-
+				final long userCnt = userQueryService.scanLatestLoggedInUserIds(latestLoginTime, user -> {
 					final JSONObject notification = new JSONObject();
-					notification.put(Notification.NOTIFICATION_USER_ID, userId);
+					notification.put(Notification.NOTIFICATION_USER_ID, user.optString(Keys.OBJECT_ID));
 					notification.put(Notification.NOTIFICATION_DATA_ID, articleId);
 
 					notificationMgmtService.addSysAnnounceArticleNotification(notification);
-				}
 
-				LOGGER.info("System announcement [" + articleTitle + "] broadcast [users=" + users.length() + "]");
+					return true;
+				});
+
+				LOGGER.info("System announcement [" + articleTitle + "] broadcast [users=" + userCnt + "]");
 			}
 		} catch (final Exception e) {
 			LOGGER.log(Level.ERROR, "Sends the article add notification failed", e);
@@ -0,0 +1,83 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.event;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.event.EventException;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.ioc.inject.Named;
+import org.b3log.latke.ioc.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Statistic;
+import org.b3log.symphony.service.StatisticMgmtService;
+import org.json.JSONObject;
+
+/**
+ * Article add statistic handler, increments the article count of the statistic.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Named
+@Singleton
+public class ArticleAddStatisticHandler extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Indicates an add article event.
+     */
+    public static final String ADD_ARTICLE = "Add Article";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleAddStatisticHandler.class);
+
+    /**
+     * Statistic management service.
+     */
+    @Inject
+    private StatisticMgmtService statisticMgmtService;
+
+    @Override
+    public void action(final Event<JSONObject> event) throws EventException {
+        final JSONObject data = event.getData();
+        LOGGER.log(Level.TRACE, "Processing an event [type={0}, data={1}]", event.getType(), data);
+
+        final JSONObject article = data.optJSONObject(Article.ARTICLE);
+        if (null == article || Article.ARTICLE_STATUS_C_VALID != article.optInt(Article.ARTICLE_STATUS)) {
+            return;
+        }
+
+        statisticMgmtService.incStatistic(article.optLong(Keys.OBJECT_ID), Statistic.STATISTIC_ARTICLE_CNT);
+    }
+
+    /**
+     * Gets the event type {@linkplain #ADD_ARTICLE}.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return ADD_ARTICLE;
+    }
+}
@@ -18,6 +18,7 @@
 package org.b3log.symphony.event;
 
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
 import org.b3log.latke.event.AbstractEventListener;
 import org.b3log.latke.event.Event;
 import org.b3log.latke.event.EventException;
@@ -28,16 +29,14 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Tag;
-import org.b3log.symphony.service.SearchMgmtService;
-import org.b3log.symphony.util.JSONs;
-import org.b3log.symphony.util.Symphonys;
+import org.b3log.symphony.service.SearchIndexMgmtService;
 import org.json.JSONObject;
 
 /**
- * Sends an article to local search engine.
+ * Queues an article to index in the search engines.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.3.1, Sep 5, 2017
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Named
@@ -51,10 +50,10 @@ public class ArticleSearchUpdater extends AbstractEventListener<JSONObject> {
 	private static final Logger LOGGER = Logger.getLogger(ArticleSearchUpdater.class);
 
 	/**
-	 * Search management service.
+	 * Search index management service.
 	 */
 	@Inject
-	private SearchMgmtService searchMgmtService;
+	private SearchIndexMgmtService searchIndexMgmtService;
 
 	@Override
 	public void action(final Event<JSONObject> event) throws EventException {
@@ -72,13 +71,7 @@ public class ArticleSearchUpdater extends AbstractEventListener<JSONObject> {
 			return;
 		}
 
-		if (Symphonys.getBoolean("algolia.enabled")) {
-			searchMgmtService.updateAlgoliaDocument(JSONs.clone(article));
-		}
-
-		if (Symphonys.getBoolean("es.enabled")) {
-			searchMgmtService.updateESDocument(JSONs.clone(article), Article.ARTICLE);
-		}
+		searchIndexMgmtService.indexArticle(article.optString(Keys.OBJECT_ID));
 	}
 
 	/**
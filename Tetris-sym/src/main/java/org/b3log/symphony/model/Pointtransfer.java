@@ -24,7 +24,7 @@ import org.b3log.symphony.util.Symphonys;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.23.2.1, May 6, 2017
+ * @version 1.24.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class Pointtransfer {
@@ -361,6 +361,36 @@ public final class Pointtransfer {
      */
     public static final int TRANSFER_SUM_C_UPDATE_COMMENT = Symphonys.getInt("pointUpdateComment");
 
+    /**
+     * Determines whether transfers of the specified type are idempotent by data id, that is, at most one transfer
+     * with the same type, from id, to id and data id (article id, comment id, reward id, etc.) is recorded.
+     *
+     * @param type the specified type
+     * @return {@code true} if idempotent, returns {@code false} otherwise
+     */
+    public static boolean isIdempotent(final int type) {
+        switch (type) {
+            case TRANSFER_TYPE_C_INIT:
+            case TRANSFER_TYPE_C_ADD_ARTICLE:
+            case TRANSFER_TYPE_C_ADD_COMMENT:
+            case TRANSFER_TYPE_C_ADD_ARTICLE_REWARD:
+            case TRANSFER_TYPE_C_ARTICLE_REWARD:
+            case TRANSFER_TYPE_C_INVITE_REGISTER:
+            case TRANSFER_TYPE_C_INVITED_REGISTER:
+            case TRANSFER_TYPE_C_COMMENT_REWARD:
+            case TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST:
+            case TRANSFER_TYPE_C_AT_PARTICIPANTS:
+            case TRANSFER_TYPE_C_ACTIVITY_CHARACTER:
+            case TRANSFER_TYPE_C_ARTICLE_THANK:
+            case TRANSFER_TYPE_C_BUY_INVITECODE:
+            case TRANSFER_TYPE_C_INVITECODE_USED:
+            case TRANSFER_TYPE_C_PERFECT_ARTICLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      * Private constructor.
      */
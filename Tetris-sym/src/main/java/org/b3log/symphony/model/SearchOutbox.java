@@ -0,0 +1,64 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.model;
+
+/**
+ * This class defines all search outbox model relevant keys.
+ * <p>
+ * A search outbox entry is a pending search index operation of an article, keyed by the article id, see
+ * {@link org.b3log.symphony.service.SearchIndexMgmtService} for how entries are written and drained.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class SearchOutbox {
+
+    /**
+     * Search outbox.
+     */
+    public static final String SEARCH_OUTBOX = "search_outbox";
+
+    /**
+     * Key of search outbox operation.
+     */
+    public static final String SEARCH_OUTBOX_OP = "searchOutboxOp";
+
+    /**
+     * Key of search outbox time, the time the entry was last written.
+     */
+    public static final String SEARCH_OUTBOX_TIME = "searchOutboxTime";
+
+    //// Operation constants
+    /**
+     * Operation - update.
+     */
+    public static final int SEARCH_OUTBOX_OP_C_UPDATE = 0;
+
+    /**
+     * Operation - remove.
+     */
+    public static final int SEARCH_OUTBOX_OP_C_REMOVE = 1;
+
+    /**
+     * Private constructor.
+     */
+    private SearchOutbox() {
+    }
+}
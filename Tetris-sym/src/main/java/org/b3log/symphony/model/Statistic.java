@@ -0,0 +1,68 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.model;
+
+/**
+ * This class defines all statistic model relevant keys.
+ * <p>
+ * A statistic holds the counts of users, articles and comments created in one day, see
+ * {@link org.b3log.symphony.service.StatisticMgmtService} for how it is maintained.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class Statistic {
+
+    /**
+     * Statistic.
+     */
+    public static final String STATISTIC = "statistic";
+
+    /**
+     * Statistics.
+     */
+    public static final String STATISTICS = "statistics";
+
+    /**
+     * Key of statistic date, formatted as "yyyyMMdd".
+     */
+    public static final String STATISTIC_DATE = "statisticDate";
+
+    /**
+     * Key of statistic user count.
+     */
+    public static final String STATISTIC_USER_CNT = "statisticUserCnt";
+
+    /**
+     * Key of statistic article count.
+     */
+    public static final String STATISTIC_ARTICLE_CNT = "statisticArticleCnt";
+
+    /**
+     * Key of statistic comment count.
+     */
+    public static final String STATISTIC_COMMENT_CNT = "statisticCommentCnt";
+
+    /**
+     * Private constructor.
+     */
+    private Statistic() {
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.model.sitemap;
+
+import org.b3log.latke.util.Strings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sitemap index.
+ *
+ * <p>
+ * See <a href="https://www.sitemaps.org/protocol.html#index">Using Sitemap index files</a>
+ * for more details.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class SitemapIndex {
+
+    /**
+     * Start document.
+     */
+    private static final String START_DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    /**
+     * Start sitemap index element.
+     */
+    private static final String START_SITEMAP_INDEX_ELEMENT = "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">";
+
+    /**
+     * End sitemap index element.
+     */
+    private static final String END_SITEMAP_INDEX_ELEMENT = "</sitemapindex>";
+
+    /**
+     * Start sitemap element.
+     */
+    private static final String START_SITEMAP_ELEMENT = "<sitemap>";
+
+    /**
+     * End sitemap element.
+     */
+    private static final String END_SITEMAP_ELEMENT = "</sitemap>";
+
+    /**
+     * Start location element.
+     */
+    private static final String START_LOC_ELEMENT = "<loc>";
+
+    /**
+     * End location element.
+     */
+    private static final String END_LOC_ELEMENT = "</loc>";
+
+    /**
+     * Start last modified element.
+     */
+    private static final String START_LAST_MOD_ELEMENT = "<lastmod>";
+
+    /**
+     * End last modified element.
+     */
+    private static final String END_LAST_MOD_ELEMENT = "</lastmod>";
+
+    /**
+     * Sitemap locations.
+     */
+    private final List<String> locs = new ArrayList<>();
+
+    /**
+     * Sitemap last modifieds.
+     */
+    private final List<String> lastMods = new ArrayList<>();
+
+    /**
+     * Adds a sitemap with the specified location and last modified.
+     *
+     * @param loc     the specified location
+     * @param lastMod the specified last modified, may be {@code null}
+     */
+    public void addSitemap(final String loc, final String lastMod) {
+        locs.add(loc);
+        lastMods.add(lastMod);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append(START_DOCUMENT);
+        stringBuilder.append(START_SITEMAP_INDEX_ELEMENT);
+
+        for (int i = 0; i < locs.size(); i++) {
+            stringBuilder.append(START_SITEMAP_ELEMENT);
+
+            stringBuilder.append(START_LOC_ELEMENT);
+            stringBuilder.append(locs.get(i));
+            stringBuilder.append(END_LOC_ELEMENT);
+
+            final String lastMod = lastMods.get(i);
+            if (!Strings.isEmptyOrNull(lastMod)) {
+                stringBuilder.append(START_LAST_MOD_ELEMENT);
+                stringBuilder.append(lastMod);
+                stringBuilder.append(END_LAST_MOD_ELEMENT);
+            }
+
+            stringBuilder.append(END_SITEMAP_ELEMENT);
+        }
+
+        stringBuilder.append(END_SITEMAP_INDEX_ELEMENT);
+
+        return stringBuilder.toString();
+    }
+}
@@ -110,7 +110,7 @@ import java.util.*;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 2.26.9.0, Dec 10, 2017
+ * @version 2.27.0.0, Oct 19, 2026
  * @since 1.1.0
  */
 @RequestProcessor
@@ -233,6 +233,12 @@ public class AdminProcessor {
     @Inject
     private SearchMgmtService searchMgmtService;
 
+    /**
+     * Search index management service.
+     */
+    @Inject
+    private SearchIndexMgmtService searchIndexMgmtService;
+
     /**
      * Invitecode query service.
      */
@@ -2533,20 +2539,16 @@ public class AdminProcessor {
                 for (int pageNum = 1; pageNum <= pages; pageNum++) {
                     final List<JSONObject> articles = articleQueryService.getValidArticles(pageNum, 50, Article.ARTICLE_TYPE_C_NORMAL, Article.ARTICLE_TYPE_C_CITY_BROADCAST);
 
+                    final List<String> articleIds = new ArrayList<>();
                     for (final JSONObject article : articles) {
-                        if (Symphonys.getBoolean("algolia.enabled")) {
-                            searchMgmtService.updateAlgoliaDocument(article);
-                        }
-
-                        if (Symphonys.getBoolean("es.enabled")) {
-                            searchMgmtService.updateESDocument(article, Article.ARTICLE);
-                        }
+                        articleIds.add(article.optString(Keys.OBJECT_ID));
                     }
+                    searchIndexMgmtService.indexArticles(articleIds);
 
-                    LOGGER.info("Indexed page [" + pageNum + "]");
+                    LOGGER.info("Queued page [" + pageNum + "]");
                 }
 
-                LOGGER.info("Index finished");
+                LOGGER.info("Queued all articles to index");
             } catch (final Exception e) {
                 LOGGER.log(Level.ERROR, "Search index failed", e);
             } finally {
@@ -2573,16 +2575,14 @@ public class AdminProcessor {
             return;
         }
 
-        if (Symphonys.getBoolean("algolia.enabled")) {
-            searchMgmtService.updateAlgoliaDocument(article);
+        searchIndexMgmtService.indexArticle(articleId);
 
+        if (Symphonys.getBoolean("algolia.enabled")) {
             final String articlePermalink = Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK);
             ArticleBaiduSender.sendToBaidu(articlePermalink);
         }
 
         if (Symphonys.getBoolean("es.enabled")) {
-            searchMgmtService.updateESDocument(article, Article.ARTICLE);
-
             final String articlePermalink = Latkes.getServePath() + article.optString(Article.ARTICLE_PERMALINK);
             ArticleBaiduSender.sendToBaidu(articlePermalink);
         }
@@ -17,7 +17,6 @@
  */
 package org.b3log.symphony.processor;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.image.Image;
 import org.b3log.latke.logging.Level;
@@ -28,27 +27,20 @@ import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.PNGRenderer;
 import org.b3log.symphony.model.Common;
+import org.b3log.symphony.util.Captchas;
 import org.json.JSONObject;
-import org.patchca.color.SingleColorFactory;
-import org.patchca.filter.predefined.CurvesRippleFilterFactory;
-import org.patchca.service.Captcha;
-import org.patchca.service.ConfigurableCaptchaService;
-import org.patchca.word.RandomWordFactory;
 
-import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Captcha processor.
+ * <p>
+ * Captcha images are taken from the pre-generated {@link Captchas} pools.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.2.0.8, Dec 10, 2017
+ * @version 2.3.0.0, Oct 19, 2026
  * @since 0.2.2
  */
 @RequestProcessor
@@ -64,11 +56,6 @@ public class CaptchaProcessor {
      */
     public static final String CAPTCHA = "captcha";
 
-    /**
-     * Captchas.
-     */
-    public static final Set<String> CAPTCHAS = new HashSet<>();
-
     /**
      * Gets captcha.
      *
@@ -82,36 +69,16 @@ public class CaptchaProcessor {
 
         try {
             final HttpServletResponse response = context.getResponse();
-            
-            final ConfigurableCaptchaService cs = new ConfigurableCaptchaService();
-            cs.setColorFactory(new SingleColorFactory(new Color(25, 60, 170)));
-            cs.setFilterFactory(new CurvesRippleFilterFactory(cs.getColorFactory()));
-            final RandomWordFactory randomWordFactory = new RandomWordFactory();
-            randomWordFactory.setCharacters("abcdefghijklmnprstuvwxy23456789");
-            randomWordFactory.setMinLength(4);
-            randomWordFactory.setMaxLength(4);
-            cs.setWordFactory(randomWordFactory);
-            final Captcha captcha = cs.getCaptcha();
-            final String challenge = captcha.getChallenge();
-            final BufferedImage bufferedImage = captcha.getImage();
-
-            if (CAPTCHAS.size() > 64) {
-                CAPTCHAS.clear();
-            }
 
-            CAPTCHAS.add(challenge);
+            final Captchas.Captcha captcha = Captchas.DEFAULT.take();
+            Captchas.addChallenge(captcha.getChallenge());
 
             response.setHeader("Pragma", "no-cache");
             response.setHeader("Cache-Control", "no-cache");
             response.setDateHeader("Expires", 0);
 
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(bufferedImage, "png", baos);
-            final byte[] data = baos.toByteArray();
-            IOUtils.closeQuietly(baos);
-
             final Image captchaImg = new Image();
-            captchaImg.setData(data);
+            captchaImg.setData(captcha.getPNG());
 
             renderer.setImage(captchaImg);
         } catch (final Exception e) {
@@ -147,31 +114,15 @@ public class CaptchaProcessor {
             final PNGRenderer renderer = new PNGRenderer();
             context.setRenderer(renderer);
 
-            final ConfigurableCaptchaService cs = new ConfigurableCaptchaService();
-            cs.setColorFactory(new SingleColorFactory(new Color(26, 52, 96)));
-            cs.setFilterFactory(new CurvesRippleFilterFactory(cs.getColorFactory()));
-            final RandomWordFactory randomWordFactory = new RandomWordFactory();
-            randomWordFactory.setCharacters("abcdefghijklmnprstuvwxy23456789");
-            randomWordFactory.setMinLength(4);
-            randomWordFactory.setMaxLength(4);
-            cs.setWordFactory(randomWordFactory);
-            final Captcha captcha = cs.getCaptcha();
-            final String challenge = captcha.getChallenge();
-            final BufferedImage bufferedImage = captcha.getImage();
-
-            wrong.put(CAPTCHA, challenge);
+            final Captchas.Captcha captcha = Captchas.LOGIN.take();
+            wrong.put(CAPTCHA, captcha.getChallenge());
 
             response.setHeader("Pragma", "no-cache");
             response.setHeader("Cache-Control", "no-cache");
             response.setDateHeader("Expires", 0);
 
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(bufferedImage, "png", baos);
-            final byte[] data = baos.toByteArray();
-            IOUtils.closeQuietly(baos);
-
             final Image captchaImg = new Image();
-            captchaImg.setData(data);
+            captchaImg.setData(captcha.getPNG());
 
             renderer.setImage(captchaImg);
         } catch (final Exception e) {
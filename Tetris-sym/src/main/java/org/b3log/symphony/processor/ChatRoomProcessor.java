@@ -20,10 +20,12 @@ package org.b3log.symphony.processor;
 import com.qiniu.util.Auth;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
+import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.After;
@@ -31,16 +33,14 @@ import org.b3log.latke.servlet.annotation.Before;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
+import org.b3log.symphony.cache.ChatRoomCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.AnonymousViewCheck;
 import org.b3log.symphony.processor.advice.PermissionGrant;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
 import org.b3log.symphony.processor.advice.validate.ChatMsgAddValidation;
-import org.b3log.symphony.processor.channel.ChatRoomChannel;
 import org.b3log.symphony.service.*;
-import org.b3log.symphony.util.Emotions;
-import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
@@ -49,7 +49,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -64,7 +63,7 @@ import static org.b3log.symphony.processor.channel.ChatRoomChannel.SESSIONS;
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.5.11, Apr 27, 2017
+ * @version 1.3.7.0, Oct 19, 2026
  * @since 1.4.0
  */
 @RequestProcessor
@@ -76,33 +75,34 @@ public class ChatRoomProcessor {
     private static final Logger LOGGER = Logger.getLogger(ChatRoomProcessor.class);
 
     /**
-     * Chat messages.
+     * Chat room cache.
      */
-    public static LinkedList<JSONObject> messages = new LinkedList<JSONObject>();
+    @Inject
+    private ChatRoomCache chatRoomCache;
 
     /**
-     * Data model service.
+     * Chat room management service.
      */
     @Inject
-    private DataModelService dataModelService;
+    private ChatRoomMgmtService chatRoomMgmtService;
 
     /**
-     * Turing query service.
+     * Language service.
      */
     @Inject
-    private TuringQueryService turingQueryService;
+    private LangPropsService langPropsService;
 
     /**
-     * User management service.
+     * Data model service.
      */
     @Inject
-    private UserMgmtService userMgmtService;
+    private DataModelService dataModelService;
 
     /**
-     * Short link query service.
+     * Turing query service.
      */
     @Inject
-    private ShortLinkQueryService shortLinkQueryService;
+    private TuringQueryService turingQueryService;
 
     /**
      * Notification query service.
@@ -154,14 +154,33 @@ public class ChatRoomProcessor {
             throws IOException, ServletException {
         context.renderJSON();
 
+        final int avatarViewMode = (int) request.getAttribute(UserExt.USER_AVATAR_VIEW_MODE);
+        if (replyXiaoV(avatarViewMode)) {
+            context.renderTrueResult();
+        }
+    }
+
+    /**
+     * XiaoV replies Stm, scheduled in-process.
+     */
+    @Scheduled(schedule = "every 5 seconds", description = "XiaoV replies Stm.")
+    public void xiaoVReply() {
+        replyXiaoV(UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
+    }
+
+    /**
+     * XiaoV replies Stm with the specified avatar view mode.
+     *
+     * @param avatarViewMode the specified avatar view mode
+     * @return {@code true} if replied, returns {@code false} otherwise
+     */
+    private boolean replyXiaoV(final int avatarViewMode) {
         try {
             final JSONObject xiaoV = userQueryService.getUserByName(TuringQueryService.ROBOT_NAME);
             if (null == xiaoV) {
-                return;
+                return false;
             }
 
-            final int avatarViewMode = (int) request.getAttribute(UserExt.USER_AVATAR_VIEW_MODE);
-
             final String xiaoVUserId = xiaoV.optString(Keys.OBJECT_ID);
             final JSONObject result = notificationQueryService.getAtNotifications(
                     avatarViewMode, xiaoVUserId, 1, 1); // Just get the latest one
@@ -215,9 +234,11 @@ public class ChatRoomProcessor {
                 notificationMgmtService.makeRead(notification);
             }
 
-            context.renderTrueResult();
+            return true;
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Update user latest comment time failed", e);
+
+            return false;
         }
     }
 
@@ -237,60 +258,21 @@ public class ChatRoomProcessor {
      */
     @RequestProcessing(value = "/chat-room/send", method = HTTPRequestMethod.POST)
     @Before(adviceClass = {ChatMsgAddValidation.class})
-    public synchronized void addChatRoomMsg(final HTTPRequestContext context, final HttpServletRequest request) {
+    public void addChatRoomMsg(final HTTPRequestContext context, final HttpServletRequest request) {
         context.renderJSON();
 
         final JSONObject requestJSONObject = (JSONObject) request.getAttribute(Keys.REQUEST);
-        String content = requestJSONObject.optString(Common.CONTENT);
-
-        content = shortLinkQueryService.linkArticle(content);
-        content = shortLinkQueryService.linkTag(content);
-        content = Emotions.convert(content);
-        content = Markdowns.toHTML(content);
-        content = Markdowns.clean(content, "");
-
+        final String content = requestJSONObject.optString(Common.CONTENT);
         final JSONObject currentUser = (JSONObject) request.getAttribute(User.USER);
-        final String userName = currentUser.optString(User.USER_NAME);
-
-        final JSONObject msg = new JSONObject();
-        msg.put(User.USER_NAME, userName);
-        msg.put(UserExt.USER_AVATAR_URL, currentUser.optString(UserExt.USER_AVATAR_URL));
-        msg.put(Common.CONTENT, content);
-
-        ChatRoomChannel.notifyChat(msg);
-
-        messages.addFirst(msg);
-        final int maxCnt = Symphonys.getInt("chatRoom.msgCnt");
-        if (messages.size() > maxCnt) {
-            messages.remove(maxCnt);
-        }
-
-        if (content.contains("@" + TuringQueryService.ROBOT_NAME + " ")) {
-            content = content.replaceAll("@" + TuringQueryService.ROBOT_NAME + " ", "");
-            final String xiaoVSaid = turingQueryService.chat(currentUser.optString(User.USER_NAME), content);
-            if (null != xiaoVSaid) {
-                final JSONObject xiaoVMsg = new JSONObject();
-                xiaoVMsg.put(User.USER_NAME, TuringQueryService.ROBOT_NAME);
-                xiaoVMsg.put(UserExt.USER_AVATAR_URL, TuringQueryService.ROBOT_AVATAR + "?imageView2/1/w/48/h/48/interlace/0/q/100");
-                xiaoVMsg.put(Common.CONTENT, "<p>@" + userName + " " + xiaoVSaid + "</p>");
 
-                ChatRoomChannel.notifyChat(xiaoVMsg);
+        // Rendering, broadcasting and robot replies run on the chat room pipeline
+        if (!chatRoomMgmtService.addChatRoomMsg(currentUser, content)) {
+            context.renderMsg(langPropsService.get("tooFrequentCmtLabel"));
 
-                messages.addFirst(xiaoVMsg);
-                if (messages.size() > maxCnt) {
-                    messages.remove(maxCnt);
-                }
-            }
+            return;
         }
 
         context.renderTrueResult();
-
-        currentUser.put(UserExt.USER_LATEST_CMT_TIME, System.currentTimeMillis());
-        try {
-            userMgmtService.updateUser(currentUser.optString(Keys.OBJECT_ID), currentUser);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Update user latest comment time failed", e);
-        }
     }
 
     /**
@@ -311,7 +293,7 @@ public class ChatRoomProcessor {
         renderer.setTemplateName("chat-room.ftl");
         final Map<String, Object> dataModel = renderer.getDataModel();
 
-        dataModel.put(Common.MESSAGES, messages);
+        dataModel.put(Common.MESSAGES, chatRoomCache.getMessages());
         dataModel.put("chatRoomMsgCnt", Symphonys.getInt("chatRoom.msgCnt"));
 
         // Qiniu file upload authenticate
@@ -347,7 +329,7 @@ public class ChatRoomProcessor {
     @RequestProcessing(value = "/community/push", method = HTTPRequestMethod.POST)
     @Before(adviceClass = StopwatchStartAdvice.class)
     @After(adviceClass = StopwatchEndAdvice.class)
-    public synchronized void receiveXiaoV(final HTTPRequestContext context,
+    public void receiveXiaoV(final HTTPRequestContext context,
                                           final HttpServletRequest request, final HttpServletResponse response) throws Exception {
 //        final String key = Symphonys.get("xiaov.key");
 //        if (!key.equals(request.getParameter("key"))) {
@@ -377,13 +359,6 @@ public class ChatRoomProcessor {
         chatroomMsg.put(UserExt.USER_AVATAR_URL, defaultAvatarURL);
         chatroomMsg.put(Common.CONTENT, msg);
 
-        ChatRoomChannel.notifyChat(chatroomMsg);
-        messages.addFirst(chatroomMsg);
-        final int maxCnt = Symphonys.getInt("chatRoom.msgCnt");
-        if (messages.size() > maxCnt) {
-            messages.remove(maxCnt);
-        }
-
-        ret.put(Keys.STATUS_CODE, true);
+        ret.put(Keys.STATUS_CODE, chatRoomMgmtService.addRenderedChatRoomMsg(chatroomMsg));
     }
 }
@@ -18,6 +18,7 @@
 package org.b3log.symphony.processor;
 
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -38,7 +39,7 @@ import javax.servlet.http.HttpServletResponse;
  * IPFS(https://ipfs.io) processor.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Feb 3, 2018
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 2.3.0
  */
 @RequestProcessor
@@ -71,6 +72,14 @@ public class IPFSProcessor {
 
         context.renderJSON().renderTrueResult();
 
+        publishArticles();
+    }
+
+    /**
+     * Publishes article markdown files to IPFS, scheduled in-process.
+     */
+    @Scheduled(schedule = "every 60 minutes", description = "Publishes article markdown files to IPFS")
+    public void publishArticles() {
         final String dir = Symphonys.get("ipfs.dir");
         final String bin = Symphonys.get("ipfs.bin");
         if (StringUtils.isBlank(dir) || StringUtils.isBlank(bin)) {
@@ -19,6 +19,7 @@ package org.b3log.symphony.processor;
 
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.model.User;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -62,7 +63,7 @@ import java.util.concurrent.Executors;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.1.0.8, Jun 15, 2017
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
@@ -178,15 +179,29 @@ public class LinkForgeProcessor {
             return;
         }
 
-        if (Latkes.getServePath().contains("localhost") || Networks.isIPv4(Latkes.getServerHost())
-                || Latkes.RuntimeMode.DEVELOPMENT == Latkes.getRuntimeMode()) {
+        if (!purgeLinkForge()) {
             response.sendError(HttpServletResponse.SC_OK);
 
             return;
         }
 
+        context.renderJSON().renderTrueResult();
+    }
+
+    /**
+     * Purges link forge, scheduled in-process. Skips local and development deployments.
+     *
+     * @return {@code true} if purged, returns {@code false} if skipped
+     */
+    @Scheduled(schedule = "every 7 hours", description = "Purges link forge")
+    public boolean purgeLinkForge() {
+        if (Latkes.getServePath().contains("localhost") || Networks.isIPv4(Latkes.getServerHost())
+                || Latkes.RuntimeMode.DEVELOPMENT == Latkes.getRuntimeMode()) {
+            return false;
+        }
+
         linkForgeMgmtService.purge();
 
-        context.renderJSON().renderTrueResult();
+        return true;
     }
 }
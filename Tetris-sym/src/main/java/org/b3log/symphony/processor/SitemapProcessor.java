@@ -18,73 +18,64 @@
 package org.b3log.symphony.processor;
 
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
+import org.b3log.latke.servlet.annotation.After;
+import org.b3log.latke.servlet.annotation.Before;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
-import org.b3log.latke.servlet.renderer.TextXMLRenderer;
-import org.b3log.symphony.model.sitemap.Sitemap;
-import org.b3log.symphony.service.SitemapQueryService;
+import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
+import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
+import org.b3log.symphony.service.SitemapMgmtService;
+import org.b3log.symphony.util.Symphonys;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.IOException;
 
 /**
  * Sitemap processor.
+ * <ul>
+ * <li>Generates sitemaps (/cron/sitemap), GET</li>
+ * </ul>
+ * <p>
+ * The sitemap files are served by {@link SitemapServlet}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 24, 2016
+ * @version 2.0.0.1, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
 public class SitemapProcessor {
 
     /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(SitemapProcessor.class);
-
-    /**
-     * Sitemap query service.
+     * Sitemap management service.
      */
     @Inject
-    private SitemapQueryService sitemapQueryService;
+    private SitemapMgmtService sitemapMgmtService;
 
     /**
-     * Returns the sitemap.
+     * Generates all sitemaps, picks up removed articles and changed domains which are not refreshed incrementally.
      *
-     * @param context the specified context
+     * @param request  the specified HTTP servlet request
+     * @param response the specified HTTP servlet response
+     * @param context  the specified context
+     * @throws Exception exception
      */
-    @RequestProcessing(value = "/sitemap.xml", method = HTTPRequestMethod.GET)
-    public void sitemap(final HTTPRequestContext context) {
-        final TextXMLRenderer renderer = new TextXMLRenderer();
-
-        context.setRenderer(renderer);
-
-        final Sitemap sitemap = new Sitemap();
+    @RequestProcessing(value = "/cron/sitemap", method = HTTPRequestMethod.GET)
+    @Before(adviceClass = StopwatchStartAdvice.class)
+    @After(adviceClass = StopwatchEndAdvice.class)
+    public void genSitemaps(final HttpServletRequest request, final HttpServletResponse response,
+                            final HTTPRequestContext context) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
 
-        try {
-            LOGGER.log(Level.INFO, "Generating sitemap....");
-
-            sitemapQueryService.genIndex(sitemap);
-            sitemapQueryService.genDomains(sitemap);
-            sitemapQueryService.genArticles(sitemap);
-
-            final String content = sitemap.toString();
-
-            LOGGER.log(Level.INFO, "Generated sitemap");
+            return;
+        }
 
-            renderer.setContent(content);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article feed error", e);
+        sitemapMgmtService.genSitemaps();
 
-            try {
-                context.getResponse().sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
-        }
+        context.renderJSON().renderTrueResult();
     }
 }
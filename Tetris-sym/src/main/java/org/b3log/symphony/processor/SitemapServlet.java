@@ -0,0 +1,117 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.symphony.SymphonyServletListener;
+import org.b3log.symphony.service.SitemapMgmtService;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the sitemap files generated by {@link SitemapMgmtService}.
+ * <ul>
+ * <li>Sitemap index (/sitemap.xml), GET</li>
+ * <li>Sitemap shards (/sitemap/sitemap-N.xml.gz), GET</li>
+ * </ul>
+ * <p>
+ * Responses carry the file modified time as {@code Last-Modified}, conditional requests are answered by
+ * {@link HttpServlet#service(HttpServletRequest, HttpServletResponse)} with {@code 304}.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@WebServlet(urlPatterns = {"/sitemap.xml", "/sitemap/*"}, loadOnStartup = 2)
+public class SitemapServlet extends HttpServlet {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Shard file name pattern.
+     */
+    private static final Pattern SHARD_FILE_NAME_PATTERN = Pattern.compile("sitemap-\\d+\\.xml\\.gz");
+
+    @Override
+    protected long getLastModified(final HttpServletRequest req) {
+        final File file = getFile(req);
+        if (null == file) {
+            return -1;
+        }
+
+        return file.lastModified() / 1000 * 1000;
+    }
+
+    @Override
+    public void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
+        final File file = getFile(req);
+        if (null == file || !file.isFile()) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+            return;
+        }
+
+        if (SitemapMgmtService.SITEMAP_INDEX_FILE_NAME.equals(file.getName())) {
+            resp.setContentType("text/xml;charset=UTF-8");
+        } else {
+            resp.setContentType("application/x-gzip");
+        }
+        resp.setContentLength((int) file.length());
+        resp.setHeader("Server", "Latke Static Server (v" + SymphonyServletListener.VERSION + ")");
+
+        try (final InputStream input = new FileInputStream(file)) {
+            final OutputStream output = resp.getOutputStream();
+            IOUtils.copy(input, output);
+            output.flush();
+        }
+    }
+
+    /**
+     * Gets the sitemap file of the specified request.
+     *
+     * @param req the specified request
+     * @return sitemap file, returns {@code null} if the request does not refer to a sitemap file
+     */
+    private static File getFile(final HttpServletRequest req) {
+        if (("/" + SitemapMgmtService.SITEMAP_INDEX_FILE_NAME).equals(req.getServletPath())) {
+            return new File(SitemapMgmtService.SITEMAP_DIR, SitemapMgmtService.SITEMAP_INDEX_FILE_NAME);
+        }
+
+        final String fileName = StringUtils.removeStart(req.getPathInfo(), "/");
+        if (null == fileName || !SHARD_FILE_NAME_PATTERN.matcher(fileName).matches()) {
+            return null;
+        }
+
+        return new File(SitemapMgmtService.SITEMAP_DIR, fileName);
+    }
+}
@@ -17,9 +17,11 @@
  */
 package org.b3log.symphony.processor;
 
+import org.apache.commons.lang.math.NumberUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.servlet.HTTPRequestContext;
 import org.b3log.latke.servlet.HTTPRequestMethod;
@@ -30,6 +32,7 @@ import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Option;
+import org.b3log.symphony.model.Statistic;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.processor.advice.AnonymousViewCheck;
 import org.b3log.symphony.processor.advice.PermissionGrant;
@@ -37,6 +40,7 @@ import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
 import org.b3log.symphony.service.*;
 import org.b3log.symphony.util.Times;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
@@ -49,12 +53,18 @@ import java.util.Map;
 /**
  * Data statistic processor.
  * <ul>
+ * <li>Loads data statistic (/cron/stat), GET</li>
  * <li>Shows data statistic (/statistic), GET</li>
+ * <li>Gets data statistic (/statistic/data), GET</li>
  * </ul>
+ * <p>
+ * Counts are read from the per-day statistics maintained by {@link StatisticMgmtService}, so loading costs O(days)
+ * instead of counting users, articles and comments.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.2.0.5, Oct 26, 2016
+ * @version 1.3.1.2, Oct 19, 2026
  * @since 1.4.0
  */
 @RequestProcessor
@@ -107,16 +117,10 @@ public class StatisticProcessor {
     private UserQueryService userQueryService;
 
     /**
-     * Article query service.
+     * Statistic query service.
      */
     @Inject
-    private ArticleQueryService articleQueryService;
-
-    /**
-     * Comment query service.
-     */
-    @Inject
-    private CommentQueryService commentQueryService;
+    private StatisticQueryService statisticQueryService;
 
     /**
      * Option query service.
@@ -143,6 +147,16 @@ public class StatisticProcessor {
     @After(adviceClass = StopwatchEndAdvice.class)
     public void loadStatData(final HttpServletRequest request, final HttpServletResponse response, final HTTPRequestContext context)
             throws Exception {
+        loadStatistic();
+    }
+
+    /**
+     * Loads statistic data, scheduled in-process.
+     *
+     * @throws Exception exception
+     */
+    @Scheduled(schedule = "every 30 minutes", description = "Load statistic data")
+    public void loadStatistic() throws Exception {
         final Date end = new Date();
         final Date dayStart = DateUtils.addDays(end, -30);
 
@@ -155,45 +169,97 @@ public class StatisticProcessor {
         historyCommentCnts.clear();
         historyUserCnts.clear();
 
-        for (int i = 0; i < 31; i++) {
-            final Date day = DateUtils.addDays(dayStart, i);
+        for (final JSONObject statistic : statisticQueryService.getDayStatistics(dayStart, end)) {
+            final Date day = DateUtils.parseDate(statistic.optString(Statistic.STATISTIC_DATE), new String[]{"yyyyMMdd"});
             monthDays.add(DateFormatUtils.format(day, "yyyy-MM-dd"));
 
-            final int userCnt = userQueryService.getUserCntInDay(day);
-            userCnts.add(userCnt);
-
-            final int articleCnt = articleQueryService.getArticleCntInDay(day);
-            articleCnts.add(articleCnt);
+            userCnts.add(statistic.optInt(Statistic.STATISTIC_USER_CNT));
+            articleCnts.add(statistic.optInt(Statistic.STATISTIC_ARTICLE_CNT));
+            commentCnts.add(statistic.optInt(Statistic.STATISTIC_COMMENT_CNT));
+        }
 
-            final int commentCnt = commentQueryService.getCommentCntInDay(day);
-            commentCnts.add(commentCnt);
+        final Date monthStart = DateUtils.addMonths(getFirstMonth(), 1);
+        if (monthStart.after(end)) {
+            return;
         }
 
-        final JSONObject firstAdmin = userQueryService.getAdmins().get(0);
-        final long monthStartTime = Times.getMonthStartTime(firstAdmin.optLong(Keys.OBJECT_ID));
-        final Date monthStart = new Date(monthStartTime);
+        for (final JSONObject statistic : statisticQueryService.getMonthStatistics(monthStart, end)) {
+            final Date month = DateUtils.parseDate(statistic.optString(Statistic.STATISTIC_DATE), new String[]{"yyyyMM"});
+            months.add(DateFormatUtils.format(month, "yyyy-MM"));
 
-        int i = 1;
-        while (true) {
-            final Date month = DateUtils.addMonths(monthStart, i);
+            historyUserCnts.add(statistic.optInt(Statistic.STATISTIC_USER_CNT));
+            historyArticleCnts.add(statistic.optInt(Statistic.STATISTIC_ARTICLE_CNT));
+            historyCommentCnts.add(statistic.optInt(Statistic.STATISTIC_COMMENT_CNT));
+        }
+    }
 
-            if (month.after(end)) {
-                break;
-            }
+    /**
+     * Gets data statistic.
+     *
+     * <p>
+     * Query parameters:
+     * <ul>
+     * <li>days: count of the latest days, optional, defaults to 31, 366 at most</li>
+     * </ul>
+     * </p>
+     *
+     * <p>
+     * Renders the response with a json object, for example,
+     * <pre>
+     * {
+     *     "sc": true,
+     *     "days": [{
+     *         "statisticDate": "20261019",
+     *         "statisticUserCnt": int,
+     *         "statisticArticleCnt": int,
+     *         "statisticCommentCnt": int
+     *     }, ....],
+     *     "months": [{
+     *         "statisticDate": "202610",
+     *         ....
+     *     }, ....]
+     * }
+     * </pre>
+     * </p>
+     *
+     * @param context the specified context
+     * @param request the specified request
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/statistic/data", method = HTTPRequestMethod.GET)
+    @Before(adviceClass = {StopwatchStartAdvice.class, AnonymousViewCheck.class})
+    @After(adviceClass = StopwatchEndAdvice.class)
+    public void getStatisticData(final HTTPRequestContext context, final HttpServletRequest request) throws Exception {
+        final int days = getDays(request.getParameter("days"));
 
-            i++;
+        final Date end = new Date();
+        final Date dayStart = DateUtils.addDays(end, 1 - days);
 
-            months.add(DateFormatUtils.format(month, "yyyy-MM"));
+        context.renderJSON(true).
+                renderJSONValue("days", new JSONArray(statisticQueryService.getDayStatistics(dayStart, end))).
+                renderJSONValue("months", new JSONArray(statisticQueryService.getMonthStatistics(getFirstMonth(), end)));
+    }
 
-            final int userCnt = userQueryService.getUserCntInMonth(month);
-            historyUserCnts.add(userCnt);
+    /**
+     * Gets the count of the latest days by the specified days parameter.
+     *
+     * @param daysStr the specified days parameter, may be {@code null}
+     * @return count of the latest days, {@code 31} if the parameter is not a number, 1..366
+     */
+    static int getDays(final String daysStr) {
+        return Math.max(1, Math.min(NumberUtils.toInt(daysStr, 31), 366));
+    }
 
-            final int articleCnt = articleQueryService.getArticleCntInMonth(month);
-            historyArticleCnts.add(articleCnt);
+    /**
+     * Gets the first month of the community, the month the first admin registered in.
+     *
+     * @return first month
+     * @throws Exception exception
+     */
+    private Date getFirstMonth() throws Exception {
+        final JSONObject firstAdmin = userQueryService.getAdmins().get(0);
 
-            final int commentCnt = commentQueryService.getCommentCntInMonth(month);
-            historyCommentCnts.add(commentCnt);
-        }
+        return new Date(Times.getMonthStartTime(firstAdmin.optLong(Keys.OBJECT_ID)));
     }
 
     /**
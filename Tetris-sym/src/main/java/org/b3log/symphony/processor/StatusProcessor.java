@@ -18,6 +18,7 @@
 package org.b3log.symphony.processor;
 
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -30,6 +31,7 @@ import org.b3log.symphony.processor.channel.ArticleChannel;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
 import org.b3log.symphony.processor.channel.ChatRoomChannel;
 import org.b3log.symphony.service.OptionQueryService;
+import org.b3log.symphony.util.Locks;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
@@ -43,7 +45,7 @@ import javax.servlet.http.HttpServletResponse;
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.3, Jul 19, 2016
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 1.3.0
  */
 @RequestProcessor
@@ -78,9 +80,21 @@ public class StatusProcessor {
             return;
         }
 
-        final JSONObject ret = new JSONObject();
+        final JSONObject ret = reportStatus();
+        ret.put(Keys.STATUS_CODE, true);
 
         context.renderJSON(ret);
+    }
+
+    /**
+     * Reports running status, scheduled in-process.
+     *
+     * @return running status
+     * @throws Exception exception
+     */
+    @Scheduled(schedule = "every 2 hours", description = "Checks running status")
+    public JSONObject reportStatus() throws Exception {
+        final JSONObject ret = new JSONObject();
 
         ret.put(Common.ONLINE_VISITOR_CNT, optionQueryService.getOnlineVisitorCount());
         ret.put(Common.ONLINE_MEMBER_CNT, optionQueryService.getOnlineMemberCount());
@@ -98,7 +112,10 @@ public class StatusProcessor {
         memory.put("used", (runtime.totalMemory() - runtime.freeMemory()) / mb);
         memory.put("max", runtime.maxMemory() / mb);
 
+        ret.put("locks", Locks.getStats());
+
         LOGGER.info(ret.toString(SymphonyServletListener.JSON_PRINT_INDENT_FACTOR));
-        ret.put(Keys.STATUS_CODE, true);
+
+        return ret;
     }
 }
@@ -37,6 +37,7 @@ import org.b3log.symphony.service.InvitecodeQueryService;
 import org.b3log.symphony.service.OptionQueryService;
 import org.b3log.symphony.service.RoleQueryService;
 import org.b3log.symphony.service.UserQueryService;
+import org.b3log.symphony.util.Captchas;
 import org.json.JSONObject;
 
 import javax.servlet.http.HttpServletRequest;
@@ -47,7 +48,7 @@ import java.util.Map;
  *
  * @author <a href="mailto:wmainlove@gmail.com">Love Yao</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.2.11, Jan 10, 2017
+ * @version 1.5.3.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Named
@@ -174,12 +175,7 @@ public class UserRegisterValidation extends BeforeRequestProcessAdvice {
             return true;
         }
 
-        boolean ret = !CaptchaProcessor.CAPTCHAS.contains(captcha);
-        if (!ret) {
-            CaptchaProcessor.CAPTCHAS.remove(captcha);
-        }
-
-        return ret;
+        return !Captchas.consumeChallenge(captcha);
     }
 
     @Override
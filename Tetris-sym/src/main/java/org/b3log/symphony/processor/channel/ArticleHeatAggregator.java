@@ -0,0 +1,171 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.channel;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+
+import javax.websocket.Session;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Article heat aggregator of the article list channel.
+ * <p>
+ * Keeps an index &lt;articleId, sessions listing the article&gt; maintained as sessions open and close, and
+ * accumulates heat changes per article. {@link #flush()} runs once per tick and sends each interested session one
+ * message with the net changes of its articles, for example,
+ * <pre>
+ * {
+ *     "articleHeats": {
+ *         "1353745196354": 2,
+ *         "1353745196355": -1
+ *     }
+ * }
+ * </pre>
+ * so a broadcast costs the sessions listing the changed articles instead of all sessions.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class ArticleHeatAggregator {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleHeatAggregator.class);
+
+    /**
+     * Key of article heats.
+     */
+    static final String ARTICLE_HEATS = "articleHeats";
+
+    /**
+     * Sessions listing an article, &lt;articleId, sessions&gt;.
+     */
+    private final Map<String, Set<Session>> articleSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Heat changes since the last flush, &lt;articleId, change&gt;.
+     */
+    private final Map<String, LongAdder> heats = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the specified session listing the specified articles.
+     *
+     * @param session    the specified session
+     * @param articleIds the specified article ids
+     */
+    void addSession(final Session session, final String[] articleIds) {
+        for (final String articleId : articleIds) {
+            articleSessions.compute(articleId, (id, sessions) -> {
+                final Set<Session> ret = null == sessions ? ConcurrentHashMap.newKeySet() : sessions;
+                ret.add(session);
+
+                return ret;
+            });
+        }
+    }
+
+    /**
+     * Removes the specified session listing the specified articles.
+     *
+     * @param session    the specified session
+     * @param articleIds the specified article ids
+     */
+    void removeSession(final Session session, final String[] articleIds) {
+        for (final String articleId : articleIds) {
+            articleSessions.computeIfPresent(articleId, (id, sessions) -> {
+                sessions.remove(session);
+                if (!sessions.isEmpty()) {
+                    return sessions;
+                }
+
+                heats.remove(id);
+
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Adds the specified heat change of the specified article, ignored if no session lists the article.
+     *
+     * @param articleId the specified article id
+     * @param change    the specified change, for example, 1 or -1
+     */
+    void heat(final String articleId, final int change) {
+        if (!articleSessions.containsKey(articleId)) {
+            return;
+        }
+
+        heats.computeIfAbsent(articleId, id -> new LongAdder()).add(change);
+    }
+
+    /**
+     * Sends the heat changes since the last flush, one message per session by {@link Channels#send}, so a message
+     * still being sent to a slow session delays the next one instead of failing it.
+     *
+     * @return count of the sent messages
+     */
+    int flush() {
+        final Map<Session, JSONObject> changes = new HashMap<>();
+        for (final Map.Entry<String, LongAdder> heat : heats.entrySet()) {
+            final String articleId = heat.getKey();
+            final Set<Session> sessions = articleSessions.get(articleId);
+            if (null == sessions) { // The last session closed after the change
+                heats.remove(articleId, heat.getValue());
+
+                continue;
+            }
+
+            final long change = heat.getValue().sumThenReset();
+            if (0 == change) {
+                continue;
+            }
+
+            for (final Session session : sessions) {
+                changes.computeIfAbsent(session, s -> new JSONObject()).put(articleId, change);
+            }
+        }
+
+        int ret = 0;
+        for (final Map.Entry<Session, JSONObject> change : changes.entrySet()) {
+            final Session session = change.getKey();
+            if (!session.isOpen()) {
+                continue;
+            }
+
+            try {
+                Channels.send(session, new JSONObject().put(ARTICLE_HEATS, change.getValue()).toString());
+                ret++;
+            } catch (final Exception e) {
+                // One broken session must not stop the flush
+                LOGGER.log(Level.DEBUG, "Sends article heats to session [" + session.getId() + "] failed", e);
+            }
+        }
+
+        return ret;
+    }
+}
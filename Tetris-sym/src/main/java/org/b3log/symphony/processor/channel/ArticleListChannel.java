@@ -18,20 +18,29 @@
 package org.b3log.symphony.processor.channel;
 
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Common;
 import org.json.JSONObject;
 
 import javax.websocket.*;
 import javax.websocket.server.ServerEndpoint;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Article list channel.
+ * <p>
+ * Heat changes are coalesced by {@link ArticleHeatAggregator} and flushed every {@link #HEAT_FLUSH_INTERVAL}
+ * milliseconds.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.3.1, Apr 25, 2016
+ * @version 2.1.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @ServerEndpoint(value = "/article-list-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -42,13 +51,64 @@ public class ArticleListChannel {
      */
     public static final Map<Session, String> SESSIONS = new ConcurrentHashMap<>();
 
+    /**
+     * Heat flush interval in milliseconds.
+     */
+    static final long HEAT_FLUSH_INTERVAL = 500;
+
     /**
      * Logger.
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleListChannel.class);
 
     /**
-     * Notifies the specified article heat message to browsers.
+     * Article heat aggregator.
+     */
+    private static final ArticleHeatAggregator HEATS = new ArticleHeatAggregator();
+
+    /**
+     * Heat flusher.
+     */
+    private static ScheduledExecutorService heatFlusher;
+
+    /**
+     * Starts flushing article heats.
+     */
+    public static synchronized void start() {
+        if (null != heatFlusher) {
+            return;
+        }
+
+        heatFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread ret = new Thread(runnable, "ArticleHeatFlusher");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        heatFlusher.scheduleAtFixedRate(() -> {
+            try {
+                HEATS.flush();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Flushes article heats failed", e);
+            }
+        }, HEAT_FLUSH_INTERVAL, HEAT_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops flushing article heats.
+     */
+    public static synchronized void stop() {
+        if (null == heatFlusher) {
+            return;
+        }
+
+        heatFlusher.shutdownNow();
+        heatFlusher = null;
+    }
+
+    /**
+     * Notifies the specified article heat message to browsers, changes of an article are sent together in the next
+     * flush.
      *
      * @param message the specified message, for example
      *                {
@@ -57,21 +117,7 @@ public class ArticleListChannel {
      *                }
      */
     public static void notifyHeat(final JSONObject message) {
-        final String articleId = message.optString(Article.ARTICLE_T_ID);
-        final String msgStr = message.toString();
-
-        for (final Map.Entry<Session, String> entry : SESSIONS.entrySet()) {
-            final Session session = entry.getKey();
-            final String articleIds = entry.getValue();
-
-            if (!StringUtils.contains(articleIds, articleId)) {
-                continue;
-            }
-
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(msgStr);
-            }
-        }
+        HEATS.heat(message.optString(Article.ARTICLE_T_ID), "+".equals(message.optString(Common.OPERATION)) ? 1 : -1);
     }
 
     /**
@@ -87,6 +133,7 @@ public class ArticleListChannel {
         }
 
         SESSIONS.put(session, articleIds);
+        HEATS.addSession(session, StringUtils.split(articleIds, ','));
     }
 
     /**
@@ -97,7 +144,7 @@ public class ArticleListChannel {
      */
     @OnClose
     public void onClose(final Session session, final CloseReason closeReason) {
-        SESSIONS.remove(session);
+        removeSession(session);
     }
 
     /**
@@ -117,6 +164,18 @@ public class ArticleListChannel {
      */
     @OnError
     public void onError(final Session session, final Throwable error) {
-        SESSIONS.remove(session);
+        removeSession(session);
+    }
+
+    /**
+     * Removes the specified session.
+     *
+     * @param session the specified session
+     */
+    private void removeSession(final Session session) {
+        final String articleIds = SESSIONS.remove(session);
+        if (null != articleIds) {
+            HEATS.removeSession(session, StringUtils.split(articleIds, ','));
+        }
     }
 }
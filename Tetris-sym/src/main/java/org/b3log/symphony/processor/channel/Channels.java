@@ -17,21 +17,26 @@
  */
 package org.b3log.symphony.processor.channel;
 
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 
 import javax.servlet.http.HttpSession;
 import javax.websocket.HandshakeResponse;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import javax.websocket.server.HandshakeRequest;
 import javax.websocket.server.ServerEndpointConfig;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 
 /**
  * Channel utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.2.2, Feb 28, 2016
+ * @version 2.1.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 public final class Channels {
@@ -45,7 +50,7 @@ public final class Channels {
      * WebSocket configurator.
      *
      * @author <a href="http://88250.b3log.org">Liang Ding</a>
-     * @version 1.0.0.0, Feb 28, 2016
+     * @version 1.0.0.1, Oct 19, 2026
      * @since 1.4.0
      */
     public static class WebSocketConfigurator extends ServerEndpointConfig.Configurator {
@@ -54,6 +59,11 @@ public final class Channels {
         public void modifyHandshake(final ServerEndpointConfig config,
                 final HandshakeRequest request, final HandshakeResponse response) {
             final HttpSession httpSession = (HttpSession) request.getHttpSession();
+            if (null == httpSession) { // Anonymous visitors do not hold a session
+                config.getUserProperties().remove(HttpSession.class.getName());
+
+                return;
+            }
 
             config.getUserProperties().put(HttpSession.class.getName(), httpSession);
         }
@@ -102,6 +112,129 @@ public final class Channels {
         }
     }
 
+    /**
+     * Sends the specified text to the specified session asynchronously.
+     * <p>
+     * Texts sent to one session are queued and sent one after another, the container may reject a send started
+     * before the previous one completed (Tomcat throws {@link IllegalStateException}). At most
+     * {@link Sender#MAX_QUEUED} texts are queued for a session, more are dropped.
+     * </p>
+     *
+     * @param session the specified session
+     * @param text    the specified text
+     */
+    public static void send(final Session session, final String text) {
+        Sender sender;
+        synchronized (session) {
+            sender = (Sender) session.getUserProperties().get(Sender.class.getName());
+            if (null == sender) {
+                sender = new Sender(session);
+                session.getUserProperties().put(Sender.class.getName(), sender);
+            }
+        }
+
+        sender.send(text);
+    }
+
+    /**
+     * Sender of a session, starts the next send when the previous one completed.
+     *
+     * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.4.0
+     */
+    private static final class Sender implements SendHandler {
+
+        /**
+         * Maximum count of queued texts.
+         */
+        private static final int MAX_QUEUED = 1024;
+
+        /**
+         * Session.
+         */
+        private final Session session;
+
+        /**
+         * Texts waiting for the current send.
+         */
+        private final Queue<String> texts = new ArrayDeque<>();
+
+        /**
+         * Whether a send is in progress.
+         */
+        private boolean sending;
+
+        /**
+         * Constructs a sender of the specified session.
+         *
+         * @param session the specified session
+         */
+        private Sender(final Session session) {
+            this.session = session;
+        }
+
+        /**
+         * Sends or queues the specified text.
+         *
+         * @param text the specified text
+         */
+        private void send(final String text) {
+            synchronized (this) {
+                if (sending) {
+                    if (MAX_QUEUED > texts.size()) {
+                        texts.add(text);
+                    } else {
+                        LOGGER.log(Level.DEBUG, "Drops a text to session [" + session.getId() + "], too many queued");
+                    }
+
+                    return;
+                }
+
+                sending = true;
+            }
+
+            sendAsync(text);
+        }
+
+        @Override
+        public void onResult(final SendResult result) {
+            if (!result.isOK()) {
+                LOGGER.log(Level.DEBUG, "Sends a text to session [" + session.getId() + "] failed", result.getException());
+            }
+
+            final String next;
+            synchronized (this) {
+                next = texts.poll();
+                if (null == next) {
+                    sending = false;
+
+                    return;
+                }
+            }
+
+            sendAsync(next);
+        }
+
+        /**
+         * Starts sending the specified text, drops the queued texts if the session can not send.
+         *
+         * @param text the specified text
+         */
+        private void sendAsync(final String text) {
+            try {
+                session.getAsyncRemote().sendText(text, this);
+            } catch (final Exception e) {
+                LOGGER.log(Level.DEBUG, "Sends a text to session [" + session.getId() + "] failed", e);
+
+                synchronized (this) {
+                    texts.clear();
+                    sending = false;
+                }
+            }
+        }
+    }
+
     /**
      * Private constructor.
      */
@@ -17,14 +17,18 @@
  */
 package org.b3log.symphony.processor.channel;
 
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Common;
+import org.b3log.symphony.util.JSONs;
 import org.json.JSONObject;
 
 import javax.websocket.*;
 import javax.websocket.server.ServerEndpoint;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,7 +36,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * Char room channel.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.1, Apr 25, 2016
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.3.0, Oct 19, 2026
  * @since 1.4.0
  */
 @ServerEndpoint(value = "/chat-room-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -64,7 +69,7 @@ public class ChatRoomChannel {
 
                 if (s.isOpen()) {
                     final String msgStr = new JSONObject().put(Common.ONLINE_CHAT_CNT, SESSIONS.size()).put(Common.TYPE, "online").toString();
-                    s.getAsyncRemote().sendText(msgStr);
+                    Channels.send(s, msgStr);
                 }
             }
         }
@@ -112,17 +117,37 @@ public class ChatRoomChannel {
      * </pre>
      */
     public static void notifyChat(final JSONObject message) {
-        message.put(Common.TYPE, "msg");
-        final String msgStr = message.toString();
+        notifyChat(Collections.singletonList(message));
+    }
 
-        synchronized (SESSIONS) {
-            final Iterator<Session> i = SESSIONS.iterator();
-            while (i.hasNext()) {
-                final Session session = i.next();
+    /**
+     * Notifies the specified chat messages to browsers, each message is serialized once and sessions are iterated
+     * once for the batch. The messages are sent to a session one after another by {@link Channels#send}.
+     *
+     * @param messages the specified messages, oldest first
+     */
+    public static void notifyChat(final List<JSONObject> messages) {
+        final List<String> msgStrs = new ArrayList<>(messages.size());
+        for (final JSONObject message : messages) {
+            // Messages are shared with the chat room cache readers already, tags a copy instead
+            final JSONObject msg = JSONs.clone(message);
+            msg.put(Common.TYPE, "msg");
+            msgStrs.add(msg.toString());
+        }
+
+        // The session set is concurrent, broadcasting does not need to hold its lock
+        for (final Session session : SESSIONS) {
+            if (!session.isOpen()) {
+                continue;
+            }
 
-                if (session.isOpen()) {
-                    session.getAsyncRemote().sendText(msgStr);
+            try {
+                for (final String msgStr : msgStrs) {
+                    Channels.send(session, msgStr);
                 }
+            } catch (final Exception e) {
+                // One broken session must not stop the broadcast
+                LOGGER.log(Level.DEBUG, "Notifies chat messages to session [" + session.getId() + "] failed", e);
             }
         }
     }
@@ -142,7 +167,7 @@ public class ChatRoomChannel {
 
                 if (s.isOpen()) {
                     final String msgStr = new JSONObject().put(Common.ONLINE_CHAT_CNT, SESSIONS.size()).put(Common.TYPE, "online").toString();
-                    s.getAsyncRemote().sendText(msgStr);
+                    Channels.send(s, msgStr);
                 }
             }
         }
@@ -0,0 +1,141 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.channel;
+
+/**
+ * Gobang board.
+ * <p>
+ * Besides the grid sent to the browsers, every player owns one bitset per row, column, diagonal and anti-diagonal.
+ * A win can only be made by the stone just placed, so {@link #place(int, int, int)} checks the four lines through
+ * it, shifting a 9 bits window around the stone and testing it for 5 consecutive bits, which costs the same whatever
+ * the board holds.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+final class GobangBoard {
+
+    /**
+     * Board size.
+     */
+    static final int SIZE = 20;
+
+    /**
+     * Stones in a row to win.
+     */
+    private static final int WIN_CNT = 5;
+
+    /**
+     * Mask of the window around a stone, 4 stones on each side.
+     */
+    private static final long WINDOW_MASK = (1L << (2 * WIN_CNT - 1)) - 1;
+
+    /**
+     * Grid, chess[x][y] is 0 (empty), 1 (player 1) or 2 (player 2).
+     */
+    private final int[][] chess = new int[SIZE][SIZE];
+
+    /**
+     * Rows of each player, rows[player][x] holds bit y.
+     */
+    private final long[][] rows = new long[3][SIZE];
+
+    /**
+     * Columns of each player, cols[player][y] holds bit x.
+     */
+    private final long[][] cols = new long[3][SIZE];
+
+    /**
+     * Diagonals (x - y constant) of each player, diagonals[player][x - y + SIZE - 1] holds bit y.
+     */
+    private final long[][] diagonals = new long[3][2 * SIZE - 1];
+
+    /**
+     * Anti-diagonals (x + y constant) of each player, antiDiagonals[player][x + y] holds bit y.
+     */
+    private final long[][] antiDiagonals = new long[3][2 * SIZE - 1];
+
+    /**
+     * Constructs an empty board.
+     */
+    GobangBoard() {
+    }
+
+    /**
+     * Constructs a board with the stones of the specified grid.
+     *
+     * @param chess the specified grid
+     */
+    GobangBoard(final int[][] chess) {
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (0 != chess[x][y]) {
+                    place(x, y, chess[x][y]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the grid.
+     *
+     * @return grid
+     */
+    int[][] getChess() {
+        return chess;
+    }
+
+    /**
+     * Places a stone of the specified player at the specified position.
+     *
+     * @param x      the specified x
+     * @param y      the specified y
+     * @param player the specified player, 1 or 2
+     * @return {@code true} if the stone makes 5 or more in a row, returns {@code false} otherwise
+     */
+    boolean place(final int x, final int y, final int player) {
+        chess[x][y] = player;
+
+        final long rowBits = rows[player][x] |= 1L << y;
+        final long colBits = cols[player][y] |= 1L << x;
+        final long diagonalBits = diagonals[player][x - y + SIZE - 1] |= 1L << y;
+        final long antiDiagonalBits = antiDiagonals[player][x + y] |= 1L << y;
+
+        return fiveInRow(rowBits, y) || fiveInRow(colBits, x)
+                || fiveInRow(diagonalBits, y) || fiveInRow(antiDiagonalBits, y);
+    }
+
+    /**
+     * Checks whether the specified line has 5 consecutive bits around the specified position.
+     *
+     * @param line the specified line
+     * @param pos  the specified position
+     * @return {@code true} if it has, returns {@code false} otherwise
+     */
+    private static boolean fiveInRow(final long line, final int pos) {
+        final int start = pos - (WIN_CNT - 1);
+        long window = (0 <= start ? line >>> start : line << -start) & WINDOW_MASK;
+        window &= window >>> 1;
+        window &= window >>> 2;
+        window &= window >>> 1;
+
+        return 0 != window;
+    }
+}
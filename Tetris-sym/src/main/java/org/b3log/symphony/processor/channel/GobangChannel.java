@@ -46,7 +46,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  *
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.4, Jul 24, 2017
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 2.1.0
  */
 @ServerEndpoint(value = "/gobang-game-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -229,8 +229,7 @@ public class GobangChannel {
                             return;
                         } else {
                             sendText.put("color", "black");
-                            chessGame.getChess()[x / size][y / size] = 1;
-                            flag = chessGame.chessCheck(1);
+                            flag = chessGame.chessMove(x / size, y / size, 1);
                             chessGame.setStep(2);
                         }
                     } else {
@@ -238,8 +237,7 @@ public class GobangChannel {
                             return;
                         } else {
                             sendText.put("color", "white");
-                            chessGame.getChess()[x / size][y / size] = 2;
-                            flag = chessGame.chessCheck(2);
+                            flag = chessGame.chessMove(x / size, y / size, 2);
                             chessGame.setStep(1);
                         }
                     }
@@ -400,7 +398,7 @@ class ChessGame {
     private boolean playState1;
     private boolean playState2;
     private int state;//0空桌，1，等待，2满员
-    private int[][] chess = null;
+    private GobangBoard board;
     private int step;//1-player1,2-player2;
     private long starttime;
 
@@ -410,103 +408,20 @@ class ChessGame {
         this.name1 = name1;
         this.playState1 = true;
         this.playState2 = false;
-        this.chess = new int[20][20];
+        this.board = new GobangBoard();
         this.starttime = System.currentTimeMillis();
-        for (int i = 0; i < 20; i++) {
-            for (int j = 0; j < 20; j++) {
-                chess[i][j] = 0;
-            }
-        }
     }
 
-    public boolean chessCheck(int step) {
-        //横向检查
-        for (int i = 0; i < this.chess.length; i++) {
-            int count = 0;
-            for (int j = 0; j < this.chess[i].length; j++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        //纵向检查
-        for (int j = 0; j < this.chess[0].length; j++) {
-            int count = 0;
-            for (int i = 0; i < this.chess.length; i++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        //左上右下检查，下一个检查点时上一个检查点横纵坐标均＋1
-        //横向增长，横坐标先行出局
-        for (int x = 0, y = 0; x < this.chess.length; x++) {
-            int count = 0;
-            for (int i = x, j = y; i < this.chess.length; i++, j++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        //纵向增长，纵坐标先出局
-        for (int x = 0, y = 0; y < this.chess[0].length; y++) {
-            int count = 0;
-            for (int i = x, j = y; j < this.chess.length; i++, j++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        //左下右上检查x-1,y+1
-        //横向增长，横坐标先行出局
-        for (int x = 0, y = 0; x < this.chess.length; x++) {
-            int count = 0;
-            for (int i = x, j = y; i >= 0; i--, j++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        //纵向增长，纵坐标先出局
-        for (int x = this.chess.length - 1, y = 0; y < this.chess[0].length; y++) {
-            int count = 0;
-            for (int i = x, j = y; j < this.chess.length; i--, j++) {
-                if (this.chess[i][j] == step) {
-                    count++;
-                } else if (this.chess[i][j] != step && count < 5) {
-                    count = 0;
-                }
-            }
-            if (count >= 5) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Places a stone of the specified player, only the lines through the stone are checked.
+     *
+     * @param x    the specified x
+     * @param y    the specified y
+     * @param step the specified player, 1 or 2
+     * @return {@code true} if the player wins, returns {@code false} otherwise
+     */
+    public boolean chessMove(int x, int y, int step) {
+        return this.board.place(x, y, step);
     }
 
     public long getChessId() {
@@ -550,11 +465,11 @@ class ChessGame {
     }
 
     public int[][] getChess() {
-        return chess;
+        return board.getChess();
     }
 
     public void setChess(int[][] chess) {
-        this.chess = chess;
+        this.board = new GobangBoard(chess);
     }
 
     public long getStarttime() {
@@ -21,14 +21,9 @@ import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
-import org.b3log.latke.repository.Transaction;
-import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.symphony.model.Common;
-import org.b3log.symphony.model.UserExt;
-import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.PresenceMgmtService;
 import org.json.JSONObject;
 
 import javax.websocket.*;
@@ -40,19 +35,17 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * User channel.
+ * <p>
+ * Connections are counted by {@link PresenceMgmtService}, which persists the user online flags.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, Nov 3, 2016
+ * @version 1.0.2.0, Oct 19, 2026
  * @since 1.4.0
  */
 @ServerEndpoint(value = "/user-channel", configurator = Channels.WebSocketConfigurator.class)
 public class UserChannel {
 
-    /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(UserChannel.class);
-
     /**
      * Session set.
      */
@@ -72,15 +65,16 @@ public class UserChannel {
 
         final String userId = user.optString(Keys.OBJECT_ID);
 
-        Set<Session> userSessions = SESSIONS.get(userId);
-        if (null == userSessions) {
-            userSessions = Collections.newSetFromMap(new ConcurrentHashMap());
-        }
-        userSessions.add(session);
-
-        SESSIONS.put(userId, userSessions);
+        final boolean[] added = {false};
+        SESSIONS.compute(userId, (id, sessions) -> {
+            final Set<Session> ret = null == sessions ? Collections.newSetFromMap(new ConcurrentHashMap<>()) : sessions;
+            added[0] = ret.add(session);
 
-        updateUserOnlineFlag(userId, true);
+            return ret;
+        });
+        if (added[0]) {
+            getPresenceMgmtService().addConnection(userId);
+        }
     }
 
     /**
@@ -95,19 +89,13 @@ public class UserChannel {
     }
 
     /**
-     * Called when a message received from the browser.
+     * Called when a message received from the browser, the presence is kept by the connection itself.
      *
      * @param message message
      * @param session session
      */
     @OnMessage
     public void onMessage(final String message, final Session session) {
-        JSONObject user = (JSONObject) Channels.getHttpSessionAttribute(session, User.USER);
-        if (null == user) {
-            return;
-        }
-
-        updateUserOnlineFlag(user.optString(Keys.OBJECT_ID), true);
     }
 
     /**
@@ -165,42 +153,25 @@ public class UserChannel {
 
         final String userId = user.optString(Keys.OBJECT_ID);
 
-        Set<Session> userSessions = SESSIONS.get(userId);
-        if (null == userSessions) {
-            updateUserOnlineFlag(userId, false);
+        final boolean[] removed = {false};
+        SESSIONS.computeIfPresent(userId, (id, sessions) -> {
+            removed[0] = sessions.remove(session);
 
-            return;
-        }
-
-        userSessions.remove(session);
-        if (userSessions.isEmpty()) {
-            updateUserOnlineFlag(userId, false);
-
-            return;
+            return sessions.isEmpty() ? null : sessions;
+        });
+        if (removed[0]) { // Both onClose and onError may come for one session
+            getPresenceMgmtService().removeConnection(userId);
         }
     }
 
-    private void updateUserOnlineFlag(final String userId, final boolean online) {
+    /**
+     * Gets the presence management service.
+     *
+     * @return presence management service
+     */
+    private static PresenceMgmtService getPresenceMgmtService() {
         final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
-        final UserRepository userRepository = beanManager.getReference(UserRepository.class);
 
-        final Transaction transaction = userRepository.beginTransaction();
-        try {
-            final JSONObject user = userRepository.get(userId);
-            user.put(UserExt.USER_ONLINE_FLAG, online);
-            user.put(UserExt.USER_LATEST_LOGIN_TIME, System.currentTimeMillis());
-
-            userRepository.update(userId, user);
-
-            transaction.commit();
-        } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-
-            LOGGER.log(Level.ERROR, "Update user error", e);
-        } finally {
-            JdbcRepository.dispose();
-        }
+        return beanManager.getReference(PresenceMgmtService.class);
     }
 }
@@ -23,18 +23,21 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ArticleFeedCache;
 import org.b3log.symphony.model.Article;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Article repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.3, Jan 9, 2018
+ * @version 1.2.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
@@ -46,6 +49,12 @@ public class ArticleRepository extends AbstractRepository {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Article feed cache.
+     */
+    @Inject
+    private ArticleFeedCache articleFeedCache;
+
     /**
      * Public constructor.
      */
@@ -53,11 +62,22 @@ public class ArticleRepository extends AbstractRepository {
         super(Article.ARTICLE);
     }
 
+    @Override
+    public String add(final JSONObject article) throws RepositoryException {
+        final String ret = super.add(article);
+
+        article.put(Keys.OBJECT_ID, ret);
+        articleFeedCache.putArticle(article);
+
+        return ret;
+    }
+
     @Override
     public void remove(final String id) throws RepositoryException {
         super.remove(id);
 
         articleCache.removeArticle(id);
+        articleFeedCache.removeArticle(id);
     }
 
     @Override
@@ -77,12 +97,52 @@ public class ArticleRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Gets articles by the specified ids, cached ones are fetched in one batch and the others are loaded then cached
+     * in one batch.
+     *
+     * @param ids the specified ids
+     * @return articles, &lt;id, article&gt; in the order of the specified ids, only contains the found ones
+     * @throws RepositoryException repository exception
+     */
+    @Override
+    public Map<String, JSONObject> get(final Iterable<String> ids) throws RepositoryException {
+        final List<String> idList = new ArrayList<>();
+        for (final String id : ids) {
+            idList.add(id);
+        }
+
+        final Map<String, JSONObject> cached = articleCache.getArticles(idList);
+        final Map<String, JSONObject> ret = new LinkedHashMap<>();
+        final List<JSONObject> loaded = new ArrayList<>();
+        for (final String id : idList) {
+            JSONObject article = cached.get(id);
+            if (null == article) {
+                article = super.get(id);
+                if (null == article) {
+                    continue;
+                }
+
+                loaded.add(article);
+            }
+
+            ret.put(id, article);
+        }
+
+        if (!loaded.isEmpty()) {
+            articleCache.putArticles(loaded);
+        }
+
+        return ret;
+    }
+
     @Override
     public void update(final String id, final JSONObject article) throws RepositoryException {
         super.update(id, article);
 
         article.put(Keys.OBJECT_ID, id);
         articleCache.putArticle(article);
+        articleFeedCache.putArticle(article);
     }
 
     @Override
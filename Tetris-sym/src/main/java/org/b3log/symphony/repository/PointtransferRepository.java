@@ -17,12 +17,14 @@
  */
 package org.b3log.symphony.repository;
 
+import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.AbstractRepository;
+import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Pointtransfer;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.List;
@@ -31,7 +33,7 @@ import java.util.List;
  * Pointtransfer repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.0, Dec 12, 2016
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Repository
@@ -75,6 +77,31 @@ public class PointtransferRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Gets a transfer by the specified type, from id, to id and data id.
+     *
+     * @param type   the specified type
+     * @param fromId the specified from id
+     * @param toId   the specified to id
+     * @param dataId the specified data id
+     * @return transfer, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getByDataId(final int type, final String fromId, final String toId, final String dataId)
+            throws RepositoryException {
+        final Query query = new Query().setPageCount(1).setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Pointtransfer.DATA_ID, FilterOperator.EQUAL, dataId),
+                new PropertyFilter(Pointtransfer.TYPE, FilterOperator.EQUAL, type),
+                new PropertyFilter(Pointtransfer.FROM_ID, FilterOperator.EQUAL, fromId),
+                new PropertyFilter(Pointtransfer.TO_ID, FilterOperator.EQUAL, toId)));
+        final JSONArray result = get(query).optJSONArray(Keys.RESULTS);
+        if (0 == result.length()) {
+            return null;
+        }
+
+        return result.optJSONObject(0);
+    }
+
     /**
      * Public constructor.
      */
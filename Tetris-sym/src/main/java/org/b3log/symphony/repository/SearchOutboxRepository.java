@@ -0,0 +1,88 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.AbstractRepository;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.annotation.Repository;
+import org.b3log.symphony.model.SearchOutbox;
+import org.json.JSONObject;
+
+/**
+ * Search outbox repository.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Repository
+public class SearchOutboxRepository extends AbstractRepository {
+
+    /**
+     * Public constructor.
+     */
+    public SearchOutboxRepository() {
+        super(SearchOutbox.SEARCH_OUTBOX);
+    }
+
+    /**
+     * Puts an entry of the specified article with the specified operation and time, replaces the entry of the article
+     * if there is one. Must be invoked in a transaction.
+     * <p>
+     * Updates first and inserts if there is no entry, an insert failed because a concurrent put inserted the entry
+     * since the update is retried as an update, so concurrent puts of one article do not fail.
+     * </p>
+     *
+     * @param articleId the specified article id
+     * @param op        the specified operation
+     * @param time      the specified time
+     * @throws RepositoryException repository exception
+     */
+    public void put(final String articleId, final int op, final long time) throws RepositoryException {
+        if (0 < update(articleId, op, time)) {
+            return;
+        }
+
+        final JSONObject entry = new JSONObject();
+        entry.put(Keys.OBJECT_ID, articleId);
+        entry.put(SearchOutbox.SEARCH_OUTBOX_OP, op);
+        entry.put(SearchOutbox.SEARCH_OUTBOX_TIME, time);
+        try {
+            add(entry);
+        } catch (final RepositoryException e) {
+            if (0 == update(articleId, op, time)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Updates the entry of the specified article with the specified operation and time.
+     *
+     * @param articleId the specified article id
+     * @param op        the specified operation
+     * @param time      the specified time
+     * @return count of the updated entries
+     * @throws RepositoryException repository exception
+     */
+    private int update(final String articleId, final int op, final long time) throws RepositoryException {
+        return execute("UPDATE `" + getName() + "` SET " + SearchOutbox.SEARCH_OUTBOX_OP + " = ?, "
+                + SearchOutbox.SEARCH_OUTBOX_TIME + " = ? WHERE " + Keys.OBJECT_ID + " = ?", op, time, articleId);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.annotation.Repository;
+import org.b3log.symphony.model.Statistic;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistic repository.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Repository
+public class StatisticRepository extends AbstractRepository {
+
+    /**
+     * Public constructor.
+     */
+    public StatisticRepository() {
+        super(Statistic.STATISTIC);
+    }
+
+    /**
+     * Increments the specified field of the statistic of the specified date atomically, adds the statistic if it does
+     * not exist. Must be invoked in a transaction.
+     * <p>
+     * An added statistic takes the date as its id, so of two concurrent adds of a day the later one fails and
+     * increments the statistic added by the former one.
+     * </p>
+     *
+     * @param date  the specified date, formatted as "yyyyMMdd"
+     * @param field the specified field, one of {@link Statistic#STATISTIC_USER_CNT},
+     *              {@link Statistic#STATISTIC_ARTICLE_CNT} and {@link Statistic#STATISTIC_COMMENT_CNT}
+     * @throws RepositoryException repository exception
+     */
+    public void inc(final String date, final String field) throws RepositoryException {
+        if (!Statistic.STATISTIC_USER_CNT.equals(field) && !Statistic.STATISTIC_ARTICLE_CNT.equals(field)
+                && !Statistic.STATISTIC_COMMENT_CNT.equals(field)) {
+            throw new IllegalArgumentException("Unknown statistic field [" + field + "]");
+        }
+
+        if (0 < inc0(date, field)) {
+            return;
+        }
+
+        final JSONObject statistic = new JSONObject();
+        statistic.put(Keys.OBJECT_ID, date);
+        statistic.put(Statistic.STATISTIC_DATE, date);
+        statistic.put(Statistic.STATISTIC_USER_CNT, 0);
+        statistic.put(Statistic.STATISTIC_ARTICLE_CNT, 0);
+        statistic.put(Statistic.STATISTIC_COMMENT_CNT, 0);
+        statistic.put(field, 1);
+        try {
+            add(statistic);
+        } catch (final RepositoryException e) {
+            if (0 == inc0(date, field)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Increments the specified field of the statistics of the specified date.
+     *
+     * @param date  the specified date
+     * @param field the specified field
+     * @return count of the updated statistics
+     * @throws RepositoryException repository exception
+     */
+    private int inc0(final String date, final String field) throws RepositoryException {
+        return execute("UPDATE `" + getName() + "` SET " + field + " = " + field + " + 1 WHERE "
+                + Statistic.STATISTIC_DATE + " = ?", date);
+    }
+
+    /**
+     * Gets a statistic by the specified date.
+     *
+     * @param date the specified date, formatted as "yyyyMMdd"
+     * @return a statistic, {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject getByDate(final String date) throws RepositoryException {
+        final Query query = new Query().setFilter(
+                new PropertyFilter(Statistic.STATISTIC_DATE, FilterOperator.EQUAL, date)).setPageCount(1);
+
+        final JSONObject result = get(query);
+        final JSONArray array = result.optJSONArray(Keys.RESULTS);
+
+        if (0 == array.length()) {
+            return null;
+        }
+
+        return array.optJSONObject(0);
+    }
+
+    /**
+     * Gets statistics between the specified start date and end date, ordered by date ascending.
+     *
+     * @param startDate the specified start date (inclusive), formatted as "yyyyMMdd"
+     * @param endDate   the specified end date (inclusive), formatted as "yyyyMMdd"
+     * @return statistics, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    public List<JSONObject> getByDateRange(final String startDate, final String endDate) throws RepositoryException {
+        final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Statistic.STATISTIC_DATE, FilterOperator.GREATER_THAN_OR_EQUAL, startDate),
+                new PropertyFilter(Statistic.STATISTIC_DATE, FilterOperator.LESS_THAN_OR_EQUAL, endDate))).
+                addSort(Statistic.STATISTIC_DATE, SortDirection.ASCENDING);
+
+        final List<JSONObject> ret = new ArrayList<>();
+        scan(query, statistic -> {
+            ret.add(statistic);
+
+            return true;
+        });
+
+        return ret;
+    }
+}
@@ -25,6 +25,8 @@ import org.b3log.latke.repository.annotation.Repository;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.cache.UserCache;
 import org.b3log.symphony.model.Role;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.util.JSONs;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -34,7 +36,7 @@ import java.util.List;
  * User repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.1.2.0, Oct 2, 2017
+ * @version 2.5.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
@@ -71,6 +73,19 @@ public class UserRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Updates a user specified by the given id with the specified user, the point and used point are left untouched.
+     * <p>
+     * Balances are changed by {@link #updatePoint(String, int)} only, callers read the user, change some properties and
+     * write it back, a transfer committed in between would be reverted if the point was written here. The stored balance
+     * is carried over instead, so the point columns are never in the changed set, and the user is read again after the
+     * update, so the cache holds the current balance.
+     * </p>
+     *
+     * @param id   the given id
+     * @param user the specified user
+     * @throws RepositoryException repository exception
+     */
     @Override
     public void update(final String id, final JSONObject user) throws RepositoryException {
         final JSONObject old = get(id);
@@ -79,9 +94,98 @@ public class UserRepository extends AbstractRepository {
         }
 
         userCache.RemoveUser(old);
-        super.update(id, user);
+        final JSONObject current = super.get(id);
+        final JSONObject toUpdate = JSONs.clone(user);
+        toUpdate.put(UserExt.USER_POINT, current.optInt(UserExt.USER_POINT));
+        toUpdate.put(UserExt.USER_USED_POINT, current.optInt(UserExt.USER_USED_POINT));
+        super.update(id, toUpdate);
         user.put(Keys.OBJECT_ID, id);
-        userCache.putUser(user);
+
+        final JSONObject updated = super.get(id);
+        if (null != updated) {
+            userCache.putUser(updated);
+        }
+    }
+
+    /**
+     * Adds the specified delta to the point of a user specified by the given user id atomically, the point never goes
+     * negative. A negative delta is also added to the used point of the user. Must be invoked in a transaction.
+     *
+     * @param userId the given user id
+     * @param delta  the specified delta
+     * @return updated user, returns {@code null} if not found or the balance is insufficient
+     * @throws RepositoryException repository exception
+     */
+    public JSONObject updatePoint(final String userId, final int delta) throws RepositoryException {
+        final int used = delta < 0 ? -delta : 0;
+        final int updated = execute("UPDATE `" + getName() + "` SET " + UserExt.USER_POINT + " = " + UserExt.USER_POINT
+                + " + ?, " + UserExt.USER_USED_POINT + " = " + UserExt.USER_USED_POINT + " + ? WHERE " + Keys.OBJECT_ID
+                + " = ? AND " + UserExt.USER_POINT + " + ? >= 0", delta, used, userId, delta);
+        if (1 != updated) {
+            return null;
+        }
+
+        final JSONObject ret = super.get(userId);
+        if (null != ret) {
+            userCache.putUser(ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Sets the latest comment time of a user specified by the given user id, other properties of the user are left
+     * untouched. Must be invoked in a transaction.
+     *
+     * @param userId        the given user id
+     * @param latestCmtTime the specified latest comment time
+     * @throws RepositoryException repository exception
+     */
+    public void updateLatestCmtTime(final String userId, final long latestCmtTime) throws RepositoryException {
+        final int updated = execute("UPDATE `" + getName() + "` SET " + UserExt.USER_LATEST_CMT_TIME + " = ? WHERE "
+                + Keys.OBJECT_ID + " = ?", latestCmtTime, userId);
+        if (1 != updated) {
+            return;
+        }
+
+        final JSONObject user = super.get(userId);
+        if (null != user) {
+            userCache.putUser(user);
+        }
+    }
+
+    /**
+     * Sets the online flag and the latest login time of a user specified by the given user id, other properties of the
+     * user are left untouched. Must be invoked in a transaction.
+     *
+     * @param userId          the given user id
+     * @param online          the specified online flag
+     * @param latestLoginTime the specified latest login time
+     * @throws RepositoryException repository exception
+     */
+    public void updatePresence(final String userId, final boolean online, final long latestLoginTime) throws RepositoryException {
+        final int updated = execute("UPDATE `" + getName() + "` SET " + UserExt.USER_ONLINE_FLAG + " = ?, "
+                + UserExt.USER_LATEST_LOGIN_TIME + " = ? WHERE " + Keys.OBJECT_ID + " = ?", online, latestLoginTime, userId);
+        if (1 != updated) {
+            return;
+        }
+
+        final JSONObject user = super.get(userId);
+        if (null != user) {
+            userCache.putUser(user);
+        }
+    }
+
+    /**
+     * Evicts a cached user specified by the given user id, used after a rolled back write.
+     *
+     * @param userId the given user id
+     */
+    public void evict(final String userId) {
+        final JSONObject user = userCache.getUser(userId);
+        if (null != user) {
+            userCache.RemoveUser(user);
+        }
     }
 
     /**
@@ -22,6 +22,7 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.event.Event;
 import org.b3log.latke.event.EventException;
 import org.b3log.latke.event.EventManager;
@@ -64,7 +65,7 @@ import java.util.stream.Collectors;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 2.18.1.0, Jan 23, 2018
+ * @version 2.18.5.1, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -198,10 +199,10 @@ public class ArticleMgmtService {
 	private LivenessMgmtService livenessMgmtService;
 
 	/**
-	 * Search management service.
+	 * Search index management service.
 	 */
 	@Inject
-	private SearchMgmtService searchMgmtService;
+	private SearchIndexMgmtService searchIndexMgmtService;
 
 	/**
 	 * Audio management service.
@@ -415,13 +416,7 @@ public class ArticleMgmtService {
 			tagArticleRepository.removeByArticleId(articleId);
 			notificationRepository.removeByDataId(articleId);
 
-			if (Symphonys.getBoolean("algolia.enabled")) {
-				searchMgmtService.removeAlgoliaDocument(article);
-			}
-
-			if (Symphonys.getBoolean("es.enabled")) {
-				searchMgmtService.removeESDocument(article, Article.ARTICLE);
-			}
+			searchIndexMgmtService.removeArticle(articleId);
 		} catch (final RepositoryException e) {
 			LOGGER.log(Level.ERROR, "Removes an article error [id=" + articleId + "]", e);
 		}
@@ -486,304 +481,306 @@ public class ArticleMgmtService {
 	 * @return generated article id
 	 * @throws ServiceException service exception
 	 */
-	public synchronized String addArticle(final JSONObject requestJSONObject) throws ServiceException {
-		final long currentTimeMillis = System.currentTimeMillis();
-		final boolean fromClient = requestJSONObject.has(Article.ARTICLE_CLIENT_ARTICLE_ID);
-		final String authorId = requestJSONObject.optString(Article.ARTICLE_AUTHOR_ID);
-		JSONObject author = null;
-
-		final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
-		if (rewardPoint < 0) {
-			throw new ServiceException(langPropsService.get("invalidRewardPointLabel"));
-		}
+	public String addArticle(final JSONObject requestJSONObject) throws ServiceException {
+		try (final Locks.Lease lease = Locks.lock(Locks.user(requestJSONObject.optString(Article.ARTICLE_AUTHOR_ID)))) {
+			final long currentTimeMillis = System.currentTimeMillis();
+			final boolean fromClient = requestJSONObject.has(Article.ARTICLE_CLIENT_ARTICLE_ID);
+			final String authorId = requestJSONObject.optString(Article.ARTICLE_AUTHOR_ID);
+			JSONObject author = null;
 
-		final int articleAnonymous = requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS);
+			final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
+			if (rewardPoint < 0) {
+				throw new ServiceException(langPropsService.get("invalidRewardPointLabel"));
+			}
 
-		final boolean syncWithSymphonyClient = requestJSONObject.optBoolean(Article.ARTICLE_SYNC_TO_CLIENT);
+			final int articleAnonymous = requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS);
 
-		String articleTitle = requestJSONObject.optString(Article.ARTICLE_TITLE);
-		articleTitle = Emotions.toAliases(articleTitle);
-		articleTitle = Pangu.spacingText(articleTitle);
-		articleTitle = StringUtils.trim(articleTitle);
+			final boolean syncWithSymphonyClient = requestJSONObject.optBoolean(Article.ARTICLE_SYNC_TO_CLIENT);
 
-		final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
+			String articleTitle = requestJSONObject.optString(Article.ARTICLE_TITLE);
+			articleTitle = Emotions.toAliases(articleTitle);
+			articleTitle = Pangu.spacingText(articleTitle);
+			articleTitle = StringUtils.trim(articleTitle);
 
-		try {
-			// check if admin allow to add article
-			final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
+			final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
 
-			if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
-				throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
-			}
+			try {
+				// check if admin allow to add article
+				final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
 
-			author = userRepository.get(authorId);
+				if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
+					throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
+				}
 
-			if (currentTimeMillis - author.optLong(Keys.OBJECT_ID) < Symphonys.getLong("newbieFirstArticle")) {
-				throw new ServiceException(langPropsService.get("newbieFirstArticleLabel"));
-			}
+				author = userRepository.get(authorId);
 
-			if (currentTimeMillis - author.optLong(UserExt.USER_LATEST_ARTICLE_TIME) < Symphonys
-					.getLong("minStepArticleTime") && !Role.ROLE_ID_C_ADMIN.equals(author.optString(User.USER_ROLE))) {
-				LOGGER.log(Level.WARN, "Adds article too frequent [userName={0}]", author.optString(User.USER_NAME));
-				throw new ServiceException(langPropsService.get("tooFrequentArticleLabel"));
-			}
+				if (currentTimeMillis - author.optLong(Keys.OBJECT_ID) < Symphonys.getLong("newbieFirstArticle")) {
+					throw new ServiceException(langPropsService.get("newbieFirstArticleLabel"));
+				}
 
-			final int balance = author.optInt(UserExt.USER_POINT);
-			if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == articleAnonymous) {
-				final int anonymousPoint = Symphonys.getInt("anonymous.point");
-				if (balance < anonymousPoint) {
-					String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
-					anonymousEnabelPointLabel = anonymousEnabelPointLabel.replace("${point}",
-							String.valueOf(anonymousPoint));
-					throw new ServiceException(anonymousEnabelPointLabel);
+				if (currentTimeMillis - author.optLong(UserExt.USER_LATEST_ARTICLE_TIME) < Symphonys
+						.getLong("minStepArticleTime") && !Role.ROLE_ID_C_ADMIN.equals(author.optString(User.USER_ROLE))) {
+					LOGGER.log(Level.WARN, "Adds article too frequent [userName={0}]", author.optString(User.USER_NAME));
+					throw new ServiceException(langPropsService.get("tooFrequentArticleLabel"));
 				}
-			}
 
-			if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-				// Point
-				final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-				final int addition = (int) Math.round(Math.sqrt(followerCnt));
-				final int broadcast = Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType
-						? Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST
-						: 0;
+				final int balance = author.optInt(UserExt.USER_POINT);
+				if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == articleAnonymous) {
+					final int anonymousPoint = Symphonys.getInt("anonymous.point");
+					if (balance < anonymousPoint) {
+						String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
+						anonymousEnabelPointLabel = anonymousEnabelPointLabel.replace("${point}",
+								String.valueOf(anonymousPoint));
+						throw new ServiceException(anonymousEnabelPointLabel);
+					}
+				}
 
-				final int sum = Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition + rewardPoint + broadcast;
+				if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+					// Point
+					final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+					final int addition = (int) Math.round(Math.sqrt(followerCnt));
+					final int broadcast = Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType
+							? Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST
+							: 0;
 
-				if (balance - sum < 0) {
-					throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
-				}
-			}
+					final int sum = Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition + rewardPoint + broadcast;
 
-			if (Article.ARTICLE_TYPE_C_DISCUSSION != articleType && Article.ARTICLE_TYPE_C_BOOK != articleType) {
-				final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
-				if (null != maybeExist) {
-					final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
-					String msg;
-					if (existArticleAuthorId.equals(authorId)) {
-						msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
-						msg = msg.replace("{article}", "<a target='_blank' href='/article/"
-								+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
-					} else {
-						final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
-						final String userName = existArticleAuthor.optString(User.USER_NAME);
-						msg = langPropsService.get("duplicatedArticleTitleLabel");
-						msg = msg.replace("{user}",
-								"<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
-						msg = msg.replace("{article}", "<a target='_blank' href='/article/"
-								+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+					if (balance - sum < 0) {
+						throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
 					}
+				}
 
-					throw new ServiceException(msg);
+				if (Article.ARTICLE_TYPE_C_DISCUSSION != articleType && Article.ARTICLE_TYPE_C_BOOK != articleType) {
+					final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
+					if (null != maybeExist) {
+						final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
+						String msg;
+						if (existArticleAuthorId.equals(authorId)) {
+							msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
+							msg = msg.replace("{article}", "<a target='_blank' href='/article/"
+									+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+						} else {
+							final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
+							final String userName = existArticleAuthor.optString(User.USER_NAME);
+							msg = langPropsService.get("duplicatedArticleTitleLabel");
+							msg = msg.replace("{user}",
+									"<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
+							msg = msg.replace("{article}", "<a target='_blank' href='/article/"
+									+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+						}
+
+						throw new ServiceException(msg);
+					}
 				}
+			} catch (final RepositoryException e) {
+				throw new ServiceException(e);
 			}
-		} catch (final RepositoryException e) {
-			throw new ServiceException(e);
-		}
 
-		final Transaction transaction = articleRepository.beginTransaction();
+			final Transaction transaction = articleRepository.beginTransaction();
 
-		try {
-			final String ret = Ids.genTimeMillisId();
-			final JSONObject article = new JSONObject();
-			article.put(Keys.OBJECT_ID, ret);
+			try {
+				final String ret = Ids.genTimeMillisId();
+				final JSONObject article = new JSONObject();
+				article.put(Keys.OBJECT_ID, ret);
 
-			final String clientArticleId = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_ID, ret);
-			final String clientArticlePermalink = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK);
+				final String clientArticleId = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_ID, ret);
+				final String clientArticlePermalink = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK);
 
-			article.put(Article.ARTICLE_TITLE, articleTitle);
-			article.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
-
-			String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
-			articleContent = Emotions.toAliases(articleContent);
-			// articleContent = StringUtils.trim(articleContent) + " ";
-			// https://github.com/b3log/symphony/issues/389
-			articleContent = StringUtils.replace(articleContent,
-					langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
-			articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.US), "");
-			article.put(Article.ARTICLE_CONTENT, articleContent);
-
-			String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
-			rewardContent = Emotions.toAliases(rewardContent);
-			article.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
-
-			article.put(Article.ARTICLE_EDITOR_TYPE, requestJSONObject.optString(Article.ARTICLE_EDITOR_TYPE));
-			article.put(Article.ARTICLE_SYNC_TO_CLIENT, fromClient ? true : author.optBoolean(UserExt.SYNC_TO_CLIENT));
-			article.put(Article.ARTICLE_AUTHOR_ID, authorId);
-			article.put(Article.ARTICLE_COMMENT_CNT, 0);
-			article.put(Article.ARTICLE_VIEW_CNT, 0);
-			article.put(Article.ARTICLE_GOOD_CNT, 0);
-			article.put(Article.ARTICLE_BAD_CNT, 0);
-			article.put(Article.ARTICLE_COLLECT_CNT, 0);
-			article.put(Article.ARTICLE_WATCH_CNT, 0);
-			article.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
-			article.put(Article.ARTICLE_CREATE_TIME, currentTimeMillis);
-			article.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
-			article.put(Article.ARTICLE_LATEST_CMT_TIME, 0);
-			article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
-			article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
-			article.put(Article.ARTICLE_CLIENT_ARTICLE_ID, clientArticleId);
-			article.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, clientArticlePermalink);
-			article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
-			article.put(Article.REDDIT_SCORE, 0);
-			article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
-			article.put(Article.ARTICLE_TYPE, articleType);
-			article.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
-			String city = "";
-			if (UserExt.USER_GEO_STATUS_C_PUBLIC == author.optInt(UserExt.USER_GEO_STATUS)) {
-				city = author.optString(UserExt.USER_CITY);
-			}
-			article.put(Article.ARTICLE_CITY, city);
-			article.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
-			article.put(Article.ARTICLE_SYNC_TO_CLIENT, syncWithSymphonyClient);
-			article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
-			article.put(Article.ARTICLE_ANONYMOUS_VIEW, requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS_VIEW,
-					Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL));
-			article.put(Article.ARTICLE_AUDIO_URL, "");
+				article.put(Article.ARTICLE_TITLE, articleTitle);
+				article.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
 
-			String articleTags = article.optString(Article.ARTICLE_TAGS);
-			articleTags = Tag.formatTags(articleTags);
-			boolean sandboxEnv = false;
-			if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
-				articleTags = Tag.TAG_TITLE_C_SANDBOX;
-				sandboxEnv = true;
-			}
+				String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
+				articleContent = Emotions.toAliases(articleContent);
+				// articleContent = StringUtils.trim(articleContent) + " ";
+				// https://github.com/b3log/symphony/issues/389
+				articleContent = StringUtils.replace(articleContent,
+						langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
+				articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.US), "");
+				article.put(Article.ARTICLE_CONTENT, articleContent);
 
-			String[] tagTitles = articleTags.split(",");
-			if (!sandboxEnv && tagTitles.length < TAG_MAX_CNT && tagTitles.length < 3
-					&& Article.ARTICLE_TYPE_C_DISCUSSION != articleType && Article.ARTICLE_TYPE_C_THOUGHT != articleType
-					&& !Tag.containsReservedTags(articleTags)) {
-				final String content = article.optString(Article.ARTICLE_TITLE) + " "
-						+ Jsoup.parse("<p>" + article.optString(Article.ARTICLE_CONTENT) + "</p>").text();
-
-				final List<String> genTags = tagQueryService.generateTags(content, 1);
-				if (!genTags.isEmpty()) {
-					articleTags = articleTags + "," + StringUtils.join(genTags, ",");
-					articleTags = Tag.formatTags(articleTags);
-					articleTags = Tag.useHead(articleTags, TAG_MAX_CNT);
+				String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
+				rewardContent = Emotions.toAliases(rewardContent);
+				article.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
+
+				article.put(Article.ARTICLE_EDITOR_TYPE, requestJSONObject.optString(Article.ARTICLE_EDITOR_TYPE));
+				article.put(Article.ARTICLE_SYNC_TO_CLIENT, fromClient ? true : author.optBoolean(UserExt.SYNC_TO_CLIENT));
+				article.put(Article.ARTICLE_AUTHOR_ID, authorId);
+				article.put(Article.ARTICLE_COMMENT_CNT, 0);
+				article.put(Article.ARTICLE_VIEW_CNT, 0);
+				article.put(Article.ARTICLE_GOOD_CNT, 0);
+				article.put(Article.ARTICLE_BAD_CNT, 0);
+				article.put(Article.ARTICLE_COLLECT_CNT, 0);
+				article.put(Article.ARTICLE_WATCH_CNT, 0);
+				article.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
+				article.put(Article.ARTICLE_CREATE_TIME, currentTimeMillis);
+				article.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+				article.put(Article.ARTICLE_LATEST_CMT_TIME, 0);
+				article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
+				article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
+				article.put(Article.ARTICLE_CLIENT_ARTICLE_ID, clientArticleId);
+				article.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, clientArticlePermalink);
+				article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
+				article.put(Article.REDDIT_SCORE, 0);
+				article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
+				article.put(Article.ARTICLE_TYPE, articleType);
+				article.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
+				String city = "";
+				if (UserExt.USER_GEO_STATUS_C_PUBLIC == author.optInt(UserExt.USER_GEO_STATUS)) {
+					city = author.optString(UserExt.USER_CITY);
+				}
+				article.put(Article.ARTICLE_CITY, city);
+				article.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
+				article.put(Article.ARTICLE_SYNC_TO_CLIENT, syncWithSymphonyClient);
+				article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
+				article.put(Article.ARTICLE_ANONYMOUS_VIEW, requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS_VIEW,
+						Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL));
+				article.put(Article.ARTICLE_AUDIO_URL, "");
+
+				String articleTags = article.optString(Article.ARTICLE_TAGS);
+				articleTags = Tag.formatTags(articleTags);
+				boolean sandboxEnv = false;
+				if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
+					articleTags = Tag.TAG_TITLE_C_SANDBOX;
+					sandboxEnv = true;
 				}
-			}
 
-			if (StringUtils.isBlank(articleTags)) {
-				articleTags = "B3log";
-			}
+				String[] tagTitles = articleTags.split(",");
+				if (!sandboxEnv && tagTitles.length < TAG_MAX_CNT && tagTitles.length < 3
+						&& Article.ARTICLE_TYPE_C_DISCUSSION != articleType && Article.ARTICLE_TYPE_C_THOUGHT != articleType
+						&& !Tag.containsReservedTags(articleTags)) {
+					final String content = article.optString(Article.ARTICLE_TITLE) + " "
+							+ Jsoup.parse("<p>" + article.optString(Article.ARTICLE_CONTENT) + "</p>").text();
+
+					final List<String> genTags = tagQueryService.generateTags(content, 1);
+					if (!genTags.isEmpty()) {
+						articleTags = articleTags + "," + StringUtils.join(genTags, ",");
+						articleTags = Tag.formatTags(articleTags);
+						articleTags = Tag.useHead(articleTags, TAG_MAX_CNT);
+					}
+				}
 
-			articleTags = Tag.formatTags(articleTags);
-			article.put(Article.ARTICLE_TAGS, articleTags);
-			tagTitles = articleTags.split(",");
+				if (StringUtils.isBlank(articleTags)) {
+					articleTags = "B3log";
+				}
 
-			tag(tagTitles, article, author);
+				articleTags = Tag.formatTags(articleTags);
+				article.put(Article.ARTICLE_TAGS, articleTags);
+				tagTitles = articleTags.split(",");
 
-			final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
-			article.put(Article.ARTICLE_IP, ip);
+				tag(tagTitles, article, author);
 
-			String ua = requestJSONObject.optString(Article.ARTICLE_UA);
-			if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-				ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-			}
-			article.put(Article.ARTICLE_UA, ua);
+				final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
+				article.put(Article.ARTICLE_IP, ip);
 
-			article.put(Article.ARTICLE_STICK, 0L);
+				String ua = requestJSONObject.optString(Article.ARTICLE_UA);
+				if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+					ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+				}
+				article.put(Article.ARTICLE_UA, ua);
 
-			final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
-			final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
-			articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
-			optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
+				article.put(Article.ARTICLE_STICK, 0L);
 
-			if (!StringUtils.isBlank(city)) {
-				final String cityStatId = city + "-ArticleCount";
-				JSONObject cityArticleCntOption = optionRepository.get(cityStatId);
+				final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
+				final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
+				articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
+				optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
 
-				if (null == cityArticleCntOption) {
-					cityArticleCntOption = new JSONObject();
-					cityArticleCntOption.put(Keys.OBJECT_ID, cityStatId);
-					cityArticleCntOption.put(Option.OPTION_VALUE, 1);
-					cityArticleCntOption.put(Option.OPTION_CATEGORY, city + "-statistic");
+				if (!StringUtils.isBlank(city)) {
+					final String cityStatId = city + "-ArticleCount";
+					JSONObject cityArticleCntOption = optionRepository.get(cityStatId);
 
-					optionRepository.add(cityArticleCntOption);
-				} else {
-					final int cityArticleCnt = cityArticleCntOption.optInt(Option.OPTION_VALUE);
-					cityArticleCntOption.put(Option.OPTION_VALUE, cityArticleCnt + 1);
+					if (null == cityArticleCntOption) {
+						cityArticleCntOption = new JSONObject();
+						cityArticleCntOption.put(Keys.OBJECT_ID, cityStatId);
+						cityArticleCntOption.put(Option.OPTION_VALUE, 1);
+						cityArticleCntOption.put(Option.OPTION_CATEGORY, city + "-statistic");
 
-					optionRepository.update(cityStatId, cityArticleCntOption);
-				}
-			}
+						optionRepository.add(cityArticleCntOption);
+					} else {
+						final int cityArticleCnt = cityArticleCntOption.optInt(Option.OPTION_VALUE);
+						cityArticleCntOption.put(Option.OPTION_VALUE, cityArticleCnt + 1);
 
-			author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
-			author.put(UserExt.USER_LATEST_ARTICLE_TIME, currentTimeMillis);
-			// Updates user article count (and new tag count), latest article time
-			userRepository.update(author.optString(Keys.OBJECT_ID), author);
+						optionRepository.update(cityStatId, cityArticleCntOption);
+					}
+				}
 
-			final String articleId = articleRepository.add(article);
+				author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
+				author.put(UserExt.USER_LATEST_ARTICLE_TIME, currentTimeMillis);
+				// Updates user article count (and new tag count), latest article time
+				userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
-			if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
-				// Revision
-				final JSONObject revision = new JSONObject();
-				revision.put(Revision.REVISION_AUTHOR_ID, authorId);
+				final String articleId = articleRepository.add(article);
 
-				final JSONObject revisionData = new JSONObject();
-				revisionData.put(Article.ARTICLE_TITLE, articleTitle);
-				revisionData.put(Article.ARTICLE_CONTENT, articleContent);
+				if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
+					// Revision
+					final JSONObject revision = new JSONObject();
+					revision.put(Revision.REVISION_AUTHOR_ID, authorId);
 
-				revision.put(Revision.REVISION_DATA, revisionData.toString());
-				revision.put(Revision.REVISION_DATA_ID, articleId);
-				revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
+					final JSONObject revisionData = new JSONObject();
+					revisionData.put(Article.ARTICLE_TITLE, articleTitle);
+					revisionData.put(Article.ARTICLE_CONTENT, articleContent);
 
-				revisionRepository.add(revision);
-			}
+					revision.put(Revision.REVISION_DATA, revisionData.toString());
+					revision.put(Revision.REVISION_DATA_ID, articleId);
+					revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
 
-			transaction.commit();
+					revisionRepository.add(revision);
+				}
 
-			try {
-				Thread.sleep(50); // wait for db write to avoid article duplication
-			} catch (final Exception e) {
-			}
+				transaction.commit();
 
-			// Grows the tag graph
-			tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
+				try {
+					Thread.sleep(50); // wait for db write to avoid article duplication
+				} catch (final Exception e) {
+				}
 
-			if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-				// Point
-				final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-				final int addition = (int) Math.round(Math.sqrt(followerCnt));
+				// Grows the tag graph
+				tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
 
-				pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-						Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE, Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition,
-						articleId, System.currentTimeMillis());
+				if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+					// Point
+					final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+					final int addition = (int) Math.round(Math.sqrt(followerCnt));
 
-				if (rewardPoint > 0) { // Enabe reward
 					pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-							Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
-							Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis());
-				}
+							Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE, Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition,
+							articleId, System.currentTimeMillis());
 
-				if (Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType) {
-					pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-							Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST,
-							Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST, articleId, System.currentTimeMillis());
+					if (rewardPoint > 0) { // Enabe reward
+						pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+								Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
+								Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis());
+					}
+
+					if (Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType) {
+						pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+								Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST,
+								Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST, articleId, System.currentTimeMillis());
+					}
+
+					// Liveness
+					livenessMgmtService.incLiveness(authorId, Liveness.LIVENESS_ARTICLE);
 				}
 
-				// Liveness
-				livenessMgmtService.incLiveness(authorId, Liveness.LIVENESS_ARTICLE);
-			}
+				// Event
+				final JSONObject eventData = new JSONObject();
+				eventData.put(Common.FROM_CLIENT, fromClient);
+				eventData.put(Article.ARTICLE, article);
+				try {
+					eventManager.fireEventAsynchronously(new Event<>(ADD_ARTICLE, eventData));
+				} catch (final EventException e) {
+					LOGGER.log(Level.ERROR, e.getMessage(), e);
+				}
 
-			// Event
-			final JSONObject eventData = new JSONObject();
-			eventData.put(Common.FROM_CLIENT, fromClient);
-			eventData.put(Article.ARTICLE, article);
-			try {
-				eventManager.fireEventAsynchronously(new Event<>(ADD_ARTICLE, eventData));
-			} catch (final EventException e) {
-				LOGGER.log(Level.ERROR, e.getMessage(), e);
-			}
+				return ret;
+			} catch (final RepositoryException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
 
-			return ret;
-		} catch (final RepositoryException e) {
-			if (transaction.isActive()) {
-				transaction.rollback();
+				LOGGER.log(Level.ERROR, "Adds an article failed", e);
+				throw new ServiceException(e);
 			}
-
-			LOGGER.log(Level.ERROR, "Adds an article failed", e);
-			throw new ServiceException(e);
 		}
 	}
 
@@ -803,189 +800,191 @@ public class ArticleMgmtService {
 	 *                          {@link Article} for more details
 	 * @throws ServiceException service exception
 	 */
-	public synchronized void updateArticle(final JSONObject requestJSONObject) throws ServiceException {
-		String articleTitle = requestJSONObject.optString(Article.ARTICLE_TITLE);
-		final boolean fromClient = requestJSONObject.has(Article.ARTICLE_CLIENT_ARTICLE_ID);
+	public void updateArticle(final JSONObject requestJSONObject) throws ServiceException {
+		try (final Locks.Lease lease = Locks.lock(Locks.article(requestJSONObject.optString(Keys.OBJECT_ID)))) {
+			String articleTitle = requestJSONObject.optString(Article.ARTICLE_TITLE);
+			final boolean fromClient = requestJSONObject.has(Article.ARTICLE_CLIENT_ARTICLE_ID);
+
+			String articleId;
+			JSONObject oldArticle;
+			String authorId;
+			JSONObject author;
+			int updatePointSum;
+			int articleAnonymous = 0;
 
-		String articleId;
-		JSONObject oldArticle;
-		String authorId;
-		JSONObject author;
-		int updatePointSum;
-		int articleAnonymous = 0;
-
-		try {
-			// check if admin allow to add article
-			final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
-
-			if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
-				throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
-			}
-
-			articleId = requestJSONObject.optString(Keys.OBJECT_ID);
-			oldArticle = articleRepository.get(articleId);
-			authorId = oldArticle.optString(Article.ARTICLE_AUTHOR_ID);
-			author = userRepository.get(authorId);
+			try {
+				// check if admin allow to add article
+				final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
 
-			final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-			int addition = (int) Math.round(Math.sqrt(followerCnt));
-			final long collectCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
-			final long watchCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
-			addition += (collectCnt + watchCnt) * 2;
-			updatePointSum = Pointtransfer.TRANSFER_SUM_C_UPDATE_ARTICLE + addition;
+				if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
+					throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
+				}
 
-			articleAnonymous = oldArticle.optInt(Article.ARTICLE_ANONYMOUS);
+				articleId = requestJSONObject.optString(Keys.OBJECT_ID);
+				oldArticle = articleRepository.get(articleId);
+				authorId = oldArticle.optString(Article.ARTICLE_AUTHOR_ID);
+				author = userRepository.get(authorId);
 
-			if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-				// Point
-				final int balance = author.optInt(UserExt.USER_POINT);
-				if (balance - updatePointSum < 0) {
-					throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+				final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+				int addition = (int) Math.round(Math.sqrt(followerCnt));
+				final long collectCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
+				final long watchCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
+				addition += (collectCnt + watchCnt) * 2;
+				updatePointSum = Pointtransfer.TRANSFER_SUM_C_UPDATE_ARTICLE + addition;
+
+				articleAnonymous = oldArticle.optInt(Article.ARTICLE_ANONYMOUS);
+
+				if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+					// Point
+					final int balance = author.optInt(UserExt.USER_POINT);
+					if (balance - updatePointSum < 0) {
+						throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+					}
 				}
-			}
 
-			final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
-			if (null != maybeExist) {
-				if (!oldArticle.optString(Article.ARTICLE_TITLE).equals(articleTitle)) {
-					final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
-					String msg;
-					if (existArticleAuthorId.equals(authorId)) {
-						msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
-						msg = msg.replace("{article}", "<a target='_blank' href='/article/"
-								+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
-					} else {
-						final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
-						final String userName = existArticleAuthor.optString(User.USER_NAME);
-						msg = langPropsService.get("duplicatedArticleTitleLabel");
-						msg = msg.replace("{user}",
-								"<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
-						msg = msg.replace("{article}", "<a target='_blank' href='/article/"
-								+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+				final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
+				if (null != maybeExist) {
+					if (!oldArticle.optString(Article.ARTICLE_TITLE).equals(articleTitle)) {
+						final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
+						String msg;
+						if (existArticleAuthorId.equals(authorId)) {
+							msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
+							msg = msg.replace("{article}", "<a target='_blank' href='/article/"
+									+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+						} else {
+							final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
+							final String userName = existArticleAuthor.optString(User.USER_NAME);
+							msg = langPropsService.get("duplicatedArticleTitleLabel");
+							msg = msg.replace("{user}",
+									"<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
+							msg = msg.replace("{article}", "<a target='_blank' href='/article/"
+									+ maybeExist.optString(Keys.OBJECT_ID) + "'>" + articleTitle + "</a>");
+						}
+
+						throw new ServiceException(msg);
 					}
-
-					throw new ServiceException(msg);
 				}
+			} catch (final RepositoryException e) {
+				throw new ServiceException(e);
 			}
-		} catch (final RepositoryException e) {
-			throw new ServiceException(e);
-		}
-
-		final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
-
-		final Transaction transaction = articleRepository.beginTransaction();
 
-		try {
-			requestJSONObject.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
-			processTagsForArticleUpdate(oldArticle, requestJSONObject, author);
-			userRepository.update(author.optString(Keys.OBJECT_ID), author);
+			final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
 
-			articleTitle = Emotions.toAliases(articleTitle);
-			articleTitle = Pangu.spacingText(articleTitle);
+			final Transaction transaction = articleRepository.beginTransaction();
 
-			final String oldTitle = oldArticle.optString(Article.ARTICLE_TITLE);
-			oldArticle.put(Article.ARTICLE_TITLE, articleTitle);
+			try {
+				requestJSONObject.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
+				processTagsForArticleUpdate(oldArticle, requestJSONObject, author);
+				userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
-			oldArticle.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
-			oldArticle.put(Article.ARTICLE_COMMENTABLE,
-					requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
-			oldArticle.put(Article.ARTICLE_TYPE, articleType);
+				articleTitle = Emotions.toAliases(articleTitle);
+				articleTitle = Pangu.spacingText(articleTitle);
 
-			String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
-			articleContent = Emotions.toAliases(articleContent);
-			// articleContent = StringUtils.trim(articleContent) + " ";
-			// https://github.com/b3log/symphony/issues/389
-			articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE),
-					"");
-			articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.US), "");
+				final String oldTitle = oldArticle.optString(Article.ARTICLE_TITLE);
+				oldArticle.put(Article.ARTICLE_TITLE, articleTitle);
 
-			final String oldContent = oldArticle.optString(Article.ARTICLE_CONTENT);
-			oldArticle.put(Article.ARTICLE_CONTENT, articleContent);
+				oldArticle.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
+				oldArticle.put(Article.ARTICLE_COMMENTABLE,
+						requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
+				oldArticle.put(Article.ARTICLE_TYPE, articleType);
 
-			final long currentTimeMillis = System.currentTimeMillis();
-			final long createTime = oldArticle.optLong(Keys.OBJECT_ID);
-			oldArticle.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+				String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
+				articleContent = Emotions.toAliases(articleContent);
+				// articleContent = StringUtils.trim(articleContent) + " ";
+				// https://github.com/b3log/symphony/issues/389
+				articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE),
+						"");
+				articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.US), "");
+
+				final String oldContent = oldArticle.optString(Article.ARTICLE_CONTENT);
+				oldArticle.put(Article.ARTICLE_CONTENT, articleContent);
+
+				final long currentTimeMillis = System.currentTimeMillis();
+				final long createTime = oldArticle.optLong(Keys.OBJECT_ID);
+				oldArticle.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+
+				final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
+				boolean enableReward = false;
+				if (0 < rewardPoint) {
+					if (1 > oldArticle.optInt(Article.ARTICLE_REWARD_POINT)) {
+						enableReward = true;
+					}
 
-			final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
-			boolean enableReward = false;
-			if (0 < rewardPoint) {
-				if (1 > oldArticle.optInt(Article.ARTICLE_REWARD_POINT)) {
-					enableReward = true;
+					String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
+					rewardContent = Emotions.toAliases(rewardContent);
+					oldArticle.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
+					oldArticle.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
 				}
 
-				String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
-				rewardContent = Emotions.toAliases(rewardContent);
-				oldArticle.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
-				oldArticle.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
-			}
+				final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
+				oldArticle.put(Article.ARTICLE_IP, ip);
 
-			final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
-			oldArticle.put(Article.ARTICLE_IP, ip);
+				String ua = requestJSONObject.optString(Article.ARTICLE_UA);
+				if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+					ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+				}
+				oldArticle.put(Article.ARTICLE_UA, ua);
 
-			String ua = requestJSONObject.optString(Article.ARTICLE_UA);
-			if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-				ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-			}
-			oldArticle.put(Article.ARTICLE_UA, ua);
+				final String clientArticlePermalink = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK);
+				oldArticle.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, clientArticlePermalink);
 
-			final String clientArticlePermalink = requestJSONObject.optString(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK);
-			oldArticle.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, clientArticlePermalink);
+				articleRepository.update(articleId, oldArticle);
 
-			articleRepository.update(articleId, oldArticle);
+				if (Article.ARTICLE_TYPE_C_THOUGHT != articleType
+						&& (!oldContent.equals(articleContent) || !oldTitle.equals(articleTitle))) {
+					// Revision
+					final JSONObject revision = new JSONObject();
+					revision.put(Revision.REVISION_AUTHOR_ID, authorId);
 
-			if (Article.ARTICLE_TYPE_C_THOUGHT != articleType
-					&& (!oldContent.equals(articleContent) || !oldTitle.equals(articleTitle))) {
-				// Revision
-				final JSONObject revision = new JSONObject();
-				revision.put(Revision.REVISION_AUTHOR_ID, authorId);
+					final JSONObject revisionData = new JSONObject();
+					revisionData.put(Article.ARTICLE_TITLE, articleTitle);
+					revisionData.put(Article.ARTICLE_CONTENT, articleContent);
 
-				final JSONObject revisionData = new JSONObject();
-				revisionData.put(Article.ARTICLE_TITLE, articleTitle);
-				revisionData.put(Article.ARTICLE_CONTENT, articleContent);
+					revision.put(Revision.REVISION_DATA, revisionData.toString());
+					revision.put(Revision.REVISION_DATA_ID, articleId);
+					revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
 
-				revision.put(Revision.REVISION_DATA, revisionData.toString());
-				revision.put(Revision.REVISION_DATA_ID, articleId);
-				revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
+					revisionRepository.add(revision);
+				}
 
-				revisionRepository.add(revision);
-			}
+				transaction.commit();
 
-			transaction.commit();
+				try {
+					Thread.sleep(50); // wait for db write to avoid artitle duplication
+				} catch (final Exception e) {
+				}
 
-			try {
-				Thread.sleep(50); // wait for db write to avoid artitle duplication
-			} catch (final Exception e) {
-			}
+				if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+					if (currentTimeMillis - createTime > 1000 * 60 * 5) {
+						pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+								Pointtransfer.TRANSFER_TYPE_C_UPDATE_ARTICLE, updatePointSum, articleId,
+								System.currentTimeMillis());
+					}
 
-			if (!fromClient && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-				if (currentTimeMillis - createTime > 1000 * 60 * 5) {
-					pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-							Pointtransfer.TRANSFER_TYPE_C_UPDATE_ARTICLE, updatePointSum, articleId,
-							System.currentTimeMillis());
+					if (enableReward) {
+						pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+								Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
+								Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis());
+					}
 				}
 
-				if (enableReward) {
-					pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-							Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
-							Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis());
+				// Event
+				final JSONObject eventData = new JSONObject();
+				eventData.put(Common.FROM_CLIENT, fromClient);
+				eventData.put(Article.ARTICLE, oldArticle);
+				try {
+					eventManager.fireEventAsynchronously(new Event<>(UPDATE_ARTICLE, eventData));
+				} catch (final EventException e) {
+					LOGGER.log(Level.ERROR, e.getMessage(), e);
+				}
+			} catch (final Exception e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
 				}
-			}
 
-			// Event
-			final JSONObject eventData = new JSONObject();
-			eventData.put(Common.FROM_CLIENT, fromClient);
-			eventData.put(Article.ARTICLE, oldArticle);
-			try {
-				eventManager.fireEventAsynchronously(new Event<>(UPDATE_ARTICLE, eventData));
-			} catch (final EventException e) {
-				LOGGER.log(Level.ERROR, e.getMessage(), e);
-			}
-		} catch (final Exception e) {
-			if (transaction.isActive()) {
-				transaction.rollback();
+				LOGGER.log(Level.ERROR, "Updates an article failed", e);
+				throw new ServiceException(e);
 			}
-
-			LOGGER.log(Level.ERROR, "Updates an article failed", e);
-			throw new ServiceException(e);
 		}
 	}
 
@@ -1062,13 +1061,7 @@ public class ArticleMgmtService {
 			}
 
 			if (Article.ARTICLE_STATUS_C_VALID != article.optInt(Article.ARTICLE_STATUS)) {
-				if (Symphonys.getBoolean("algolia.enabled")) {
-					searchMgmtService.removeAlgoliaDocument(article);
-				}
-
-				if (Symphonys.getBoolean("es.enabled")) {
-					searchMgmtService.removeESDocument(article, Article.ARTICLE);
-				}
+				searchIndexMgmtService.removeArticle(articleId);
 			}
 		} catch (final Exception e) {
 			if (transaction.isActive()) {
@@ -1251,57 +1244,59 @@ public class ArticleMgmtService {
 	 * @param articleId the given article id
 	 * @throws ServiceException service exception
 	 */
-	public synchronized void stick(final String articleId) throws ServiceException {
-		final Transaction transaction = articleRepository.beginTransaction();
-
-		try {
-			final JSONObject article = articleRepository.get(articleId);
-			if (null == article) {
-				return;
-			}
+	public void stick(final String articleId) throws ServiceException {
+		try (final Locks.Lease lease = Locks.lock(Locks.article(articleId))) {
+			final Transaction transaction = articleRepository.beginTransaction();
 
-			final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-			final JSONObject author = userRepository.get(authorId);
-			final int balance = author.optInt(UserExt.USER_POINT);
+			try {
+				final JSONObject article = articleRepository.get(articleId);
+				if (null == article) {
+					return;
+				}
 
-			if (balance - Pointtransfer.TRANSFER_SUM_C_STICK_ARTICLE < 0) {
-				throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
-			}
+				final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+				final JSONObject author = userRepository.get(authorId);
+				final int balance = author.optInt(UserExt.USER_POINT);
 
-			final Query query = new Query()
-					.setFilter(new PropertyFilter(Article.ARTICLE_STICK, FilterOperator.GREATER_THAN, 0L));
-			final JSONArray articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
-			if (articles.length() > 1) {
-				final Set<String> ids = new HashSet<>();
-				for (int i = 0; i < articles.length(); i++) {
-					ids.add(articles.optJSONObject(i).optString(Keys.OBJECT_ID));
+				if (balance - Pointtransfer.TRANSFER_SUM_C_STICK_ARTICLE < 0) {
+					throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
 				}
 
-				if (!ids.contains(articleId)) {
-					throw new ServiceException(langPropsService.get("stickExistLabel"));
+				final Query query = new Query()
+						.setFilter(new PropertyFilter(Article.ARTICLE_STICK, FilterOperator.GREATER_THAN, 0L));
+				final JSONArray articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
+				if (articles.length() > 1) {
+					final Set<String> ids = new HashSet<>();
+					for (int i = 0; i < articles.length(); i++) {
+						ids.add(articles.optJSONObject(i).optString(Keys.OBJECT_ID));
+					}
+
+					if (!ids.contains(articleId)) {
+						throw new ServiceException(langPropsService.get("stickExistLabel"));
+					}
 				}
-			}
 
-			article.put(Article.ARTICLE_STICK, System.currentTimeMillis());
+				article.put(Article.ARTICLE_STICK, System.currentTimeMillis());
 
-			articleRepository.update(articleId, article);
+				articleRepository.update(articleId, article);
 
-			transaction.commit();
+				transaction.commit();
 
-			final boolean succ = null != pointtransferMgmtService.transfer(article.optString(Article.ARTICLE_AUTHOR_ID),
-					Pointtransfer.ID_C_SYS, Pointtransfer.TRANSFER_TYPE_C_STICK_ARTICLE,
-					Pointtransfer.TRANSFER_SUM_C_STICK_ARTICLE, articleId, System.currentTimeMillis());
-			if (!succ) {
-				throw new ServiceException(langPropsService.get("stickFailedLabel"));
-			}
-		} catch (final RepositoryException e) {
-			if (transaction.isActive()) {
-				transaction.rollback();
-			}
+				final boolean succ = null != pointtransferMgmtService.transfer(article.optString(Article.ARTICLE_AUTHOR_ID),
+						Pointtransfer.ID_C_SYS, Pointtransfer.TRANSFER_TYPE_C_STICK_ARTICLE,
+						Pointtransfer.TRANSFER_SUM_C_STICK_ARTICLE, articleId, System.currentTimeMillis());
+				if (!succ) {
+					throw new ServiceException(langPropsService.get("stickFailedLabel"));
+				}
+			} catch (final RepositoryException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
 
-			LOGGER.log(Level.ERROR, "Sticks an article[id=" + articleId + "] failed", e);
+				LOGGER.log(Level.ERROR, "Sticks an article[id=" + articleId + "] failed", e);
 
-			throw new ServiceException(langPropsService.get("stickFailedLabel"));
+				throw new ServiceException(langPropsService.get("stickFailedLabel"));
+			}
 		}
 	}
 
@@ -1312,20 +1307,22 @@ public class ArticleMgmtService {
 	 * @throws ServiceException service exception
 	 */
 	@Transactional
-	public synchronized void adminStick(final String articleId) throws ServiceException {
-		try {
-			final JSONObject article = articleRepository.get(articleId);
-			if (null == article) {
-				return;
-			}
+	public void adminStick(final String articleId) throws ServiceException {
+		try (final Locks.Lease lease = Locks.lock(Locks.article(articleId))) {
+			try {
+				final JSONObject article = articleRepository.get(articleId);
+				if (null == article) {
+					return;
+				}
 
-			article.put(Article.ARTICLE_STICK, Long.MAX_VALUE);
+				article.put(Article.ARTICLE_STICK, Long.MAX_VALUE);
 
-			articleRepository.update(articleId, article);
-		} catch (final RepositoryException e) {
-			LOGGER.log(Level.ERROR, "Admin sticks an article[id=" + articleId + "] failed", e);
+				articleRepository.update(articleId, article);
+			} catch (final RepositoryException e) {
+				LOGGER.log(Level.ERROR, "Admin sticks an article[id=" + articleId + "] failed", e);
 
-			throw new ServiceException(langPropsService.get("stickFailedLabel"));
+				throw new ServiceException(langPropsService.get("stickFailedLabel"));
+			}
 		}
 	}
 
@@ -1336,20 +1333,22 @@ public class ArticleMgmtService {
 	 * @throws ServiceException service exception
 	 */
 	@Transactional
-	public synchronized void adminCancelStick(final String articleId) throws ServiceException {
-		try {
-			final JSONObject article = articleRepository.get(articleId);
-			if (null == article) {
-				return;
-			}
+	public void adminCancelStick(final String articleId) throws ServiceException {
+		try (final Locks.Lease lease = Locks.lock(Locks.article(articleId))) {
+			try {
+				final JSONObject article = articleRepository.get(articleId);
+				if (null == article) {
+					return;
+				}
 
-			article.put(Article.ARTICLE_STICK, 0L);
+				article.put(Article.ARTICLE_STICK, 0L);
 
-			articleRepository.update(articleId, article);
-		} catch (final RepositoryException e) {
-			LOGGER.log(Level.ERROR, "Admin cancel sticks an article[id=" + articleId + "] failed", e);
+				articleRepository.update(articleId, article);
+			} catch (final RepositoryException e) {
+				LOGGER.log(Level.ERROR, "Admin cancel sticks an article[id=" + articleId + "] failed", e);
 
-			throw new ServiceException(langPropsService.get("operationFailedLabel"));
+				throw new ServiceException(langPropsService.get("operationFailedLabel"));
+			}
 		}
 	}
 
@@ -1359,6 +1358,7 @@ public class ArticleMgmtService {
 	 * @throws ServiceException service exception
 	 */
 	@Transactional
+	@Scheduled(schedule = "every 1 minutes", description = "Expire sticked article")
 	public void expireStick() throws ServiceException {
 		try {
 			final Query query = new Query()
@@ -1407,10 +1407,8 @@ public class ArticleMgmtService {
 	 * @param author     the specified author
 	 * @throws Exception exception
 	 */
-	private synchronized void processTagsForArticleUpdate(final JSONObject oldArticle, final JSONObject newArticle,
+	private void processTagsForArticleUpdate(final JSONObject oldArticle, final JSONObject newArticle,
 			final JSONObject author) throws Exception {
-		final String oldArticleId = oldArticle.getString(Keys.OBJECT_ID);
-		final List<JSONObject> oldTags = tagRepository.getByArticleId(oldArticleId);
 		String tagsString = newArticle.getString(Article.ARTICLE_TAGS);
 		tagsString = Tag.formatTags(tagsString);
 		boolean sandboxEnv = false;
@@ -1442,78 +1440,84 @@ public class ArticleMgmtService {
 		newArticle.put(Article.ARTICLE_TAGS, tagsString);
 		tagStrings = tagsString.split(",");
 
-		final List<JSONObject> newTags = new ArrayList<>();
+		// Every tag untagged or tagged below is locked here at once, tag() then reenters them
+		try (final Locks.Lease lease = Locks.lock(Locks.tags(oldArticle.optString(Article.ARTICLE_TAGS) + "," + tagsString))) {
+			final String oldArticleId = oldArticle.getString(Keys.OBJECT_ID);
+			final List<JSONObject> oldTags = tagRepository.getByArticleId(oldArticleId);
 
-		for (final String tagString : tagStrings) {
-			final String tagTitle = tagString.trim();
-			JSONObject newTag = tagRepository.getByTitle(tagTitle);
-			if (null == newTag) {
-				newTag = new JSONObject();
-				newTag.put(Tag.TAG_TITLE, tagTitle);
-			}
+			final List<JSONObject> newTags = new ArrayList<>();
 
-			newTags.add(newTag);
-		}
+			for (final String tagString : tagStrings) {
+				final String tagTitle = tagString.trim();
+				JSONObject newTag = tagRepository.getByTitle(tagTitle);
+				if (null == newTag) {
+					newTag = new JSONObject();
+					newTag.put(Tag.TAG_TITLE, tagTitle);
+				}
 
-		final List<JSONObject> tagsDropped = new ArrayList<>();
-		final List<JSONObject> tagsNeedToAdd = new ArrayList<>();
+				newTags.add(newTag);
+			}
+
+			final List<JSONObject> tagsDropped = new ArrayList<>();
+			final List<JSONObject> tagsNeedToAdd = new ArrayList<>();
 
-		for (final JSONObject newTag : newTags) {
-			final String newTagTitle = newTag.getString(Tag.TAG_TITLE);
+			for (final JSONObject newTag : newTags) {
+				final String newTagTitle = newTag.getString(Tag.TAG_TITLE);
 
-			if (!tagExists(newTagTitle, oldTags)) {
-				LOGGER.log(Level.DEBUG, "Tag need to add[title={0}]", newTagTitle);
-				tagsNeedToAdd.add(newTag);
+				if (!tagExists(newTagTitle, oldTags)) {
+					LOGGER.log(Level.DEBUG, "Tag need to add[title={0}]", newTagTitle);
+					tagsNeedToAdd.add(newTag);
+				}
 			}
-		}
-		for (final JSONObject oldTag : oldTags) {
-			final String oldTagTitle = oldTag.getString(Tag.TAG_TITLE);
+			for (final JSONObject oldTag : oldTags) {
+				final String oldTagTitle = oldTag.getString(Tag.TAG_TITLE);
 
-			if (!tagExists(oldTagTitle, newTags)) {
-				LOGGER.log(Level.DEBUG, "Tag dropped[title={0}]", oldTag);
-				tagsDropped.add(oldTag);
+				if (!tagExists(oldTagTitle, newTags)) {
+					LOGGER.log(Level.DEBUG, "Tag dropped[title={0}]", oldTag);
+					tagsDropped.add(oldTag);
+				}
 			}
-		}
 
-		final int articleCmtCnt = oldArticle.getInt(Article.ARTICLE_COMMENT_CNT);
+			final int articleCmtCnt = oldArticle.getInt(Article.ARTICLE_COMMENT_CNT);
 
-		for (final JSONObject tagDropped : tagsDropped) {
-			final String tagId = tagDropped.getString(Keys.OBJECT_ID);
-			int refCnt = tagDropped.getInt(Tag.TAG_REFERENCE_CNT) - 1;
-			refCnt = refCnt < 0 ? 0 : refCnt;
-			tagDropped.put(Tag.TAG_REFERENCE_CNT, refCnt);
-			final int tagCmtCnt = tagDropped.getInt(Tag.TAG_COMMENT_CNT);
-			tagDropped.put(Tag.TAG_COMMENT_CNT, tagCmtCnt - articleCmtCnt);
-			tagDropped.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+			for (final JSONObject tagDropped : tagsDropped) {
+				final String tagId = tagDropped.getString(Keys.OBJECT_ID);
+				int refCnt = tagDropped.getInt(Tag.TAG_REFERENCE_CNT) - 1;
+				refCnt = refCnt < 0 ? 0 : refCnt;
+				tagDropped.put(Tag.TAG_REFERENCE_CNT, refCnt);
+				final int tagCmtCnt = tagDropped.getInt(Tag.TAG_COMMENT_CNT);
+				tagDropped.put(Tag.TAG_COMMENT_CNT, tagCmtCnt - articleCmtCnt);
+				tagDropped.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
 
-			tagRepository.update(tagId, tagDropped);
-		}
+				tagRepository.update(tagId, tagDropped);
+			}
 
-		final String[] tagIdsDropped = new String[tagsDropped.size()];
+			final String[] tagIdsDropped = new String[tagsDropped.size()];
 
-		for (int i = 0; i < tagIdsDropped.length; i++) {
-			final JSONObject tag = tagsDropped.get(i);
-			final String id = tag.getString(Keys.OBJECT_ID);
+			for (int i = 0; i < tagIdsDropped.length; i++) {
+				final JSONObject tag = tagsDropped.get(i);
+				final String id = tag.getString(Keys.OBJECT_ID);
 
-			tagIdsDropped[i] = id;
-		}
+				tagIdsDropped[i] = id;
+			}
 
-		if (0 != tagIdsDropped.length) {
-			removeTagArticleRelations(oldArticleId, tagIdsDropped);
-			removeUserTagRelations(oldArticle.optString(Article.ARTICLE_AUTHOR_ID), Tag.TAG_TYPE_C_ARTICLE,
-					tagIdsDropped);
-		}
+			if (0 != tagIdsDropped.length) {
+				removeTagArticleRelations(oldArticleId, tagIdsDropped);
+				removeUserTagRelations(oldArticle.optString(Article.ARTICLE_AUTHOR_ID), Tag.TAG_TYPE_C_ARTICLE,
+						tagIdsDropped);
+			}
 
-		tagStrings = new String[tagsNeedToAdd.size()];
-		for (int i = 0; i < tagStrings.length; i++) {
-			final JSONObject tag = tagsNeedToAdd.get(i);
-			final String tagTitle = tag.getString(Tag.TAG_TITLE);
+			tagStrings = new String[tagsNeedToAdd.size()];
+			for (int i = 0; i < tagStrings.length; i++) {
+				final JSONObject tag = tagsNeedToAdd.get(i);
+				final String tagTitle = tag.getString(Tag.TAG_TITLE);
 
-			tagStrings[i] = tagTitle;
-		}
+				tagStrings[i] = tagTitle;
+			}
 
-		newArticle.put(Article.ARTICLE_COMMENT_CNT, articleCmtCnt);
-		tag(tagStrings, newArticle, author);
+			newArticle.put(Article.ARTICLE_COMMENT_CNT, articleCmtCnt);
+			tag(tagStrings, newArticle, author);
+		}
 	}
 
 	/**
@@ -1571,124 +1575,126 @@ public class ArticleMgmtService {
 	 * @param author    the specified author
 	 * @throws RepositoryException repository exception
 	 */
-	private synchronized void tag(final String[] tagTitles, final JSONObject article, final JSONObject author)
+	private void tag(final String[] tagTitles, final JSONObject article, final JSONObject author)
 			throws RepositoryException {
-		String articleTags = article.optString(Article.ARTICLE_TAGS);
-
-		for (final String t : tagTitles) {
-			final String tagTitle = t.trim();
-			JSONObject tag = tagRepository.getByTitle(tagTitle);
-			String tagId;
-			int userTagType;
-			final int articleCmtCnt = article.optInt(Article.ARTICLE_COMMENT_CNT);
-			if (null == tag) {
-				LOGGER.log(Level.TRACE, "Found a new tag [title={0}] in article [title={1}]", tagTitle,
-						article.optString(Article.ARTICLE_TITLE));
-				tag = new JSONObject();
-				tag.put(Tag.TAG_TITLE, tagTitle);
-				String tagURI = tagTitle;
-				try {
-					tagURI = URLEncoder.encode(tagTitle, "UTF-8");
-				} catch (final UnsupportedEncodingException e) {
-					LOGGER.log(Level.ERROR, "Encode tag title [" + tagTitle + "] error", e);
-				}
-				tag.put(Tag.TAG_URI, tagURI);
-				tag.put(Tag.TAG_CSS, "");
-				tag.put(Tag.TAG_REFERENCE_CNT, 1);
-				tag.put(Tag.TAG_COMMENT_CNT, articleCmtCnt);
-				tag.put(Tag.TAG_FOLLOWER_CNT, 0);
-				tag.put(Tag.TAG_LINK_CNT, 0);
-				tag.put(Tag.TAG_DESCRIPTION, "");
-				tag.put(Tag.TAG_ICON_PATH, "");
-				tag.put(Tag.TAG_STATUS, 0);
-				tag.put(Tag.TAG_GOOD_CNT, 0);
-				tag.put(Tag.TAG_BAD_CNT, 0);
-				tag.put(Tag.TAG_SEO_TITLE, tagTitle);
-				tag.put(Tag.TAG_SEO_KEYWORDS, tagTitle);
-				tag.put(Tag.TAG_SEO_DESC, "");
-				tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+		try (final Locks.Lease lease = Locks.lock(Locks.tags(StringUtils.join(tagTitles, ",")))) {
+			String articleTags = article.optString(Article.ARTICLE_TAGS);
 
-				tagId = tagRepository.add(tag);
-				tag.put(Keys.OBJECT_ID, tagId);
-				userTagType = Tag.TAG_TYPE_C_CREATOR;
+			for (final String t : tagTitles) {
+				final String tagTitle = t.trim();
+				JSONObject tag = tagRepository.getByTitle(tagTitle);
+				String tagId;
+				int userTagType;
+				final int articleCmtCnt = article.optInt(Article.ARTICLE_COMMENT_CNT);
+				if (null == tag) {
+					LOGGER.log(Level.TRACE, "Found a new tag [title={0}] in article [title={1}]", tagTitle,
+							article.optString(Article.ARTICLE_TITLE));
+					tag = new JSONObject();
+					tag.put(Tag.TAG_TITLE, tagTitle);
+					String tagURI = tagTitle;
+					try {
+						tagURI = URLEncoder.encode(tagTitle, "UTF-8");
+					} catch (final UnsupportedEncodingException e) {
+						LOGGER.log(Level.ERROR, "Encode tag title [" + tagTitle + "] error", e);
+					}
+					tag.put(Tag.TAG_URI, tagURI);
+					tag.put(Tag.TAG_CSS, "");
+					tag.put(Tag.TAG_REFERENCE_CNT, 1);
+					tag.put(Tag.TAG_COMMENT_CNT, articleCmtCnt);
+					tag.put(Tag.TAG_FOLLOWER_CNT, 0);
+					tag.put(Tag.TAG_LINK_CNT, 0);
+					tag.put(Tag.TAG_DESCRIPTION, "");
+					tag.put(Tag.TAG_ICON_PATH, "");
+					tag.put(Tag.TAG_STATUS, 0);
+					tag.put(Tag.TAG_GOOD_CNT, 0);
+					tag.put(Tag.TAG_BAD_CNT, 0);
+					tag.put(Tag.TAG_SEO_TITLE, tagTitle);
+					tag.put(Tag.TAG_SEO_KEYWORDS, tagTitle);
+					tag.put(Tag.TAG_SEO_DESC, "");
+					tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+
+					tagId = tagRepository.add(tag);
+					tag.put(Keys.OBJECT_ID, tagId);
+					userTagType = Tag.TAG_TYPE_C_CREATOR;
+
+					final JSONObject tagCntOption = optionRepository.get(Option.ID_C_STATISTIC_TAG_COUNT);
+					final int tagCnt = tagCntOption.optInt(Option.OPTION_VALUE);
+					tagCntOption.put(Option.OPTION_VALUE, tagCnt + 1);
+					optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
+
+					author.put(UserExt.USER_TAG_COUNT, author.optInt(UserExt.USER_TAG_COUNT) + 1);
+				} else {
+					tagId = tag.optString(Keys.OBJECT_ID);
+					LOGGER.log(Level.TRACE, "Found a existing tag[title={0}, id={1}] in article[title={2}]",
+							tag.optString(Tag.TAG_TITLE), tag.optString(Keys.OBJECT_ID),
+							article.optString(Article.ARTICLE_TITLE));
+					final JSONObject tagTmp = new JSONObject();
+					tagTmp.put(Keys.OBJECT_ID, tagId);
+					final String title = tag.optString(Tag.TAG_TITLE);
+
+					tagTmp.put(Tag.TAG_TITLE, title);
+					tagTmp.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + articleCmtCnt);
+					tagTmp.put(Tag.TAG_STATUS, tag.optInt(Tag.TAG_STATUS));
+					tagTmp.put(Tag.TAG_REFERENCE_CNT, tag.optInt(Tag.TAG_REFERENCE_CNT) + 1);
+					tagTmp.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT));
+					tagTmp.put(Tag.TAG_LINK_CNT, tag.optInt(Tag.TAG_LINK_CNT));
+					tagTmp.put(Tag.TAG_DESCRIPTION, tag.optString(Tag.TAG_DESCRIPTION));
+					tagTmp.put(Tag.TAG_ICON_PATH, tag.optString(Tag.TAG_ICON_PATH));
+					tagTmp.put(Tag.TAG_GOOD_CNT, tag.optInt(Tag.TAG_GOOD_CNT));
+					tagTmp.put(Tag.TAG_BAD_CNT, tag.optInt(Tag.TAG_BAD_CNT));
+					tagTmp.put(Tag.TAG_SEO_DESC, tag.optString(Tag.TAG_SEO_DESC));
+					tagTmp.put(Tag.TAG_SEO_KEYWORDS, tag.optString(Tag.TAG_SEO_KEYWORDS));
+					tagTmp.put(Tag.TAG_SEO_TITLE, tag.optString(Tag.TAG_SEO_TITLE));
+					tagTmp.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+					tagTmp.put(Tag.TAG_URI, tag.optString(Tag.TAG_URI));
+					tagTmp.put(Tag.TAG_CSS, tag.optString(Tag.TAG_CSS));
+
+					tagRepository.update(tagId, tagTmp);
+
+					userTagType = Tag.TAG_TYPE_C_ARTICLE;
+				}
 
-				final JSONObject tagCntOption = optionRepository.get(Option.ID_C_STATISTIC_TAG_COUNT);
-				final int tagCnt = tagCntOption.optInt(Option.OPTION_VALUE);
-				tagCntOption.put(Option.OPTION_VALUE, tagCnt + 1);
-				optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
+				// Tag-Article relation
+				final JSONObject tagArticleRelation = new JSONObject();
+				tagArticleRelation.put(Tag.TAG + "_" + Keys.OBJECT_ID, tagId);
+				tagArticleRelation.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, article.optString(Keys.OBJECT_ID));
+				tagArticleRelation.put(Article.ARTICLE_LATEST_CMT_TIME, article.optLong(Article.ARTICLE_LATEST_CMT_TIME));
+				tagArticleRelation.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
+				tagArticleRelation.put(Article.REDDIT_SCORE, article.optDouble(Article.REDDIT_SCORE, 0D));
+				tagArticleRelation.put(Article.ARTICLE_PERFECT, article.optInt(Article.ARTICLE_PERFECT));
+				tagArticleRepository.add(tagArticleRelation);
+
+				final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+
+				// User-Tag relation
+				if (Tag.TAG_TYPE_C_ARTICLE == userTagType) {
+					userTagRepository.removeByUserIdAndTagId(authorId, tagId, Tag.TAG_TYPE_C_ARTICLE);
+				}
 
-				author.put(UserExt.USER_TAG_COUNT, author.optInt(UserExt.USER_TAG_COUNT) + 1);
-			} else {
-				tagId = tag.optString(Keys.OBJECT_ID);
-				LOGGER.log(Level.TRACE, "Found a existing tag[title={0}, id={1}] in article[title={2}]",
-						tag.optString(Tag.TAG_TITLE), tag.optString(Keys.OBJECT_ID),
-						article.optString(Article.ARTICLE_TITLE));
-				final JSONObject tagTmp = new JSONObject();
-				tagTmp.put(Keys.OBJECT_ID, tagId);
-				final String title = tag.optString(Tag.TAG_TITLE);
-
-				tagTmp.put(Tag.TAG_TITLE, title);
-				tagTmp.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + articleCmtCnt);
-				tagTmp.put(Tag.TAG_STATUS, tag.optInt(Tag.TAG_STATUS));
-				tagTmp.put(Tag.TAG_REFERENCE_CNT, tag.optInt(Tag.TAG_REFERENCE_CNT) + 1);
-				tagTmp.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT));
-				tagTmp.put(Tag.TAG_LINK_CNT, tag.optInt(Tag.TAG_LINK_CNT));
-				tagTmp.put(Tag.TAG_DESCRIPTION, tag.optString(Tag.TAG_DESCRIPTION));
-				tagTmp.put(Tag.TAG_ICON_PATH, tag.optString(Tag.TAG_ICON_PATH));
-				tagTmp.put(Tag.TAG_GOOD_CNT, tag.optInt(Tag.TAG_GOOD_CNT));
-				tagTmp.put(Tag.TAG_BAD_CNT, tag.optInt(Tag.TAG_BAD_CNT));
-				tagTmp.put(Tag.TAG_SEO_DESC, tag.optString(Tag.TAG_SEO_DESC));
-				tagTmp.put(Tag.TAG_SEO_KEYWORDS, tag.optString(Tag.TAG_SEO_KEYWORDS));
-				tagTmp.put(Tag.TAG_SEO_TITLE, tag.optString(Tag.TAG_SEO_TITLE));
-				tagTmp.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
-				tagTmp.put(Tag.TAG_URI, tag.optString(Tag.TAG_URI));
-				tagTmp.put(Tag.TAG_CSS, tag.optString(Tag.TAG_CSS));
-
-				tagRepository.update(tagId, tagTmp);
-
-				userTagType = Tag.TAG_TYPE_C_ARTICLE;
+				final JSONObject userTagRelation = new JSONObject();
+				userTagRelation.put(Tag.TAG + '_' + Keys.OBJECT_ID, tagId);
+				if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == article.optInt(Article.ARTICLE_ANONYMOUS)) {
+					userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, "0");
+				} else {
+					userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, authorId);
+				}
+				userTagRelation.put(Common.TYPE, userTagType);
+				userTagRepository.add(userTagRelation);
 			}
 
-			// Tag-Article relation
-			final JSONObject tagArticleRelation = new JSONObject();
-			tagArticleRelation.put(Tag.TAG + "_" + Keys.OBJECT_ID, tagId);
-			tagArticleRelation.put(Article.ARTICLE + "_" + Keys.OBJECT_ID, article.optString(Keys.OBJECT_ID));
-			tagArticleRelation.put(Article.ARTICLE_LATEST_CMT_TIME, article.optLong(Article.ARTICLE_LATEST_CMT_TIME));
-			tagArticleRelation.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
-			tagArticleRelation.put(Article.REDDIT_SCORE, article.optDouble(Article.REDDIT_SCORE, 0D));
-			tagArticleRelation.put(Article.ARTICLE_PERFECT, article.optInt(Article.ARTICLE_PERFECT));
-			tagArticleRepository.add(tagArticleRelation);
-
-			final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+			final String[] tags = articleTags.split(",");
+			final StringBuilder builder = new StringBuilder();
+			for (final String tagTitle : tags) {
+				final JSONObject tag = tagRepository.getByTitle(tagTitle);
 
-			// User-Tag relation
-			if (Tag.TAG_TYPE_C_ARTICLE == userTagType) {
-				userTagRepository.removeByUserIdAndTagId(authorId, tagId, Tag.TAG_TYPE_C_ARTICLE);
+				builder.append(tag.optString(Tag.TAG_TITLE)).append(",");
 			}
-
-			final JSONObject userTagRelation = new JSONObject();
-			userTagRelation.put(Tag.TAG + '_' + Keys.OBJECT_ID, tagId);
-			if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == article.optInt(Article.ARTICLE_ANONYMOUS)) {
-				userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, "0");
-			} else {
-				userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, authorId);
+			if (builder.length() > 0) {
+				builder.deleteCharAt(builder.length() - 1);
 			}
-			userTagRelation.put(Common.TYPE, userTagType);
-			userTagRepository.add(userTagRelation);
-		}
-
-		final String[] tags = articleTags.split(",");
-		final StringBuilder builder = new StringBuilder();
-		for (final String tagTitle : tags) {
-			final JSONObject tag = tagRepository.getByTitle(tagTitle);
 
-			builder.append(tag.optString(Tag.TAG_TITLE)).append(",");
+			article.put(Article.ARTICLE_TAGS, builder.toString());
 		}
-		if (builder.length() > 0) {
-			builder.deleteCharAt(builder.length() - 1);
-		}
-
-		article.put(Article.ARTICLE_TAGS, builder.toString());
 	}
 
 	/**
@@ -1728,9 +1734,8 @@ public class ArticleMgmtService {
 	 * @return generated article id
 	 * @throws ServiceException service exception
 	 */
-	public synchronized String addArticleByAdmin(final JSONObject requestJSONObject) throws ServiceException {
-		JSONObject author;
-
+	public String addArticleByAdmin(final JSONObject requestJSONObject) throws ServiceException {
+		final JSONObject author;
 		try {
 			author = userRepository.getByName(requestJSONObject.optString(User.USER_NAME));
 			if (null == author) {
@@ -1742,133 +1747,136 @@ public class ArticleMgmtService {
 			throw new ServiceException(e.getMessage());
 		}
 
-		final Transaction transaction = articleRepository.beginTransaction();
+		// Locks the author as addArticle() does
+		try (final Locks.Lease lease = Locks.lock(Locks.user(author.optString(Keys.OBJECT_ID)))) {
+			final Transaction transaction = articleRepository.beginTransaction();
 
-		try {
-			final long time = requestJSONObject.optLong(Common.TIME);
-			final String ret = String.valueOf(time);
-			final JSONObject article = new JSONObject();
-			article.put(Keys.OBJECT_ID, ret);
-			article.put(Article.ARTICLE_CLIENT_ARTICLE_ID, ret);
-			article.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, "");
-			article.put(Article.ARTICLE_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
-			article.put(Article.ARTICLE_TITLE, Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_TITLE)));
-			article.put(Article.ARTICLE_CONTENT,
-					Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_CONTENT)));
-			article.put(Article.ARTICLE_REWARD_CONTENT, requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT));
-			article.put(Article.ARTICLE_EDITOR_TYPE, 0);
-			article.put(Article.ARTICLE_SYNC_TO_CLIENT, false);
-			article.put(Article.ARTICLE_COMMENT_CNT, 0);
-			article.put(Article.ARTICLE_VIEW_CNT, 0);
-			article.put(Article.ARTICLE_GOOD_CNT, 0);
-			article.put(Article.ARTICLE_BAD_CNT, 0);
-			article.put(Article.ARTICLE_COLLECT_CNT, 0);
-			article.put(Article.ARTICLE_WATCH_CNT, 0);
-			article.put(Article.ARTICLE_COMMENTABLE, true);
-			article.put(Article.ARTICLE_CREATE_TIME, time);
-			article.put(Article.ARTICLE_UPDATE_TIME, time);
-			article.put(Article.ARTICLE_LATEST_CMT_TIME, 0);
-			article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
-			article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
-			article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
-			article.put(Article.REDDIT_SCORE, 0);
-			article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
-			article.put(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
-			article.put(Article.ARTICLE_REWARD_POINT, requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT));
-			article.put(Article.ARTICLE_CITY, "");
-			String articleTags = requestJSONObject.optString(Article.ARTICLE_TAGS);
-			articleTags = Tag.formatTags(articleTags);
-			boolean sandboxEnv = false;
-			if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
-				articleTags = Tag.TAG_TITLE_C_SANDBOX;
-				sandboxEnv = true;
-			}
+			try {
+				final long time = requestJSONObject.optLong(Common.TIME);
+				final String ret = String.valueOf(time);
+				final JSONObject article = new JSONObject();
+				article.put(Keys.OBJECT_ID, ret);
+				article.put(Article.ARTICLE_CLIENT_ARTICLE_ID, ret);
+				article.put(Article.ARTICLE_CLIENT_ARTICLE_PERMALINK, "");
+				article.put(Article.ARTICLE_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
+				article.put(Article.ARTICLE_TITLE, Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_TITLE)));
+				article.put(Article.ARTICLE_CONTENT,
+						Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_CONTENT)));
+				article.put(Article.ARTICLE_REWARD_CONTENT, requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT));
+				article.put(Article.ARTICLE_EDITOR_TYPE, 0);
+				article.put(Article.ARTICLE_SYNC_TO_CLIENT, false);
+				article.put(Article.ARTICLE_COMMENT_CNT, 0);
+				article.put(Article.ARTICLE_VIEW_CNT, 0);
+				article.put(Article.ARTICLE_GOOD_CNT, 0);
+				article.put(Article.ARTICLE_BAD_CNT, 0);
+				article.put(Article.ARTICLE_COLLECT_CNT, 0);
+				article.put(Article.ARTICLE_WATCH_CNT, 0);
+				article.put(Article.ARTICLE_COMMENTABLE, true);
+				article.put(Article.ARTICLE_CREATE_TIME, time);
+				article.put(Article.ARTICLE_UPDATE_TIME, time);
+				article.put(Article.ARTICLE_LATEST_CMT_TIME, 0);
+				article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
+				article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
+				article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
+				article.put(Article.REDDIT_SCORE, 0);
+				article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
+				article.put(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
+				article.put(Article.ARTICLE_REWARD_POINT, requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT));
+				article.put(Article.ARTICLE_CITY, "");
+				String articleTags = requestJSONObject.optString(Article.ARTICLE_TAGS);
+				articleTags = Tag.formatTags(articleTags);
+				boolean sandboxEnv = false;
+				if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
+					articleTags = Tag.TAG_TITLE_C_SANDBOX;
+					sandboxEnv = true;
+				}
 
-			String[] tagTitles = articleTags.split(",");
-			if (!sandboxEnv && tagTitles.length < TAG_MAX_CNT && tagTitles.length < 3
-					&& !Tag.containsReservedTags(articleTags)) {
-				final String content = article.optString(Article.ARTICLE_TITLE) + " "
-						+ Jsoup.parse("<p>" + article.optString(Article.ARTICLE_CONTENT) + "</p>").text();
-				final List<String> genTags = tagQueryService.generateTags(content, TAG_MAX_CNT);
-				if (!genTags.isEmpty()) {
-					articleTags = articleTags + "," + StringUtils.join(genTags, ",");
-					articleTags = Tag.formatTags(articleTags);
-					articleTags = Tag.useHead(articleTags, TAG_MAX_CNT);
+				String[] tagTitles = articleTags.split(",");
+				if (!sandboxEnv && tagTitles.length < TAG_MAX_CNT && tagTitles.length < 3
+						&& !Tag.containsReservedTags(articleTags)) {
+					final String content = article.optString(Article.ARTICLE_TITLE) + " "
+							+ Jsoup.parse("<p>" + article.optString(Article.ARTICLE_CONTENT) + "</p>").text();
+					final List<String> genTags = tagQueryService.generateTags(content, TAG_MAX_CNT);
+					if (!genTags.isEmpty()) {
+						articleTags = articleTags + "," + StringUtils.join(genTags, ",");
+						articleTags = Tag.formatTags(articleTags);
+						articleTags = Tag.useHead(articleTags, TAG_MAX_CNT);
+					}
 				}
-			}
 
-			if (StringUtils.isBlank(articleTags)) {
-				articleTags = "B3log";
-			}
+				if (StringUtils.isBlank(articleTags)) {
+					articleTags = "B3log";
+				}
 
-			articleTags = Tag.formatTags(articleTags);
-			article.put(Article.ARTICLE_TAGS, articleTags);
-			tagTitles = articleTags.split(",");
+				articleTags = Tag.formatTags(articleTags);
+				article.put(Article.ARTICLE_TAGS, articleTags);
+				tagTitles = articleTags.split(",");
 
-			tag(tagTitles, article, author);
+				tag(tagTitles, article, author);
 
-			final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
-			article.put(Article.ARTICLE_IP, ip);
+				final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
+				article.put(Article.ARTICLE_IP, ip);
 
-			String ua = requestJSONObject.optString(Article.ARTICLE_UA);
-			if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-				ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-			}
-			article.put(Article.ARTICLE_UA, ua);
+				String ua = requestJSONObject.optString(Article.ARTICLE_UA);
+				if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+					ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+				}
+				article.put(Article.ARTICLE_UA, ua);
 
-			article.put(Article.ARTICLE_STICK, 0L);
-			article.put(Article.ARTICLE_ANONYMOUS, Article.ARTICLE_ANONYMOUS_C_PUBLIC);
-			article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
-			article.put(Article.ARTICLE_ANONYMOUS_VIEW, Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL);
-			article.put(Article.ARTICLE_AUDIO_URL, "");
+				article.put(Article.ARTICLE_STICK, 0L);
+				article.put(Article.ARTICLE_ANONYMOUS, Article.ARTICLE_ANONYMOUS_C_PUBLIC);
+				article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
+				article.put(Article.ARTICLE_ANONYMOUS_VIEW, Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL);
+				article.put(Article.ARTICLE_AUDIO_URL, "");
 
-			final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
-			final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
-			articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
-			optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
+				final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
+				final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
+				articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
+				optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
 
-			author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
-			author.put(UserExt.USER_LATEST_ARTICLE_TIME, time);
-			// Updates user article count (and new tag count), latest article time
-			userRepository.update(author.optString(Keys.OBJECT_ID), author);
+				author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
+				author.put(UserExt.USER_LATEST_ARTICLE_TIME, time);
+				// Updates user article count (and new tag count), latest article time
+				userRepository.update(author.optString(Keys.OBJECT_ID), author);
+
+				final String articleId = articleRepository.add(article);
 
-			final String articleId = articleRepository.add(article);
+				// Revision
+				final JSONObject revision = new JSONObject();
+				revision.put(Revision.REVISION_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
+				final JSONObject revisionData = new JSONObject();
+				revisionData.put(Article.ARTICLE_TITLE, article.optString(Article.ARTICLE_TITLE));
+				revisionData.put(Article.ARTICLE_CONTENT, article.optString(Article.ARTICLE_CONTENT));
+				revision.put(Revision.REVISION_DATA, revisionData.toString());
+				revision.put(Revision.REVISION_DATA_ID, articleId);
+				revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
 
-			// Revision
-			final JSONObject revision = new JSONObject();
-			revision.put(Revision.REVISION_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
-			final JSONObject revisionData = new JSONObject();
-			revisionData.put(Article.ARTICLE_TITLE, article.optString(Article.ARTICLE_TITLE));
-			revisionData.put(Article.ARTICLE_CONTENT, article.optString(Article.ARTICLE_CONTENT));
-			revision.put(Revision.REVISION_DATA, revisionData.toString());
-			revision.put(Revision.REVISION_DATA_ID, articleId);
-			revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
+				revisionRepository.add(revision);
 
-			revisionRepository.add(revision);
+				transaction.commit();
 
-			transaction.commit();
+				// Grows the tag graph
+				tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
 
-			// Grows the tag graph
-			tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
+				// Event
+				final JSONObject eventData = new JSONObject();
+				eventData.put(Common.FROM_CLIENT, false);
+				eventData.put(Article.ARTICLE, article);
+				try {
+					eventManager.fireEventAsynchronously(new Event<>(ADD_ARTICLE, eventData));
+				} catch (final EventException e) {
+					LOGGER.log(Level.ERROR, e.getMessage(), e);
+				}
 
-			// Event
-			final JSONObject eventData = new JSONObject();
-			eventData.put(Common.FROM_CLIENT, false);
-			eventData.put(Article.ARTICLE, article);
-			try {
-				eventManager.fireEventAsynchronously(new Event<>(ADD_ARTICLE, eventData));
-			} catch (final EventException e) {
-				LOGGER.log(Level.ERROR, e.getMessage(), e);
-			}
+				return ret;
+			} catch (final RepositoryException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
 
-			return ret;
-		} catch (final RepositoryException e) {
-			if (transaction.isActive()) {
-				transaction.rollback();
+				LOGGER.log(Level.ERROR, "Admin adds an article failed", e);
+				throw new ServiceException(e.getMessage());
 			}
-
-			LOGGER.log(Level.ERROR, "Admin adds an article failed", e);
-			throw new ServiceException(e.getMessage());
 		}
 	}
 
@@ -34,6 +34,7 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.*;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ArticleFeedCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
 import org.b3log.symphony.processor.channel.ArticleChannel;
@@ -59,7 +60,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 2.27.36.1, Jan 6, 2018
+ * @version 2.28.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -153,6 +154,12 @@ public class ArticleQueryService {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Article feed cache.
+     */
+    @Inject
+    private ArticleFeedCache articleFeedCache;
+
     /**
      * Gets following user articles.
      *
@@ -879,6 +886,17 @@ public class ArticleQueryService {
     public List<JSONObject> getArticlesByTag(final int avatarViewMode, final int sortMode, final JSONObject tag,
                                              final int currentPageNum, final int pageSize) throws ServiceException {
         try {
+            if (articleFeedCache.isLoaded()) {
+                final List<JSONObject> ret = getFeedArticles(ArticleFeedCache.Feed.ofTagSortMode(sortMode),
+                        tag.optString(Tag.TAG_TITLE), currentPageNum, pageSize);
+                organizeArticles(avatarViewMode, ret);
+
+                final Integer participantsCnt = Symphonys.getInt("tagArticleParticipantsCnt");
+                genParticipants(avatarViewMode, ret, participantsCnt);
+
+                return ret;
+            }
+
             Query query = new Query();
             switch (sortMode) {
                 case 0:
@@ -1479,6 +1497,28 @@ public class ArticleQueryService {
         return query;
     }
 
+    /**
+     * Gets a page of articles of the specified feed, article ids come from the feed cache and articles come from the
+     * article cache.
+     *
+     * @param feed           the specified feed
+     * @param tagTitle       the specified tag title, required by tag feeds
+     * @param currentPageNum the specified current page number
+     * @param pageSize       the specified page size
+     * @return articles, returns an empty list if not found
+     * @throws RepositoryException repository exception
+     */
+    private List<JSONObject> getFeedArticles(final ArticleFeedCache.Feed feed, final String tagTitle,
+                                             final int currentPageNum, final int pageSize) throws RepositoryException {
+        Stopwatchs.start("Get feed articles");
+        try {
+            final List<String> ids = articleFeedCache.getIds(feed, tagTitle, (currentPageNum - 1) * pageSize, pageSize);
+            return new ArrayList<>(articleRepository.get(ids).values());
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
     /**
      * Gets the recent (sort by create time) articles with the specified fetch size.
      *
@@ -1530,21 +1570,36 @@ public class ArticleQueryService {
                 query = makeRecentDefaultQuery(currentPageNum, fetchSize);
         }
 
-        JSONObject result = null;
+        List<JSONObject> articles;
+        int pageCount;
+        if (articleFeedCache.isLoaded()) {
+            final ArticleFeedCache.Feed feed = ArticleFeedCache.Feed.ofRecentSortMode(sortMode);
+            try {
+                articles = getFeedArticles(feed, null, currentPageNum, fetchSize);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets articles failed", e);
 
-        try {
-            Stopwatchs.start("Query recent articles");
+                throw new ServiceException(e);
+            }
+            pageCount = (int) Math.ceil(articleFeedCache.count(feed, null) / (double) fetchSize);
+        } else {
+            JSONObject result = null;
 
-            result = articleRepository.get(query);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets articles failed", e);
+            try {
+                Stopwatchs.start("Query recent articles");
 
-            throw new ServiceException(e);
-        } finally {
-            Stopwatchs.end();
-        }
+                result = articleRepository.get(query);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets articles failed", e);
 
-        final int pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+                throw new ServiceException(e);
+            } finally {
+                Stopwatchs.end();
+            }
+
+            pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+            articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
+        }
 
         final JSONObject pagination = new JSONObject();
         ret.put(Pagination.PAGINATION, pagination);
@@ -1555,9 +1610,6 @@ public class ArticleQueryService {
         pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
         pagination.put(Pagination.PAGINATION_PAGE_NUMS, (Object) pageNums);
 
-        final JSONArray data = result.optJSONArray(Keys.RESULTS);
-        final List<JSONObject> articles = CollectionUtils.jsonArrayToList(data);
-
         try {
             organizeArticles(avatarViewMode, articles);
         } catch (final RepositoryException e) {
@@ -1582,6 +1634,14 @@ public class ArticleQueryService {
      */
     public List<JSONObject> getIndexRecentArticles(final int avatarViewMode) throws ServiceException {
         try {
+            if (articleFeedCache.isLoaded()) {
+                final List<JSONObject> ret = getFeedArticles(ArticleFeedCache.Feed.INDEX_RECENT, null, 1,
+                        Symphonys.getInt("indexListCnt"));
+                organizeArticles(avatarViewMode, ret);
+
+                return ret;
+            }
+
             List<JSONObject> ret;
             Stopwatchs.start("Query index recent articles");
             try {
@@ -1643,12 +1703,16 @@ public class ArticleQueryService {
 
         try {
             List<JSONObject> ret;
-            Stopwatchs.start("Query hot articles");
-            try {
-                final JSONObject result = articleRepository.get(query);
-                ret = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
-            } finally {
-                Stopwatchs.end();
+            if (articleFeedCache.isLoaded()) {
+                ret = getFeedArticles(ArticleFeedCache.Feed.TOP, null, 1, fetchSize);
+            } else {
+                Stopwatchs.start("Query hot articles");
+                try {
+                    final JSONObject result = articleRepository.get(query);
+                    ret = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
+                } finally {
+                    Stopwatchs.end();
+                }
             }
 
             organizeArticles(avatarViewMode, ret);
@@ -1710,21 +1774,36 @@ public class ArticleQueryService {
 
         final JSONObject ret = new JSONObject();
 
-        JSONObject result = null;
+        List<JSONObject> articles;
+        int pageCount;
+        if (articleFeedCache.isLoaded()) {
+            final ArticleFeedCache.Feed feed = ArticleFeedCache.Feed.PERFECT;
+            try {
+                articles = getFeedArticles(feed, null, currentPageNum, fetchSize);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets articles failed", e);
 
-        try {
-            Stopwatchs.start("Query recent articles");
+                throw new ServiceException(e);
+            }
+            pageCount = (int) Math.ceil(articleFeedCache.count(feed, null) / (double) fetchSize);
+        } else {
+            JSONObject result = null;
 
-            result = articleRepository.get(query);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets articles failed", e);
+            try {
+                Stopwatchs.start("Query recent articles");
 
-            throw new ServiceException(e);
-        } finally {
-            Stopwatchs.end();
-        }
+                result = articleRepository.get(query);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets articles failed", e);
 
-        final int pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+                throw new ServiceException(e);
+            } finally {
+                Stopwatchs.end();
+            }
+
+            pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+            articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
+        }
 
         final JSONObject pagination = new JSONObject();
         ret.put(Pagination.PAGINATION, pagination);
@@ -1735,9 +1814,6 @@ public class ArticleQueryService {
         pagination.put(Pagination.PAGINATION_PAGE_COUNT, pageCount);
         pagination.put(Pagination.PAGINATION_PAGE_NUMS, (Object) pageNums);
 
-        final JSONArray data = result.optJSONArray(Keys.RESULTS);
-        final List<JSONObject> articles = CollectionUtils.jsonArrayToList(data);
-
         try {
             organizeArticles(avatarViewMode, articles);
         } catch (final RepositoryException e) {
@@ -0,0 +1,365 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.ChatRoomCache;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.processor.channel.ChatRoomChannel;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Markdowns;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Chat room management service.
+ * <p>
+ * Sending a message only validates and enqueues it. A single pipeline thread drains the queue in batches, renders the
+ * messages (short links, emotions, Markdown), stores them in {@link ChatRoomCache} (ring buffer and append-only log),
+ * broadcasts the batch and updates the senders' latest comment time. Bot replies are fetched on
+ * {@link Symphonys#EXECUTOR_SERVICE} and enqueued again as rendered messages, so a slow bot never stalls the room.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class ChatRoomMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ChatRoomMgmtService.class);
+
+    /**
+     * Maximum count of queued messages.
+     */
+    private static final int QUEUE_SIZE = 4096;
+
+    /**
+     * Maximum count of messages processed in one batch.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Robot mention.
+     */
+    private static final String ROBOT_MENTION = "@" + TuringQueryService.ROBOT_NAME + " ";
+
+    /**
+     * Pipeline queue.
+     */
+    private final BlockingQueue<Task> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+    /**
+     * Pipeline thread.
+     */
+    private volatile Thread pipeline;
+
+    /**
+     * Chat room cache.
+     */
+    @Inject
+    private ChatRoomCache chatRoomCache;
+
+    /**
+     * Short link query service.
+     */
+    @Inject
+    private ShortLinkQueryService shortLinkQueryService;
+
+    /**
+     * Turing query service.
+     */
+    @Inject
+    private TuringQueryService turingQueryService;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Adds a chat room message sent by the specified user.
+     *
+     * @param user    the specified user
+     * @param content the specified message content (Markdown)
+     * @return {@code true} if the message is accepted, returns {@code false} if the room is too busy
+     */
+    public boolean addChatRoomMsg(final JSONObject user, final String content) {
+        final JSONObject msg = new JSONObject();
+        msg.put(User.USER_NAME, user.optString(User.USER_NAME));
+        msg.put(UserExt.USER_AVATAR_URL, user.optString(UserExt.USER_AVATAR_URL));
+        msg.put(Common.CONTENT, content);
+
+        return enqueue(new Task(msg, user));
+    }
+
+    /**
+     * Adds a rendered chat room message, for example, replies from bots.
+     *
+     * @param msg the specified message, for example,
+     *            <pre>
+     *            {
+     *                "userName": "",
+     *                "userAvatarURL": "",
+     *                "content": "" // HTML
+     *            }
+     *            </pre>
+     * @return {@code true} if the message is accepted, returns {@code false} if the room is too busy
+     */
+    public boolean addRenderedChatRoomMsg(final JSONObject msg) {
+        return enqueue(new Task(msg, null));
+    }
+
+    /**
+     * Starts the pipeline, loads history messages first.
+     */
+    public synchronized void start() {
+        if (null != pipeline) {
+            return;
+        }
+
+        chatRoomCache.loadMessages();
+
+        pipeline = new Thread(this::run, "ChatRoomPipeline");
+        pipeline.setDaemon(true);
+        pipeline.start();
+    }
+
+    /**
+     * Stops the pipeline, the queued messages are processed before this method returns.
+     */
+    public synchronized void stop() {
+        if (null == pipeline) {
+            return;
+        }
+
+        pipeline.interrupt();
+        try {
+            pipeline.join(3000);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pipeline = null;
+
+        chatRoomCache.close();
+    }
+
+    /**
+     * Renders the specified Markdown content.
+     *
+     * @param content the specified content
+     * @return HTML
+     */
+    String render(final String content) {
+        String ret = shortLinkQueryService.linkArticle(content);
+        ret = shortLinkQueryService.linkTag(ret);
+        ret = Emotions.convert(ret);
+        ret = Markdowns.toHTML(ret);
+
+        return Markdowns.clean(ret, "");
+    }
+
+    /**
+     * Updates the latest comment time of the specified users.
+     * <p>
+     * Only the latest comment time column is written, the users were read on request threads and may be stale by now,
+     * writing them back whole would revert points changed in the meantime.
+     * </p>
+     *
+     * @param users the specified users, &lt;userId, user&gt;
+     */
+    void updateLatestCmtTime(final Map<String, JSONObject> users) {
+        Symphonys.EXECUTOR_SERVICE.submit(() -> {
+            for (final Map.Entry<String, JSONObject> user : users.entrySet()) {
+                final Transaction transaction = userRepository.beginTransaction();
+                try {
+                    userRepository.updateLatestCmtTime(user.getKey(),
+                            user.getValue().optLong(UserExt.USER_LATEST_CMT_TIME));
+                    transaction.commit();
+                } catch (final Exception e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+
+                    LOGGER.log(Level.ERROR, "Update user latest comment time failed", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Processes the specified batch.
+     *
+     * @param batch the specified batch
+     */
+    void process(final List<Task> batch) {
+        final List<JSONObject> msgs = new ArrayList<>(batch.size());
+        final Map<String, JSONObject> senders = new LinkedHashMap<>();
+
+        for (final Task task : batch) {
+            final JSONObject msg = task.msg;
+            if (null == task.sender) {
+                msgs.add(msg);
+
+                continue;
+            }
+
+            try {
+                final String content = render(msg.optString(Common.CONTENT));
+                msg.put(Common.CONTENT, content);
+                msgs.add(msg);
+
+                if (content.contains(ROBOT_MENTION)) {
+                    replyRobot(msg.optString(User.USER_NAME), content.replaceAll(ROBOT_MENTION, ""));
+                }
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Renders chat room message failed", e);
+
+                continue;
+            }
+
+            task.sender.put(UserExt.USER_LATEST_CMT_TIME, System.currentTimeMillis());
+            senders.put(task.sender.optString(Keys.OBJECT_ID), task.sender);
+        }
+
+        if (msgs.isEmpty()) {
+            return;
+        }
+
+        chatRoomCache.putMessages(msgs);
+        ChatRoomChannel.notifyChat(msgs);
+
+        if (!senders.isEmpty()) {
+            updateLatestCmtTime(senders);
+        }
+    }
+
+    /**
+     * Runs the pipeline until interrupted, then drains the queue.
+     */
+    private void run() {
+        final List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        boolean running = true;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running) {
+                    batch.add(queue.take());
+                }
+                queue.drainTo(batch, BATCH_SIZE - batch.size());
+
+                process(batch);
+            } catch (final InterruptedException e) {
+                running = false;
+            } catch (final Throwable e) {
+                // Keeps the pipeline alive, otherwise the room stops until restart
+                LOGGER.log(Level.ERROR, "Processes chat room messages failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Asks the robot with the specified question and adds the reply to the room asynchronously.
+     *
+     * @param userName the specified asking user name
+     * @param question the specified question
+     */
+    private void replyRobot(final String userName, final String question) {
+        Symphonys.EXECUTOR_SERVICE.submit(() -> {
+            final String xiaoVSaid = turingQueryService.chat(userName, question);
+            if (null == xiaoVSaid) {
+                return;
+            }
+
+            final JSONObject xiaoVMsg = new JSONObject();
+            xiaoVMsg.put(User.USER_NAME, TuringQueryService.ROBOT_NAME);
+            xiaoVMsg.put(UserExt.USER_AVATAR_URL, TuringQueryService.ROBOT_AVATAR + "?imageView2/1/w/48/h/48/interlace/0/q/100");
+            xiaoVMsg.put(Common.CONTENT, "<p>@" + userName + " " + xiaoVSaid + "</p>");
+
+            addRenderedChatRoomMsg(xiaoVMsg);
+        });
+    }
+
+    /**
+     * Enqueues the specified task, starts the pipeline if it is not started.
+     *
+     * @param task the specified task
+     * @return {@code true} if enqueued, returns {@code false} if the queue is full
+     */
+    private boolean enqueue(final Task task) {
+        if (null == pipeline) {
+            start();
+        }
+
+        if (!queue.offer(task)) {
+            LOGGER.log(Level.WARN, "Chat room pipeline is full, drops message of [{0}]", task.msg.optString(User.USER_NAME));
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Pipeline task.
+     */
+    static final class Task {
+
+        /**
+         * Message.
+         */
+        private final JSONObject msg;
+
+        /**
+         * Sender, {@code null} if the message has been rendered.
+         */
+        private final JSONObject sender;
+
+        /**
+         * Constructs a task.
+         *
+         * @param msg    the specified message
+         * @param sender the specified sender, {@code null} if the message has been rendered
+         */
+        Task(final JSONObject msg, final JSONObject sender) {
+            this.msg = msg;
+            this.sender = sender;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.b3log.latke.util.Ids;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
 import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Locks;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
@@ -47,7 +48,7 @@ import java.util.Locale;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.13.11.20, May 8, 2017
+ * @version 2.13.12.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -317,222 +318,225 @@ public class CommentMgmtService {
      * @return generated comment id
      * @throws ServiceException service exception
      */
-    public synchronized String addComment(final JSONObject requestJSONObject) throws ServiceException {
-        final long currentTimeMillis = System.currentTimeMillis();
-        final JSONObject commenter = requestJSONObject.optJSONObject(Comment.COMMENT_T_COMMENTER);
-        final String commentAuthorId = requestJSONObject.optString(Comment.COMMENT_AUTHOR_ID);
-        final boolean fromClient = requestJSONObject.has(Comment.COMMENT_CLIENT_COMMENT_ID);
-        final String articleId = requestJSONObject.optString(Comment.COMMENT_ON_ARTICLE_ID);
-        final String ip = requestJSONObject.optString(Comment.COMMENT_IP);
-        String ua = requestJSONObject.optString(Comment.COMMENT_UA);
-        final int commentAnonymous = requestJSONObject.optInt(Comment.COMMENT_ANONYMOUS);
-        final int commentViewMode = requestJSONObject.optInt(UserExt.USER_COMMENT_VIEW_MODE);
-
-        if (currentTimeMillis - commenter.optLong(UserExt.USER_LATEST_CMT_TIME) < Symphonys.getLong("minStepCmtTime")
-                && !Role.ROLE_ID_C_ADMIN.equals(commenter.optString(User.USER_ROLE))
-                && !UserExt.DEFAULT_CMTER_ROLE.equals(commenter.optString(User.USER_ROLE))) {
-            LOGGER.log(Level.WARN, "Adds comment too frequent [userName={0}]", commenter.optString(User.USER_NAME));
-            throw new ServiceException(langPropsService.get("tooFrequentCmtLabel"));
-        }
+    public String addComment(final JSONObject requestJSONObject) throws ServiceException {
+        try (final Locks.Lease lease = Locks.lock(Locks.article(requestJSONObject.optString(Comment.COMMENT_ON_ARTICLE_ID)),
+                Locks.user(requestJSONObject.optString(Comment.COMMENT_AUTHOR_ID)))) {
+            final long currentTimeMillis = System.currentTimeMillis();
+            final JSONObject commenter = requestJSONObject.optJSONObject(Comment.COMMENT_T_COMMENTER);
+            final String commentAuthorId = requestJSONObject.optString(Comment.COMMENT_AUTHOR_ID);
+            final boolean fromClient = requestJSONObject.has(Comment.COMMENT_CLIENT_COMMENT_ID);
+            final String articleId = requestJSONObject.optString(Comment.COMMENT_ON_ARTICLE_ID);
+            final String ip = requestJSONObject.optString(Comment.COMMENT_IP);
+            String ua = requestJSONObject.optString(Comment.COMMENT_UA);
+            final int commentAnonymous = requestJSONObject.optInt(Comment.COMMENT_ANONYMOUS);
+            final int commentViewMode = requestJSONObject.optInt(UserExt.USER_COMMENT_VIEW_MODE);
+
+            if (currentTimeMillis - commenter.optLong(UserExt.USER_LATEST_CMT_TIME) < Symphonys.getLong("minStepCmtTime")
+                    && !Role.ROLE_ID_C_ADMIN.equals(commenter.optString(User.USER_ROLE))
+                    && !UserExt.DEFAULT_CMTER_ROLE.equals(commenter.optString(User.USER_ROLE))) {
+                LOGGER.log(Level.WARN, "Adds comment too frequent [userName={0}]", commenter.optString(User.USER_NAME));
+                throw new ServiceException(langPropsService.get("tooFrequentCmtLabel"));
+            }
 
-        final String commenterName = commenter.optString(User.USER_NAME);
+            final String commenterName = commenter.optString(User.USER_NAME);
 
-        JSONObject article;
-        try {
-            // check if admin allow to add comment
-            final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_COMMENT);
+            JSONObject article;
+            try {
+                // check if admin allow to add comment
+                final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_COMMENT);
 
-            if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
-                throw new ServiceException(langPropsService.get("notAllowAddCommentLabel"));
-            }
+                if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
+                    throw new ServiceException(langPropsService.get("notAllowAddCommentLabel"));
+                }
 
-            final int balance = commenter.optInt(UserExt.USER_POINT);
+                final int balance = commenter.optInt(UserExt.USER_POINT);
 
-            if (Comment.COMMENT_ANONYMOUS_C_ANONYMOUS == commentAnonymous) {
-                final int anonymousPoint = Symphonys.getInt("anonymous.point");
-                if (balance < anonymousPoint) {
-                    String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
-                    anonymousEnabelPointLabel
-                            = anonymousEnabelPointLabel.replace("${point}", String.valueOf(anonymousPoint));
-                    throw new ServiceException(anonymousEnabelPointLabel);
+                if (Comment.COMMENT_ANONYMOUS_C_ANONYMOUS == commentAnonymous) {
+                    final int anonymousPoint = Symphonys.getInt("anonymous.point");
+                    if (balance < anonymousPoint) {
+                        String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
+                        anonymousEnabelPointLabel
+                                = anonymousEnabelPointLabel.replace("${point}", String.valueOf(anonymousPoint));
+                        throw new ServiceException(anonymousEnabelPointLabel);
+                    }
                 }
-            }
 
-            article = articleRepository.get(articleId);
+                article = articleRepository.get(articleId);
 
-            if (!fromClient && !TuringQueryService.ROBOT_NAME.equals(commenterName)) {
-                int pointSum = Pointtransfer.TRANSFER_SUM_C_ADD_COMMENT;
+                if (!fromClient && !TuringQueryService.ROBOT_NAME.equals(commenterName)) {
+                    int pointSum = Pointtransfer.TRANSFER_SUM_C_ADD_COMMENT;
 
-                // Point
-                final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-                if (articleAuthorId.equals(commentAuthorId)) {
-                    pointSum = Pointtransfer.TRANSFER_SUM_C_ADD_SELF_ARTICLE_COMMENT;
-                }
+                    // Point
+                    final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+                    if (articleAuthorId.equals(commentAuthorId)) {
+                        pointSum = Pointtransfer.TRANSFER_SUM_C_ADD_SELF_ARTICLE_COMMENT;
+                    }
 
-                if (balance - pointSum < 0) {
-                    throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+                    if (balance - pointSum < 0) {
+                        throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+                    }
                 }
+            } catch (final RepositoryException e) {
+                throw new ServiceException(e);
             }
-        } catch (final RepositoryException e) {
-            throw new ServiceException(e);
-        }
-
-        final int articleAnonymous = article.optInt(Article.ARTICLE_ANONYMOUS);
 
-        final Transaction transaction = commentRepository.beginTransaction();
-
-        try {
-            article.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT) + 1);
-            article.put(Article.ARTICLE_LATEST_CMTER_NAME, commenter.optString(User.USER_NAME));
-            if (Comment.COMMENT_ANONYMOUS_C_ANONYMOUS == commentAnonymous) {
-                article.put(Article.ARTICLE_LATEST_CMTER_NAME, UserExt.ANONYMOUS_USER_NAME);
-            }
-            article.put(Article.ARTICLE_LATEST_CMT_TIME, currentTimeMillis);
+            final int articleAnonymous = article.optInt(Article.ARTICLE_ANONYMOUS);
 
-            final String ret = Ids.genTimeMillisId();
-            final JSONObject comment = new JSONObject();
-            comment.put(Keys.OBJECT_ID, ret);
+            final Transaction transaction = commentRepository.beginTransaction();
 
-            String content = requestJSONObject.optString(Comment.COMMENT_CONTENT).
-                    replace("_esc_enter_88250_", "<br/>"); // Solo client escape
+            try {
+                article.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT) + 1);
+                article.put(Article.ARTICLE_LATEST_CMTER_NAME, commenter.optString(User.USER_NAME));
+                if (Comment.COMMENT_ANONYMOUS_C_ANONYMOUS == commentAnonymous) {
+                    article.put(Article.ARTICLE_LATEST_CMTER_NAME, UserExt.ANONYMOUS_USER_NAME);
+                }
+                article.put(Article.ARTICLE_LATEST_CMT_TIME, currentTimeMillis);
 
-            comment.put(Comment.COMMENT_AUTHOR_ID, commentAuthorId);
-            comment.put(Comment.COMMENT_ON_ARTICLE_ID, articleId);
-            if (fromClient) {
-                comment.put(Comment.COMMENT_CLIENT_COMMENT_ID, requestJSONObject.optString(Comment.COMMENT_CLIENT_COMMENT_ID));
+                final String ret = Ids.genTimeMillisId();
+                final JSONObject comment = new JSONObject();
+                comment.put(Keys.OBJECT_ID, ret);
 
-                // Appends original commenter name
-                final String authorName = requestJSONObject.optString(Comment.COMMENT_T_AUTHOR_NAME);
-                content += " <i class='ft-small'>by " + authorName + "</i>";
-            }
+                String content = requestJSONObject.optString(Comment.COMMENT_CONTENT).
+                        replace("_esc_enter_88250_", "<br/>"); // Solo client escape
 
-            final String originalCmtId = requestJSONObject.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID);
-            comment.put(Comment.COMMENT_ORIGINAL_COMMENT_ID, originalCmtId);
+                comment.put(Comment.COMMENT_AUTHOR_ID, commentAuthorId);
+                comment.put(Comment.COMMENT_ON_ARTICLE_ID, articleId);
+                if (fromClient) {
+                    comment.put(Comment.COMMENT_CLIENT_COMMENT_ID, requestJSONObject.optString(Comment.COMMENT_CLIENT_COMMENT_ID));
 
-            if (StringUtils.isNotBlank(originalCmtId)) {
-                final JSONObject originalCmt = commentRepository.get(originalCmtId);
-                final int originalCmtReplyCnt = originalCmt.optInt(Comment.COMMENT_REPLY_CNT);
-                originalCmt.put(Comment.COMMENT_REPLY_CNT, originalCmtReplyCnt + 1);
-                commentRepository.update(originalCmtId, originalCmt);
+                    // Appends original commenter name
+                    final String authorName = requestJSONObject.optString(Comment.COMMENT_T_AUTHOR_NAME);
+                    content += " <i class='ft-small'>by " + authorName + "</i>";
+                }
 
-                notificationMgmtService.makeRead(commentAuthorId, Arrays.asList(originalCmtId));
-            }
+                final String originalCmtId = requestJSONObject.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID);
+                comment.put(Comment.COMMENT_ORIGINAL_COMMENT_ID, originalCmtId);
 
-            content = Emotions.toAliases(content);
-            content = content.replaceAll("\\s+$", ""); // https://github.com/b3log/symphony/issues/389
-            content += " "; // in case of tailing @user
-            content = content.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
-            content = content.replace(langPropsService.get("uploadingLabel", Locale.US), "");
+                if (StringUtils.isNotBlank(originalCmtId)) {
+                    final JSONObject originalCmt = commentRepository.get(originalCmtId);
+                    final int originalCmtReplyCnt = originalCmt.optInt(Comment.COMMENT_REPLY_CNT);
+                    originalCmt.put(Comment.COMMENT_REPLY_CNT, originalCmtReplyCnt + 1);
+                    commentRepository.update(originalCmtId, originalCmt);
 
-            comment.put(Comment.COMMENT_CONTENT, content);
-            comment.put(Comment.COMMENT_CREATE_TIME, System.currentTimeMillis());
-            comment.put(Comment.COMMENT_SHARP_URL, "/article/" + articleId + "#" + ret);
-            comment.put(Comment.COMMENT_STATUS, Comment.COMMENT_STATUS_C_VALID);
-            comment.put(Comment.COMMENT_IP, ip);
-
-            if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-                LOGGER.log(Level.WARN, "UA is too long [" + ua + "]");
-                ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-            }
-            comment.put(Comment.COMMENT_UA, ua);
-
-            comment.put(Comment.COMMENT_ANONYMOUS, commentAnonymous);
-
-            final JSONObject cmtCntOption = optionRepository.get(Option.ID_C_STATISTIC_CMT_COUNT);
-            final int cmtCnt = cmtCntOption.optInt(Option.OPTION_VALUE);
-            cmtCntOption.put(Option.OPTION_VALUE, String.valueOf(cmtCnt + 1));
-
-            articleRepository.update(articleId, article); // Updates article comment count, latest commenter name and time
-            optionRepository.update(Option.ID_C_STATISTIC_CMT_COUNT, cmtCntOption); // Updates global comment count
-            // Updates tag comment count and User-Tag relation
-            final String tagsString = article.optString(Article.ARTICLE_TAGS);
-            final String[] tagStrings = tagsString.split(",");
-            for (int i = 0; i < tagStrings.length; i++) {
-                final String tagTitle = tagStrings[i].trim();
-                final JSONObject tag = tagRepository.getByTitle(tagTitle);
-                tag.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + 1);
-                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
-
-                tagRepository.update(tag.optString(Keys.OBJECT_ID), tag);
-            }
+                    notificationMgmtService.makeRead(commentAuthorId, Arrays.asList(originalCmtId));
+                }
 
-            // Updates user comment count, latest comment time
-            commenter.put(UserExt.USER_COMMENT_COUNT, commenter.optInt(UserExt.USER_COMMENT_COUNT) + 1);
-            commenter.put(UserExt.USER_LATEST_CMT_TIME, currentTimeMillis);
-            userRepository.update(commenter.optString(Keys.OBJECT_ID), commenter);
+                content = Emotions.toAliases(content);
+                content = content.replaceAll("\\s+$", ""); // https://github.com/b3log/symphony/issues/389
+                content += " "; // in case of tailing @user
+                content = content.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
+                content = content.replace(langPropsService.get("uploadingLabel", Locale.US), "");
+
+                comment.put(Comment.COMMENT_CONTENT, content);
+                comment.put(Comment.COMMENT_CREATE_TIME, System.currentTimeMillis());
+                comment.put(Comment.COMMENT_SHARP_URL, "/article/" + articleId + "#" + ret);
+                comment.put(Comment.COMMENT_STATUS, Comment.COMMENT_STATUS_C_VALID);
+                comment.put(Comment.COMMENT_IP, ip);
+
+                if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+                    LOGGER.log(Level.WARN, "UA is too long [" + ua + "]");
+                    ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+                }
+                comment.put(Comment.COMMENT_UA, ua);
+
+                comment.put(Comment.COMMENT_ANONYMOUS, commentAnonymous);
+
+                final JSONObject cmtCntOption = optionRepository.get(Option.ID_C_STATISTIC_CMT_COUNT);
+                final int cmtCnt = cmtCntOption.optInt(Option.OPTION_VALUE);
+                cmtCntOption.put(Option.OPTION_VALUE, String.valueOf(cmtCnt + 1));
+
+                articleRepository.update(articleId, article); // Updates article comment count, latest commenter name and time
+                optionRepository.update(Option.ID_C_STATISTIC_CMT_COUNT, cmtCntOption); // Updates global comment count
+                // Updates tag comment count and User-Tag relation
+                final String tagsString = article.optString(Article.ARTICLE_TAGS);
+                final String[] tagStrings = tagsString.split(",");
+                for (int i = 0; i < tagStrings.length; i++) {
+                    final String tagTitle = tagStrings[i].trim();
+                    final JSONObject tag = tagRepository.getByTitle(tagTitle);
+                    tag.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + 1);
+                    tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+
+                    tagRepository.update(tag.optString(Keys.OBJECT_ID), tag);
+                }
 
-            comment.put(Comment.COMMENT_GOOD_CNT, 0);
-            comment.put(Comment.COMMENT_BAD_CNT, 0);
-            comment.put(Comment.COMMENT_SCORE, 0D);
-            comment.put(Comment.COMMENT_REPLY_CNT, 0);
-            comment.put(Comment.COMMENT_AUDIO_URL, "");
+                // Updates user comment count, latest comment time
+                commenter.put(UserExt.USER_COMMENT_COUNT, commenter.optInt(UserExt.USER_COMMENT_COUNT) + 1);
+                commenter.put(UserExt.USER_LATEST_CMT_TIME, currentTimeMillis);
+                userRepository.update(commenter.optString(Keys.OBJECT_ID), commenter);
 
-            // Adds the comment
-            final String commentId = commentRepository.add(comment);
+                comment.put(Comment.COMMENT_GOOD_CNT, 0);
+                comment.put(Comment.COMMENT_BAD_CNT, 0);
+                comment.put(Comment.COMMENT_SCORE, 0D);
+                comment.put(Comment.COMMENT_REPLY_CNT, 0);
+                comment.put(Comment.COMMENT_AUDIO_URL, "");
 
-            // Updates tag-article relation stat.
-            final List<JSONObject> tagArticleRels = tagArticleRepository.getByArticleId(articleId);
-            for (final JSONObject tagArticleRel : tagArticleRels) {
-                tagArticleRel.put(Article.ARTICLE_LATEST_CMT_TIME, currentTimeMillis);
-                tagArticleRel.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
+                // Adds the comment
+                final String commentId = commentRepository.add(comment);
 
-                tagArticleRepository.update(tagArticleRel.optString(Keys.OBJECT_ID), tagArticleRel);
-            }
+                // Updates tag-article relation stat.
+                final List<JSONObject> tagArticleRels = tagArticleRepository.getByArticleId(articleId);
+                for (final JSONObject tagArticleRel : tagArticleRels) {
+                    tagArticleRel.put(Article.ARTICLE_LATEST_CMT_TIME, currentTimeMillis);
+                    tagArticleRel.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
 
-            // Revision
-            final JSONObject revision = new JSONObject();
-            revision.put(Revision.REVISION_AUTHOR_ID, comment.optString(Comment.COMMENT_AUTHOR_ID));
+                    tagArticleRepository.update(tagArticleRel.optString(Keys.OBJECT_ID), tagArticleRel);
+                }
 
-            final JSONObject revisionData = new JSONObject();
-            revisionData.put(Comment.COMMENT_CONTENT, content);
+                // Revision
+                final JSONObject revision = new JSONObject();
+                revision.put(Revision.REVISION_AUTHOR_ID, comment.optString(Comment.COMMENT_AUTHOR_ID));
 
-            revision.put(Revision.REVISION_DATA, revisionData.toString());
-            revision.put(Revision.REVISION_DATA_ID, commentId);
-            revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_COMMENT);
+                final JSONObject revisionData = new JSONObject();
+                revisionData.put(Comment.COMMENT_CONTENT, content);
 
-            revisionRepository.add(revision);
+                revision.put(Revision.REVISION_DATA, revisionData.toString());
+                revision.put(Revision.REVISION_DATA_ID, commentId);
+                revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_COMMENT);
 
-            transaction.commit();
+                revisionRepository.add(revision);
 
-            if (!fromClient && Comment.COMMENT_ANONYMOUS_C_PUBLIC == commentAnonymous
-                    && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous
-                    && !TuringQueryService.ROBOT_NAME.equals(commenterName)) {
-                // Point
-                final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-                if (articleAuthorId.equals(commentAuthorId)) {
-                    pointtransferMgmtService.transfer(commentAuthorId, Pointtransfer.ID_C_SYS,
-                            Pointtransfer.TRANSFER_TYPE_C_ADD_COMMENT, Pointtransfer.TRANSFER_SUM_C_ADD_SELF_ARTICLE_COMMENT,
-                            commentId, System.currentTimeMillis());
-                } else {
-                    pointtransferMgmtService.transfer(commentAuthorId, articleAuthorId,
-                            Pointtransfer.TRANSFER_TYPE_C_ADD_COMMENT, Pointtransfer.TRANSFER_SUM_C_ADD_COMMENT,
-                            commentId, System.currentTimeMillis());
+                transaction.commit();
+
+                if (!fromClient && Comment.COMMENT_ANONYMOUS_C_PUBLIC == commentAnonymous
+                        && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous
+                        && !TuringQueryService.ROBOT_NAME.equals(commenterName)) {
+                    // Point
+                    final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+                    if (articleAuthorId.equals(commentAuthorId)) {
+                        pointtransferMgmtService.transfer(commentAuthorId, Pointtransfer.ID_C_SYS,
+                                Pointtransfer.TRANSFER_TYPE_C_ADD_COMMENT, Pointtransfer.TRANSFER_SUM_C_ADD_SELF_ARTICLE_COMMENT,
+                                commentId, System.currentTimeMillis());
+                    } else {
+                        pointtransferMgmtService.transfer(commentAuthorId, articleAuthorId,
+                                Pointtransfer.TRANSFER_TYPE_C_ADD_COMMENT, Pointtransfer.TRANSFER_SUM_C_ADD_COMMENT,
+                                commentId, System.currentTimeMillis());
+                    }
+
+                    livenessMgmtService.incLiveness(commentAuthorId, Liveness.LIVENESS_COMMENT);
                 }
 
-                livenessMgmtService.incLiveness(commentAuthorId, Liveness.LIVENESS_COMMENT);
-            }
-
-            // Event
-            final JSONObject eventData = new JSONObject();
-            eventData.put(Comment.COMMENT, comment);
-            eventData.put(Common.FROM_CLIENT, fromClient);
-            eventData.put(Article.ARTICLE, article);
-            eventData.put(UserExt.USER_COMMENT_VIEW_MODE, commentViewMode);
+                // Event
+                final JSONObject eventData = new JSONObject();
+                eventData.put(Comment.COMMENT, comment);
+                eventData.put(Common.FROM_CLIENT, fromClient);
+                eventData.put(Article.ARTICLE, article);
+                eventData.put(UserExt.USER_COMMENT_VIEW_MODE, commentViewMode);
+
+                try {
+                    eventManager.fireEventAsynchronously(new Event<JSONObject>(ADD_COMMENT_TO_ARTICLE, eventData));
+                } catch (final EventException e) {
+                    LOGGER.log(Level.ERROR, e.getMessage(), e);
+                }
 
-            try {
-                eventManager.fireEventAsynchronously(new Event<JSONObject>(ADD_COMMENT_TO_ARTICLE, eventData));
-            } catch (final EventException e) {
-                LOGGER.log(Level.ERROR, e.getMessage(), e);
-            }
+                return ret;
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
 
-            return ret;
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+                LOGGER.log(Level.ERROR, "Adds a comment failed", e);
+                throw new ServiceException(e);
             }
-
-            LOGGER.log(Level.ERROR, "Adds a comment failed", e);
-            throw new ServiceException(e);
         }
     }
 
@@ -30,13 +30,14 @@ import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.repository.ArticleRepository;
 import org.b3log.symphony.repository.FollowRepository;
 import org.b3log.symphony.repository.TagRepository;
+import org.b3log.symphony.util.Locks;
 import org.json.JSONObject;
 
 /**
  * Follow management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.2, Jan 18, 2017
+ * @version 1.3.2.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Service
@@ -226,53 +227,55 @@ public class FollowMgmtService {
      * @param followingType the specified following type
      * @throws RepositoryException repository exception
      */
-    private synchronized void follow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
-        if (followRepository.exists(followerId, followingId, followingType)) {
-            return;
-        }
-
-        if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
-            final JSONObject tag = tagRepository.get(followingId);
-            if (null == tag) {
-                LOGGER.log(Level.ERROR, "Not found tag [id={0}] to follow", followingId);
-
+    private void follow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+        try (final Locks.Lease lease = Locks.lock(Locks.user(followerId), getFollowingKey(followingId, followingType))) {
+            if (followRepository.exists(followerId, followingId, followingType)) {
                 return;
             }
 
-            tag.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT) + 1);
-            tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+            if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
+                final JSONObject tag = tagRepository.get(followingId);
+                if (null == tag) {
+                    LOGGER.log(Level.ERROR, "Not found tag [id={0}] to follow", followingId);
 
-            tagRepository.update(followingId, tag);
-        } else if (Follow.FOLLOWING_TYPE_C_ARTICLE == followingType) {
-            final JSONObject article = articleRepository.get(followingId);
-            if (null == article) {
-                LOGGER.log(Level.ERROR, "Not found article [id={0}] to follow", followingId);
+                    return;
+                }
 
-                return;
-            }
+                tag.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT) + 1);
+                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
 
-            article.put(Article.ARTICLE_COLLECT_CNT, article.optInt(Article.ARTICLE_COLLECT_CNT) + 1);
+                tagRepository.update(followingId, tag);
+            } else if (Follow.FOLLOWING_TYPE_C_ARTICLE == followingType) {
+                final JSONObject article = articleRepository.get(followingId);
+                if (null == article) {
+                    LOGGER.log(Level.ERROR, "Not found article [id={0}] to follow", followingId);
 
-            articleRepository.update(followingId, article);
-        } else if (Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH == followingType) {
-            final JSONObject article = articleRepository.get(followingId);
-            if (null == article) {
-                LOGGER.log(Level.ERROR, "Not found article [id={0}] to watch", followingId);
+                    return;
+                }
 
-                return;
-            }
+                article.put(Article.ARTICLE_COLLECT_CNT, article.optInt(Article.ARTICLE_COLLECT_CNT) + 1);
 
-            article.put(Article.ARTICLE_WATCH_CNT, article.optInt(Article.ARTICLE_WATCH_CNT) + 1);
+                articleRepository.update(followingId, article);
+            } else if (Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH == followingType) {
+                final JSONObject article = articleRepository.get(followingId);
+                if (null == article) {
+                    LOGGER.log(Level.ERROR, "Not found article [id={0}] to watch", followingId);
 
-            articleRepository.update(followingId, article);
-        }
+                    return;
+                }
 
-        final JSONObject follow = new JSONObject();
-        follow.put(Follow.FOLLOWER_ID, followerId);
-        follow.put(Follow.FOLLOWING_ID, followingId);
-        follow.put(Follow.FOLLOWING_TYPE, followingType);
+                article.put(Article.ARTICLE_WATCH_CNT, article.optInt(Article.ARTICLE_WATCH_CNT) + 1);
+
+                articleRepository.update(followingId, article);
+            }
 
-        followRepository.add(follow);
+            final JSONObject follow = new JSONObject();
+            follow.put(Follow.FOLLOWER_ID, followerId);
+            follow.put(Follow.FOLLOWING_ID, followingId);
+            follow.put(Follow.FOLLOWING_TYPE, followingType);
+
+            followRepository.add(follow);
+        }
     }
 
     /**
@@ -283,53 +286,74 @@ public class FollowMgmtService {
      * @param followingType the specified following type
      * @throws RepositoryException repository exception
      */
-    public synchronized void unfollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
-        followRepository.removeByFollowerIdAndFollowingId(followerId, followingId, followingType);
-
-        if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
-            final JSONObject tag = tagRepository.get(followingId);
-            if (null == tag) {
-                LOGGER.log(Level.ERROR, "Not found tag [id={0}] to unfollow", followingId);
-
-                return;
-            }
-
-            tag.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT) - 1);
-            if (tag.optInt(Tag.TAG_FOLLOWER_CNT) < 0) {
-                tag.put(Tag.TAG_FOLLOWER_CNT, 0);
-            }
-
-            tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
-
-            tagRepository.update(followingId, tag);
-        } else if (Follow.FOLLOWING_TYPE_C_ARTICLE == followingType) {
-            final JSONObject article = articleRepository.get(followingId);
-            if (null == article) {
-                LOGGER.log(Level.ERROR, "Not found article [id={0}] to unfollow", followingId);
-
-                return;
-            }
-
-            article.put(Article.ARTICLE_COLLECT_CNT, article.optInt(Article.ARTICLE_COLLECT_CNT) - 1);
-            if (article.optInt(Article.ARTICLE_COLLECT_CNT) < 0) {
-                article.put(Article.ARTICLE_COLLECT_CNT, 0);
-            }
-
-            articleRepository.update(followingId, article);
-        } else if (Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH == followingType) {
-            final JSONObject article = articleRepository.get(followingId);
-            if (null == article) {
-                LOGGER.log(Level.ERROR, "Not found article [id={0}] to unwatch", followingId);
-
-                return;
-            }
-
-            article.put(Article.ARTICLE_WATCH_CNT, article.optInt(Article.ARTICLE_WATCH_CNT) - 1);
-            if (article.optInt(Article.ARTICLE_WATCH_CNT) < 0) {
-                article.put(Article.ARTICLE_WATCH_CNT, 0);
+    public void unfollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+        try (final Locks.Lease lease = Locks.lock(Locks.user(followerId), getFollowingKey(followingId, followingType))) {
+            followRepository.removeByFollowerIdAndFollowingId(followerId, followingId, followingType);
+
+            if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
+                final JSONObject tag = tagRepository.get(followingId);
+                if (null == tag) {
+                    LOGGER.log(Level.ERROR, "Not found tag [id={0}] to unfollow", followingId);
+
+                    return;
+                }
+
+                tag.put(Tag.TAG_FOLLOWER_CNT, tag.optInt(Tag.TAG_FOLLOWER_CNT) - 1);
+                if (tag.optInt(Tag.TAG_FOLLOWER_CNT) < 0) {
+                    tag.put(Tag.TAG_FOLLOWER_CNT, 0);
+                }
+
+                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+
+                tagRepository.update(followingId, tag);
+            } else if (Follow.FOLLOWING_TYPE_C_ARTICLE == followingType) {
+                final JSONObject article = articleRepository.get(followingId);
+                if (null == article) {
+                    LOGGER.log(Level.ERROR, "Not found article [id={0}] to unfollow", followingId);
+
+                    return;
+                }
+
+                article.put(Article.ARTICLE_COLLECT_CNT, article.optInt(Article.ARTICLE_COLLECT_CNT) - 1);
+                if (article.optInt(Article.ARTICLE_COLLECT_CNT) < 0) {
+                    article.put(Article.ARTICLE_COLLECT_CNT, 0);
+                }
+
+                articleRepository.update(followingId, article);
+            } else if (Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH == followingType) {
+                final JSONObject article = articleRepository.get(followingId);
+                if (null == article) {
+                    LOGGER.log(Level.ERROR, "Not found article [id={0}] to unwatch", followingId);
+
+                    return;
+                }
+
+                article.put(Article.ARTICLE_WATCH_CNT, article.optInt(Article.ARTICLE_WATCH_CNT) - 1);
+                if (article.optInt(Article.ARTICLE_WATCH_CNT) < 0) {
+                    article.put(Article.ARTICLE_WATCH_CNT, 0);
+                }
+
+                articleRepository.update(followingId, article);
             }
+        }
+    }
 
-            articleRepository.update(followingId, article);
+    /**
+     * Gets the lock key of the specified following entity.
+     *
+     * @param followingId   the specified following entity id
+     * @param followingType the specified following type
+     * @return lock key
+     */
+    private static String getFollowingKey(final String followingId, final int followingType) {
+        switch (followingType) {
+            case Follow.FOLLOWING_TYPE_C_USER:
+                return Locks.user(followingId);
+            case Follow.FOLLOWING_TYPE_C_ARTICLE:
+            case Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH:
+                return Locks.article(followingId);
+            default:
+                return "following-" + followingType + "-" + followingId;
         }
     }
 }
@@ -19,6 +19,7 @@ package org.b3log.symphony.service;
 
 import org.apache.commons.lang.RandomStringUtils;
 import org.b3log.latke.Keys;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -37,7 +38,7 @@ import org.json.JSONObject;
  * Invitecode management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.3, Aug 30, 2016
+ * @version 1.2.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -58,6 +59,7 @@ public class InvitecodeMgmtService {
      * Expires invitecodes.
      */
     @Transactional
+    @Scheduled(schedule = "every 6 minutes", description = "Expire invitecode")
     public void expireInvitecodes() {
         final long now = System.currentTimeMillis();
         final long expired = now - Symphonys.getLong("invitecode.expired");
@@ -19,6 +19,7 @@ package org.b3log.symphony.service;
 
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -46,7 +47,7 @@ import java.util.*;
  * Mail management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.6, Apr 24, 2017
+ * @version 1.0.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Service
@@ -107,6 +108,7 @@ public class MailMgmtService {
     /**
      * Send weekly newsletter.
      */
+    @Scheduled(schedule = "every 5 minutes", description = "Send weekly newsletter")
     public void sendWeeklyNewsletter() {
         final Calendar calendar = Calendar.getInstance();
         final int hour = calendar.get(Calendar.HOUR_OF_DAY);
@@ -18,6 +18,7 @@
 package org.b3log.symphony.service;
 
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -27,13 +28,14 @@ import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.PointtransferRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.Locks;
 import org.json.JSONObject;
 
 /**
  * Pointtransfer management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.1.5, Jan 29, 2018
+ * @version 1.3.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -58,6 +60,17 @@ public class PointtransferMgmtService {
 
     /**
      * Transfers point from the specified from id to the specified to id with type, sum, data id and time.
+     * <p>
+     * Balances are moved by conditional updates in the database (the from balance never goes negative), so transfers
+     * of different users run in parallel, on one node or several. Transfers of an
+     * {@link Pointtransfer#isIdempotent(int) idempotent} type are recorded at most once per data id, a repeated
+     * transfer returns the id of the recorded one.
+     * </p>
+     * <p>
+     * The data id is locked only if the current thread holds no keys. Under an outer lock the data id is either
+     * generated in that critical section or owned by the locked keys (for example the user of a daily check-in), and
+     * locking it there would break the lock order.
+     * </p>
      *
      * @param fromId the specified from id, may be system "sys"
      * @param toId   the specified to id, may be system "sys"
@@ -67,34 +80,54 @@ public class PointtransferMgmtService {
      * @param time   the specified time
      * @return transfer record id, returns {@code null} if transfer failed
      */
-    public synchronized String transfer(final String fromId, final String toId, final int type, final int sum,
-                                        final String dataId, final long time) {
+    public String transfer(final String fromId, final String toId, final int type, final int sum,
+                           final String dataId, final long time) {
         if (StringUtils.equals(fromId, toId)) { // for example the commenter is the article author
             return null;
         }
 
+        final boolean idempotent = Pointtransfer.isIdempotent(type) && StringUtils.isNotBlank(dataId);
+        final Locks.Lease lease;
+        try {
+            lease = Locks.lock(idempotent && !Locks.isLocked() ? "pointtransfer-" + type + "-" + dataId : null);
+        } catch (final IllegalStateException e) {
+            LOGGER.log(Level.ERROR, "Transfer [fromId=" + fromId + ", toId=" + toId + ", sum=" + sum + ", type=" +
+                    type + ", dataId=" + dataId + "] error", e);
+
+            return null;
+        }
+
         final Transaction transaction = pointtransferRepository.beginTransaction();
         try {
+            if (idempotent) {
+                final JSONObject existed = pointtransferRepository.getByDataId(type, fromId, toId, dataId);
+                if (null != existed) {
+                    transaction.rollback();
+                    LOGGER.log(Level.WARN, "Skips duplicated transfer [fromId=" + fromId + ", toId=" + toId + ", sum="
+                            + sum + ", type=" + type + ", dataId=" + dataId + "]");
+
+                    return existed.optString(Keys.OBJECT_ID);
+                }
+            }
+
             int fromBalance = 0;
             if (!Pointtransfer.ID_C_SYS.equals(fromId)) {
-                final JSONObject fromUser = userRepository.get(fromId);
-                fromBalance = fromUser.optInt(UserExt.USER_POINT) - sum;
-                if (fromBalance < 0) {
+                final JSONObject fromUser = userRepository.updatePoint(fromId, -sum);
+                if (null == fromUser) {
                     throw new Exception("Insufficient balance");
                 }
 
-                fromUser.put(UserExt.USER_POINT, fromBalance);
-                fromUser.put(UserExt.USER_USED_POINT, fromUser.optInt(UserExt.USER_USED_POINT) + sum);
-                userRepository.update(fromId, fromUser);
+                fromBalance = fromUser.optInt(UserExt.USER_POINT);
             }
 
             int toBalance = 0;
             if (!Pointtransfer.ID_C_SYS.equals(toId)) {
-                final JSONObject toUser = userRepository.get(toId);
-                toBalance = toUser.optInt(UserExt.USER_POINT) + sum;
-                toUser.put(UserExt.USER_POINT, toBalance);
+                final JSONObject toUser = userRepository.updatePoint(toId, sum);
+                if (null == toUser) {
+                    throw new Exception("Not found user [id=" + toId + "]");
+                }
 
-                userRepository.update(toId, toUser);
+                toBalance = toUser.optInt(UserExt.USER_POINT);
             }
 
             final JSONObject pointtransfer = new JSONObject();
@@ -117,10 +150,16 @@ public class PointtransferMgmtService {
                 transaction.rollback();
             }
 
+            // Balances cached in the rolled back transaction are stale
+            userRepository.evict(fromId);
+            userRepository.evict(toId);
+
             LOGGER.log(Level.ERROR, "Transfer [fromId=" + fromId + ", toId=" + toId + ", sum=" + sum + ", type=" +
                     type + ", dataId=" + dataId + "] error", e);
 
             return null;
+        } finally {
+            lease.close();
         }
     }
 }
@@ -20,9 +20,7 @@ package org.b3log.symphony.service;
 import com.qiniu.storage.Configuration;
 import com.qiniu.storage.UploadManager;
 import com.qiniu.util.Auth;
-import jodd.io.ZipUtil;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
@@ -32,6 +30,7 @@ import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.RowHandler;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
@@ -41,20 +40,23 @@ import org.b3log.symphony.repository.ArticleRepository;
 import org.b3log.symphony.repository.CommentRepository;
 import org.b3log.symphony.repository.UserRepository;
 import org.b3log.symphony.util.Symphonys;
-import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Post (article/comment) export service.
+ * <p>
+ * Posts are exported as newline delimited JSON, zipped while they are scanned.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Jul 21, 2016
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -110,122 +112,161 @@ public class PostExportService {
             return null;
         }
 
-        final JSONArray posts = new JSONArray();
+        final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        final String fileKey = "export/" + userId + "/" + uuid + ".zip";
 
-        Query query = new Query().setFilter(
-                new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.EQUAL, userId)).
-                addProjection(Keys.OBJECT_ID, String.class).
-                addProjection(Article.ARTICLE_TITLE, String.class).
-                addProjection(Article.ARTICLE_TAGS, String.class).
-                addProjection(Article.ARTICLE_CONTENT, String.class).
-                addProjection(Article.ARTICLE_CREATE_TIME, Long.class);
+        final String tmpDir = System.getProperty("java.io.tmpdir");
+        final File zipFile = new File(tmpDir + "/" + uuid + ".zip");
+        LOGGER.info(zipFile.getPath());
 
         try {
-            final JSONArray articles = articleRepository.get(query).optJSONArray(Keys.RESULTS);
+            // Posts are streamed into the zip one line each, a user's whole history is never held in memory
+            long postCnt;
+            try (final OutputStream outputStream = new FileOutputStream(zipFile)) {
+                postCnt = exportPosts(userId, outputStream);
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Export posts failed", e);
+
+                return null;
+            }
+
+            LOGGER.info("Exporting posts [size=" + postCnt + "]");
 
-            for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                final JSONObject post = new JSONObject();
+            final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
+                    Pointtransfer.TRANSFER_TYPE_C_DATA_EXPORT, Pointtransfer.TRANSFER_SUM_C_DATA_EXPORT,
+                    String.valueOf(postCnt), System.currentTimeMillis());
+            if (!succ) {
+                return null;
+            }
+
+            if (Symphonys.getBoolean("qiniu.enabled")) {
+                final Auth auth = Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey"));
+                final UploadManager uploadManager = new UploadManager(new Configuration());
 
-                post.put("id", article.optString(Keys.OBJECT_ID));
+                uploadManager.put(zipFile, fileKey, auth.uploadToken(Symphonys.get("qiniu.bucket")),
+                        null, "application/zip", false);
 
-                final JSONObject content = new JSONObject();
-                content.put("title", article.optString(Article.ARTICLE_TITLE));
-                content.put("tags", article.optString(Article.ARTICLE_TAGS));
-                content.put("body", article.optString(Article.ARTICLE_CONTENT));
+                return Symphonys.get("qiniu.domain") + "/" + fileKey;
+            } else {
+                final String filePath = Symphonys.get("upload.dir") + fileKey;
 
-                post.put("content", content.toString());
-                post.put("created", Article.ARTICLE_CREATE_TIME);
-                post.put("type", "article");
+                FileUtils.moveFile(zipFile, new File(filePath));
 
-                posts.put(post);
+                return Latkes.getServePath() + "/upload/" + fileKey;
             }
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export articles failed", e);
+            LOGGER.log(Level.ERROR, "Uploading exprted data failed", e);
 
             return null;
+        } finally {
+            FileUtils.deleteQuietly(zipFile);
         }
+    }
 
-        query = new Query().setFilter(
-                new PropertyFilter(Comment.COMMENT_AUTHOR_ID, FilterOperator.EQUAL, userId)).
-                addProjection(Keys.OBJECT_ID, String.class).
-                addProjection(Comment.COMMENT_CONTENT, String.class).
-                addProjection(Comment.COMMENT_CREATE_TIME, Long.class);
+    /**
+     * Exports all posts of a user's specified with the given user id into the specified output stream as a zip with
+     * one entry "posts.ndjson", which holds a JSON object per line for each post.
+     *
+     * @param userId       the given user id
+     * @param outputStream the specified output stream, it is not closed
+     * @return count of the exported posts
+     * @throws Exception exception
+     */
+    long exportPosts(final String userId, final OutputStream outputStream) throws Exception {
+        final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+        zipOutputStream.putNextEntry(new ZipEntry("posts.ndjson"));
 
-        try {
-            final JSONArray comments = commentRepository.get(query).optJSONArray(Keys.RESULTS);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8));
+        final JSONObject post = new JSONObject();
+        final JSONObject content = new JSONObject();
 
-            for (int i = 0; i < comments.length(); i++) {
-                final JSONObject comment = comments.getJSONObject(i);
-                final JSONObject post = new JSONObject();
+        long ret = scanArticles(userId, article -> {
+            post.put("id", article.optString(Keys.OBJECT_ID));
 
-                post.put("id", comment.optString(Keys.OBJECT_ID));
+            content.put("title", article.optString(Article.ARTICLE_TITLE));
+            content.put("tags", article.optString(Article.ARTICLE_TAGS));
+            content.put("body", article.optString(Article.ARTICLE_CONTENT));
 
-                final JSONObject content = new JSONObject();
-                content.put("title", "");
-                content.put("tags", "");
-                content.put("body", comment.optString(Comment.COMMENT_CONTENT));
+            post.put("content", content.toString());
+            post.put("created", article.optLong(Article.ARTICLE_CREATE_TIME));
+            post.put("type", "article");
 
-                post.put("content", content.toString());
-                post.put("created", Comment.COMMENT_CREATE_TIME);
-                post.put("type", "comment");
+            writePost(writer, post);
 
-                posts.put(post);
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Export comments failed", e);
+            return true;
+        });
 
-            return null;
-        }
+        ret += scanComments(userId, comment -> {
+            post.put("id", comment.optString(Keys.OBJECT_ID));
 
-        LOGGER.info("Exporting posts [size=" + posts.length() + "]");
+            content.put("title", "");
+            content.put("tags", "");
+            content.put("body", comment.optString(Comment.COMMENT_CONTENT));
 
-        final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
-                Pointtransfer.TRANSFER_TYPE_C_DATA_EXPORT, Pointtransfer.TRANSFER_SUM_C_DATA_EXPORT,
-                String.valueOf(posts.length()), System.currentTimeMillis());
-        if (!succ) {
-            return null;
-        }
+            post.put("content", content.toString());
+            post.put("created", comment.optLong(Comment.COMMENT_CREATE_TIME));
+            post.put("type", "comment");
 
-        final String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-        String fileKey = "export/" + userId + "/" + uuid + ".zip";
+            writePost(writer, post);
 
-        final String tmpDir = System.getProperty("java.io.tmpdir");
-        String localFilePath = tmpDir + "/" + uuid + ".json";
-        LOGGER.info(localFilePath);
-        final File localFile = new File(localFilePath);
+            return true;
+        });
 
-        try {
-            final byte[] data = posts.toString(2).getBytes("UTF-8");
+        writer.flush();
+        zipOutputStream.closeEntry();
+        zipOutputStream.finish();
 
-            OutputStream output = new FileOutputStream(localFile);
-            IOUtils.write(data, output);
-            IOUtils.closeQuietly(output);
-
-            final File zipFile = ZipUtil.zip(localFile);
-
-            final FileInputStream inputStream = new FileInputStream(zipFile);
-            final byte[] zipData = IOUtils.toByteArray(inputStream);
-
-            if (Symphonys.getBoolean("qiniu.enabled")) {
-                final Auth auth = Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey"));
-                final UploadManager uploadManager = new UploadManager(new Configuration());
+        return ret;
+    }
 
-                uploadManager.put(zipData, fileKey, auth.uploadToken(Symphonys.get("qiniu.bucket")),
-                        null, "application/zip", false);
+    /**
+     * Scans articles of a user specified with the given user id.
+     *
+     * @param userId  the given user id
+     * @param handler the specified row handler
+     * @return count of the scanned articles
+     * @throws RepositoryException repository exception
+     */
+    long scanArticles(final String userId, final RowHandler handler) throws RepositoryException {
+        final Query query = new Query().setFilter(
+                new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.EQUAL, userId)).
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Article.ARTICLE_TITLE, String.class).
+                addProjection(Article.ARTICLE_TAGS, String.class).
+                addProjection(Article.ARTICLE_CONTENT, String.class).
+                addProjection(Article.ARTICLE_CREATE_TIME, Long.class);
 
-                return Symphonys.get("qiniu.domain") + "/" + fileKey;
-            } else {
-                final String filePath = Symphonys.get("upload.dir") + fileKey;
+        return articleRepository.scan(query, handler);
+    }
 
-                FileUtils.copyFile(zipFile, new File(filePath));
+    /**
+     * Scans comments of a user specified with the given user id.
+     *
+     * @param userId  the given user id
+     * @param handler the specified row handler
+     * @return count of the scanned comments
+     * @throws RepositoryException repository exception
+     */
+    long scanComments(final String userId, final RowHandler handler) throws RepositoryException {
+        final Query query = new Query().setFilter(
+                new PropertyFilter(Comment.COMMENT_AUTHOR_ID, FilterOperator.EQUAL, userId)).
+                addProjection(Keys.OBJECT_ID, String.class).
+                addProjection(Comment.COMMENT_CONTENT, String.class).
+                addProjection(Comment.COMMENT_CREATE_TIME, Long.class);
 
-                return Latkes.getServePath() + "/upload/" + fileKey;
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Uploading exprted data failed", e);
+        return commentRepository.scan(query, handler);
+    }
 
-            return null;
-        }
+    /**
+     * Writes the specified post as a line of the exported newline delimited JSON.
+     *
+     * @param writer the specified writer
+     * @param post   the specified post
+     * @throws JSONException json exception
+     * @throws IOException   io exception
+     */
+    private static void writePost(final Writer writer, final JSONObject post) throws JSONException, IOException {
+        post.write(writer);
+        writer.write('\n');
     }
 }
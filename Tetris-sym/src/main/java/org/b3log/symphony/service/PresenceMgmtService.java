@@ -0,0 +1,218 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.repository.UserRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User presence management service.
+ * <p>
+ * Keeps the count of open user channel connections of each user in memory and answers {@link #isOnline(String)}
+ * directly. Users whose presence may have changed are marked dirty, and every {@link #FLUSH_INTERVAL} milliseconds the
+ * dirty users whose online state differs from the last persisted one are written in one transaction, so a reconnect
+ * storm costs at most one user update per user per flush.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.1, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class PresenceMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PresenceMgmtService.class);
+
+    /**
+     * Flush interval in milliseconds.
+     */
+    static final long FLUSH_INTERVAL = 10 * 1000;
+
+    /**
+     * Open connection counts, &lt;userId, count&gt;, offline users have no entry.
+     */
+    private final Map<String, Integer> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Users whose presence may have changed since the last flush.
+     */
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Persisted online flags, &lt;userId, online&gt;, only accessed by the flushing thread.
+     */
+    private final Map<String, Boolean> persisted = new HashMap<>();
+
+    /**
+     * Flusher.
+     */
+    private ScheduledExecutorService flusher;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Adds a connection of the specified user.
+     *
+     * @param userId the specified user id
+     */
+    public void addConnection(final String userId) {
+        if (1 == connections.merge(userId, 1, Integer::sum)) {
+            dirty.add(userId);
+        }
+    }
+
+    /**
+     * Removes a connection of the specified user, each added connection should be removed once.
+     *
+     * @param userId the specified user id
+     */
+    public void removeConnection(final String userId) {
+        if (null == connections.computeIfPresent(userId, (id, cnt) -> 1 == cnt ? null : cnt - 1)) {
+            dirty.add(userId);
+        }
+    }
+
+    /**
+     * Determines whether the specified user has open connections.
+     *
+     * @param userId the specified user id
+     * @return {@code true} if online, returns {@code false} otherwise
+     */
+    public boolean isOnline(final String userId) {
+        return connections.containsKey(userId);
+    }
+
+    /**
+     * Persists the online flags of the dirty users whose state changed.
+     *
+     * @return count of persisted users
+     */
+    public synchronized int flush() {
+        final Map<String, Boolean> changes = new HashMap<>();
+        for (final String userId : dirty) {
+            dirty.remove(userId);
+
+            final boolean online = isOnline(userId);
+            if (!Boolean.valueOf(online).equals(persisted.get(userId))) {
+                changes.put(userId, online);
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        if (persist(changes)) {
+            persisted.putAll(changes);
+        } else {
+            for (final String userId : changes.keySet()) {
+                dirty.add(userId); // Retries in the next flush
+            }
+        }
+
+        return changes.size();
+    }
+
+    /**
+     * Starts flushing presence.
+     */
+    public synchronized void start() {
+        if (null != flusher) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread ret = new Thread(runnable, "PresenceFlusher");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Flushes presence failed", e);
+            }
+        }, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops flushing presence, the pending changes are persisted before this method returns.
+     */
+    public synchronized void stop() {
+        if (null == flusher) {
+            return;
+        }
+
+        flusher.shutdownNow();
+        flusher = null;
+
+        flush();
+    }
+
+    /**
+     * Persists the specified online flags and the latest login time in one transaction, only these two columns are
+     * written so that concurrent changes of other user properties (points for example) are kept.
+     *
+     * @param changes the specified online flags, &lt;userId, online&gt;
+     * @return {@code true} if persisted, returns {@code false} otherwise
+     */
+    boolean persist(final Map<String, Boolean> changes) {
+        final long now = System.currentTimeMillis();
+        final Transaction transaction = userRepository.beginTransaction();
+        try {
+            for (final Map.Entry<String, Boolean> change : changes.entrySet()) {
+                userRepository.updatePresence(change.getKey(), change.getValue(), now);
+            }
+
+            transaction.commit();
+
+            return true;
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Persists presence of [" + changes.size() + "] users failed", e);
+
+            return false;
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+}
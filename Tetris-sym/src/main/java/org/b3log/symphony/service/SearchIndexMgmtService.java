@@ -0,0 +1,384 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcFactory;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.SearchOutbox;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.SearchOutboxRepository;
+import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search index management service.
+ * <p>
+ * Article changes are written to the search outbox instead of being sent to the search engines by the caller. An entry
+ * is keyed by the article id, so repeated updates of an article before it is indexed are coalesced into one entry.
+ * Every {@link #DRAIN_INTERVAL} milliseconds the indexer drains the outbox, up to {@link #BATCH_SIZE} entries per ES
+ * bulk request and Algolia batch request, with the article read at drain time. Entries stay in the outbox until the
+ * enabled engines accepted them, and are retried in the next drain otherwise.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class SearchIndexMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SearchIndexMgmtService.class);
+
+    /**
+     * Drain interval in milliseconds.
+     */
+    static final long DRAIN_INTERVAL = 1000;
+
+    /**
+     * Maximum count of entries sent in one request.
+     */
+    static final int BATCH_SIZE = 100;
+
+    /**
+     * Indexer.
+     */
+    private ScheduledExecutorService indexer;
+
+    /**
+     * Search outbox repository.
+     */
+    @Inject
+    private SearchOutboxRepository searchOutboxRepository;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Search management service.
+     */
+    @Inject
+    private SearchMgmtService searchMgmtService;
+
+    /**
+     * Queues indexing the specified article.
+     *
+     * @param articleId the specified article id
+     */
+    public void indexArticle(final String articleId) {
+        indexArticles(Collections.singletonList(articleId));
+    }
+
+    /**
+     * Queues indexing the specified articles.
+     *
+     * @param articleIds the specified article ids
+     */
+    public void indexArticles(final Collection<String> articleIds) {
+        if (!isAlgoliaEnabled() && !isESEnabled()) {
+            return;
+        }
+
+        enqueue(articleIds, SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE);
+    }
+
+    /**
+     * Queues removing the specified article from the index. Joins the transaction of the current thread if there is
+     * one, so the entry is committed or rolled back with the removal.
+     *
+     * @param articleId the specified article id
+     * @throws IllegalStateException if queuing failed in the joined transaction, the transaction must be rolled back
+     */
+    public void removeArticle(final String articleId) {
+        if (!isAlgoliaEnabled() && !isESEnabled()) {
+            return;
+        }
+
+        enqueue(Collections.singletonList(articleId), SearchOutbox.SEARCH_OUTBOX_OP_C_REMOVE);
+    }
+
+    /**
+     * Sends the queued entries to the enabled search engines until the outbox is empty or a request failed.
+     *
+     * @return count of sent entries
+     */
+    public synchronized int drain() {
+        int ret = 0;
+        try {
+            while (true) {
+                final List<JSONObject> entries = pending(BATCH_SIZE);
+                if (entries.isEmpty()) {
+                    break;
+                }
+
+                final List<JSONObject> docs = new ArrayList<>();
+                final List<String> removedIds = new ArrayList<>();
+                for (final JSONObject entry : entries) {
+                    final String articleId = entry.optString(Keys.OBJECT_ID);
+                    if (SearchOutbox.SEARCH_OUTBOX_OP_C_REMOVE == entry.optInt(SearchOutbox.SEARCH_OUTBOX_OP)) {
+                        removedIds.add(articleId);
+
+                        continue;
+                    }
+
+                    final JSONObject article = getArticle(articleId);
+                    if (null != article) { // Removed after queued
+                        docs.add(article);
+                    }
+                }
+
+                boolean sent = true;
+                if (isAlgoliaEnabled()) {
+                    final List<JSONObject> algoliaDocs = new ArrayList<>();
+                    for (final JSONObject doc : docs) {
+                        algoliaDocs.add(JSONs.clone(doc));
+                    }
+                    sent = searchMgmtService.batchAlgoliaDocuments(algoliaDocs, removedIds);
+                }
+
+                if (isESEnabled()) {
+                    sent = searchMgmtService.bulkESDocuments(docs, removedIds, Article.ARTICLE) && sent;
+                }
+
+                if (!sent) {
+                    LOGGER.log(Level.WARN, "Indexes [" + entries.size() + "] queued articles failed, retries later");
+
+                    break;
+                }
+
+                acknowledge(entries);
+                ret += entries.size();
+
+                if (entries.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Drains search outbox failed", e);
+        } finally {
+            JdbcRepository.dispose();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Starts draining the search outbox, creates the outbox table if it does not exist (upgrades from a version
+     * without it).
+     */
+    public synchronized void start() {
+        if (null != indexer) {
+            return;
+        }
+
+        initOutbox();
+
+        indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread ret = new Thread(runnable, "SearchIndexer");
+            ret.setDaemon(true);
+
+            return ret;
+        });
+        indexer.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL, DRAIN_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops draining the search outbox, the queued entries stay for the next start.
+     */
+    public synchronized void stop() {
+        if (null == indexer) {
+            return;
+        }
+
+        indexer.shutdownNow();
+        indexer = null;
+    }
+
+    /**
+     * Writes the specified operation of the specified articles to the outbox, replaces the queued entries of the
+     * articles.
+     *
+     * @param articleIds the specified article ids
+     * @param op         the specified operation, {@link SearchOutbox#SEARCH_OUTBOX_OP_C_UPDATE} or
+     *                   {@link SearchOutbox#SEARCH_OUTBOX_OP_C_REMOVE}
+     * @throws IllegalStateException if writing failed in the joined transaction of the current thread, the transaction
+     *                               must not be committed without the entries
+     */
+    void enqueue(final Collection<String> articleIds, final int op) {
+        final boolean joined = searchOutboxRepository.hasTransactionBegun();
+        final Transaction transaction = searchOutboxRepository.beginTransaction();
+        try {
+            final long now = System.currentTimeMillis();
+            for (final String articleId : articleIds) {
+                searchOutboxRepository.put(articleId, op, now);
+            }
+
+            if (!joined) {
+                transaction.commit();
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Queues search index of articles " + articleIds + " failed", e);
+
+            if (joined) {
+                throw new IllegalStateException("Queues search index of articles " + articleIds + " failed", e);
+            }
+
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        }
+    }
+
+    /**
+     * Gets the oldest queued entries, entries written at the same time are ordered by the article id.
+     *
+     * @param max the specified maximum count of entries
+     * @return entries
+     * @throws RepositoryException repository exception
+     */
+    List<JSONObject> pending(final int max) throws RepositoryException {
+        final Query query = new Query().setCurrentPageNum(1).setPageSize(max).setPageCount(1)
+                .addSort(SearchOutbox.SEARCH_OUTBOX_TIME, SortDirection.ASCENDING)
+                .addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+        final JSONArray entries = searchOutboxRepository.get(query).optJSONArray(Keys.RESULTS);
+
+        final List<JSONObject> ret = new ArrayList<>();
+        for (int i = 0; i < entries.length(); i++) {
+            ret.add(entries.optJSONObject(i));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Removes the specified sent entries from the outbox, entries written again after they were read are kept.
+     *
+     * @param entries the specified entries
+     * @throws RepositoryException repository exception
+     */
+    void acknowledge(final List<JSONObject> entries) throws RepositoryException {
+        final Transaction transaction = searchOutboxRepository.beginTransaction();
+        try {
+            for (final JSONObject entry : entries) {
+                final String articleId = entry.optString(Keys.OBJECT_ID);
+                final JSONObject current = searchOutboxRepository.get(articleId);
+                if (null != current && current.optLong(SearchOutbox.SEARCH_OUTBOX_TIME) == entry.optLong(SearchOutbox.SEARCH_OUTBOX_TIME)
+                        && current.optInt(SearchOutbox.SEARCH_OUTBOX_OP) == entry.optInt(SearchOutbox.SEARCH_OUTBOX_OP)) {
+                    searchOutboxRepository.remove(articleId);
+                }
+            }
+
+            transaction.commit();
+        } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the article to index, reads in a transaction so that the primary database is queried instead of a read
+     * replica which may not have the queued change yet.
+     *
+     * @param articleId the specified article id
+     * @return article, returns {@code null} if not found
+     * @throws RepositoryException repository exception
+     */
+    JSONObject getArticle(final String articleId) throws RepositoryException {
+        final Transaction transaction = articleRepository.beginTransaction();
+        try {
+            final JSONObject ret = articleRepository.get(articleId);
+            transaction.commit();
+
+            return ret;
+        } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Determines whether Algolia is enabled.
+     *
+     * @return {@code true} if enabled, returns {@code false} otherwise
+     */
+    boolean isAlgoliaEnabled() {
+        return Symphonys.getBoolean("algolia.enabled");
+    }
+
+    /**
+     * Determines whether ES is enabled.
+     *
+     * @return {@code true} if enabled, returns {@code false} otherwise
+     */
+    boolean isESEnabled() {
+        return Symphonys.getBoolean("es.enabled");
+    }
+
+    /**
+     * Creates the outbox table if it does not exist.
+     */
+    private void initOutbox() {
+        try {
+            searchOutboxRepository.count();
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.INFO, "Creates search outbox table");
+
+            final String tableName = searchOutboxRepository.getName();
+            try {
+                JdbcFactory.createJdbcFactory().createTable(tableName,
+                        JdbcRepositories.getRepositoriesMap().get(tableName));
+            } catch (final Exception ex) {
+                LOGGER.log(Level.ERROR, "Creates search outbox table [" + tableName + "] failed", ex);
+            }
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+}
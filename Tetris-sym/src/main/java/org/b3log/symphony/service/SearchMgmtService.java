@@ -26,20 +26,24 @@ import org.b3log.latke.urlfetch.*;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Search management service.
  * <p>
  * Uses <a href="https://www.elastic.co/products/elasticsearch">Elasticsearch</a> or
- * <a href="https://www.algolia.com">Algolia</a> as the underlying engine.
+ * <a href="https://www.algolia.com">Algolia</a> as the underlying engine. Documents are sent in bulk, see
+ * {@link SearchIndexMgmtService} for how article changes are queued.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.5, Jan 9, 2018
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -153,55 +157,77 @@ public class SearchMgmtService {
     }
 
     /**
-     * Updates/Adds indexing the specified document in ES.
+     * Indexes the specified documents and removes the specified documents in ES with one bulk request.
      *
-     * @param doc  the specified document
-     * @param type the specified document type
+     * @param docs       the specified documents to update/add
+     * @param removedIds the specified ids of the documents to remove
+     * @param type       the specified document type
+     * @return {@code true} if ES accepted the request, returns {@code false} otherwise
      */
-    public void updateESDocument(final JSONObject doc, final String type) {
-        final HTTPRequest request = new HTTPRequest();
-        request.setRequestMethod(HTTPRequestMethod.POST);
+    public boolean bulkESDocuments(final List<JSONObject> docs, final List<String> removedIds, final String type) {
+        if (docs.isEmpty() && removedIds.isEmpty()) {
+            return true;
+        }
+
+        final StringBuilder payload = new StringBuilder();
+        for (final JSONObject doc : docs) {
+            payload.append(new JSONObject().put("update", esAction(doc.optString(Keys.OBJECT_ID), type))).append('\n');
+            payload.append(new JSONObject().put("doc", doc).put("doc_as_upsert", true)).append('\n');
+        }
+        for (final String id : removedIds) {
+            payload.append(new JSONObject().put("delete", esAction(id, type))).append('\n');
+        }
 
         try {
-            request.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID) + "/_update"));
+            final HTTPRequest request = new HTTPRequest();
+            request.setRequestMethod(HTTPRequestMethod.POST);
+            request.setURL(new URL(getESServer() + "/_bulk"));
+            request.addHeader(new HTTPHeader("Content-Type", "application/x-ndjson"));
+            request.setPayload(payload.toString().getBytes("UTF-8"));
 
-            final JSONObject payload = new JSONObject();
-            payload.put("doc", doc);
-            payload.put("upsert", doc);
+            final HTTPResponse response = URL_FETCH_SVC.fetch(request);
+            final String content = new String(response.getContent(), "UTF-8");
+            if (200 != response.getResponseCode()) {
+                LOGGER.log(Level.WARN, "Bulk docs failed [code=" + response.getResponseCode() + ", response=" + content + "]");
 
-            request.setPayload(payload.toString().getBytes("UTF-8"));
+                return false;
+            }
 
-            URL_FETCH_SVC.fetchAsync(request);
+            if (new JSONObject(content).optBoolean("errors")) { // Failed items are not retried, like single updates
+                LOGGER.log(Level.WARN, "Bulk docs partially failed [response=" + content + "]");
+            }
+
+            return true;
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Updates doc failed", e);
+            LOGGER.log(Level.ERROR, "Bulk docs failed", e);
+
+            return false;
         }
     }
 
     /**
-     * Removes the specified document in ES.
+     * Indexes the specified documents and removes the specified documents in Algolia with one batch request.
      *
-     * @param doc  the specified document
-     * @param type the specified document type
+     * @param docs       the specified documents to update/add, the article content will be converted to text
+     * @param removedIds the specified ids of the documents to remove
+     * @return {@code true} if Algolia accepted the request, returns {@code false} otherwise
      */
-    public void removeESDocument(final JSONObject doc, final String type) {
-        final HTTPRequest request = new HTTPRequest();
-        request.setRequestMethod(HTTPRequestMethod.DELETE);
-
-        try {
-            request.setURL(new URL(ES_SERVER + "/" + ES_INDEX_NAME + "/" + type + "/" + doc.optString(Keys.OBJECT_ID)));
+    public boolean batchAlgoliaDocuments(final List<JSONObject> docs, final List<String> removedIds) {
+        final JSONArray requests = new JSONArray();
+        for (final JSONObject doc : docs) {
+            final JSONObject body = toAlgoliaDocument(doc);
+            if (null != body) {
+                requests.put(new JSONObject().put("action", "updateObject").put("body", body));
+            }
+        }
+        for (final String id : removedIds) {
+            requests.put(new JSONObject().put("action", "deleteObject").put("body", new JSONObject().put("objectID", id)));
+        }
 
-            URL_FETCH_SVC.fetchAsync(request);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Updates doc failed", e);
+        if (0 == requests.length()) {
+            return true;
         }
-    }
 
-    /**
-     * Updates/Adds indexing the specified document in Algolia.
-     *
-     * @param doc the specified document
-     */
-    public void updateAlgoliaDocument(final JSONObject doc) {
         final int maxRetries = 3;
         int retries = 1;
 
@@ -210,56 +236,32 @@ public class SearchMgmtService {
         final String key = Symphonys.get("algolia.adminKey");
 
         while (retries <= maxRetries) {
-            String host = appId + "-" + retries + ".algolianet.com";
+            final String host = getAlgoliaServer(appId, retries);
 
             try {
                 final HTTPRequest request = new HTTPRequest();
                 request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
                 request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-                request.setRequestMethod(HTTPRequestMethod.PUT);
-
-                final String id = doc.optString(Keys.OBJECT_ID);
-
-                String content = doc.optString(Article.ARTICLE_CONTENT);
-                content = Markdowns.toHTML(content);
-                content = Jsoup.parse(content).text();
-
-                doc.put(Article.ARTICLE_CONTENT, content);
-                final byte[] data = doc.toString().getBytes("UTF-8");
-
-                if (content.length() < 32) {
-                    LOGGER.log(Level.DEBUG, "This article is too small [length=" + data.length + "], so skip it [title="
-                            + doc.optString(Article.ARTICLE_TITLE) + ", id=" + id + "]");
-                    return;
-                }
-
-                if (data.length > 102400) {
-                    LOGGER.log(Level.DEBUG, "This article is too big [length=" + data.length + "], so skip it [title="
-                            + doc.optString(Article.ARTICLE_TITLE) + ", id=" + id + "]");
-                    return;
-                }
-
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/" + id));
-                request.setPayload(data);
+                request.setRequestMethod(HTTPRequestMethod.POST);
+                request.setURL(new URL(host + "/1/indexes/" + index + "/batch"));
+                request.setPayload(new JSONObject().put("requests", requests).toString().getBytes("UTF-8"));
 
                 final HTTPResponse response = URL_FETCH_SVC.fetch(request);
                 if (200 != response.getResponseCode()) {
                     LOGGER.warn(new String(response.getContent(), "UTF-8"));
+
+                    return false;
                 }
 
-                break;
+                return true;
             } catch (final UnknownHostException e) {
                 LOGGER.log(Level.WARN, "Index failed [UnknownHostException=" + host + "]");
 
                 retries++;
-
-                if (retries > maxRetries) {
-                    LOGGER.log(Level.ERROR, "Index failed [UnknownHostException], doc [" + doc + "]");
-                }
             } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Index failed [doc=" + doc + "]", e);
+                LOGGER.log(Level.ERROR, "Index failed [requests=" + requests.length() + "]", e);
 
-                break;
+                return false;
             }
 
             try {
@@ -268,54 +270,74 @@ public class SearchMgmtService {
                 LOGGER.log(Level.ERROR, "Sleep error", e);
             }
         }
+
+        LOGGER.log(Level.ERROR, "Index failed [UnknownHostException], requests [" + requests.length() + "]");
+
+        return false;
     }
 
     /**
-     * Removes the specified document in Algolia.
+     * Gets the ES serve address.
      *
-     * @param doc the specified document
+     * @return ES serve address
      */
-    public void removeAlgoliaDocument(final JSONObject doc) {
-        final int maxRetries = 3;
-        int retries = 1;
-
-        final String appId = Symphonys.get("algolia.appId");
-        final String index = Symphonys.get("algolia.index");
-        final String key = Symphonys.get("algolia.adminKey");
+    String getESServer() {
+        return ES_SERVER;
+    }
 
-        while (retries <= maxRetries) {
-            String host = appId + "-" + retries + ".algolianet.com";
+    /**
+     * Gets the Algolia serve address of the specified retry.
+     *
+     * @param appId   the specified Algolia application id
+     * @param retries the specified retry, starts from 1
+     * @return Algolia serve address
+     */
+    String getAlgoliaServer(final String appId, final int retries) {
+        return "https://" + appId + "-" + retries + ".algolianet.com";
+    }
 
-            try {
-                final HTTPRequest request = new HTTPRequest();
-                request.addHeader(new HTTPHeader("X-Algolia-API-Key", key));
-                request.addHeader(new HTTPHeader("X-Algolia-Application-Id", appId));
-                request.setRequestMethod(HTTPRequestMethod.DELETE);
+    /**
+     * Builds the ES bulk action metadata of the specified document.
+     *
+     * @param id   the specified document id
+     * @param type the specified document type
+     * @return action metadata
+     */
+    private static JSONObject esAction(final String id, final String type) {
+        return new JSONObject().put("_index", ES_INDEX_NAME).put("_type", type).put("_id", id);
+    }
 
-                final String id = doc.optString(Keys.OBJECT_ID);
-                request.setURL(new URL("https://" + host + "/1/indexes/" + index + "/" + id));
+    /**
+     * Converts the specified document to an Algolia object, the article content is converted to text.
+     *
+     * @param doc the specified document
+     * @return Algolia object, returns {@code null} if the document is too small or too big to index
+     */
+    private static JSONObject toAlgoliaDocument(final JSONObject doc) {
+        final String id = doc.optString(Keys.OBJECT_ID);
 
-                request.setPayload(doc.toString().getBytes("UTF-8"));
+        String content = doc.optString(Article.ARTICLE_CONTENT);
+        content = Markdowns.toHTML(content);
+        content = Jsoup.parse(content).text();
 
-                final HTTPResponse response = URL_FETCH_SVC.fetch(request);
-                if (200 != response.getResponseCode()) {
-                    LOGGER.warn(response.toString());
-                }
+        doc.put(Article.ARTICLE_CONTENT, content);
+        doc.put("objectID", id);
 
-                break;
-            } catch (final UnknownHostException e) {
-                LOGGER.log(Level.WARN, "Remove object failed [UnknownHostException=" + host + "]");
+        if (content.length() < 32) {
+            LOGGER.log(Level.DEBUG, "This article is too small [length=" + content.length() + "], so skip it [title="
+                    + doc.optString(Article.ARTICLE_TITLE) + ", id=" + id + "]");
 
-                retries++;
+            return null;
+        }
 
-                if (retries > maxRetries) {
-                    LOGGER.log(Level.ERROR, "Remove object failed [UnknownHostException]");
-                }
-            } catch (final Exception e) {
-                LOGGER.log(Level.ERROR, "Remove object failed", e);
+        final int length = doc.toString().getBytes(StandardCharsets.UTF_8).length;
+        if (length > 102400) {
+            LOGGER.log(Level.DEBUG, "This article is too big [length=" + length + "], so skip it [title="
+                    + doc.optString(Article.ARTICLE_TITLE) + ", id=" + id + "]");
 
-                break;
-            }
+            return null;
         }
+
+        return doc;
     }
 }
@@ -0,0 +1,303 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import jodd.io.FileUtil;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.sitemap.Sitemap;
+import org.b3log.symphony.model.sitemap.SitemapIndex;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sitemap management service.
+ * <p>
+ * Sitemaps are written to {@value #SITEMAP_INDEX_FILE_NAME} (the sitemap index) and {@code sitemap-N.xml.gz} files
+ * under {@link #SITEMAP_DIR}. Shard {@code 0} holds the index page and domains, shard {@code N} (N &gt; 0) holds
+ * at most {@value #URL_CNT_PER_SHARD} articles starting from a fixed article id, so adding or updating an article
+ * only rewrites the shard it falls in. Rewrites are coalesced and run on {@link Symphonys#EXECUTOR_SERVICE}.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.2.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class SitemapMgmtService {
+
+    /**
+     * Sitemap directory.
+     */
+    public static final String SITEMAP_DIR = Symphonys.get("sitemap.dir");
+
+    /**
+     * Sitemap index file name.
+     */
+    public static final String SITEMAP_INDEX_FILE_NAME = "sitemap.xml";
+
+    /**
+     * Maximum count of URLs in one sitemap shard.
+     */
+    public static final int URL_CNT_PER_SHARD = 50000;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapMgmtService.class);
+
+    /**
+     * Start article ids of article shards, the start of shard N is at index N - 1.
+     */
+    private final List<Long> shardStarts = new ArrayList<>();
+
+    /**
+     * Shards to rewrite.
+     */
+    private final Set<Integer> dirtyShards = new ConcurrentSkipListSet<>();
+
+    /**
+     * Whether a rewrite of the dirty shards is pending.
+     */
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    /**
+     * Sitemap query service.
+     */
+    @Inject
+    private SitemapQueryService sitemapQueryService;
+
+    /**
+     * Gets the file name of the specified shard.
+     *
+     * @param shard the specified shard
+     * @return file name, for example "sitemap-1.xml.gz"
+     */
+    public static String getShardFileName(final int shard) {
+        return "sitemap-" + shard + ".xml.gz";
+    }
+
+    /**
+     * Generates all sitemaps.
+     */
+    @Scheduled(schedule = "every 24 hours", description = "Generates sitemaps")
+    public synchronized void genSitemaps() {
+        Stopwatchs.start("Gen sitemaps");
+        try {
+            FileUtil.mkdirs(SITEMAP_DIR);
+
+            writePages();
+
+            shardStarts.clear();
+            dirtyShards.clear();
+            writeArticles(0L);
+
+            // Removes shards left by a former generation
+            int shard = shardStarts.size() + 1;
+            while (new File(SITEMAP_DIR, getShardFileName(shard)).delete()) {
+                shard++;
+            }
+
+            writeIndex();
+
+            LOGGER.log(Level.INFO, "Generated sitemaps [articleShards=" + shardStarts.size() + "]");
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates sitemaps failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Marks the shard of the specified article to be rewritten.
+     *
+     * @param article the specified article, only uses its id
+     */
+    public void refreshArticle(final JSONObject article) {
+        final long id = article.optLong(Keys.OBJECT_ID);
+
+        synchronized (this) {
+            if (shardStarts.isEmpty()) { // Not generated yet, the pending full generation will cover it
+                return;
+            }
+
+            int shard = shardStarts.size();
+            while (1 < shard && id < shardStarts.get(shard - 1)) {
+                shard--;
+            }
+
+            dirtyShards.add(shard);
+        }
+
+        if (flushPending.compareAndSet(false, true)) {
+            Symphonys.EXECUTOR_SERVICE.submit(this::flush);
+        }
+    }
+
+    /**
+     * Rewrites the dirty shards and the sitemap index.
+     */
+    private void flush() {
+        flushPending.set(false);
+
+        synchronized (this) {
+            if (dirtyShards.isEmpty()) {
+                return;
+            }
+
+            Stopwatchs.start("Flush sitemaps");
+            try {
+                final List<Integer> failedShards = new ArrayList<>();
+                final Iterator<Integer> iterator = dirtyShards.iterator();
+                while (iterator.hasNext()) {
+                    final int shard = iterator.next();
+                    iterator.remove();
+
+                    try {
+                        if (shard == shardStarts.size()) { // The last shard may roll over into new shards
+                            final long start = shardStarts.remove(shard - 1);
+                            try {
+                                writeArticles(start);
+                            } finally {
+                                if (shardStarts.size() < shard) {
+                                    shardStarts.add(start);
+                                }
+                            }
+                        } else {
+                            final Sitemap sitemap = new Sitemap();
+                            sitemapQueryService.genArticles(sitemap, shardStarts.get(shard - 1),
+                                    shardStarts.get(shard), Integer.MAX_VALUE);
+                            writeShard(shard, sitemap);
+                        }
+                    } catch (final RepositoryException e) {
+                        // The shard keeps its previous file and is rewritten by the next flush
+                        LOGGER.log(Level.ERROR, "Generates sitemap shard [" + shard + "] failed", e);
+                        failedShards.add(shard);
+                    }
+                }
+                dirtyShards.addAll(failedShards);
+
+                writeIndex();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Flushes sitemaps failed", e);
+            } finally {
+                Stopwatchs.end();
+            }
+        }
+    }
+
+    /**
+     * Writes shard {@code 0} with the index page and domains.
+     *
+     * @throws IOException io exception
+     */
+    private void writePages() throws IOException {
+        final Sitemap sitemap = new Sitemap();
+        sitemapQueryService.genIndex(sitemap);
+        sitemapQueryService.genDomains(sitemap);
+
+        writeShard(0, sitemap);
+    }
+
+    /**
+     * Writes articles from the specified start id into shards appended to {@link #shardStarts}.
+     * <p>
+     * A shard is appended only after its articles have been generated, the file of a shard failed to generate is
+     * kept.
+     * </p>
+     *
+     * @param start the specified start id
+     * @throws IOException         io exception
+     * @throws RepositoryException repository exception
+     */
+    private void writeArticles(final long start) throws IOException, RepositoryException {
+        long shardStart = start;
+        while (true) {
+            final Sitemap sitemap = new Sitemap();
+            final long next = sitemapQueryService.genArticles(sitemap, shardStart, Long.MAX_VALUE, URL_CNT_PER_SHARD);
+
+            shardStarts.add(shardStart);
+            writeShard(shardStarts.size(), sitemap);
+
+            if (0 > next) {
+                return;
+            }
+
+            shardStart = next;
+        }
+    }
+
+    /**
+     * Writes the specified sitemap as the specified shard.
+     *
+     * @param shard   the specified shard
+     * @param sitemap the specified sitemap
+     * @throws IOException io exception
+     */
+    private void writeShard(final int shard, final Sitemap sitemap) throws IOException {
+        final File file = new File(SITEMAP_DIR, getShardFileName(shard));
+        final File tmp = new File(SITEMAP_DIR, file.getName() + ".tmp");
+        try (final Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tmp)),
+                StandardCharsets.UTF_8)) {
+            writer.write(sitemap.toString());
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the sitemap index.
+     *
+     * @throws IOException io exception
+     */
+    private void writeIndex() throws IOException {
+        final SitemapIndex sitemapIndex = new SitemapIndex();
+        for (int shard = 0; shard <= shardStarts.size(); shard++) {
+            final String fileName = getShardFileName(shard);
+            final long lastModified = new File(SITEMAP_DIR, fileName).lastModified();
+
+            sitemapIndex.addSitemap(Latkes.getServePath() + "/sitemap/" + fileName,
+                    DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(lastModified));
+        }
+
+        final File file = new File(SITEMAP_DIR, SITEMAP_INDEX_FILE_NAME);
+        final File tmp = new File(SITEMAP_DIR, SITEMAP_INDEX_FILE_NAME + ".tmp");
+        try (final Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            writer.write(sitemapIndex.toString());
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
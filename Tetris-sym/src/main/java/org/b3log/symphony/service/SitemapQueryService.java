@@ -21,21 +21,16 @@ import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.inject.Inject;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.FilterOperator;
-import org.b3log.latke.repository.PropertyFilter;
-import org.b3log.latke.repository.Query;
-import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Domain;
 import org.b3log.symphony.model.sitemap.Sitemap;
 import org.b3log.symphony.repository.ArticleRepository;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -43,17 +38,12 @@ import java.util.List;
  * Sitemap query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 24, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Service
 public class SitemapQueryService {
 
-    /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(SitemapQueryService.class);
-
     /**
      * Article repository.
      */
@@ -101,35 +91,55 @@ public class SitemapQueryService {
     }
 
     /**
-     * Generates articles for the specified sitemap.
+     * Generates articles with ids in the specified range for the specified sitemap, ordered by id ascending.
      *
-     * @param sitemap the specified sitemap
+     * @param sitemap  the specified sitemap
+     * @param start    the specified start id (inclusive)
+     * @param end      the specified end id (exclusive), {@link Long#MAX_VALUE} for no upper bound
+     * @param maxCount the specified maximum count of articles to generate
+     * @return the id of the first article not generated because {@code maxCount} was reached, returns {@code -1} if
+     * all articles in the range have been generated
+     * @throws RepositoryException repository exception, the specified sitemap may hold some of the articles
      */
-    public void genArticles(final Sitemap sitemap) {
-        final Query query = new Query().setCurrentPageNum(1).setPageCount(Integer.MAX_VALUE).
+    public long genArticles(final Sitemap sitemap, final long start, final long end, final int maxCount)
+            throws RepositoryException {
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.EQUAL, Article.ARTICLE_STATUS_C_VALID));
+        filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN_OR_EQUAL, start));
+        if (Long.MAX_VALUE != end) {
+            filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.LESS_THAN, end));
+        }
+
+        final Query query = new Query().
                 addProjection(Keys.OBJECT_ID, String.class).
                 addProjection(Article.ARTICLE_UPDATE_TIME, Long.class).
-                setFilter(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.EQUAL, Article.ARTICLE_STATUS_C_VALID)).
-                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING);
+                setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
 
-        try {
-            final JSONArray articles = articleRepository.get(query).getJSONArray(Keys.RESULTS);
+        final long[] ret = {-1};
+        final int[] count = {0};
+        articleRepository.scan(query, article -> {
+            final long id = article.getLong(Keys.OBJECT_ID);
+            if (count[0] >= maxCount) {
+                ret[0] = id;
 
-            for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                final long id = article.getLong(Keys.OBJECT_ID);
-                final String permalink = Latkes.getServePath() + "/article/" + id;
+                return false;
+            }
 
-                final Sitemap.URL url = new Sitemap.URL();
-                url.setLoc(permalink);
-                final Date updateDate = new Date(id);
-                final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
-                url.setLastMod(lastMod);
+            final String permalink = Latkes.getServePath() + "/article/" + id;
 
-                sitemap.addURL(url);
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets sitemap articles failed", e);
-        }
+            final Sitemap.URL url = new Sitemap.URL();
+            url.setLoc(permalink);
+            final Date updateDate = new Date(article.optLong(Article.ARTICLE_UPDATE_TIME, id));
+            final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
+            url.setLastMod(lastMod);
+
+            sitemap.addURL(url);
+            count[0]++;
+
+            return true;
+        });
+
+        return ret[0];
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
+import org.b3log.latke.repository.jdbc.JdbcFactory;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.Statistic;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
+import org.b3log.symphony.repository.StatisticRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistic management service.
+ * <p>
+ * Statistics are per-day counters of valid users, articles and comments. They are incremented by the add events
+ * (see {@link org.b3log.symphony.event.UserAddStatisticHandler},
+ * {@link org.b3log.symphony.event.ArticleAddStatisticHandler} and
+ * {@link org.b3log.symphony.event.CommentAddStatisticHandler}) and backfilled once from the history by
+ * {@link #initStatistic()}. Entities are bucketed by the day of their ids, the same as the former recounting.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class StatisticMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatisticMgmtService.class);
+
+    /**
+     * Statistic repository.
+     */
+    @Inject
+    private StatisticRepository statisticRepository;
+
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Article repository.
+     */
+    @Inject
+    private ArticleRepository articleRepository;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Increments a field of the statistic of the day of the specified time.
+     *
+     * @param time  the specified time, an entity id generally
+     * @param field the specified field, for example {@link Statistic#STATISTIC_ARTICLE_CNT}
+     */
+    public void incStatistic(final long time, final String field) {
+        Stopwatchs.start("Inc statistic");
+        final String date = DateFormatUtils.format(time, "yyyyMMdd");
+
+        final Transaction transaction = statisticRepository.beginTransaction();
+        try {
+            statisticRepository.inc(date, field);
+
+            transaction.commit();
+        } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Updates a statistic [" + date + "] field [" + field + "] failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Initializes statistics.
+     * <p>
+     * Creates the statistic table if it does not exist (upgrades from a version without it), then backfills the
+     * statistics from all valid users, articles and comments if the table is empty. Does nothing once the
+     * statistics have been backfilled.
+     * </p>
+     */
+    public synchronized void initStatistic() {
+        try {
+            if (0 < statisticRepository.count()) {
+                return;
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.INFO, "Creates statistic table");
+
+            final String tableName = statisticRepository.getName();
+            try {
+                JdbcFactory.createJdbcFactory().createTable(tableName,
+                        JdbcRepositories.getRepositoriesMap().get(tableName));
+            } catch (final Exception ex) {
+                LOGGER.log(Level.ERROR, "Creates statistic table [" + tableName + "] failed", ex);
+
+                return;
+            }
+        }
+
+        Stopwatchs.start("Backfill statistic");
+        try {
+            final Map<String, JSONObject> statistics = new TreeMap<>();
+
+            backfill(userRepository, new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL,
+                    UserExt.USER_STATUS_C_VALID), Statistic.STATISTIC_USER_CNT, statistics);
+            backfill(articleRepository, new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.EQUAL,
+                    Article.ARTICLE_STATUS_C_VALID), Statistic.STATISTIC_ARTICLE_CNT, statistics);
+            backfill(commentRepository, new PropertyFilter(Comment.COMMENT_STATUS, FilterOperator.EQUAL,
+                    Comment.COMMENT_STATUS_C_VALID), Statistic.STATISTIC_COMMENT_CNT, statistics);
+
+            final Transaction transaction = statisticRepository.beginTransaction();
+            try {
+                for (final JSONObject statistic : statistics.values()) {
+                    statisticRepository.add(statistic);
+                }
+
+                transaction.commit();
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+
+                throw e;
+            }
+
+            LOGGER.log(Level.INFO, "Backfilled [" + statistics.size() + "] days of statistics");
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Backfills statistics failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Counts entities of the specified repository into the specified statistics by the day of their ids.
+     *
+     * @param repository the specified repository
+     * @param filter     the specified filter
+     * @param field      the specified statistic field
+     * @param statistics the specified statistics, &lt;date, statistic&gt;
+     * @throws RepositoryException repository exception
+     */
+    private void backfill(final Repository repository, final Filter filter, final String field,
+                          final Map<String, JSONObject> statistics) throws RepositoryException {
+        final Query query = new Query().addProjection(Keys.OBJECT_ID, String.class).setFilter(filter);
+
+        repository.scan(query, row -> {
+            final String date = DateFormatUtils.format(row.optLong(Keys.OBJECT_ID), "yyyyMMdd");
+
+            JSONObject statistic = statistics.get(date);
+            if (null == statistic) {
+                statistic = newStatistic(date);
+                statistics.put(date, statistic);
+            }
+
+            statistic.put(field, statistic.optInt(field) + 1);
+
+            return true;
+        });
+    }
+
+    /**
+     * Creates an empty statistic of the specified date.
+     *
+     * @param date the specified date
+     * @return statistic
+     */
+    private static JSONObject newStatistic(final String date) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Statistic.STATISTIC_DATE, date);
+        ret.put(Statistic.STATISTIC_USER_CNT, 0);
+        ret.put(Statistic.STATISTIC_ARTICLE_CNT, 0);
+        ret.put(Statistic.STATISTIC_COMMENT_CNT, 0);
+
+        return ret;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.apache.commons.lang.time.DateUtils;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.Statistic;
+import org.b3log.symphony.repository.StatisticRepository;
+import org.b3log.symphony.util.Times;
+import org.json.JSONObject;
+
+import java.util.*;
+
+/**
+ * Statistic query service.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+@Service
+public class StatisticQueryService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatisticQueryService.class);
+
+    /**
+     * Statistic repository.
+     */
+    @Inject
+    private StatisticRepository statisticRepository;
+
+    /**
+     * Gets day statistics between the specified start day and end day.
+     *
+     * @param start the specified start day (inclusive)
+     * @param end   the specified end day (inclusive)
+     * @return day statistics, one for each day ordered by date ascending, for example,
+     * <pre>
+     * [{
+     *     "statisticDate": "20260919",
+     *     "statisticUserCnt": int,
+     *     "statisticArticleCnt": int,
+     *     "statisticCommentCnt": int
+     * }, ....]
+     * </pre>, the counts of a day without any statistic are {@code 0}
+     */
+    public List<JSONObject> getDayStatistics(final Date start, final Date end) {
+        Stopwatchs.start("Gets day statistics");
+        try {
+            final Map<String, JSONObject> statistics = new HashMap<>();
+            for (final JSONObject statistic : getStatistics(start, end)) {
+                statistics.put(statistic.optString(Statistic.STATISTIC_DATE), statistic);
+            }
+
+            final List<JSONObject> ret = new ArrayList<>();
+            final long endTime = Times.getDayStartTime(end.getTime());
+            for (Date day = new Date(Times.getDayStartTime(start.getTime())); day.getTime() <= endTime;
+                 day = DateUtils.addDays(day, 1)) {
+                final String date = DateFormatUtils.format(day, "yyyyMMdd");
+                final JSONObject statistic = newStatistic(date);
+                sum(statistic, statistics.get(date));
+
+                ret.add(statistic);
+            }
+
+            return ret;
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Gets month statistics between the specified start month and end month.
+     *
+     * @param start the specified start month (inclusive)
+     * @param end   the specified end month (inclusive)
+     * @return month statistics, one for each month ordered by date ascending, for example,
+     * <pre>
+     * [{
+     *     "statisticDate": "202609",
+     *     "statisticUserCnt": int,
+     *     "statisticArticleCnt": int,
+     *     "statisticCommentCnt": int
+     * }, ....]
+     * </pre>
+     */
+    public List<JSONObject> getMonthStatistics(final Date start, final Date end) {
+        Stopwatchs.start("Gets month statistics");
+        try {
+            final Date monthStart = new Date(Times.getMonthStartTime(start.getTime()));
+            final Date monthEnd = new Date(Times.getMonthEndTime(end.getTime()));
+
+            final Map<String, JSONObject> statistics = new HashMap<>();
+            for (final JSONObject statistic : getStatistics(monthStart, monthEnd)) {
+                final String month = statistic.optString(Statistic.STATISTIC_DATE).substring(0, 6);
+                JSONObject monthStatistic = statistics.get(month);
+                if (null == monthStatistic) {
+                    monthStatistic = newStatistic(month);
+                    statistics.put(month, monthStatistic);
+                }
+
+                sum(monthStatistic, statistic);
+            }
+
+            final List<JSONObject> ret = new ArrayList<>();
+            for (Date month = monthStart; !month.after(monthEnd); month = DateUtils.addMonths(month, 1)) {
+                final String date = DateFormatUtils.format(month, "yyyyMM");
+                final JSONObject statistic = newStatistic(date);
+                sum(statistic, statistics.get(date));
+
+                ret.add(statistic);
+            }
+
+            return ret;
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Gets statistics between the specified start day and end day.
+     *
+     * @param start the specified start day
+     * @param end   the specified end day
+     * @return statistics, returns an empty list if failed
+     */
+    private List<JSONObject> getStatistics(final Date start, final Date end) {
+        try {
+            return statisticRepository.getByDateRange(DateFormatUtils.format(start, "yyyyMMdd"),
+                    DateFormatUtils.format(end, "yyyyMMdd"));
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets statistics failed", e);
+
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Adds the counts of the specified source statistic to the specified target statistic.
+     *
+     * @param target the specified target statistic
+     * @param source the specified source statistic, may be {@code null}
+     */
+    private static void sum(final JSONObject target, final JSONObject source) {
+        if (null == source) {
+            return;
+        }
+
+        target.put(Statistic.STATISTIC_USER_CNT, target.optInt(Statistic.STATISTIC_USER_CNT)
+                + source.optInt(Statistic.STATISTIC_USER_CNT));
+        target.put(Statistic.STATISTIC_ARTICLE_CNT, target.optInt(Statistic.STATISTIC_ARTICLE_CNT)
+                + source.optInt(Statistic.STATISTIC_ARTICLE_CNT));
+        target.put(Statistic.STATISTIC_COMMENT_CNT, target.optInt(Statistic.STATISTIC_COMMENT_CNT)
+                + source.optInt(Statistic.STATISTIC_COMMENT_CNT));
+    }
+
+    /**
+     * Creates an empty statistic of the specified date.
+     *
+     * @param date the specified date
+     * @return statistic
+     */
+    private static JSONObject newStatistic(final String date) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Statistic.STATISTIC_DATE, date);
+        ret.put(Statistic.STATISTIC_USER_CNT, 0);
+        ret.put(Statistic.STATISTIC_ARTICLE_CNT, 0);
+        ret.put(Statistic.STATISTIC_COMMENT_CNT, 0);
+
+        return ret;
+    }
+}
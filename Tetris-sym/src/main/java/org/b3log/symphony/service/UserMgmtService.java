@@ -25,6 +25,10 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.event.EventException;
+import org.b3log.latke.event.EventManager;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -40,8 +44,8 @@ import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.Strings;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
-import org.b3log.symphony.util.Crypts;
 import org.b3log.symphony.util.Geos;
+import org.b3log.symphony.util.Locks;
 import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONArray;
@@ -62,12 +66,17 @@ import java.util.regex.Pattern;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 1.15.21.2, Dec 8, 2017
+ * @version 1.15.25.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
 public class UserMgmtService {
 
+    /**
+     * Indicates an add user event, fired once a user becomes valid.
+     */
+    public static final String ADD_USER = "Add User";
+
     /**
      * Logger.
      */
@@ -133,6 +142,12 @@ public class UserMgmtService {
     @Inject
     private NotificationMgmtService notificationMgmtService;
 
+    /**
+     * Event manager.
+     */
+    @Inject
+    private EventManager eventManager;
+
     /**
      * Tries to login with cookie.
      *
@@ -152,7 +167,7 @@ public class UserMgmtService {
                     continue;
                 }
 
-                final String value = Crypts.decryptByAES(cookie.getValue(), Symphonys.get("cookie.secret"));
+                final String value = Sessions.decryptCookie(cookie.getValue());
                 final JSONObject cookieJSONObject = new JSONObject(value);
 
                 final String userId = cookieJSONObject.optString(Keys.OBJECT_ID);
@@ -403,252 +418,265 @@ public class UserMgmtService {
      * @return generated user id
      * @throws ServiceException if user name or email duplicated, or repository exception
      */
-    public synchronized String addUser(final JSONObject requestJSONObject) throws ServiceException {
-        final Transaction transaction = userRepository.beginTransaction();
+    public String addUser(final JSONObject requestJSONObject) throws ServiceException {
+        try (final Locks.Lease lease = Locks.lock(Locks.userName(requestJSONObject.optString(User.USER_NAME)),
+                Locks.userEmail(requestJSONObject.optString(User.USER_EMAIL)))) {
+            final Transaction transaction = userRepository.beginTransaction();
+
+            try {
+                final String userEmail = requestJSONObject.optString(User.USER_EMAIL).trim().toLowerCase();
+                final String userName = requestJSONObject.optString(User.USER_NAME);
+                JSONObject user = userRepository.getByName(userName);
+                if (null != user && (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)
+                        || UserExt.NULL_USER_NAME.equals(userName))) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
 
-        try {
-            final String userEmail = requestJSONObject.optString(User.USER_EMAIL).trim().toLowerCase();
-            final String userName = requestJSONObject.optString(User.USER_NAME);
-            JSONObject user = userRepository.getByName(userName);
-            if (null != user && (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)
-                    || UserExt.NULL_USER_NAME.equals(userName))) {
-                if (transaction.isActive()) {
-                    transaction.rollback();
+                    throw new ServiceException(langPropsService.get("duplicatedUserNameLabel") + " [" + userName + "]");
                 }
 
-                throw new ServiceException(langPropsService.get("duplicatedUserNameLabel") + " [" + userName + "]");
-            }
-
-            boolean toUpdate = false;
-            String ret = null;
-            String avatarURL = null;
-            user = userRepository.getByEmail(userEmail);
-            int userNo = 0;
-            if (null != user) {
-                if (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)) {
-                    if (transaction.isActive()) {
-                        transaction.rollback();
+                boolean toUpdate = false;
+                String ret = null;
+                String avatarURL = null;
+                user = userRepository.getByEmail(userEmail);
+                int userNo = 0;
+                if (null != user) {
+                    if (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)) {
+                        if (transaction.isActive()) {
+                            transaction.rollback();
+                        }
+
+                        throw new ServiceException(langPropsService.get("duplicatedEmailLabel"));
                     }
 
-                    throw new ServiceException(langPropsService.get("duplicatedEmailLabel"));
+                    toUpdate = true;
+                    ret = user.optString(Keys.OBJECT_ID);
+                    userNo = user.optInt(UserExt.USER_NO);
+                    avatarURL = user.optString(UserExt.USER_AVATAR_URL);
                 }
 
-                toUpdate = true;
-                ret = user.optString(Keys.OBJECT_ID);
-                userNo = user.optInt(UserExt.USER_NO);
-                avatarURL = user.optString(UserExt.USER_AVATAR_URL);
-            }
+                user = new JSONObject();
+                user.put(User.USER_NAME, userName);
+                user.put(User.USER_EMAIL, userEmail);
+                user.put(UserExt.USER_APP_ROLE, requestJSONObject.optInt(UserExt.USER_APP_ROLE));
+                user.put(User.USER_PASSWORD, requestJSONObject.optString(User.USER_PASSWORD));
+                user.put(User.USER_ROLE, requestJSONObject.optString(User.USER_ROLE, Role.ROLE_ID_C_DEFAULT));
+                user.put(User.USER_URL, "");
+                user.put(UserExt.USER_ARTICLE_COUNT, 0);
+                user.put(UserExt.USER_COMMENT_COUNT, 0);
+                user.put(UserExt.USER_TAG_COUNT, 0);
+                user.put(UserExt.USER_B3_KEY, "");
+                user.put(UserExt.USER_B3_CLIENT_ADD_ARTICLE_URL, "");
+                user.put(UserExt.USER_B3_CLIENT_UPDATE_ARTICLE_URL, "");
+                user.put(UserExt.USER_B3_CLIENT_ADD_COMMENT_URL, "");
+                user.put(UserExt.USER_INTRO, "");
+                user.put(UserExt.USER_NICKNAME, "");
+                user.put(UserExt.USER_AVATAR_TYPE, UserExt.USER_AVATAR_TYPE_C_UPLOAD);
+                user.put(UserExt.USER_QQ, "");
+                user.put(UserExt.USER_ONLINE_FLAG, false);
+                user.put(UserExt.USER_LATEST_ARTICLE_TIME, 0L);
+                user.put(UserExt.USER_LATEST_CMT_TIME, 0L);
+                user.put(UserExt.USER_LATEST_LOGIN_TIME, 0L);
+                user.put(UserExt.USER_LATEST_LOGIN_IP, "");
+                user.put(UserExt.USER_CHECKIN_TIME, 0);
+                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, 0);
+                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, 0);
+                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, 0);
+                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, 0);
+                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, 0);
+                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, 0);
+                user.put(UserExt.USER_POINT, 0);
+                user.put(UserExt.USER_USED_POINT, 0);
+                user.put(UserExt.USER_JOIN_POINT_RANK, UserExt.USER_JOIN_POINT_RANK_C_JOIN);
+                user.put(UserExt.USER_JOIN_USED_POINT_RANK, UserExt.USER_JOIN_USED_POINT_RANK_C_JOIN);
+                user.put(UserExt.USER_TAGS, "");
+                user.put(UserExt.USER_SKIN, Symphonys.get("skinDirName")); // TODO: set default skin by app role
+                user.put(UserExt.USER_MOBILE_SKIN, Symphonys.get("mobileSkinDirName"));
+                user.put(UserExt.USER_COUNTRY, "");
+                user.put(UserExt.USER_PROVINCE, "");
+                user.put(UserExt.USER_CITY, "");
+                user.put(UserExt.USER_UPDATE_TIME, 0L);
+                user.put(UserExt.USER_GEO_STATUS, UserExt.USER_GEO_STATUS_C_PUBLIC);
+                user.put(UserExt.SYNC_TO_CLIENT, false);
+                final int status = requestJSONObject.optInt(UserExt.USER_STATUS, UserExt.USER_STATUS_C_NOT_VERIFIED);
+                user.put(UserExt.USER_STATUS, status);
+                user.put(UserExt.USER_COMMENT_VIEW_MODE, UserExt.USER_COMMENT_VIEW_MODE_C_REALTIME);
+                user.put(UserExt.USER_ONLINE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_COMMENT_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_FOLLOWING_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_WATCHING_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_FOLLOWING_TAG_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_FOLLOWING_USER_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_FOLLOWER_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_POINT_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_TIMELINE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_UA_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_FORGE_LINK_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
+                user.put(UserExt.USER_NOTIFY_STATUS, UserExt.USER_XXX_STATUS_C_ENABLED);
+                user.put(UserExt.USER_SUB_MAIL_STATUS, UserExt.USER_XXX_STATUS_C_ENABLED);
+                user.put(UserExt.USER_LIST_PAGE_SIZE, Symphonys.getInt("indexArticlesCnt"));
+                user.put(UserExt.USER_AVATAR_VIEW_MODE, UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
+                user.put(UserExt.USER_SUB_MAIL_SEND_TIME, System.currentTimeMillis());
+                user.put(UserExt.USER_KEYBOARD_SHORTCUTS_STATUS, UserExt.USER_XXX_STATUS_C_DISABLED);
+
+                final JSONObject optionLanguage = optionRepository.get(Option.ID_C_MISC_LANGUAGE);
+                final String adminSpecifiedLang = optionLanguage.optString(Option.OPTION_VALUE);
+                if ("0".equals(adminSpecifiedLang)) {
+                    user.put(UserExt.USER_LANGUAGE, requestJSONObject.optString(UserExt.USER_LANGUAGE, "zh_CN"));
+                } else {
+                    user.put(UserExt.USER_LANGUAGE, adminSpecifiedLang);
+                }
 
-            user = new JSONObject();
-            user.put(User.USER_NAME, userName);
-            user.put(User.USER_EMAIL, userEmail);
-            user.put(UserExt.USER_APP_ROLE, requestJSONObject.optInt(UserExt.USER_APP_ROLE));
-            user.put(User.USER_PASSWORD, requestJSONObject.optString(User.USER_PASSWORD));
-            user.put(User.USER_ROLE, requestJSONObject.optString(User.USER_ROLE, Role.ROLE_ID_C_DEFAULT));
-            user.put(User.USER_URL, "");
-            user.put(UserExt.USER_ARTICLE_COUNT, 0);
-            user.put(UserExt.USER_COMMENT_COUNT, 0);
-            user.put(UserExt.USER_TAG_COUNT, 0);
-            user.put(UserExt.USER_B3_KEY, "");
-            user.put(UserExt.USER_B3_CLIENT_ADD_ARTICLE_URL, "");
-            user.put(UserExt.USER_B3_CLIENT_UPDATE_ARTICLE_URL, "");
-            user.put(UserExt.USER_B3_CLIENT_ADD_COMMENT_URL, "");
-            user.put(UserExt.USER_INTRO, "");
-            user.put(UserExt.USER_NICKNAME, "");
-            user.put(UserExt.USER_AVATAR_TYPE, UserExt.USER_AVATAR_TYPE_C_UPLOAD);
-            user.put(UserExt.USER_QQ, "");
-            user.put(UserExt.USER_ONLINE_FLAG, false);
-            user.put(UserExt.USER_LATEST_ARTICLE_TIME, 0L);
-            user.put(UserExt.USER_LATEST_CMT_TIME, 0L);
-            user.put(UserExt.USER_LATEST_LOGIN_TIME, 0L);
-            user.put(UserExt.USER_LATEST_LOGIN_IP, "");
-            user.put(UserExt.USER_CHECKIN_TIME, 0);
-            user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, 0);
-            user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, 0);
-            user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, 0);
-            user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, 0);
-            user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, 0);
-            user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, 0);
-            user.put(UserExt.USER_POINT, 0);
-            user.put(UserExt.USER_USED_POINT, 0);
-            user.put(UserExt.USER_JOIN_POINT_RANK, UserExt.USER_JOIN_POINT_RANK_C_JOIN);
-            user.put(UserExt.USER_JOIN_USED_POINT_RANK, UserExt.USER_JOIN_USED_POINT_RANK_C_JOIN);
-            user.put(UserExt.USER_TAGS, "");
-            user.put(UserExt.USER_SKIN, Symphonys.get("skinDirName")); // TODO: set default skin by app role
-            user.put(UserExt.USER_MOBILE_SKIN, Symphonys.get("mobileSkinDirName"));
-            user.put(UserExt.USER_COUNTRY, "");
-            user.put(UserExt.USER_PROVINCE, "");
-            user.put(UserExt.USER_CITY, "");
-            user.put(UserExt.USER_UPDATE_TIME, 0L);
-            user.put(UserExt.USER_GEO_STATUS, UserExt.USER_GEO_STATUS_C_PUBLIC);
-            user.put(UserExt.SYNC_TO_CLIENT, false);
-            final int status = requestJSONObject.optInt(UserExt.USER_STATUS, UserExt.USER_STATUS_C_NOT_VERIFIED);
-            user.put(UserExt.USER_STATUS, status);
-            user.put(UserExt.USER_COMMENT_VIEW_MODE, UserExt.USER_COMMENT_VIEW_MODE_C_REALTIME);
-            user.put(UserExt.USER_ONLINE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_COMMENT_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_FOLLOWING_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_WATCHING_ARTICLE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_FOLLOWING_TAG_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_FOLLOWING_USER_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_FOLLOWER_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_POINT_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_TIMELINE_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_UA_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_FORGE_LINK_STATUS, UserExt.USER_XXX_STATUS_C_PUBLIC);
-            user.put(UserExt.USER_NOTIFY_STATUS, UserExt.USER_XXX_STATUS_C_ENABLED);
-            user.put(UserExt.USER_SUB_MAIL_STATUS, UserExt.USER_XXX_STATUS_C_ENABLED);
-            user.put(UserExt.USER_LIST_PAGE_SIZE, Symphonys.getInt("indexArticlesCnt"));
-            user.put(UserExt.USER_AVATAR_VIEW_MODE, UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
-            user.put(UserExt.USER_SUB_MAIL_SEND_TIME, System.currentTimeMillis());
-            user.put(UserExt.USER_KEYBOARD_SHORTCUTS_STATUS, UserExt.USER_XXX_STATUS_C_DISABLED);
-
-            final JSONObject optionLanguage = optionRepository.get(Option.ID_C_MISC_LANGUAGE);
-            final String adminSpecifiedLang = optionLanguage.optString(Option.OPTION_VALUE);
-            if ("0".equals(adminSpecifiedLang)) {
-                user.put(UserExt.USER_LANGUAGE, requestJSONObject.optString(UserExt.USER_LANGUAGE, "zh_CN"));
-            } else {
-                user.put(UserExt.USER_LANGUAGE, adminSpecifiedLang);
-            }
+                user.put(UserExt.USER_TIMEZONE,
+                        requestJSONObject.optString(UserExt.USER_TIMEZONE, TimeZone.getDefault().getID()));
 
-            user.put(UserExt.USER_TIMEZONE,
-                    requestJSONObject.optString(UserExt.USER_TIMEZONE, TimeZone.getDefault().getID()));
+                user.put(UserExt.USER_GUIDE_STEP, requestJSONObject.optInt(UserExt.USER_GUIDE_STEP, UserExt.USER_GUIDE_STEP_UPLOAD_AVATAR));
 
-            user.put(UserExt.USER_GUIDE_STEP, requestJSONObject.optInt(UserExt.USER_GUIDE_STEP, UserExt.USER_GUIDE_STEP_UPLOAD_AVATAR));
+                if (toUpdate) {
+                    user.put(UserExt.USER_NO, userNo);
 
-            if (toUpdate) {
-                user.put(UserExt.USER_NO, userNo);
+                    if (!Symphonys.get("defaultThumbnailURL").equals(avatarURL)) { // generate/upload avatar succ
+                        if (Symphonys.getBoolean("qiniu.enabled")) {
+                            user.put(UserExt.USER_AVATAR_URL, Symphonys.get("qiniu.domain") + "/avatar/" + ret + "?"
+                                    + new Date().getTime());
+                        } else {
+                            user.put(UserExt.USER_AVATAR_URL, avatarURL + "?" + new Date().getTime());
+                        }
 
-                if (!Symphonys.get("defaultThumbnailURL").equals(avatarURL)) { // generate/upload avatar succ
-                    if (Symphonys.getBoolean("qiniu.enabled")) {
-                        user.put(UserExt.USER_AVATAR_URL, Symphonys.get("qiniu.domain") + "/avatar/" + ret + "?"
-                                + new Date().getTime());
-                    } else {
-                        user.put(UserExt.USER_AVATAR_URL, avatarURL + "?" + new Date().getTime());
-                    }
+                        avatarURL = user.optString(UserExt.USER_AVATAR_URL);
+                        if (255 < StringUtils.length(avatarURL)) {
+                            LOGGER.warn("Length of user [" + userName + "]'s avatar URL [" + avatarURL + "] larger then 255");
+                            avatarURL = Symphonys.get("defaultThumbnailURL");
+                            user.put(UserExt.USER_AVATAR_URL, avatarURL);
+                        }
 
-                    avatarURL = user.optString(UserExt.USER_AVATAR_URL);
-                    if (255 < StringUtils.length(avatarURL)) {
-                        LOGGER.warn("Length of user [" + userName + "]'s avatar URL [" + avatarURL + "] larger then 255");
-                        avatarURL = Symphonys.get("defaultThumbnailURL");
-                        user.put(UserExt.USER_AVATAR_URL, avatarURL);
+                        userRepository.update(ret, user);
                     }
-
-                    userRepository.update(ret, user);
-                }
-            } else {
-                ret = Ids.genTimeMillisId();
-                user.put(Keys.OBJECT_ID, ret);
-
-                try {
-                    final BufferedImage img = avatarQueryService.createAvatar(MD5.hash(ret), 512);
-                    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                    ImageIO.write(img, "jpg", baos);
-                    baos.flush();
-                    final byte[] bytes = baos.toByteArray();
-                    baos.close();
-
-                    if (Symphonys.getBoolean("qiniu.enabled")) {
-                        final Auth auth = Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey"));
-                        final UploadManager uploadManager = new UploadManager(new Configuration());
-
-                        uploadManager.put(bytes, "avatar/" + ret, auth.uploadToken(Symphonys.get("qiniu.bucket")),
-                                null, "image/jpeg", false);
-                        user.put(UserExt.USER_AVATAR_URL, Symphonys.get("qiniu.domain") + "/avatar/" + ret + "?"
-                                + new Date().getTime());
-                    } else {
-                        final String fileName = UUID.randomUUID().toString().replaceAll("-", "") + ".jpg";
-                        final OutputStream output = new FileOutputStream(Symphonys.get("upload.dir") + fileName);
-                        IOUtils.write(bytes, output);
-
-                        IOUtils.closeQuietly(output);
-
-                        user.put(UserExt.USER_AVATAR_URL, Latkes.getServePath() + "/upload/" + fileName);
+                } else {
+                    ret = Ids.genTimeMillisId();
+                    user.put(Keys.OBJECT_ID, ret);
+
+                    try {
+                        final BufferedImage img = avatarQueryService.createAvatar(MD5.hash(ret), 512);
+                        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                        ImageIO.write(img, "jpg", baos);
+                        baos.flush();
+                        final byte[] bytes = baos.toByteArray();
+                        baos.close();
+
+                        if (Symphonys.getBoolean("qiniu.enabled")) {
+                            final Auth auth = Auth.create(Symphonys.get("qiniu.accessKey"), Symphonys.get("qiniu.secretKey"));
+                            final UploadManager uploadManager = new UploadManager(new Configuration());
+
+                            uploadManager.put(bytes, "avatar/" + ret, auth.uploadToken(Symphonys.get("qiniu.bucket")),
+                                    null, "image/jpeg", false);
+                            user.put(UserExt.USER_AVATAR_URL, Symphonys.get("qiniu.domain") + "/avatar/" + ret + "?"
+                                    + new Date().getTime());
+                        } else {
+                            final String fileName = UUID.randomUUID().toString().replaceAll("-", "") + ".jpg";
+                            final OutputStream output = new FileOutputStream(Symphonys.get("upload.dir") + fileName);
+                            IOUtils.write(bytes, output);
+
+                            IOUtils.closeQuietly(output);
+
+                            user.put(UserExt.USER_AVATAR_URL, Latkes.getServePath() + "/upload/" + fileName);
+                        }
+                    } catch (final IOException e) {
+                        LOGGER.log(Level.ERROR, "Generates avatar error, using default thumbnail instead", e);
+
+                        user.put(UserExt.USER_AVATAR_URL, Symphonys.get("defaultThumbnailURL"));
                     }
-                } catch (final IOException e) {
-                    LOGGER.log(Level.ERROR, "Generates avatar error, using default thumbnail instead", e);
-
-                    user.put(UserExt.USER_AVATAR_URL, Symphonys.get("defaultThumbnailURL"));
-                }
-
-                final JSONObject memberCntOption = optionRepository.get(Option.ID_C_STATISTIC_MEMBER_COUNT);
-                final int memberCount = memberCntOption.optInt(Option.OPTION_VALUE) + 1; // Updates stat. (member count +1)
 
-                user.put(UserExt.USER_NO, memberCount);
+                    final JSONObject memberCntOption = optionRepository.get(Option.ID_C_STATISTIC_MEMBER_COUNT);
+                    final int memberCount = memberCntOption.optInt(Option.OPTION_VALUE) + 1; // Updates stat. (member count +1)
 
-                userRepository.add(user);
+                    user.put(UserExt.USER_NO, memberCount);
 
-                memberCntOption.put(Option.OPTION_VALUE, String.valueOf(memberCount));
-                optionRepository.update(Option.ID_C_STATISTIC_MEMBER_COUNT, memberCntOption);
-            }
+                    userRepository.add(user);
 
-            transaction.commit();
+                    memberCntOption.put(Option.OPTION_VALUE, String.valueOf(memberCount));
+                    optionRepository.update(Option.ID_C_STATISTIC_MEMBER_COUNT, memberCntOption);
+                }
 
-            if (UserExt.USER_STATUS_C_VALID == status) {
-                // Point
-                pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, ret,
-                        Pointtransfer.TRANSFER_TYPE_C_INIT, Pointtransfer.TRANSFER_SUM_C_INIT, ret, System.currentTimeMillis());
-
-                // Occupy the username, defeat others
-                final Transaction trans = userRepository.beginTransaction();
-                try {
-                    final Query query = new Query();
-                    final List<Filter> filters = new ArrayList<>();
-                    filters.add(new PropertyFilter(User.USER_NAME, FilterOperator.EQUAL, userName));
-                    filters.add(new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL,
-                            UserExt.USER_STATUS_C_NOT_VERIFIED));
-                    query.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
-
-                    final JSONArray others = userRepository.get(query).optJSONArray(Keys.RESULTS);
-                    for (int i = 0; i < others.length(); i++) {
-                        final JSONObject u = others.optJSONObject(i);
-                        final String id = u.optString(Keys.OBJECT_ID);
-                        u.put(User.USER_NAME, UserExt.NULL_USER_NAME);
-                        u.put(UserExt.USER_STATUS, UserExt.USER_STATUS_C_NOT_VERIFIED);
-
-                        userRepository.update(id, u);
-
-                        LOGGER.log(Level.INFO, "Defeated a user [email=" + u.optString(User.USER_EMAIL) + "]");
+                transaction.commit();
+
+                if (UserExt.USER_STATUS_C_VALID == status) {
+                    // Point
+                    pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, ret,
+                            Pointtransfer.TRANSFER_TYPE_C_INIT, Pointtransfer.TRANSFER_SUM_C_INIT, ret, System.currentTimeMillis());
+
+                    // Occupy the username, defeat others
+                    final Transaction trans = userRepository.beginTransaction();
+                    try {
+                        final Query query = new Query();
+                        final List<Filter> filters = new ArrayList<>();
+                        filters.add(new PropertyFilter(User.USER_NAME, FilterOperator.EQUAL, userName));
+                        filters.add(new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL,
+                                UserExt.USER_STATUS_C_NOT_VERIFIED));
+                        query.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
+
+                        final JSONArray others = userRepository.get(query).optJSONArray(Keys.RESULTS);
+                        for (int i = 0; i < others.length(); i++) {
+                            final JSONObject u = others.optJSONObject(i);
+                            final String id = u.optString(Keys.OBJECT_ID);
+                            u.put(User.USER_NAME, UserExt.NULL_USER_NAME);
+                            u.put(UserExt.USER_STATUS, UserExt.USER_STATUS_C_NOT_VERIFIED);
+
+                            userRepository.update(id, u);
+
+                            LOGGER.log(Level.INFO, "Defeated a user [email=" + u.optString(User.USER_EMAIL) + "]");
+                        }
+
+                        trans.commit();
+                    } catch (final RepositoryException e) {
+                        if (trans.isActive()) {
+                            trans.rollback();
+                        }
+
+                        LOGGER.log(Level.ERROR, "Defeat others error", e);
                     }
 
-                    trans.commit();
-                } catch (final RepositoryException e) {
-                    if (trans.isActive()) {
-                        trans.rollback();
+                    final JSONObject notification = new JSONObject();
+                    notification.put(Notification.NOTIFICATION_USER_ID, ret);
+                    notification.put(Notification.NOTIFICATION_DATA_ID, "");
+                    notificationMgmtService.addSysAnnounceNewUserNotification(notification);
+
+                    // Refresh usernames
+                    final JSONObject u = new JSONObject();
+                    u.put(User.USER_NAME, user.optString(User.USER_NAME));
+                    u.put(UserExt.USER_T_NAME_LOWER_CASE, user.optString(User.USER_NAME).toLowerCase());
+                    final String avatar = avatarQueryService.getAvatarURLByUser(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, user, "20");
+                    u.put(UserExt.USER_AVATAR_URL, avatar);
+                    UserQueryService.USER_NAMES.add(u);
+                    Collections.sort(UserQueryService.USER_NAMES, (u1, u2) -> {
+                        final String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
+                        final String u2Name = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
+
+                        return u1Name.compareTo(u2Name);
+                    });
+
+                    // Event
+                    user.put(Keys.OBJECT_ID, ret);
+                    final JSONObject eventData = new JSONObject();
+                    eventData.put(User.USER, user);
+                    try {
+                        eventManager.fireEventAsynchronously(new Event<>(ADD_USER, eventData));
+                    } catch (final EventException e) {
+                        LOGGER.log(Level.ERROR, e.getMessage(), e);
                     }
-
-                    LOGGER.log(Level.ERROR, "Defeat others error", e);
                 }
 
-                final JSONObject notification = new JSONObject();
-                notification.put(Notification.NOTIFICATION_USER_ID, ret);
-                notification.put(Notification.NOTIFICATION_DATA_ID, "");
-                notificationMgmtService.addSysAnnounceNewUserNotification(notification);
-
-                // Refresh usernames
-                final JSONObject u = new JSONObject();
-                u.put(User.USER_NAME, user.optString(User.USER_NAME));
-                u.put(UserExt.USER_T_NAME_LOWER_CASE, user.optString(User.USER_NAME).toLowerCase());
-                final String avatar = avatarQueryService.getAvatarURLByUser(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, user, "20");
-                u.put(UserExt.USER_AVATAR_URL, avatar);
-                UserQueryService.USER_NAMES.add(u);
-                Collections.sort(UserQueryService.USER_NAMES, (u1, u2) -> {
-                    final String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
-                    final String u2Name = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
-
-                    return u1Name.compareTo(u2Name);
-                });
-            }
+                return ret;
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
 
-            return ret;
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+                LOGGER.log(Level.ERROR, "Adds a user failed", e);
+                throw new ServiceException(e);
             }
-
-            LOGGER.log(Level.ERROR, "Adds a user failed", e);
-            throw new ServiceException(e);
         }
     }
 
@@ -776,6 +804,7 @@ public class UserMgmtService {
      * Resets unverified users.
      */
     @Transactional
+    @Scheduled(schedule = "every 24 hours", description = "Resets unverified users")
     public void resetUnverifiedUsers() {
         final Date now = new Date();
         final long yesterdayTime = DateUtils.addDays(now, -1).getTime();
@@ -812,91 +841,93 @@ public class UserMgmtService {
      * @param user the specified article
      * @throws RepositoryException repository exception
      */
-    private synchronized void tag(final JSONObject user) throws RepositoryException {
-        // Clear
-        final List<Filter> filters = new ArrayList<>();
-        filters.add(new PropertyFilter(User.USER + '_' + Keys.OBJECT_ID,
-                FilterOperator.EQUAL, user.optString(Keys.OBJECT_ID)));
-        filters.add(new PropertyFilter(Common.TYPE, FilterOperator.EQUAL, Tag.TAG_TYPE_C_USER_SELF));
-
-        final Query query = new Query();
-        query.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
-
-        final JSONArray results = userTagRepository.get(query).optJSONArray(Keys.RESULTS);
-        for (int i = 0; i < results.length(); i++) {
-            final JSONObject rel = results.optJSONObject(i);
-            final String id = rel.optString(Keys.OBJECT_ID);
-
-            userTagRepository.remove(id);
-        }
+    private void tag(final JSONObject user) throws RepositoryException {
+        try (final Locks.Lease lease = Locks.lock(Locks.tags(user.optString(UserExt.USER_TAGS)))) {
+            // Clear
+            final List<Filter> filters = new ArrayList<>();
+            filters.add(new PropertyFilter(User.USER + '_' + Keys.OBJECT_ID,
+                    FilterOperator.EQUAL, user.optString(Keys.OBJECT_ID)));
+            filters.add(new PropertyFilter(Common.TYPE, FilterOperator.EQUAL, Tag.TAG_TYPE_C_USER_SELF));
+
+            final Query query = new Query();
+            query.setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters));
+
+            final JSONArray results = userTagRepository.get(query).optJSONArray(Keys.RESULTS);
+            for (int i = 0; i < results.length(); i++) {
+                final JSONObject rel = results.optJSONObject(i);
+                final String id = rel.optString(Keys.OBJECT_ID);
+
+                userTagRepository.remove(id);
+            }
 
-        // Add
-        String tagTitleStr = user.optString(UserExt.USER_TAGS);
-        final String[] tagTitles = tagTitleStr.split(",");
-
-        for (final String title : tagTitles) {
-            final String tagTitle = title.trim();
-            JSONObject tag = tagRepository.getByTitle(tagTitle);
-            String tagId;
-
-            if (null == tag) {
-                LOGGER.log(Level.TRACE, "Found a new tag[title={0}] in user [name={1}]",
-                        tagTitle, user.optString(User.USER_NAME));
-                tag = new JSONObject();
-                tag.put(Tag.TAG_TITLE, tagTitle);
-                String tagURI = tagTitle;
-                try {
-                    tagURI = URLEncoder.encode(tagTitle, "UTF-8");
-                } catch (final UnsupportedEncodingException e) {
-                    LOGGER.log(Level.ERROR, "Encode tag title [" + tagTitle + "] error", e);
+            // Add
+            String tagTitleStr = user.optString(UserExt.USER_TAGS);
+            final String[] tagTitles = tagTitleStr.split(",");
+
+            for (final String title : tagTitles) {
+                final String tagTitle = title.trim();
+                JSONObject tag = tagRepository.getByTitle(tagTitle);
+                String tagId;
+
+                if (null == tag) {
+                    LOGGER.log(Level.TRACE, "Found a new tag[title={0}] in user [name={1}]",
+                            tagTitle, user.optString(User.USER_NAME));
+                    tag = new JSONObject();
+                    tag.put(Tag.TAG_TITLE, tagTitle);
+                    String tagURI = tagTitle;
+                    try {
+                        tagURI = URLEncoder.encode(tagTitle, "UTF-8");
+                    } catch (final UnsupportedEncodingException e) {
+                        LOGGER.log(Level.ERROR, "Encode tag title [" + tagTitle + "] error", e);
+                    }
+                    tag.put(Tag.TAG_URI, tagURI);
+                    tag.put(Tag.TAG_CSS, "");
+                    tag.put(Tag.TAG_REFERENCE_CNT, 0);
+                    tag.put(Tag.TAG_COMMENT_CNT, 0);
+                    tag.put(Tag.TAG_FOLLOWER_CNT, 0);
+                    tag.put(Tag.TAG_LINK_CNT, 0);
+                    tag.put(Tag.TAG_DESCRIPTION, "");
+                    tag.put(Tag.TAG_ICON_PATH, "");
+                    tag.put(Tag.TAG_STATUS, 0);
+                    tag.put(Tag.TAG_GOOD_CNT, 0);
+                    tag.put(Tag.TAG_BAD_CNT, 0);
+                    tag.put(Tag.TAG_SEO_TITLE, tagTitle);
+                    tag.put(Tag.TAG_SEO_KEYWORDS, tagTitle);
+                    tag.put(Tag.TAG_SEO_DESC, "");
+                    tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+
+                    tagId = tagRepository.add(tag);
+
+                    final JSONObject tagCntOption = optionRepository.get(Option.ID_C_STATISTIC_TAG_COUNT);
+                    final int tagCnt = tagCntOption.optInt(Option.OPTION_VALUE);
+                    tagCntOption.put(Option.OPTION_VALUE, tagCnt + 1);
+                    optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
+
+                    // User-Tag relation (creator)
+                    final JSONObject userTagRelation = new JSONObject();
+                    userTagRelation.put(Tag.TAG + '_' + Keys.OBJECT_ID, tagId);
+                    userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, user.optString(Keys.OBJECT_ID));
+                    userTagRelation.put(Common.TYPE, Tag.TAG_TYPE_C_CREATOR);
+
+                    userTagRepository.add(userTagRelation);
+                } else {
+                    tagId = tag.optString(Keys.OBJECT_ID);
+                    LOGGER.log(Level.TRACE, "Found a existing tag[title={0}, id={1}] in user[name={2}]",
+                            tag.optString(Tag.TAG_TITLE), tag.optString(Keys.OBJECT_ID), user.optString(User.USER_NAME));
+
+                    tagTitleStr = tagTitleStr.replaceAll("(?i)" + Pattern.quote(tagTitle), tag.optString(Tag.TAG_TITLE));
                 }
-                tag.put(Tag.TAG_URI, tagURI);
-                tag.put(Tag.TAG_CSS, "");
-                tag.put(Tag.TAG_REFERENCE_CNT, 0);
-                tag.put(Tag.TAG_COMMENT_CNT, 0);
-                tag.put(Tag.TAG_FOLLOWER_CNT, 0);
-                tag.put(Tag.TAG_LINK_CNT, 0);
-                tag.put(Tag.TAG_DESCRIPTION, "");
-                tag.put(Tag.TAG_ICON_PATH, "");
-                tag.put(Tag.TAG_STATUS, 0);
-                tag.put(Tag.TAG_GOOD_CNT, 0);
-                tag.put(Tag.TAG_BAD_CNT, 0);
-                tag.put(Tag.TAG_SEO_TITLE, tagTitle);
-                tag.put(Tag.TAG_SEO_KEYWORDS, tagTitle);
-                tag.put(Tag.TAG_SEO_DESC, "");
-                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
-
-                tagId = tagRepository.add(tag);
-
-                final JSONObject tagCntOption = optionRepository.get(Option.ID_C_STATISTIC_TAG_COUNT);
-                final int tagCnt = tagCntOption.optInt(Option.OPTION_VALUE);
-                tagCntOption.put(Option.OPTION_VALUE, tagCnt + 1);
-                optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
-
-                // User-Tag relation (creator)
+
+                // User-Tag relation (userself)
                 final JSONObject userTagRelation = new JSONObject();
                 userTagRelation.put(Tag.TAG + '_' + Keys.OBJECT_ID, tagId);
                 userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, user.optString(Keys.OBJECT_ID));
-                userTagRelation.put(Common.TYPE, Tag.TAG_TYPE_C_CREATOR);
+                userTagRelation.put(Common.TYPE, Tag.TAG_TYPE_C_USER_SELF);
 
                 userTagRepository.add(userTagRelation);
-            } else {
-                tagId = tag.optString(Keys.OBJECT_ID);
-                LOGGER.log(Level.TRACE, "Found a existing tag[title={0}, id={1}] in user[name={2}]",
-                        tag.optString(Tag.TAG_TITLE), tag.optString(Keys.OBJECT_ID), user.optString(User.USER_NAME));
-
-                tagTitleStr = tagTitleStr.replaceAll("(?i)" + Pattern.quote(tagTitle), tag.optString(Tag.TAG_TITLE));
             }
 
-            // User-Tag relation (userself)
-            final JSONObject userTagRelation = new JSONObject();
-            userTagRelation.put(Tag.TAG + '_' + Keys.OBJECT_ID, tagId);
-            userTagRelation.put(User.USER + '_' + Keys.OBJECT_ID, user.optString(Keys.OBJECT_ID));
-            userTagRelation.put(Common.TYPE, Tag.TAG_TYPE_C_USER_SELF);
-
-            userTagRepository.add(userTagRelation);
+            user.put(UserExt.USER_TAGS, tagTitleStr);
         }
-
-        user.put(UserExt.USER_TAGS, tagTitleStr);
     }
 }
@@ -20,6 +20,7 @@ package org.b3log.symphony.service;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -50,7 +51,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.8.6.14, Jan 25, 2018
+ * @version 1.8.8.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -222,6 +223,30 @@ public class UserQueryService {
         return ret;
     }
 
+    /**
+     * Scans ids of users logged in after the specified time, hands them to the specified handler one by one.
+     *
+     * @param time    the specified start time
+     * @param handler the specified handler, receives users only holds "oId"
+     * @return count of the scanned users
+     * @throws ServiceException service exception
+     */
+    public long scanLatestLoggedInUserIds(final long time, final RowHandler handler) throws ServiceException {
+        final Query query = new Query().addProjection(Keys.OBJECT_ID, String.class)
+                .setFilter(CompositeFilterOperator.and(
+                        new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL, UserExt.USER_STATUS_C_VALID),
+                        new PropertyFilter(UserExt.USER_LATEST_LOGIN_TIME, FilterOperator.GREATER_THAN_OR_EQUAL, time)
+                ));
+
+        try {
+            return userRepository.scan(query, handler);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Scans latest logged in user failed", e);
+
+            throw new ServiceException(e);
+        }
+    }
+
     /**
      * Gets user count of the specified day.
      *
@@ -277,34 +302,37 @@ public class UserQueryService {
     /**
      * Loads all usernames from database.
      */
+    @Scheduled(schedule = "every 30 minutes", description = "Loads usernames")
     public void loadUserNames() {
-        USER_NAMES.clear();
-
-        final Query query = new Query().setPageCount(1);
+        final Query query = new Query();
         query.setFilter(new PropertyFilter(User.USER_NAME, FilterOperator.NOT_EQUAL, UserExt.NULL_USER_NAME));
         query.addProjection(User.USER_NAME, String.class);
         query.addProjection(UserExt.USER_AVATAR_URL, String.class);
 
         try {
-            final JSONObject result = userRepository.get(query); // XXX: Performance Issue
-            final JSONArray array = result.optJSONArray(Keys.RESULTS);
-            for (int i = 0; i < array.length(); i++) {
-                final JSONObject user = array.optJSONObject(i);
-
+            final List<JSONObject> userNames = new ArrayList<>();
+            userRepository.scan(query, user -> {
                 final JSONObject u = new JSONObject();
                 u.put(User.USER_NAME, user.optString(User.USER_NAME));
                 u.put(UserExt.USER_T_NAME_LOWER_CASE, user.optString(User.USER_NAME).toLowerCase());
                 final String avatar = avatarQueryService.getAvatarURLByUser(UserExt.USER_AVATAR_VIEW_MODE_C_STATIC, user, "20");
                 u.put(UserExt.USER_AVATAR_URL, avatar);
-                USER_NAMES.add(u);
-            }
+                userNames.add(u);
+
+                return true;
+            });
 
-            Collections.sort(USER_NAMES, (u1, u2) -> {
+            Collections.sort(userNames, (u1, u2) -> {
                 final String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
                 final String u2Name = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
 
                 return u1Name.compareTo(u2Name);
             });
+
+            synchronized (USER_NAMES) {
+                USER_NAMES.clear();
+                USER_NAMES.addAll(userNames);
+            }
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Loads usernames error", e);
         }
@@ -19,6 +19,7 @@ package org.b3log.symphony.service;
 
 import org.b3log.latke.Keys;
 import org.b3log.latke.Latkes;
+import org.b3log.latke.cron.Scheduled;
 import org.b3log.latke.ioc.inject.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
@@ -42,7 +43,7 @@ import java.util.*;
  * Verifycode management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.4, Oct 28, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -104,6 +105,7 @@ public class VerifycodeMgmtService {
      * Removes expired verifycodes.
      */
     @Transactional
+    @Scheduled(schedule = "every 1 hours", description = "Removes expired verifycodes")
     public void removeExpiredVerifycodes() {
         final Query query = new Query().setFilter(new PropertyFilter(Verifycode.EXPIRED,
                 FilterOperator.LESS_THAN, new Date().getTime()));
@@ -125,6 +127,7 @@ public class VerifycodeMgmtService {
      * Sends email verifycode.
      */
     @Transactional
+    @Scheduled(schedule = "every 5 seconds", description = "Sends email verifycodes")
     public void sendEmailVerifycode() {
         final List<Filter> filters = new ArrayList<>();
         filters.add(new PropertyFilter(Verifycode.TYPE, FilterOperator.EQUAL, Verifycode.TYPE_C_EMAIL));
@@ -0,0 +1,356 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.patchca.color.SingleColorFactory;
+import org.patchca.filter.predefined.CurvesRippleFilterFactory;
+import org.patchca.service.ConfigurableCaptchaService;
+import org.patchca.word.RandomWordFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captcha utilities.
+ * <p>
+ * Images are rendered and PNG-encoded ahead of time by a producer thread per {@link Pool pool}, so serving a captcha
+ * takes one from a bounded queue. Challenges waiting for an answer are kept with an expiration time, each one is
+ * accepted once within {@link #CHALLENGE_TTL}.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class Captchas {
+
+    /**
+     * Challenge time to live.
+     */
+    public static final long CHALLENGE_TTL = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Captchas of the register and forget password forms.
+     */
+    public static final Pool DEFAULT = new Pool("default", new Color(25, 60, 170));
+
+    /**
+     * Captchas of the login form.
+     */
+    public static final Pool LOGIN = new Pool("login", new Color(26, 52, 96));
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Captchas.class);
+
+    /**
+     * Count of pre-generated captchas of a pool.
+     */
+    private static final int POOL_SIZE = 128;
+
+    /**
+     * Maximum count of challenges waiting for an answer.
+     */
+    private static final int MAX_CHALLENGE_CNT = 8192;
+
+    /**
+     * Challenges waiting for an answer, &lt;challenge, expiration time&gt;.
+     */
+    private static final Map<String, Long> CHALLENGES = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor.
+     */
+    private Captchas() {
+    }
+
+    /**
+     * Starts the producers.
+     */
+    public static void start() {
+        DEFAULT.start();
+        LOGIN.start();
+    }
+
+    /**
+     * Stops the producers.
+     */
+    public static void stop() {
+        DEFAULT.stop();
+        LOGIN.stop();
+    }
+
+    /**
+     * Adds the specified challenge waiting for an answer.
+     *
+     * @param challenge the specified challenge
+     */
+    public static void addChallenge(final String challenge) {
+        addChallenge(challenge, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks the specified answer, a challenge is accepted once.
+     *
+     * @param answer the specified answer
+     * @return {@code true} if the answer matches an unexpired challenge, returns {@code false} otherwise
+     */
+    public static boolean consumeChallenge(final String answer) {
+        return consumeChallenge(answer, System.currentTimeMillis());
+    }
+
+    /**
+     * Adds the specified challenge at the specified time.
+     *
+     * @param challenge the specified challenge
+     * @param now       the specified time
+     */
+    static void addChallenge(final String challenge, final long now) {
+        if (MAX_CHALLENGE_CNT <= CHALLENGES.size()) {
+            CHALLENGES.values().removeIf(expiration -> expiration <= now);
+
+            // Still full, drops some to stay bounded, those users get a new captcha
+            final Iterator<String> challenges = CHALLENGES.keySet().iterator();
+            while (MAX_CHALLENGE_CNT <= CHALLENGES.size() && challenges.hasNext()) {
+                challenges.next();
+                challenges.remove();
+            }
+        }
+
+        CHALLENGES.put(challenge, now + CHALLENGE_TTL);
+    }
+
+    /**
+     * Checks the specified answer at the specified time.
+     *
+     * @param answer the specified answer
+     * @param now    the specified time
+     * @return {@code true} if the answer matches an unexpired challenge, returns {@code false} otherwise
+     */
+    static boolean consumeChallenge(final String answer, final long now) {
+        final Long expiration = CHALLENGES.remove(answer);
+
+        return null != expiration && now < expiration;
+    }
+
+    /**
+     * Gets the count of challenges waiting for an answer.
+     *
+     * @return count
+     */
+    static int getChallengeCount() {
+        return CHALLENGES.size();
+    }
+
+    /**
+     * Captcha.
+     *
+     * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.4.0
+     */
+    public static final class Captcha {
+
+        /**
+         * Challenge.
+         */
+        private final String challenge;
+
+        /**
+         * PNG image.
+         */
+        private final byte[] png;
+
+        /**
+         * Constructs a captcha.
+         *
+         * @param challenge the specified challenge
+         * @param png       the specified PNG image
+         */
+        private Captcha(final String challenge, final byte[] png) {
+            this.challenge = challenge;
+            this.png = png;
+        }
+
+        /**
+         * Gets the challenge.
+         *
+         * @return challenge
+         */
+        public String getChallenge() {
+            return challenge;
+        }
+
+        /**
+         * Gets the PNG image.
+         *
+         * @return PNG image
+         */
+        public byte[] getPNG() {
+            return png;
+        }
+    }
+
+    /**
+     * Pool of pre-generated captchas of one color.
+     *
+     * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+     * @version 1.0.0.0, Oct 19, 2026
+     * @since 2.4.0
+     */
+    public static final class Pool {
+
+        /**
+         * Name.
+         */
+        private final String name;
+
+        /**
+         * Color.
+         */
+        private final Color color;
+
+        /**
+         * Pre-generated captchas.
+         */
+        private final BlockingQueue<Captcha> captchas = new ArrayBlockingQueue<>(POOL_SIZE);
+
+        /**
+         * Producer thread.
+         */
+        private Thread producer;
+
+        /**
+         * Constructs a pool.
+         *
+         * @param name  the specified name
+         * @param color the specified color
+         */
+        private Pool(final String name, final Color color) {
+            this.name = name;
+            this.color = color;
+        }
+
+        /**
+         * Takes a captcha, generates one on the caller thread if the producer has not caught up.
+         *
+         * @return captcha
+         * @throws IOException io exception
+         */
+        public Captcha take() throws IOException {
+            final Captcha ret = captchas.poll();
+            if (null != ret) {
+                return ret;
+            }
+
+            LOGGER.log(Level.DEBUG, "Captcha pool [{0}] is empty", name);
+
+            return generate(newService());
+        }
+
+        /**
+         * Starts the producer.
+         */
+        synchronized void start() {
+            if (null != producer) {
+                return;
+            }
+
+            producer = new Thread(this::produce, "CaptchaProducer-" + name);
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        /**
+         * Stops the producer.
+         */
+        synchronized void stop() {
+            if (null == producer) {
+                return;
+            }
+
+            producer.interrupt();
+            producer = null;
+        }
+
+        /**
+         * Keeps the pool full until interrupted.
+         */
+        private void produce() {
+            final ConfigurableCaptchaService service = newService();
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    captchas.put(generate(service));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Generates captcha failed", e);
+                    try {
+                        TimeUnit.SECONDS.sleep(1);
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Creates a captcha service of this pool.
+         *
+         * @return captcha service
+         */
+        private ConfigurableCaptchaService newService() {
+            final ConfigurableCaptchaService ret = new ConfigurableCaptchaService();
+            ret.setColorFactory(new SingleColorFactory(color));
+            ret.setFilterFactory(new CurvesRippleFilterFactory(ret.getColorFactory()));
+            final RandomWordFactory randomWordFactory = new RandomWordFactory();
+            randomWordFactory.setCharacters("abcdefghijklmnprstuvwxy23456789");
+            randomWordFactory.setMinLength(4);
+            randomWordFactory.setMaxLength(4);
+            ret.setWordFactory(randomWordFactory);
+
+            return ret;
+        }
+
+        /**
+         * Generates a captcha with the specified service.
+         *
+         * @param service the specified service
+         * @return captcha
+         * @throws IOException io exception
+         */
+        private static Captcha generate(final ConfigurableCaptchaService service) throws IOException {
+            final org.patchca.service.Captcha captcha = service.getCaptcha();
+            final ByteArrayOutputStream png = new ByteArrayOutputStream(4096);
+            ImageIO.write(captcha.getImage(), "png", png);
+
+            return new Captcha(captcha.getChallenge(), png.toByteArray());
+        }
+    }
+}
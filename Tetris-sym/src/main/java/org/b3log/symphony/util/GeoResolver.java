@@ -0,0 +1,46 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.json.JSONObject;
+
+/**
+ * Geography resolver, resolves the address of an IP.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @see Geos#setResolver(GeoResolver)
+ * @since 2.4.0
+ */
+@FunctionalInterface
+public interface GeoResolver {
+
+    /**
+     * Gets country, province and city of the specified IP.
+     *
+     * @param ip the specified IP
+     * @return address info, for example      <pre>
+     * {
+     *     "country": "",
+     *     "province": "",
+     *     "city": ""
+     * }
+     * </pre>, returns {@code null} if not found
+     */
+    JSONObject resolve(final String ip);
+}
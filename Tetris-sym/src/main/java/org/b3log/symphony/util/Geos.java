@@ -28,12 +28,16 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.file.Paths;
 
 /**
  * Geography utilities.
+ * <p>
+ * Addresses are resolved by the configured {@link GeoResolver}, see {@link #setResolver(GeoResolver)}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.1, Apr 11, 2016
+ * @version 1.2.3.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class Geos {
@@ -43,6 +47,11 @@ public final class Geos {
      */
     private static final Logger LOGGER = Logger.getLogger(Geos.class);
 
+    /**
+     * Geography resolver.
+     */
+    private static volatile GeoResolver resolver = createResolver();
+
     /**
      * Gets country, province and city of the specified IP.
      *
@@ -56,6 +65,53 @@ public final class Geos {
      * </pre>, returns {@code null} if not found
      */
     public static JSONObject getAddress(final String ip) {
+        return resolver.resolve(ip);
+    }
+
+    /**
+     * Sets the geography resolver.
+     *
+     * @param resolver the specified resolver
+     */
+    public static void setResolver(final GeoResolver resolver) {
+        Geos.resolver = resolver;
+    }
+
+    /**
+     * Creates the configured geography resolver, the offline table "geo.ipdb" if configured, otherwise Baidu and Sina
+     * APIs.
+     *
+     * @return resolver
+     */
+    private static GeoResolver createResolver() {
+        final String ipdb = Symphonys.get("geo.ipdb");
+        if (StringUtils.isNotBlank(ipdb)) {
+            try {
+                final GeoResolver ret = new MappedGeoResolver(Paths.get(ipdb));
+                LOGGER.log(Level.INFO, "Resolves geography with the offline table [" + ipdb + "]");
+
+                return ret;
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Loads geography table [" + ipdb + "] failed, resolves with Baidu instead", e);
+            }
+        }
+
+        return Geos::getAddressBaidu;
+    }
+
+    /**
+     * Gets country, province and city of the specified IP by Baidu API.
+     *
+     * @param ip the specified IP
+     * @return address info, for example      <pre>
+     * {
+     *     "country": "",
+     *     "province": "",
+     *     "city": ""
+     * }
+     * </pre>, returns {@code null} if not found
+     */
+    private static JSONObject getAddressBaidu(final String ip) {
         final String ak = Symphonys.get("baidu.lbs.ak");
 
         if (StringUtils.isBlank(ak) || !Networks.isIPv4(ip)) {
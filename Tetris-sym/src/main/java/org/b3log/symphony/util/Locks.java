@@ -0,0 +1,380 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keyed lock utilities.
+ * <p>
+ * Keys (article id, user id, tag title, etc.) are hashed onto a fixed set of striped reentrant locks. Multiple keys are
+ * always acquired in stripe order with a timeout, so two writers never wait on each other forever. Tag keys are hashed
+ * onto stripes ordered after all other stripes, so they are acquired innermost.
+ * </p>
+ * <p>
+ * A thread already holding keys may lock again: stripes it holds are not acquired twice, and new stripes are acquired
+ * only if they are all tag stripes and the thread holds no tag stripes yet (for example tag keys under an article key),
+ * so they come after the stripes it holds whatever the keys hash to. Any other nested acquiring fails immediately,
+ * also when the stripes happen to be in order, so a wrong nesting fails on its first run instead of with some keys
+ * only. Write paths collect their keys into one {@link #lock(String...)} call, helpers invoked under an outer lock
+ * check {@link #isLocked()} and leave the locking to their caller.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * try (final Locks.Lease lease = Locks.lock(Locks.user(fromId), Locks.user(toId))) {
+ *     // ...
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.2.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class Locks {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Locks.class);
+
+    /**
+     * Stripe count of each key kind, must be a power of 2.
+     */
+    private static final int STRIPE_CNT = 1024;
+
+    /**
+     * Tag key prefix.
+     */
+    private static final String TAG_PREFIX = "tag-";
+
+    /**
+     * Default acquire timeout in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 10 * 1000;
+
+    /**
+     * Stripes.
+     */
+    private static final ReentrantLock[] STRIPES = new ReentrantLock[STRIPE_CNT * 2];
+
+    /**
+     * Leases held by the current thread, innermost last.
+     */
+    private static final ThreadLocal<Deque<Lease>> LEASES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static {
+        for (int i = 0; i < STRIPES.length; i++) {
+            STRIPES[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquired count.
+     */
+    private static final LongAdder ACQUIRED_CNT = new LongAdder();
+
+    /**
+     * Contended (had to wait) count.
+     */
+    private static final LongAdder CONTENDED_CNT = new LongAdder();
+
+    /**
+     * Timeout count.
+     */
+    private static final LongAdder TIMEOUT_CNT = new LongAdder();
+
+    /**
+     * Total wait time in nanoseconds.
+     */
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+
+    /**
+     * Max wait time in nanoseconds.
+     */
+    private static final AtomicLong MAX_WAIT_NANOS = new AtomicLong();
+
+    /**
+     * Private constructor.
+     */
+    private Locks() {
+    }
+
+    /**
+     * Gets the lock key of the specified article.
+     *
+     * @param articleId the specified article id
+     * @return lock key
+     */
+    public static String article(final String articleId) {
+        return "article-" + articleId;
+    }
+
+    /**
+     * Gets the lock key of the specified user.
+     *
+     * @param userId the specified user id
+     * @return lock key
+     */
+    public static String user(final String userId) {
+        return "user-" + userId;
+    }
+
+    /**
+     * Gets the lock key of the specified tag, tag titles are case-insensitive.
+     *
+     * @param tagTitle the specified tag title
+     * @return lock key
+     */
+    public static String tag(final String tagTitle) {
+        return TAG_PREFIX + StringUtils.lowerCase(StringUtils.trim(tagTitle));
+    }
+
+    /**
+     * Gets the lock keys of the specified tags string.
+     *
+     * @param tagsString the specified tags string, for example "Java,Latke"
+     * @return lock keys
+     */
+    public static String[] tags(final String tagsString) {
+        return Arrays.stream(StringUtils.split(StringUtils.defaultString(tagsString), ','))
+                .filter(StringUtils::isNotBlank).map(Locks::tag).toArray(String[]::new);
+    }
+
+    /**
+     * Gets the lock key of the specified user name, user names are case-insensitive.
+     *
+     * @param userName the specified user name
+     * @return lock key
+     */
+    public static String userName(final String userName) {
+        return "user-name-" + StringUtils.lowerCase(StringUtils.trim(userName));
+    }
+
+    /**
+     * Gets the lock key of the specified user email, emails are case-insensitive.
+     *
+     * @param userEmail the specified user email
+     * @return lock key
+     */
+    public static String userEmail(final String userEmail) {
+        return "user-email-" + StringUtils.lowerCase(StringUtils.trim(userEmail));
+    }
+
+    /**
+     * Acquires the specified keys with the {@link #DEFAULT_TIMEOUT default timeout}.
+     *
+     * @param keys the specified keys, {@code null} elements are ignored
+     * @return lease, must be closed to release the keys
+     * @throws IllegalStateException if timeout, interrupted or nested other than tag keys under other keys
+     */
+    public static Lease lock(final String... keys) {
+        return lock(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS, keys);
+    }
+
+    /**
+     * Acquires the specified keys with the specified timeout.
+     *
+     * @param timeout the specified timeout
+     * @param unit    the specified timeout unit
+     * @param keys    the specified keys, {@code null} elements are ignored
+     * @return lease, must be closed to release the keys
+     * @throws IllegalStateException if timeout, interrupted or nested other than tag keys under other keys
+     */
+    public static Lease lock(final long timeout, final TimeUnit unit, final String... keys) {
+        // Stripes held already are reentered for free, only the others are acquired
+        final int[] stripes = Arrays.stream(keys).filter(key -> null != key).mapToInt(Locks::stripe)
+                .distinct().filter(stripe -> !STRIPES[stripe].isHeldByCurrentThread()).sorted().toArray();
+        final Deque<Lease> leases = LEASES.get();
+        final int heldMax = leases.stream().mapToInt(Lease::getMaxStripe).max().orElse(-1);
+        if (0 < stripes.length && -1 < heldMax && (stripes[0] < STRIPE_CNT || STRIPE_CNT <= heldMax)) {
+            LOGGER.log(Level.ERROR, "Acquires locks {0} out of order under held locks", Arrays.toString(keys));
+
+            throw new IllegalStateException("Acquires locks " + Arrays.toString(keys) + " out of order");
+        }
+
+        final long start = System.nanoTime();
+        final long deadline = start + unit.toNanos(timeout);
+        int acquired = 0;
+        boolean contended = false;
+        try {
+            for (final int stripe : stripes) {
+                final ReentrantLock lock = STRIPES[stripe];
+                if (lock.tryLock()) {
+                    acquired++;
+
+                    continue;
+                }
+
+                contended = true;
+                if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                acquired++;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final long waitNanos = System.nanoTime() - start;
+        if (contended) {
+            CONTENDED_CNT.increment();
+            WAIT_NANOS.add(waitNanos);
+            MAX_WAIT_NANOS.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        if (acquired < stripes.length) {
+            unlock(stripes, acquired);
+            TIMEOUT_CNT.increment();
+            LOGGER.log(Level.WARN, "Acquires locks {0} failed after [" + TimeUnit.NANOSECONDS.toMillis(waitNanos)
+                    + "ms]", Arrays.toString(keys));
+
+            throw new IllegalStateException("Acquires locks " + Arrays.toString(keys) + " failed");
+        }
+
+        ACQUIRED_CNT.increment();
+
+        final Lease ret = new Lease(stripes);
+        leases.addLast(ret);
+
+        return ret;
+    }
+
+    /**
+     * Determines whether the current thread holds any keys.
+     *
+     * @return {@code true} if it holds, returns {@code false} otherwise
+     */
+    public static boolean isLocked() {
+        return !LEASES.get().isEmpty();
+    }
+
+    /**
+     * Gets lock metrics.
+     *
+     * @return metrics, for example,
+     * <pre>
+     * {
+     *     "acquiredCnt": long,
+     *     "contendedCnt": long,
+     *     "timeoutCnt": long,
+     *     "waitTime": long, // total, in milliseconds
+     *     "maxWaitTime": long // in milliseconds
+     * }
+     * </pre>
+     */
+    public static JSONObject getStats() {
+        final JSONObject ret = new JSONObject();
+        ret.put("acquiredCnt", ACQUIRED_CNT.sum());
+        ret.put("contendedCnt", CONTENDED_CNT.sum());
+        ret.put("timeoutCnt", TIMEOUT_CNT.sum());
+        ret.put("waitTime", TimeUnit.NANOSECONDS.toMillis(WAIT_NANOS.sum()));
+        ret.put("maxWaitTime", TimeUnit.NANOSECONDS.toMillis(MAX_WAIT_NANOS.get()));
+
+        return ret;
+    }
+
+    /**
+     * Gets the stripe of the specified key.
+     *
+     * @param key the specified key
+     * @return stripe index
+     */
+    private static int stripe(final String key) {
+        final int h = key.hashCode();
+        final int ret = (h ^ (h >>> 16)) & (STRIPE_CNT - 1);
+
+        return key.startsWith(TAG_PREFIX) ? STRIPE_CNT + ret : ret;
+    }
+
+    /**
+     * Releases the first specified count of the specified stripes in reverse order.
+     *
+     * @param stripes the specified stripes
+     * @param cnt     the specified count
+     */
+    private static void unlock(final int[] stripes, final int cnt) {
+        for (int i = cnt - 1; i >= 0; i--) {
+            STRIPES[stripes[i]].unlock();
+        }
+    }
+
+    /**
+     * Lease of acquired keys.
+     *
+     * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+     * @version 1.1.0.0, Oct 19, 2026
+     * @since 2.4.0
+     */
+    public static final class Lease implements AutoCloseable {
+
+        /**
+         * Acquired stripes.
+         */
+        private final int[] stripes;
+
+        /**
+         * Whether released.
+         */
+        private boolean released;
+
+        /**
+         * Constructs a lease with the specified acquired stripes.
+         *
+         * @param stripes the specified acquired stripes
+         */
+        private Lease(final int[] stripes) {
+            this.stripes = stripes;
+        }
+
+        /**
+         * Gets the max acquired stripe.
+         *
+         * @return max acquired stripe, returns {@code -1} if none
+         */
+        private int getMaxStripe() {
+            return 0 == stripes.length ? -1 : stripes[stripes.length - 1];
+        }
+
+        /**
+         * Releases the acquired keys, must be called by the acquiring thread.
+         */
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+
+            released = true;
+            unlock(stripes, stripes.length);
+            LEASES.get().removeLastOccurrence(this);
+        }
+    }
+}
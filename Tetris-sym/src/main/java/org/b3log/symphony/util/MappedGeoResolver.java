@@ -0,0 +1,280 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline geography resolver, looks up IPv4 addresses in a memory-mapped IP range table with a binary search.
+ * <p>
+ * The table is compiled from CSV lines {@code startIP,endIP,country,province,city} by
+ * {@link #compile(BufferedReader, Path)}. The compiled file layout (big-endian):
+ * <pre>
+ * int magic, int rangeCnt, int regionCnt
+ * rangeCnt * (int startIP, int endIP, int regionIndex), sorted by startIP (unsigned)
+ * (regionCnt + 1) * int regionOffset
+ * UTF-8 regions "country|province|city"
+ * </pre>
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class MappedGeoResolver implements GeoResolver {
+
+    /**
+     * Magic of compiled tables, "GEO1".
+     */
+    private static final int MAGIC = 0x47454F31;
+
+    /**
+     * Header length in bytes.
+     */
+    private static final int HEADER_LEN = 12;
+
+    /**
+     * Range record length in bytes.
+     */
+    private static final int RANGE_LEN = 12;
+
+    /**
+     * Region field separator.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Mapped table.
+     */
+    private final ByteBuffer table;
+
+    /**
+     * Count of ranges.
+     */
+    private final int rangeCnt;
+
+    /**
+     * Position of region offsets.
+     */
+    private final int regionOffsetsPos;
+
+    /**
+     * Position of regions.
+     */
+    private final int regionsPos;
+
+    /**
+     * Maps the specified compiled table.
+     *
+     * @param file the specified compiled table file
+     * @throws IOException if the file can not be mapped or is not a compiled table
+     */
+    public MappedGeoResolver(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (table.capacity() < HEADER_LEN || MAGIC != table.getInt(0)) {
+            throw new IOException("Not a compiled geography table [" + file + "]");
+        }
+
+        rangeCnt = table.getInt(4);
+        final int regionCnt = table.getInt(8);
+        regionOffsetsPos = HEADER_LEN + rangeCnt * RANGE_LEN;
+        regionsPos = regionOffsetsPos + (regionCnt + 1) * 4;
+        if (regionsPos > table.capacity() || regionsPos + table.getInt(regionsPos - 4) != table.capacity()) {
+            throw new IOException("Truncated geography table [" + file + "]");
+        }
+    }
+
+    @Override
+    public JSONObject resolve(final String ip) {
+        final long addr = parseIPv4(ip);
+        if (0 > addr) {
+            return null;
+        }
+
+        // The last range starting at or before the address
+        int low = 0, high = rangeCnt - 1, found = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (unsigned(table.getInt(HEADER_LEN + mid * RANGE_LEN)) <= addr) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        if (0 > found) {
+            return null;
+        }
+
+        final int rangePos = HEADER_LEN + found * RANGE_LEN;
+        if (unsigned(table.getInt(rangePos + 4)) < addr) {
+            return null;
+        }
+
+        final int region = table.getInt(rangePos + 8);
+        final int from = table.getInt(regionOffsetsPos + region * 4);
+        final int to = table.getInt(regionOffsetsPos + region * 4 + 4);
+        final byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = table.get(regionsPos + from + i);
+        }
+
+        final String[] fields = StringUtils.splitPreserveAllTokens(new String(bytes, StandardCharsets.UTF_8), SEPARATOR);
+        final JSONObject ret = new JSONObject();
+        ret.put(Common.COUNTRY, fields[0]);
+        ret.put(Common.PROVINCE, fields[1]);
+        ret.put(Common.CITY, fields[2]);
+
+        return ret;
+    }
+
+    /**
+     * Compiles the specified CSV IP range table into the specified file. Blank lines and lines starting with '#' are
+     * skipped.
+     *
+     * @param reader the specified CSV reader, lines of {@code startIP,endIP,country,province,city}
+     * @param file   the specified compiled table file
+     * @throws IOException io exception
+     */
+    public static void compile(final BufferedReader reader, final Path file) throws IOException {
+        final List<long[]> ranges = new ArrayList<>();
+        final Map<String, Integer> regionIndexes = new HashMap<>();
+        final List<byte[]> regions = new ArrayList<>();
+
+        String line;
+        int lineNum = 0;
+        while (null != (line = reader.readLine())) {
+            lineNum++;
+            line = line.trim();
+            if (line.isEmpty() || '#' == line.charAt(0)) {
+                continue;
+            }
+
+            final String[] fields = StringUtils.splitPreserveAllTokens(line, ',');
+            final long start = 5 == fields.length ? parseIPv4(fields[0].trim()) : -1;
+            final long end = 5 == fields.length ? parseIPv4(fields[1].trim()) : -1;
+            if (0 > start || start > end) {
+                throw new IOException("Invalid geography range at line [" + lineNum + "]: " + line);
+            }
+
+            final String region = fields[2].trim() + SEPARATOR + fields[3].trim() + SEPARATOR + fields[4].trim();
+            final Integer regionIndex = regionIndexes.computeIfAbsent(region, r -> {
+                regions.add(r.getBytes(StandardCharsets.UTF_8));
+
+                return regions.size() - 1;
+            });
+            ranges.add(new long[]{start, end, regionIndex});
+        }
+
+        ranges.sort((r1, r2) -> Long.compare(r1[0], r2[0]));
+
+        try (final OutputStream outputStream = Files.newOutputStream(file);
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(ranges.size());
+            out.writeInt(regions.size());
+            for (final long[] range : ranges) {
+                out.writeInt((int) range[0]);
+                out.writeInt((int) range[1]);
+                out.writeInt((int) range[2]);
+            }
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (final byte[] region : regions) {
+                offset += region.length;
+                out.writeInt(offset);
+            }
+            for (final byte[] region : regions) {
+                out.write(region);
+            }
+        }
+    }
+
+    /**
+     * Parses the specified IPv4 address.
+     *
+     * @param ip the specified IPv4 address, for example "127.0.0.1"
+     * @return address as an unsigned int, returns {@code -1} if the specified IP is not a valid IPv4 address
+     */
+    static long parseIPv4(final String ip) {
+        if (null == ip) {
+            return -1;
+        }
+
+        long ret = 0;
+        int part = -1, dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            final char c = ip.charAt(i);
+            if ('.' == c) {
+                if (0 > part || 3 == dots) {
+                    return -1;
+                }
+
+                ret = ret << 8 | part;
+                part = -1;
+                dots++;
+            } else if ('0' <= c && '9' >= c) {
+                part = (0 > part ? 0 : part * 10) + c - '0';
+                if (255 < part) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        if (0 > part || 3 != dots) {
+            return -1;
+        }
+
+        return ret << 8 | part;
+    }
+
+    /**
+     * Gets the unsigned value of the specified int.
+     *
+     * @param value the specified int
+     * @return unsigned value
+     */
+    private static long unsigned(final int value) {
+        return value & 0xFFFFFFFFL;
+    }
+}
@@ -31,12 +31,15 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Session utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.3.0, Nov 8, 2017
+ * @version 2.1.0.0, Oct 19, 2026
  */
 public final class Sessions {
 
@@ -55,6 +58,26 @@ public final class Sessions {
      */
     private static final int COOKIE_EXPIRY = 60 * 60 * 24 * 30;
 
+    /**
+     * Maximum count of cached decrypted cookies.
+     */
+    private static final int MAX_CACHED_COOKIE_CNT = 4096;
+
+    /**
+     * Decrypted cookie cache, &lt;encrypted cookie value, decrypted cookie value&gt;.
+     * <p>
+     * Only values produced by {@link #login(HttpServletRequest, HttpServletResponse, JSONObject, boolean)} decrypt
+     * successfully, so a hit here is as trustworthy as decrypting again.
+     * </p>
+     */
+    private static final Map<String, String> COOKIE_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                    return size() > MAX_CACHED_COOKIE_CNT;
+                }
+            });
+
     /**
      * Private default constructor.
      */
@@ -82,10 +105,34 @@ public final class Sessions {
         return ret;
     }
 
+    /**
+     * Decrypts the specified remember-me cookie value.
+     *
+     * @param cookieValue the specified cookie value
+     * @return decrypted cookie value, returns {@code null} if decrypt failed
+     */
+    public static String decryptCookie(final String cookieValue) {
+        if (StringUtils.isBlank(cookieValue)) {
+            return null;
+        }
+
+        String ret = COOKIE_CACHE.get(cookieValue);
+        if (null != ret) {
+            return ret;
+        }
+
+        ret = Crypts.decryptByAES(cookieValue, Symphonys.get("cookie.secret"));
+        if (StringUtils.isNotBlank(ret)) {
+            COOKIE_CACHE.put(cookieValue, ret);
+        }
+
+        return ret;
+    }
+
     /**
      * Logins the specified user from the specified request.
      * <p>
-     * If no session of the specified request, do nothing.
+     * Creates a session for the specified request if it has not one yet.
      * </p>
      *
      * @param request       the specified request
@@ -98,13 +145,7 @@ public final class Sessions {
      */
     public static String login(final HttpServletRequest request, final HttpServletResponse response,
                                final JSONObject user, final boolean rememberLogin) {
-        final HttpSession session = request.getSession(false);
-
-        if (null == session) {
-            LOGGER.warn("The session is null");
-
-            return null;
-        }
+        final HttpSession session = request.getSession();
 
         session.setAttribute(User.USER, user);
         session.setAttribute(Common.CSRF_TOKEN, RandomStringUtils.randomAlphanumeric(12));
@@ -118,7 +159,11 @@ public final class Sessions {
             cookieJSONObject.put(Keys.TOKEN, user.optString(User.USER_PASSWORD) + ":" + random);
             cookieJSONObject.put(Common.REMEMBER_LOGIN, rememberLogin);
 
-            final String ret = Crypts.encryptByAES(cookieJSONObject.toString(), Symphonys.get("cookie.secret"));
+            final String cookieValue = cookieJSONObject.toString();
+            final String ret = Crypts.encryptByAES(cookieValue, Symphonys.get("cookie.secret"));
+            if (null != ret) {
+                COOKIE_CACHE.put(ret, cookieValue);
+            }
             final Cookie cookie = new Cookie(COOKIE_NAME, ret);
 
             cookie.setPath("/");
@@ -148,6 +193,15 @@ public final class Sessions {
         final HttpSession session = request.getSession(false);
 
         if (null != session) {
+            final Cookie[] cookies = request.getCookies();
+            if (null != cookies) {
+                for (final Cookie cookie : cookies) {
+                    if (COOKIE_NAME.equals(cookie.getName())) {
+                        COOKIE_CACHE.remove(cookie.getValue());
+                    }
+                }
+            }
+
             final Cookie cookie = new Cookie(COOKIE_NAME, null);
 
             cookie.setMaxAge(0);
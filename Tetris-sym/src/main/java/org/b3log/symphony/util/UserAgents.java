@@ -0,0 +1,127 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import eu.bitwalker.useragentutils.BrowserType;
+import eu.bitwalker.useragentutils.UserAgent;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.util.Requests;
+import org.b3log.symphony.model.Common;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * User-Agent utilities.
+ * <p>
+ * Classifications are kept in a bounded LRU map keyed by the raw User-Agent string, so the parsing and keyword
+ * scans run once per distinct client instead of once per request.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class UserAgents {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UserAgents.class);
+
+    /**
+     * Maximum count of cached classifications.
+     */
+    private static final int MAX_CACHED_CNT = 4096;
+
+    /**
+     * User-Agent classification cache, &lt;User-Agent, browser type&gt;.
+     */
+    private static final Map<String, BrowserType> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, BrowserType>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, BrowserType> eldest) {
+                    return size() > MAX_CACHED_CNT;
+                }
+            });
+
+    /**
+     * Private constructor.
+     */
+    private UserAgents() {
+    }
+
+    /**
+     * Gets the browser type of the specified request.
+     *
+     * @param request the specified request
+     * @return browser type, {@link BrowserType#MOBILE_BROWSER} for mobile clients and {@link BrowserType#ROBOT} for
+     * bots
+     */
+    public static BrowserType getBrowserType(final HttpServletRequest request) {
+        final String userAgentStr = StringUtils.defaultString(request.getHeader(Common.USER_AGENT));
+
+        BrowserType ret = CACHE.get(userAgentStr);
+        if (null != ret) {
+            return ret;
+        }
+
+        ret = classify(userAgentStr);
+        if (BrowserType.UNKNOWN == ret
+                && !StringUtils.containsIgnoreCase(userAgentStr, "Java")
+                && !StringUtils.containsIgnoreCase(userAgentStr, "MetaURI")
+                && !StringUtils.containsIgnoreCase(userAgentStr, "Feed")) {
+            LOGGER.log(Level.WARN, "Unknown client [UA=" + userAgentStr + ", remoteAddr="
+                    + Requests.getRemoteAddr(request) + ", URI=" + request.getRequestURI() + "]");
+        }
+
+        CACHE.put(userAgentStr, ret);
+
+        return ret;
+    }
+
+    /**
+     * Classifies the specified User-Agent string.
+     *
+     * @param userAgentStr the specified User-Agent string
+     * @return browser type
+     */
+    private static BrowserType classify(final String userAgentStr) {
+        if (StringUtils.containsIgnoreCase(userAgentStr, "mobile")
+                || StringUtils.containsIgnoreCase(userAgentStr, "MQQBrowser")
+                || StringUtils.containsIgnoreCase(userAgentStr, "iphone")
+                || StringUtils.containsIgnoreCase(userAgentStr, "MicroMessenger")
+                || StringUtils.containsIgnoreCase(userAgentStr, "CFNetwork")
+                || StringUtils.containsIgnoreCase(userAgentStr, "Android")) {
+            return BrowserType.MOBILE_BROWSER;
+        }
+
+        if (StringUtils.containsIgnoreCase(userAgentStr, "Iframely")
+                || StringUtils.containsIgnoreCase(userAgentStr, "Google")
+                || StringUtils.containsIgnoreCase(userAgentStr, "B3log")
+                || StringUtils.containsIgnoreCase(userAgentStr, "BUbiNG")) {
+            return BrowserType.ROBOT;
+        }
+
+        return UserAgent.parseUserAgentString(userAgentStr).getBrowser().getBrowserType();
+    }
+}
@@ -21,7 +21,7 @@
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
  * @author <a href="http://zephyr.b3log.org">Zephyr</a>
- * @version 1.14.0.1, Jan 30, 2018
+ * @version 1.15.0.0, Oct 19, 2026
  */
 
 /**
@@ -169,27 +169,29 @@ var ArticleListChannel = {
     };
 
     ArticleListChannel.ws.onmessage = function (evt) {
-      var data = JSON.parse(evt.data);
+      // {"articleHeats": {"articleId": heat change}}, changes of a tick are sent together
+      var articleHeats = JSON.parse(evt.data).articleHeats || {};
       $(".article-list h2 > a[rel=bookmark]").each(function () {
-        var id = $(this).data('id').toString();
-
-        if (data.articleId === id) {
-          var $li = $(this).closest("li"),
-            $heat = $li.find('.heat');
+        var change = articleHeats[$(this).data('id').toString()];
+        if (!change) {
+          return;
+        }
 
-          if (data.operation === "+") {
-            $li.append('<i class="point"></i>');
-            setTimeout(function () {
-              $heat.width($heat.width() + 1 * 3);
-              $li.find(".point").remove();
-            }, 2000);
-          } else {
-            $heat.width($heat.width() - 1 * 3);
-            $li.append('<i class="point-remove"></i>');
-            setTimeout(function () {
-              $li.find(".point-remove").remove();
-            }, 2000);
-          }
+        var $li = $(this).closest("li"),
+          $heat = $li.find('.heat');
+
+        if (change > 0) {
+          $li.append('<i class="point"></i>');
+          setTimeout(function () {
+            $heat.width($heat.width() + change * 3);
+            $li.find(".point").remove();
+          }, 2000);
+        } else {
+          $heat.width($heat.width() + change * 3);
+          $li.append('<i class="point-remove"></i>');
+          setTimeout(function () {
+            $li.find(".point-remove").remove();
+          }, 2000);
         }
       });
     };
@@ -0,0 +1,114 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony;
+
+import org.b3log.latke.ioc.config.BeanIndex;
+import org.b3log.latke.ioc.config.Discoverer;
+import org.b3log.symphony.service.StatisticMgmtService;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+
+/**
+ * {@link Discoverer} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class DiscovererTestCase {
+
+    /**
+     * Context class loader before the test.
+     */
+    private ClassLoader contextClassLoader;
+
+    /**
+     * Puts an indexed classpath root before the (unindexed) test classpath.
+     *
+     * @throws Exception exception
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final File root = Files.createTempDirectory("indexed").toFile();
+        root.deleteOnExit();
+
+        final File index = new File(root, "META-INF/latke/beans.idx");
+        index.getParentFile().mkdirs();
+        Files.write(index.toPath(), "bean org.b3log.symphony.bogus.Missing\n".getBytes(StandardCharsets.UTF_8));
+
+        // Not a class file, fails if the indexed root is scanned
+        final File bogus = new File(root, "org/b3log/symphony/bogus/Bogus.class");
+        bogus.getParentFile().mkdirs();
+        Files.write(bogus.toPath(), "bogus".getBytes(StandardCharsets.UTF_8));
+
+        contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[]{root.toURI().toURL()},
+                contextClassLoader));
+        resetBeanIndex();
+    }
+
+    /**
+     * Restores the context class loader.
+     *
+     * @throws Exception exception
+     */
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+        resetBeanIndex();
+    }
+
+    /**
+     * Packages of unindexed classpath roots are still scanned, indexed roots are not.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void discoverUnindexed() throws Exception {
+        Assert.assertNotNull(BeanIndex.get());
+
+        final Collection<Class<?>> services = Discoverer.discover("org.b3log.symphony.service");
+        Assert.assertTrue(services.contains(StatisticMgmtService.class));
+
+        Assert.assertTrue(Discoverer.discover("org.b3log.symphony.bogus").stream()
+                .noneMatch(clazz -> clazz.getName().startsWith("org.b3log.symphony.bogus")));
+    }
+
+    /**
+     * Forgets the loaded bean index so that it is loaded from the current context class loader.
+     *
+     * @throws Exception exception
+     */
+    private static void resetBeanIndex() throws Exception {
+        for (final String name : new String[]{"instance", "loaded"}) {
+            final Field field = BeanIndex.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(null, "loaded".equals(name) ? Boolean.FALSE : null);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.symphony.model.Article;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link ArticleFeedCache} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class ArticleFeedCacheTestCase {
+
+    /**
+     * Feeds are ordered, filtered and kept current by updates.
+     */
+    @Test
+    public void feeds() {
+        final ArticleFeedCache cache = new ArticleFeedCache();
+        final long now = System.currentTimeMillis();
+        cache.putArticle(article(now - 3, "Java,Latke", 0, 5, 0));
+        cache.putArticle(article(now - 2, "Java", 0, 1, 0));
+        cache.putArticle(article(now - 1, "Sandbox", 0, 9, 0));
+        cache.setLoaded();
+
+        final String a = String.valueOf(now - 3), b = String.valueOf(now - 2);
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, 0, 10), Arrays.asList(b, a));
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.RECENT_HOT, null, 0, 10), Arrays.asList(a, b));
+        Assert.assertEquals(cache.count(ArticleFeedCache.Feed.RECENT_DEFAULT, null), 2);
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.TAG_DEFAULT, "java", 0, 10), Arrays.asList(b, a));
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.TAG_DEFAULT, "Latke", 0, 10), Arrays.asList(a));
+
+        // b gets comments and sticks, then a is removed from Java
+        cache.putArticle(article(now - 2, "Java", now, 10, 0));
+        cache.putArticle(article(now - 3, "Latke", 0, 5, 0));
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.RECENT_HOT, null, 0, 10), Arrays.asList(b, a));
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.TAG_DEFAULT, "Java", 0, 10), Arrays.asList(b));
+        Assert.assertEquals(cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, 1, 10), Arrays.asList(a));
+
+        cache.removeArticle(b);
+        Assert.assertEquals(cache.count(ArticleFeedCache.Feed.RECENT_DEFAULT, null), 1);
+        Assert.assertTrue(cache.getIds(ArticleFeedCache.Feed.TAG_DEFAULT, "Java", 0, 10).isEmpty());
+    }
+
+    /**
+     * Pages near the end of a feed, the last page may be partial.
+     */
+    @Test
+    public void deepPagination() {
+        final ArticleFeedCache cache = new ArticleFeedCache();
+        final int cnt = 10000;
+        final long base = System.currentTimeMillis() - cnt;
+        for (int i = 0; i < cnt; i++) {
+            cache.putArticle(article(base + i, "Tag" + (i % 100), 0, i % 50, 0));
+        }
+
+        final int pageSize = 20;
+        List<String> page = cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, cnt - pageSize, pageSize);
+        Assert.assertEquals(page.size(), pageSize);
+        Assert.assertEquals(page.get(0), String.valueOf(base + pageSize - 1));
+        Assert.assertEquals(page.get(pageSize - 1), String.valueOf(base));
+
+        page = cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, cnt - 5, pageSize);
+        Assert.assertEquals(page, Arrays.asList(String.valueOf(base + 4), String.valueOf(base + 3),
+                String.valueOf(base + 2), String.valueOf(base + 1), String.valueOf(base)));
+        Assert.assertTrue(cache.getIds(ArticleFeedCache.Feed.RECENT_DEFAULT, null, cnt, pageSize).isEmpty());
+
+        // 100 articles per tag, latest comment time desc
+        Assert.assertEquals(cache.count(ArticleFeedCache.Feed.TAG_REPLY, "tag7"), cnt / 100);
+        page = cache.getIds(ArticleFeedCache.Feed.TAG_REPLY, "tag7", cnt / 100 - pageSize, pageSize);
+        Assert.assertEquals(page.size(), pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Assert.assertEquals(page.get(i), String.valueOf(base + 7 + 100 * (pageSize - 1 - i)));
+        }
+    }
+
+    /**
+     * Makes an article.
+     *
+     * @param id      the specified id
+     * @param tags    the specified tags
+     * @param stick   the specified stick
+     * @param cmtCnt  the specified comment count
+     * @param perfect the specified perfect
+     * @return article
+     */
+    private static JSONObject article(final long id, final String tags, final long stick, final int cmtCnt,
+                                      final int perfect) {
+        return new JSONObject().put(Keys.OBJECT_ID, String.valueOf(id)).
+                put(Article.ARTICLE_TAGS, tags).
+                put(Article.ARTICLE_STICK, stick).
+                put(Article.ARTICLE_COMMENT_CNT, cmtCnt).
+                put(Article.ARTICLE_LATEST_CMT_TIME, id).
+                put(Article.ARTICLE_PERFECT, perfect).
+                put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID).
+                put(Article.ARTICLE_TYPE, 0);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link ChatRoomCache} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class ChatRoomCacheTestCase {
+
+    /**
+     * The ring buffer keeps the newest messages, newest first.
+     */
+    @Test
+    public void ring() {
+        final ChatRoomCache cache = new ChatRoomCache(3, null);
+        Assert.assertTrue(cache.getMessages().isEmpty());
+
+        cache.putMessages(Arrays.asList(msg(1), msg(2)));
+        Assert.assertEquals(contents(cache.getMessages()), Arrays.asList(2, 1));
+
+        cache.putMessages(Arrays.asList(msg(3), msg(4), msg(5)));
+        Assert.assertEquals(contents(cache.getMessages()), Arrays.asList(5, 4, 3));
+    }
+
+    /**
+     * History survives reopening and the log is compacted when it grows too long.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void log() throws Exception {
+        final File dir = Files.createTempDirectory("chat-room").toFile();
+        final File logFile = new File(dir, "messages.log");
+
+        ChatRoomCache cache = new ChatRoomCache(2, logFile);
+        cache.loadMessages();
+        for (int i = 0; i < 120; i++) {
+            cache.putMessages(Arrays.asList(msg(i)));
+        }
+        cache.close();
+        Assert.assertEquals(Files.readAllLines(logFile.toPath()).size(), 120);
+
+        cache = new ChatRoomCache(2, logFile);
+        cache.loadMessages();
+        Assert.assertEquals(contents(cache.getMessages()), Arrays.asList(119, 118));
+        Assert.assertEquals(Files.readAllLines(logFile.toPath()).size(), 2);
+
+        cache.putMessages(Arrays.asList(msg(120)));
+        cache.close();
+        Assert.assertEquals(Files.readAllLines(logFile.toPath()).size(), 3);
+
+        logFile.delete();
+        dir.delete();
+    }
+
+    /**
+     * Readers see consistent snapshots while a writer is appending.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentRead() throws Exception {
+        final ChatRoomCache cache = new ChatRoomCache(40, null);
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100000; i++) {
+                cache.putMessages(Arrays.asList(msg(i)));
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive()) {
+            final List<Integer> contents = contents(cache.getMessages());
+            Assert.assertTrue(contents.size() <= 40);
+            for (int i = 1; i < contents.size(); i++) {
+                Assert.assertTrue(contents.get(i - 1) > contents.get(i));
+            }
+        }
+        writer.join();
+
+        Assert.assertEquals(contents(cache.getMessages()).get(0).intValue(), 99999);
+    }
+
+    /**
+     * Creates a message with the specified content.
+     *
+     * @param content the specified content
+     * @return message
+     */
+    private static JSONObject msg(final int content) {
+        return new JSONObject().put("content", content);
+    }
+
+    /**
+     * Gets contents of the specified messages.
+     *
+     * @param msgs the specified messages
+     * @return contents
+     */
+    private static List<Integer> contents(final List<JSONObject> msgs) {
+        final List<Integer> ret = new ArrayList<>();
+        for (final JSONObject msg : msgs) {
+            ret.add(msg.optInt("content"));
+        }
+
+        return ret;
+    }
+}
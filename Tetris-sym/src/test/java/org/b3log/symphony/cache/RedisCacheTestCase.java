@@ -0,0 +1,200 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Latkes;
+import org.b3log.latke.cache.redis.RedisCache;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCache} test case, runs against {@link RedisStandIn}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class RedisCacheTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Redis stand-in.
+     */
+    private RedisStandIn redis;
+
+    /**
+     * Pools, one for each simulated node.
+     */
+    private final List<JedisPool> pools = new ArrayList<>();
+
+    /**
+     * Starts the stand-in.
+     *
+     * @throws Exception exception
+     */
+    @BeforeClass
+    public void before() throws Exception {
+        redis = new RedisStandIn();
+    }
+
+    /**
+     * Stops the stand-in.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        RedisCache.shutdown();
+        for (final JedisPool pool : pools) {
+            pool.close();
+        }
+        redis.close();
+    }
+
+    /**
+     * Values round trip, expire with the time to live and are cleared without listing keys, caches without a near
+     * cache do not use the invalidation channel.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void putGetRemove() throws Exception {
+        final int subscribers = redis.getSubscriberCnt();
+        final long publishes = redis.getCommandCnt("PUBLISH");
+        final RedisCache cache = cache("basic", 0);
+        cache.put("a", new JSONObject().put("title", "标题").put("cnt", 3));
+        Assert.assertEquals(cache.get("a").optString("title"), "标题");
+        Assert.assertEquals(cache.get("a").optInt("cnt"), 3);
+        Assert.assertTrue(cache.contains("a"));
+
+        cache.remove("a");
+        Assert.assertNull(cache.get("a"));
+        Assert.assertFalse(cache.contains("a"));
+
+        cache.put("b", new JSONObject().put("v", 1));
+        cache.removeAll();
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(redis.getCommandCnt("KEYS"), 0);
+        Assert.assertEquals(redis.getKeyCnt("basic:0:"), 0);
+        Assert.assertEquals(redis.getSubscriberCnt(), subscribers);
+        Assert.assertEquals(redis.getCommandCnt("PUBLISH"), publishes);
+
+        cache.setTimeToLive(1);
+        cache.put("c", new JSONObject().put("v", 1));
+        Assert.assertNotNull(cache.get("c"));
+        Thread.sleep(1100);
+        Assert.assertNull(cache.get("c"));
+    }
+
+    /**
+     * Multi-get and multi-put take one round trip.
+     */
+    @Test
+    public void batch() {
+        final RedisCache cache = cache("batch", 0);
+        final Map<String, JSONObject> values = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            values.put("k" + i, new JSONObject().put("i", i));
+        }
+        cache.put(values);
+
+        final List<String> keys = new ArrayList<>(values.keySet());
+        keys.add("absent");
+        final long mgets = redis.getCommandCnt("MGET");
+        final long gets = redis.getCommandCnt("GET");
+        final Map<String, JSONObject> got = cache.get(keys);
+        Assert.assertEquals(got.size(), 100);
+        Assert.assertEquals(got.get("k42").optInt("i"), 42);
+        Assert.assertEquals(redis.getCommandCnt("MGET") - mgets, 1);
+        Assert.assertEquals(redis.getCommandCnt("GET") - gets, 0);
+    }
+
+    /**
+     * Near caches serve repeated reads locally and are invalidated by writes of other nodes.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void nearCache() throws Exception {
+        final int subscribers = redis.getSubscriberCnt();
+        final RedisCache node1 = cache("near", 16);
+        final RedisCache node2 = cache("near", 16);
+        await(() -> redis.getSubscriberCnt() >= subscribers + 2);
+        Thread.sleep(200); // let the subscriptions resync
+
+        node1.put("a", new JSONObject().put("v", 1));
+        Assert.assertEquals(node2.get("a").optInt("v"), 1);
+        final long gets = redis.getCommandCnt("MGET");
+        Assert.assertEquals(node2.get("a").optInt("v"), 1);
+        Assert.assertEquals(redis.getCommandCnt("MGET"), gets);
+
+        node1.put("a", new JSONObject().put("v", 2));
+        await(() -> 2 == node2.get("a").optInt("v"));
+
+        node1.removeAll();
+        await(() -> null == node2.get("a"));
+    }
+
+    /**
+     * Creates a cache on a new pool, like a cache of another node.
+     *
+     * @param name         the specified cache name
+     * @param nearCacheCnt the specified near cache size
+     * @return cache
+     */
+    private RedisCache cache(final String name, final int nearCacheCnt) {
+        final JedisPool pool = new JedisPool(new JedisPoolConfig(), "127.0.0.1", redis.getPort());
+        pools.add(pool);
+
+        final RedisCache ret = new RedisCache(pool);
+        ret.setNearCacheCnt(nearCacheCnt);
+        ret.setName(name);
+
+        return ret;
+    }
+
+    /**
+     * Waits at most 5 seconds until the specified condition holds.
+     *
+     * @param condition the specified condition
+     * @throws Exception exception
+     */
+    private static void await(final Supplier<Boolean> condition) throws Exception {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.get()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("Condition not met in 5 seconds");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process Redis stand-in speaking RESP, supports the commands used by the Redis cache: PING, GET, SET, SETEX, MGET,
+ * DEL, EXISTS, INCR, SCAN, PUBLISH, SUBSCRIBE and UNSUBSCRIBE. SCAN returns all matching keys at once.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class RedisStandIn implements AutoCloseable {
+
+    /**
+     * Values, &lt;key, value&gt;.
+     */
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+
+    /**
+     * Expiration times in milliseconds, &lt;key, expire at&gt;.
+     */
+    private final Map<String, Long> expirations = new ConcurrentHashMap<>();
+
+    /**
+     * Received command counts, &lt;command, count&gt;.
+     */
+    private final Map<String, AtomicLong> commandCnts = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribed clients.
+     */
+    private final Set<Client> subscribers = new CopyOnWriteArraySet<>();
+
+    /**
+     * Server socket.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Starts a stand-in on a random local port.
+     *
+     * @throws IOException io exception
+     */
+    public RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        final Thread acceptor = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    final Client client = new Client(serverSocket.accept());
+                    final Thread thread = new Thread(client, "RedisStandIn-Client");
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (final IOException e) {
+                    return;
+                }
+            }
+        }, "RedisStandIn-Acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Gets the port.
+     *
+     * @return port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the received count of the specified command.
+     *
+     * @param command the specified command, for example, {@code "GET"}
+     * @return count
+     */
+    public long getCommandCnt(final String command) {
+        final AtomicLong ret = commandCnts.get(command);
+
+        return null == ret ? 0 : ret.get();
+    }
+
+    /**
+     * Gets the count of keys with the specified prefix.
+     *
+     * @param prefix the specified prefix
+     * @return count
+     */
+    public long getKeyCnt(final String prefix) {
+        return values.keySet().stream().filter(key -> key.startsWith(prefix) && null != get(key)).count();
+    }
+
+    /**
+     * Gets the count of subscribed clients.
+     *
+     * @return count
+     */
+    public int getSubscriberCnt() {
+        return subscribers.size();
+    }
+
+    /**
+     * Gets the count of stored keys.
+     *
+     * @return count
+     */
+    public int getKeyCnt() {
+        return values.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (final Client subscriber : subscribers) {
+            subscriber.socket.close();
+        }
+    }
+
+    /**
+     * Gets the live value of the specified key.
+     *
+     * @param key the specified key
+     * @return value, returns {@code null} if not found or expired
+     */
+    private byte[] get(final String key) {
+        final Long expireAt = expirations.get(key);
+        if (null != expireAt && expireAt <= System.currentTimeMillis()) {
+            values.remove(key);
+            expirations.remove(key);
+        }
+
+        return values.get(key);
+    }
+
+    /**
+     * Connection of a client.
+     */
+    private final class Client implements Runnable {
+
+        /**
+         * Socket.
+         */
+        private final Socket socket;
+
+        /**
+         * Output.
+         */
+        private final OutputStream out;
+
+        /**
+         * Subscribed channels.
+         */
+        private final Set<String> channels = new CopyOnWriteArraySet<>();
+
+        /**
+         * Constructs a client with the specified socket.
+         *
+         * @param socket the specified socket
+         * @throws IOException io exception
+         */
+        private Client(final Socket socket) throws IOException {
+            this.socket = socket;
+            out = socket.getOutputStream();
+        }
+
+        @Override
+        public void run() {
+            try (final Socket s = socket; final InputStream in = new BufferedInputStream(s.getInputStream())) {
+                while (true) {
+                    final List<byte[]> command = readCommand(in);
+                    if (null == command) {
+                        return;
+                    }
+
+                    if (!execute(command)) {
+                        return;
+                    }
+                }
+            } catch (final IOException e) {
+                // client gone
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        /**
+         * Executes the specified command.
+         *
+         * @param command the specified command
+         * @return {@code false} if the client quits
+         * @throws IOException io exception
+         */
+        private boolean execute(final List<byte[]> command) throws IOException {
+            final String name = str(command.get(0)).toUpperCase();
+            commandCnts.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+
+            switch (name) {
+                case "PING":
+                    reply("+PONG\r\n");
+
+                    break;
+                case "QUIT":
+                    reply("+OK\r\n");
+
+                    return false;
+                case "AUTH":
+                case "SELECT":
+                    reply("+OK\r\n");
+
+                    break;
+                case "GET":
+                    replyBulk(get(str(command.get(1))));
+
+                    break;
+                case "SET":
+                    set(str(command.get(1)), command.get(2), command.size() > 4 && "EX".equalsIgnoreCase(
+                            str(command.get(3))) ? Long.parseLong(str(command.get(4))) : 0);
+                    reply("+OK\r\n");
+
+                    break;
+                case "SETEX":
+                    set(str(command.get(1)), command.get(3), Long.parseLong(str(command.get(2))));
+                    reply("+OK\r\n");
+
+                    break;
+                case "MGET":
+                    synchronized (out) {
+                        out.write(("*" + (command.size() - 1) + "\r\n").getBytes(StandardCharsets.UTF_8));
+                        for (int i = 1; i < command.size(); i++) {
+                            writeBulk(get(str(command.get(i))));
+                        }
+                        out.flush();
+                    }
+
+                    break;
+                case "DEL":
+                    int removed = 0;
+                    for (int i = 1; i < command.size(); i++) {
+                        final String key = str(command.get(i));
+                        if (null != get(key)) {
+                            removed++;
+                        }
+                        values.remove(key);
+                        expirations.remove(key);
+                    }
+                    reply(":" + removed + "\r\n");
+
+                    break;
+                case "EXISTS":
+                    reply(":" + (null != get(str(command.get(1))) ? 1 : 0) + "\r\n");
+
+                    break;
+                case "INCR":
+                    final String key = str(command.get(1));
+                    final long value;
+                    synchronized (values) {
+                        final byte[] old = get(key);
+                        value = (null == old ? 0 : Long.parseLong(str(old))) + 1;
+                        values.put(key, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                    }
+                    reply(":" + value + "\r\n");
+
+                    break;
+                case "SCAN":
+                    String pattern = "*";
+                    for (int i = 2; i < command.size() - 1; i += 2) {
+                        if ("MATCH".equalsIgnoreCase(str(command.get(i)))) {
+                            pattern = str(command.get(i + 1));
+                        }
+                    }
+                    final String regex = ("\\Q" + pattern + "\\E").replace("*", "\\E.*\\Q");
+                    final List<String> matched = new ArrayList<>();
+                    for (final String k : values.keySet()) {
+                        if (k.matches(regex) && null != get(k)) {
+                            matched.add(k);
+                        }
+                    }
+                    synchronized (out) {
+                        out.write("*2\r\n".getBytes(StandardCharsets.UTF_8));
+                        writeBulk("0".getBytes(StandardCharsets.UTF_8));
+                        out.write(("*" + matched.size() + "\r\n").getBytes(StandardCharsets.UTF_8));
+                        for (final String k : matched) {
+                            writeBulk(k.getBytes(StandardCharsets.UTF_8));
+                        }
+                        out.flush();
+                    }
+
+                    break;
+                case "PUBLISH":
+                    final String channel = str(command.get(1));
+                    int received = 0;
+                    for (final Client subscriber : subscribers) {
+                        if (subscriber.channels.contains(channel)) {
+                            subscriber.push("message", channel, command.get(2));
+                            received++;
+                        }
+                    }
+                    reply(":" + received + "\r\n");
+
+                    break;
+                case "SUBSCRIBE":
+                    for (int i = 1; i < command.size(); i++) {
+                        channels.add(str(command.get(i)));
+                        subscribers.add(this);
+                        pushCount("subscribe", str(command.get(i)));
+                    }
+
+                    break;
+                case "UNSUBSCRIBE":
+                    final List<String> targets = new ArrayList<>();
+                    for (int i = 1; i < command.size(); i++) {
+                        targets.add(str(command.get(i)));
+                    }
+                    if (targets.isEmpty()) {
+                        targets.addAll(channels);
+                    }
+                    for (final String target : targets) {
+                        channels.remove(target);
+                        pushCount("unsubscribe", target);
+                    }
+                    if (channels.isEmpty()) {
+                        subscribers.remove(this);
+                    }
+
+                    break;
+                default:
+                    reply("-ERR unknown command '" + name + "'\r\n");
+            }
+
+            return true;
+        }
+
+        /**
+         * Sets the specified key and value.
+         *
+         * @param key        the specified key
+         * @param value      the specified value
+         * @param ttlSeconds the specified time to live in seconds, {@code 0} for never expire
+         */
+        private void set(final String key, final byte[] value, final long ttlSeconds) {
+            values.put(key, value);
+            if (0 < ttlSeconds) {
+                expirations.put(key, System.currentTimeMillis() + ttlSeconds * 1000);
+            } else {
+                expirations.remove(key);
+            }
+        }
+
+        /**
+         * Pushes a pub/sub message.
+         *
+         * @param kind    the specified kind
+         * @param channel the specified channel
+         * @param payload the specified payload
+         * @throws IOException io exception
+         */
+        private void push(final String kind, final String channel, final byte[] payload) throws IOException {
+            synchronized (out) {
+                out.write("*3\r\n".getBytes(StandardCharsets.UTF_8));
+                writeBulk(kind.getBytes(StandardCharsets.UTF_8));
+                writeBulk(channel.getBytes(StandardCharsets.UTF_8));
+                writeBulk(payload);
+                out.flush();
+            }
+        }
+
+        /**
+         * Pushes a subscribe or unsubscribe confirmation.
+         *
+         * @param kind    the specified kind
+         * @param channel the specified channel
+         * @throws IOException io exception
+         */
+        private void pushCount(final String kind, final String channel) throws IOException {
+            synchronized (out) {
+                out.write("*3\r\n".getBytes(StandardCharsets.UTF_8));
+                writeBulk(kind.getBytes(StandardCharsets.UTF_8));
+                writeBulk(channel.getBytes(StandardCharsets.UTF_8));
+                out.write((":" + channels.size() + "\r\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+
+        /**
+         * Replies the specified raw reply.
+         *
+         * @param reply the specified reply
+         * @throws IOException io exception
+         */
+        private void reply(final String reply) throws IOException {
+            synchronized (out) {
+                out.write(reply.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+
+        /**
+         * Replies the specified bulk string.
+         *
+         * @param bytes the specified bytes, {@code null} for nil
+         * @throws IOException io exception
+         */
+        private void replyBulk(final byte[] bytes) throws IOException {
+            synchronized (out) {
+                writeBulk(bytes);
+                out.flush();
+            }
+        }
+
+        /**
+         * Writes the specified bulk string, the caller holds the output lock.
+         *
+         * @param bytes the specified bytes, {@code null} for nil
+         * @throws IOException io exception
+         */
+        private void writeBulk(final byte[] bytes) throws IOException {
+            if (null == bytes) {
+                out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+
+                return;
+            }
+
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.write(bytes);
+            out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a command, an array of bulk strings.
+     *
+     * @param in the specified input
+     * @return command, returns {@code null} if the input ends
+     * @throws IOException io exception
+     */
+    private static List<byte[]> readCommand(final InputStream in) throws IOException {
+        final String header = readLine(in);
+        if (null == header) {
+            return null;
+        }
+        if ('*' != header.charAt(0)) {
+            throw new IOException("Unsupported request [" + header + "]");
+        }
+
+        final int cnt = Integer.parseInt(header.substring(1));
+        final List<byte[]> ret = new ArrayList<>(cnt);
+        for (int i = 0; i < cnt; i++) {
+            final String bulkHeader = readLine(in);
+            if (null == bulkHeader) {
+                return null;
+            }
+            final byte[] bytes = new byte[Integer.parseInt(bulkHeader.substring(1))];
+            int read = 0;
+            while (read < bytes.length) {
+                final int n = in.read(bytes, read, bytes.length - read);
+                if (0 > n) {
+                    return null;
+                }
+                read += n;
+            }
+            in.read();
+            in.read(); // \r\n
+            ret.add(bytes);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads a line terminated by \r\n.
+     *
+     * @param in the specified input
+     * @return line, returns {@code null} if the input ends
+     * @throws IOException io exception
+     */
+    private static String readLine(final InputStream in) throws IOException {
+        final StringBuilder ret = new StringBuilder();
+        int c;
+        while (-1 != (c = in.read())) {
+            if ('\r' == c) {
+                in.read();
+
+                return ret.toString();
+            }
+            ret.append((char) c);
+        }
+
+        return null;
+    }
+
+    /**
+     * Decodes the specified bytes as UTF-8.
+     *
+     * @param bytes the specified bytes
+     * @return string
+     */
+    private static String str(final byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
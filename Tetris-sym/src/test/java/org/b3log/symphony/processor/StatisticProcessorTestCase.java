@@ -0,0 +1,57 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * {@link StatisticProcessor} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class StatisticProcessorTestCase {
+
+    /**
+     * Numbers are clamped to 1..366.
+     */
+    @Test
+    public void days() {
+        Assert.assertEquals(StatisticProcessor.getDays("7"), 7);
+        Assert.assertEquals(StatisticProcessor.getDays("1"), 1);
+        Assert.assertEquals(StatisticProcessor.getDays("366"), 366);
+        Assert.assertEquals(StatisticProcessor.getDays("0"), 1);
+        Assert.assertEquals(StatisticProcessor.getDays("-5"), 1);
+        Assert.assertEquals(StatisticProcessor.getDays("1000"), 366);
+    }
+
+    /**
+     * Missing, non-numeric and out of int range parameters fall back to 31 days instead of throwing.
+     */
+    @Test
+    public void invalidDays() {
+        Assert.assertEquals(StatisticProcessor.getDays(null), 31);
+        Assert.assertEquals(StatisticProcessor.getDays(""), 31);
+        Assert.assertEquals(StatisticProcessor.getDays("abc"), 31);
+        Assert.assertEquals(StatisticProcessor.getDays("7d"), 31);
+        Assert.assertEquals(StatisticProcessor.getDays("2147483648"), 31);
+        Assert.assertEquals(StatisticProcessor.getDays("99999999999999999999"), 31);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.channel;
+
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ChatRoomChannel} test case, broadcasts to sessions which reject a send started before the previous one
+ * completed, as Tomcat does.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class ChatRoomChannelTestCase {
+
+    /**
+     * Completes the sends of the sessions.
+     */
+    private final ScheduledExecutorService network = Executors.newScheduledThreadPool(4);
+
+    /**
+     * Removes the sessions.
+     */
+    @AfterMethod
+    public void tearDown() {
+        ChatRoomChannel.SESSIONS.clear();
+    }
+
+    /**
+     * Every open session receives every message of a batch in order, together with the online counts sent when
+     * sessions connect.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void broadcast() throws Exception {
+        final List<List<String>> received = new ArrayList<>();
+        final AtomicInteger rejected = new AtomicInteger();
+        final ChatRoomChannel channel = new ChatRoomChannel();
+        for (int i = 0; i < 3; i++) {
+            final List<String> texts = new CopyOnWriteArrayList<>();
+            received.add(texts);
+            channel.onConnect(session(String.valueOf(i), true, texts, rejected));
+        }
+        final List<String> closed = new CopyOnWriteArrayList<>();
+        ChatRoomChannel.SESSIONS.add(session("closed", false, closed, rejected));
+
+        final List<JSONObject> messages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            messages.add(new JSONObject().put(Common.CONTENT, "message " + i));
+        }
+        ChatRoomChannel.notifyChat(messages);
+        ChatRoomChannel.notifyChat(new JSONObject().put(Common.CONTENT, "message 20"));
+
+        for (int i = 0; i < received.size(); i++) {
+            final List<String> texts = received.get(i);
+            // Online counts of the sessions connected after this one and itself
+            final int expected = 3 - i + 21;
+            await(texts, expected);
+
+            final List<String> contents = new ArrayList<>();
+            for (final String text : texts) {
+                final JSONObject msg = new JSONObject(text);
+                if ("msg".equals(msg.optString(Common.TYPE))) {
+                    contents.add(msg.optString(Common.CONTENT));
+                }
+            }
+            Assert.assertEquals(contents.size(), 21);
+            for (int j = 0; j < contents.size(); j++) {
+                Assert.assertEquals(contents.get(j), "message " + j);
+            }
+        }
+        Assert.assertTrue(closed.isEmpty());
+        Assert.assertEquals(rejected.get(), 0);
+        Assert.assertFalse(messages.get(0).has(Common.TYPE));
+    }
+
+    /**
+     * A session failing every send does not stop the broadcast to the others.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void brokenSession() throws Exception {
+        final AtomicInteger rejected = new AtomicInteger();
+        final Session broken = (Session) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Session.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isOpen":
+                            return true;
+                        case "getId":
+                            return "broken";
+                        case "getUserProperties":
+                            throw new IllegalStateException("The session is closed");
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        ChatRoomChannel.SESSIONS.add(broken);
+        final List<String> texts = new CopyOnWriteArrayList<>();
+        ChatRoomChannel.SESSIONS.add(session("healthy", true, texts, rejected));
+
+        ChatRoomChannel.notifyChat(Collections.singletonList(new JSONObject().put(Common.CONTENT, "hello")));
+
+        await(texts, 1);
+        Assert.assertEquals(new JSONObject(texts.get(0)).optString(Common.CONTENT), "hello");
+    }
+
+    /**
+     * Waits until the specified texts reach the specified count.
+     *
+     * @param texts the specified texts
+     * @param cnt   the specified count
+     * @throws Exception exception
+     */
+    private static void await(final List<String> texts, final int cnt) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (texts.size() < cnt && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+
+        Assert.assertEquals(texts.size(), cnt, "Received " + texts);
+    }
+
+    /**
+     * Creates a session which records the received texts, a send started before the previous one completed is
+     * rejected with {@link IllegalStateException}.
+     *
+     * @param id       the specified session id
+     * @param open     whether the session is open
+     * @param texts    the specified texts to record in
+     * @param rejected the specified count of the rejected sends
+     * @return session
+     */
+    private Session session(final String id, final boolean open, final List<String> texts,
+                            final AtomicInteger rejected) {
+        final AtomicBoolean sending = new AtomicBoolean();
+        final RemoteEndpoint.Async remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.Async.class}, (proxy, method, args) -> {
+                    if (!"sendText".equals(method.getName())) {
+                        return null;
+                    }
+
+                    if (!sending.compareAndSet(false, true)) {
+                        rejected.incrementAndGet();
+
+                        throw new IllegalStateException("The remote endpoint was in state [TEXT_FULL_WRITING]");
+                    }
+
+                    final String text = (String) args[0];
+                    final SendHandler handler = 1 < args.length ? (SendHandler) args[1] : null;
+                    network.schedule(() -> {
+                        texts.add(text);
+                        sending.set(false);
+                        if (null != handler) {
+                            handler.onResult(new SendResult());
+                        }
+                    }, 1, TimeUnit.MILLISECONDS);
+
+                    return null;
+                });
+
+        final Map<String, Object> userProperties = new ConcurrentHashMap<>();
+
+        return (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Session.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isOpen":
+                            return open;
+                        case "getId":
+                            return id;
+                        case "getAsyncRemote":
+                            return remote;
+                        case "getUserProperties":
+                            return userProperties;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "Session [" + id + "]";
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.processor.channel;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link GobangBoard} test case, compares the incremental check with a full board scan.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class GobangBoardTestCase {
+
+    /**
+     * Random games, the check after every move agrees with the full scan.
+     */
+    @Test
+    public void randomGames() {
+        final Random random = new Random(88250);
+        int wins = 0;
+        for (int game = 0; game < 2000; game++) {
+            // Half of the games are played around the existing stones, lines are rare on a uniformly random board
+            final boolean clustered = 0 == game % 2;
+            final GobangBoard board = new GobangBoard();
+            final int[][] chess = board.getChess();
+            final List<int[]> stones = new ArrayList<>();
+
+            int player = 1;
+            while (stones.size() < GobangBoard.SIZE * GobangBoard.SIZE) {
+                final int[] pos = nextMove(random, chess, stones, clustered);
+                final boolean win = board.place(pos[0], pos[1], player);
+                stones.add(pos);
+
+                Assert.assertEquals(win, fullScan(chess, player), "Game [" + game + "], move " + pos[0] + "," + pos[1]);
+                Assert.assertFalse(fullScan(chess, 3 - player));
+                if (win) {
+                    wins++;
+
+                    break;
+                }
+
+                player = 3 - player;
+            }
+        }
+
+        Assert.assertTrue(1000 < wins, "Only [" + wins + "] games won");
+    }
+
+    /**
+     * Lines touching the board edges and lines longer than 5.
+     */
+    @Test
+    public void edges() {
+        final int last = GobangBoard.SIZE - 1;
+        // Start position on the edge and the step into the board
+        final int[][][] lines = {
+                {{0, last}, {0, -1}}, // row, right edge
+                {{last, 0}, {-1, 0}}, // column, bottom edge
+                {{0, 0}, {1, 1}}, // diagonal, top left corner
+                {{last, last}, {-1, -1}}, // diagonal, bottom right corner
+                {{last, 0}, {-1, 1}}, // anti-diagonal, bottom left corner
+                {{0, last}, {1, -1}}, // anti-diagonal, top right corner
+        };
+
+        for (final int[][] line : lines) {
+            final GobangBoard board = new GobangBoard();
+            for (int i = 0; i < 4; i++) {
+                Assert.assertFalse(board.place(line[0][0] + i * line[1][0], line[0][1] + i * line[1][1], 1));
+            }
+
+            // Fills the gap of a 6 stones line last
+            Assert.assertFalse(board.place(line[0][0] + 5 * line[1][0], line[0][1] + 5 * line[1][1], 1));
+            Assert.assertTrue(board.place(line[0][0] + 4 * line[1][0], line[0][1] + 4 * line[1][1], 1));
+            Assert.assertTrue(fullScan(board.getChess(), 1));
+        }
+    }
+
+    /**
+     * Stones restored from a grid.
+     */
+    @Test
+    public void restore() {
+        final int[][] chess = new int[GobangBoard.SIZE][GobangBoard.SIZE];
+        for (int i = 0; i < 4; i++) {
+            chess[5 + i][9 - i] = 2;
+        }
+
+        final GobangBoard board = new GobangBoard(chess);
+        Assert.assertFalse(board.place(3, 11, 1));
+        Assert.assertTrue(board.place(9, 5, 2));
+    }
+
+    /**
+     * Picks an empty position.
+     *
+     * @param random    the specified random
+     * @param chess     the specified grid
+     * @param stones    the specified placed stones
+     * @param clustered whether to play next to a placed stone
+     * @return position {x, y}
+     */
+    private static int[] nextMove(final Random random, final int[][] chess, final List<int[]> stones,
+                                  final boolean clustered) {
+        if (clustered && !stones.isEmpty()) {
+            for (int attempt = 0; attempt < 16; attempt++) {
+                final int[] near = stones.get(random.nextInt(stones.size()));
+                final int x = near[0] + random.nextInt(3) - 1;
+                final int y = near[1] + random.nextInt(3) - 1;
+                if (0 <= x && x < GobangBoard.SIZE && 0 <= y && y < GobangBoard.SIZE && 0 == chess[x][y]) {
+                    return new int[]{x, y};
+                }
+            }
+        }
+
+        while (true) {
+            final int x = random.nextInt(GobangBoard.SIZE);
+            final int y = random.nextInt(GobangBoard.SIZE);
+            if (0 == chess[x][y]) {
+                return new int[]{x, y};
+            }
+        }
+    }
+
+    /**
+     * Scans the whole board for 5 or more stones in a row of the specified player, the check used before the
+     * bitboards, kept as is.
+     *
+     * @param chess the specified grid
+     * @param step  the specified player
+     * @return {@code true} if found, returns {@code false} otherwise
+     */
+    private static boolean fullScan(final int[][] chess, final int step) {
+        //横向检查
+        for (int i = 0; i < chess.length; i++) {
+            int count = 0;
+            for (int j = 0; j < chess[i].length; j++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        //纵向检查
+        for (int j = 0; j < chess[0].length; j++) {
+            int count = 0;
+            for (int i = 0; i < chess.length; i++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        //左上右下检查，下一个检查点时上一个检查点横纵坐标均＋1
+        //横向增长，横坐标先行出局
+        for (int x = 0, y = 0; x < chess.length; x++) {
+            int count = 0;
+            for (int i = x, j = y; i < chess.length; i++, j++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        //纵向增长，纵坐标先出局
+        for (int x = 0, y = 0; y < chess[0].length; y++) {
+            int count = 0;
+            for (int i = x, j = y; j < chess.length; i++, j++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        //左下右上检查x-1,y+1
+        //横向增长，横坐标先行出局
+        for (int x = 0, y = 0; x < chess.length; x++) {
+            int count = 0;
+            for (int i = x, j = y; i >= 0; i--, j++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        //纵向增长，纵坐标先出局
+        for (int x = chess.length - 1, y = 0; y < chess[0].length; y++) {
+            int count = 0;
+            for (int i = x, j = y; j < chess.length; i--, j++) {
+                if (chess[i][j] == step) {
+                    count++;
+                } else if (chess[i][j] != step && count < 5) {
+                    count = 0;
+                }
+            }
+            if (count >= 5) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
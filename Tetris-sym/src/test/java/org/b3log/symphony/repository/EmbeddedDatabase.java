@@ -0,0 +1,266 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.ioc.inject.Inject;
+import org.b3log.latke.repository.jdbc.util.Connections;
+import org.b3log.latke.repository.jdbc.util.FieldDefinition;
+import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
+import org.json.JSONObject;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory H2 databases for tests.
+ * <p>
+ * {@link #start(String, long, String...)} points the "jdbc.*" local properties at in-memory databases and
+ * reinitializes the connection pools, {@link #stop()} restores the properties and drops the databases. Each test class
+ * starts its own databases, so the test classes sharing a JVM do not depend on the run order.
+ * </p>
+ * <p>
+ * Beans are wired by {@link #startBeans(Class[])}, {@link #stop()} also restores the bean manager of {@link Lifecycle}.
+ * Some utilities (for example, {@code Markdowns}) look up beans in static initializers if a bean manager exists, a
+ * container left with a few beans would break them in the test classes run later.
+ * </p>
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.2.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public final class EmbeddedDatabase {
+
+    /**
+     * Table name prefix.
+     */
+    public static final String TABLE_PREFIX = "symphony";
+
+    /**
+     * Local properties owned by this class, &lt;key, value before start&gt;.
+     */
+    private static final Map<String, String> SAVED = new HashMap<>();
+
+    /**
+     * JDBC URLs of the started databases.
+     */
+    private static final List<String> URLS = new ArrayList<>();
+
+    /**
+     * Whether beans are started.
+     */
+    private static boolean beansStarted;
+
+    /**
+     * Bean manager of {@link Lifecycle} before {@link #startBeans(Class[])}.
+     */
+    private static Object savedBeanManager;
+
+    /**
+     * Starts a primary database.
+     *
+     * @param primary the specified primary database name
+     */
+    public static void start(final String primary) {
+        start(primary, 0);
+    }
+
+    /**
+     * Starts a primary database and the specified read replicas.
+     *
+     * @param primary              the specified primary database name
+     * @param readYourWritesWindow the specified read-your-writes window in milliseconds, {@code 0} for the default
+     * @param replicas             the specified replica database names
+     */
+    public static synchronized void start(final String primary, final long readYourWritesWindow,
+                                          final String... replicas) {
+        final List<String> replicaURLs = new ArrayList<>();
+        for (final String replica : replicas) {
+            replicaURLs.add(url(replica));
+        }
+
+        set("runtimeDatabase", "H2");
+        set("jdbc.driver", "org.h2.Driver");
+        set("jdbc.URL", url(primary));
+        set("jdbc.replicaURLs", String.join(",", replicaURLs));
+        set("jdbc.readYourWritesWindow", 0 < readYourWritesWindow ? String.valueOf(readYourWritesWindow) : "");
+        set("jdbc.username", "sa");
+        set("jdbc.password", "");
+        set("jdbc.pool", "h2");
+        set("jdbc.minConnCnt", "1");
+        set("jdbc.maxConnCnt", "16");
+        set("jdbc.transactionIsolation", "READ_COMMITTED");
+        set("jdbc.tablePrefix", TABLE_PREFIX);
+        Latkes.initRuntimeEnv();
+
+        URLS.add(url(primary));
+        URLS.addAll(replicaURLs);
+        Connections.init();
+    }
+
+    /**
+     * Creates the tables described in repository.json in the primary database.
+     */
+    public static void createTables() {
+        for (final JdbcRepositories.CreateTableResult result : JdbcRepositories.initAllTables()) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Creates table [" + result.getName() + "] failed");
+            }
+        }
+    }
+
+    /**
+     * Starts the application with the specified bean classes and the Symphony beans they inject transitively (the
+     * Latke built-in beans are created by the bean manager).
+     *
+     * @param classes the specified bean classes
+     */
+    public static synchronized void startBeans(final Class<?>... classes) {
+        if (!beansStarted) {
+            savedBeanManager = Lifecycle.getBeanManager();
+            beansStarted = true;
+        }
+
+        final Set<Class<?>> beans = new LinkedHashSet<>();
+        final Deque<Class<?>> toVisit = new ArrayDeque<>(Arrays.asList(classes));
+        while (!toVisit.isEmpty()) {
+            final Class<?> bean = toVisit.pop();
+            if (!bean.getName().startsWith("org.b3log.symphony.") || !beans.add(bean)) {
+                continue;
+            }
+
+            for (Class<?> c = bean; Object.class != c; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Inject.class)) {
+                        toVisit.push(field.getType());
+                    }
+                }
+            }
+        }
+
+        Lifecycle.startApplication(beans);
+    }
+
+    /**
+     * Stops the started databases, restores the local properties and the bean manager.
+     *
+     * @throws Exception exception
+     */
+    public static synchronized void stop() throws Exception {
+        Connections.shutdownConnectionPool();
+
+        for (final String url : URLS) {
+            try (final Connection connection = DriverManager.getConnection(url, "sa", "");
+                 final Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+        URLS.clear();
+
+        for (final Map.Entry<String, String> entry : SAVED.entrySet()) {
+            Latkes.setLocalProperty(entry.getKey(), entry.getValue());
+        }
+        SAVED.clear();
+
+        if (beansStarted) {
+            final Field field = Lifecycle.class.getDeclaredField("beanManager");
+            field.setAccessible(true);
+            field.set(null, savedBeanManager);
+            savedBeanManager = null;
+            beansStarted = false;
+        }
+    }
+
+    /**
+     * Creates a record of the specified table, every field described in repository.json is set to its zero value.
+     *
+     * @param table the specified table name without prefix, for example, "user"
+     * @return record
+     */
+    public static JSONObject record(final String table) {
+        final JSONObject ret = new JSONObject();
+        for (final FieldDefinition field : JdbcRepositories.getRepositoriesMap().get(TABLE_PREFIX + "_" + table)) {
+            if (Keys.OBJECT_ID.equals(field.getName())) {
+                continue;
+            }
+
+            switch (field.getType()) {
+                case "String":
+                    ret.put(field.getName(), "");
+
+                    break;
+                case "boolean":
+                    ret.put(field.getName(), false);
+
+                    break;
+                case "double":
+                    ret.put(field.getName(), 0D);
+
+                    break;
+                default:
+                    ret.put(field.getName(), 0);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Sets the specified local property, remembers the value before the first start.
+     *
+     * @param key   the specified key
+     * @param value the specified value
+     */
+    private static void set(final String key, final String value) {
+        if (!SAVED.containsKey(key)) {
+            final String old = Latkes.getLocalProperty(key);
+            SAVED.put(key, null == old ? "" : old);
+        }
+
+        Latkes.setLocalProperty(key, value);
+    }
+
+    /**
+     * Gets the JDBC URL of the specified database.
+     *
+     * @param db the specified database name
+     * @return JDBC URL
+     */
+    public static String url(final String db) {
+        return "jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Private constructor.
+     */
+    private EmbeddedDatabase() {
+    }
+}
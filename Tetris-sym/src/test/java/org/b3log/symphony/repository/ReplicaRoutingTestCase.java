@@ -0,0 +1,149 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.model.Option;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Read replica routing test case, a primary and two replicas on embedded H2, each of them holds an option whose value
+ * is the database name. The databases are started and stopped with {@link EmbeddedDatabase}, so the routing
+ * configuration does not leak into other test classes.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class ReplicaRoutingTestCase {
+
+    /**
+     * Database names.
+     */
+    private static final String[] DBS = {"primary", "replica1", "replica2"};
+
+    /**
+     * Read-your-writes window in milliseconds.
+     */
+    private static final long WINDOW = 300;
+
+    /**
+     * Repository.
+     */
+    private final JdbcRepository repository = new JdbcRepository(Option.OPTION);
+
+    /**
+     * Starts the databases, creates the option table in every database.
+     *
+     * @throws Exception exception
+     */
+    @BeforeClass
+    public void before() throws Exception {
+        EmbeddedDatabase.start(DBS[0], WINDOW, DBS[1], DBS[2]);
+
+        for (final String db : DBS) {
+            try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(db), "sa", "");
+                 final Statement statement = connection.createStatement()) {
+                statement.execute("create table " + repository.getName()
+                        + " (oId varchar(64) primary key, optionValue varchar(512), optionCategory varchar(32))");
+                statement.execute("insert into " + repository.getName() + " values ('1', '" + db + "', 'test')");
+            }
+        }
+    }
+
+    /**
+     * Stops the databases.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Reads outside transactions go to the replicas round-robin.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void replicas() throws Exception {
+        final Set<String> dbs = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            dbs.add(readDB());
+        }
+        Assert.assertEquals(dbs, new HashSet<>(Arrays.asList(DBS[1], DBS[2])));
+
+        Assert.assertEquals(repository.count(), 1);
+        Assert.assertEquals(repository.get(new Query()).optJSONArray(Keys.RESULTS).length(), 1);
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Reads in a transaction and within the read-your-writes window go to the primary.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void primary() throws Exception {
+        Transaction transaction = repository.beginTransaction();
+        Assert.assertEquals(readDB(), DBS[0]);
+        repository.add(new JSONObject().put(Keys.OBJECT_ID, "2").put(Option.OPTION_VALUE, "written")
+                .put(Option.OPTION_CATEGORY, "test"));
+        transaction.commit();
+
+        Assert.assertEquals(repository.get("2").optString(Option.OPTION_VALUE), "written");
+        Assert.assertEquals(readDB(), DBS[0]);
+
+        Thread.sleep(WINDOW + 50);
+        Assert.assertNotEquals(readDB(), DBS[0]);
+        Assert.assertNull(repository.get("2"));
+
+        // The window ends with the request
+        transaction = repository.beginTransaction();
+        repository.remove("2");
+        transaction.commit();
+        Assert.assertEquals(readDB(), DBS[0]);
+        JdbcRepository.dispose();
+        Assert.assertNotEquals(readDB(), DBS[0]);
+    }
+
+    /**
+     * Reads the database name.
+     *
+     * @return database name
+     * @throws Exception exception
+     */
+    private String readDB() throws Exception {
+        return repository.get("1").optString(Option.OPTION_VALUE);
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.remote.RepositoryAccessor;
+import org.b3log.latke.servlet.HTTPRequestContext;
+import org.b3log.latke.servlet.renderer.JSONRenderer;
+import org.b3log.latke.servlet.renderer.NDJSONRenderer;
+import org.b3log.symphony.model.Comment;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * {@link RepositoryAccessor} test case, exports comments of an {@link EmbeddedDatabase} as newline delimited JSON
+ * and imports them back.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class RepositoryAccessorTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "accessor";
+
+    /**
+     * Repository name.
+     */
+    private static final String REPOSITORY_NAME = EmbeddedDatabase.TABLE_PREFIX + "_" + Comment.COMMENT;
+
+    /**
+     * Repository accessor.
+     */
+    private final RepositoryAccessor repositoryAccessor = new RepositoryAccessor();
+
+    /**
+     * Starts the database, registers the comment repository.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        new CommentRepository();
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Exports and imports plain newline delimited JSON.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void roundTrip() throws Exception {
+        roundTrip(null);
+    }
+
+    /**
+     * Exports and imports gzipped newline delimited JSON.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void gzipRoundTrip() throws Exception {
+        roundTrip(NDJSONRenderer.COMPRESSION_GZIP);
+    }
+
+    /**
+     * Exports and imports zipped newline delimited JSON.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void zipRoundTrip() throws Exception {
+        roundTrip(NDJSONRenderer.COMPRESSION_ZIP);
+    }
+
+    /**
+     * An unknown compression is rejected before reading or writing any record.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void unknownCompression() throws Exception {
+        execute("DELETE FROM " + REPOSITORY_NAME);
+        insertComments(1, 100);
+
+        final HTTPRequestContext get = new HTTPRequestContext();
+        repositoryAccessor.getData(get, request(params("bz2"), null), response(new ByteArrayOutputStream()));
+        final JSONRenderer getRenderer = (JSONRenderer) get.getRenderer();
+        Assert.assertEquals(getRenderer.getJSONObject().optInt(Keys.STATUS_CODE), HttpServletResponse.SC_BAD_REQUEST);
+
+        final byte[] body = "{\"oId\":\"2\"}\n".getBytes(StandardCharsets.UTF_8);
+        final HTTPRequestContext put = new HTTPRequestContext();
+        repositoryAccessor.putData(put, request(params("bz2"), body), response(new ByteArrayOutputStream()));
+        final JSONRenderer putRenderer = (JSONRenderer) put.getRenderer();
+        Assert.assertEquals(putRenderer.getJSONObject().optInt(Keys.STATUS_CODE), HttpServletResponse.SC_BAD_REQUEST);
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM " + REPOSITORY_NAME), 1);
+    }
+
+    /**
+     * Exports a hundred thousand comments of about one kilobyte, the heap used must not grow with the comment count.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void exportInConstantMemory() throws Exception {
+        execute("DELETE FROM " + REPOSITORY_NAME);
+        final int cnt = 100 * 1000;
+        insertComments(cnt, 1000);
+
+        final long baseline = usedHeap();
+        final long[] maxUsed = {0};
+        final long[] lines = {0};
+        final long[] written = {0};
+        final OutputStream discard = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                if ('\n' == b) {
+                    lines[0]++;
+                }
+                written[0]++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                for (int i = off; i < off + len; i++) {
+                    if ('\n' == b[i]) {
+                        lines[0]++;
+                    }
+                }
+
+                // Samples every 8 megabytes
+                if (written[0] >>> 23 != (written[0] + len) >>> 23) {
+                    maxUsed[0] = Math.max(maxUsed[0], usedHeap());
+                }
+                written[0] += len;
+            }
+        };
+
+        export(null, discard);
+
+        Assert.assertEquals(lines[0], cnt);
+        Assert.assertTrue(100L * cnt < written[0]);
+
+        // Holding the comments would take hundreds of megabytes
+        final long growth = maxUsed[0] - baseline;
+        Assert.assertTrue(growth < 32L * 1024 * 1024, "Heap grew [" + growth + "] bytes");
+    }
+
+    /**
+     * Exports the comments with the specified compression, deletes them, imports the export and exports them again,
+     * both exports must hold the same records.
+     *
+     * @param compression the specified compression
+     * @throws Exception exception
+     */
+    private void roundTrip(final String compression) throws Exception {
+        execute("DELETE FROM " + REPOSITORY_NAME);
+        // More than a batch of the import
+        final int cnt = 1234;
+        insertComments(cnt, 100);
+
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        export(compression, exported);
+        final List<String> lines = lines(compression, exported.toByteArray());
+        Assert.assertEquals(lines.size(), cnt);
+
+        execute("DELETE FROM " + REPOSITORY_NAME);
+
+        final HTTPRequestContext context = new HTTPRequestContext();
+        repositoryAccessor.putData(context, request(params(compression), exported.toByteArray()),
+                response(new ByteArrayOutputStream()));
+        final JSONRenderer renderer = (JSONRenderer) context.getRenderer();
+        Assert.assertEquals(renderer.getJSONObject().optInt(Keys.STATUS_CODE), HttpServletResponse.SC_OK,
+                renderer.getJSONObject().toString());
+        Assert.assertEquals(renderer.getJSONObject().optLong("count"), cnt);
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM " + REPOSITORY_NAME), cnt);
+
+        final ByteArrayOutputStream reexported = new ByteArrayOutputStream();
+        export(compression, reexported);
+        final List<String> relines = lines(compression, reexported.toByteArray());
+        Collections.sort(lines);
+        Collections.sort(relines);
+        Assert.assertEquals(relines, lines);
+    }
+
+    /**
+     * Exports the comments with the specified compression into the specified output stream.
+     *
+     * @param compression  the specified compression, {@code null} for none
+     * @param outputStream the specified output stream
+     */
+    private void export(final String compression, final OutputStream outputStream) {
+        final HTTPRequestContext context = new HTTPRequestContext();
+        final HttpServletResponse response = response(outputStream);
+        context.setResponse(response);
+        repositoryAccessor.getData(context, request(params(compression), null), response);
+
+        Assert.assertTrue(context.getRenderer() instanceof NDJSONRenderer);
+        context.getRenderer().render(context);
+    }
+
+    /**
+     * Reads the lines of the specified export with the specified compression.
+     *
+     * @param compression the specified compression, {@code null} for none
+     * @param bytes       the specified export
+     * @return lines
+     * @throws Exception exception
+     */
+    private static List<String> lines(final String compression, final byte[] bytes) throws Exception {
+        InputStream inputStream = new ByteArrayInputStream(bytes);
+        if (NDJSONRenderer.COMPRESSION_GZIP.equals(compression)) {
+            inputStream = new GZIPInputStream(inputStream);
+        } else if (NDJSONRenderer.COMPRESSION_ZIP.equals(compression)) {
+            final ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+            final ZipEntry entry = zipInputStream.getNextEntry();
+            Assert.assertEquals(entry.getName(), REPOSITORY_NAME + ".ndjson");
+            inputStream = zipInputStream;
+        }
+
+        final List<String> ret = new ArrayList<>();
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                ret.add(line);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Inserts the specified count of comments with contents of the specified length, the contents hold characters
+     * to escape.
+     *
+     * @param cnt    the specified count
+     * @param length the specified length
+     * @throws Exception exception
+     */
+    private static void insertComments(final int cnt, final int length) throws Exception {
+        final String prefix = "\"quoted\" \\ line\nbreak </script>   中文 😀 ";
+        final String content = prefix + new String(new char[length - prefix.length()]).replace('\0', 'x');
+
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final PreparedStatement statement = connection.prepareStatement("INSERT INTO " + REPOSITORY_NAME
+                     + " (oId, clientCommentId, commentContent, commentCreateTime, commentAuthorId, commentOnArticleId,"
+                     + " commentSharpURL, commentOriginalCommentId, commentStatus, commentIP, commentUA,"
+                     + " commentAnonymous, commentGoodCnt, commentBadCnt, commentScore, commentReplyCnt,"
+                     + " commentAudioURL) VALUES (?, '', ?, ?, ?, ?, '', '', ?, '127.0.0.1', '', 0, ?, 0, ?, 0, '')")) {
+            for (int i = 0; i < cnt; i++) {
+                statement.setString(1, String.valueOf(1000000000000L + i));
+                statement.setString(2, content);
+                statement.setLong(3, 1000000000000L + i);
+                statement.setString(4, String.valueOf(i % 7));
+                statement.setString(5, String.valueOf(i % 11));
+                statement.setInt(6, i % 2);
+                statement.setInt(7, i);
+                statement.setDouble(8, i / 3D);
+                statement.addBatch();
+
+                if (0 == (i + 1) % 1000) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Creates the parameters of an NDJSON request with the specified compression.
+     *
+     * @param compression the specified compression, {@code null} for none
+     * @return parameters
+     */
+    private static Map<String, String> params(final String compression) {
+        final Map<String, String> ret = new HashMap<>();
+        ret.put("userName", "test");
+        ret.put("password", "test");
+        ret.put("repositoryName", REPOSITORY_NAME);
+        ret.put("format", "ndjson");
+        ret.put("compression", compression);
+
+        return ret;
+    }
+
+    /**
+     * Creates a request with the specified parameters and body.
+     *
+     * @param params the specified parameters
+     * @param body   the specified body, may be {@code null}
+     * @return request
+     */
+    private HttpServletRequest request(final Map<String, String> params, final byte[] body) {
+        final InputStream inputStream = new ByteArrayInputStream(null == body ? new byte[0] : body);
+        final ServletInputStream servletInputStream = new ServletInputStream() {
+            @Override
+            public int read() throws java.io.IOException {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws java.io.IOException {
+                return inputStream.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return false;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(final ReadListener readListener) {
+            }
+        };
+
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getParameter":
+                            return params.get(args[0]);
+                        case "getInputStream":
+                            return servletInputStream;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * Creates a response writing into the specified output stream.
+     *
+     * @param outputStream the specified output stream
+     * @return response
+     */
+    private HttpServletResponse response(final OutputStream outputStream) {
+        final ServletOutputStream servletOutputStream = new ServletOutputStream() {
+            @Override
+            public void write(final int b) throws java.io.IOException {
+                outputStream.write(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws java.io.IOException {
+                outputStream.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+        };
+
+        return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getOutputStream":
+                            return servletOutputStream;
+                        case "isCommitted":
+                            return true;
+                        case "sendError":
+                            Assert.fail("Sends error [" + args[0] + "]");
+
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * Gets the heap used after a full collection.
+     *
+     * @return used heap in bytes
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Executes the specified SQL on the database directly.
+     *
+     * @param sql the specified SQL
+     * @throws Exception exception
+     */
+    private static void execute(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Queries an int by the specified SQL from the database directly.
+     *
+     * @param sql the specified SQL
+     * @return the int of the first column of the first row
+     * @throws Exception exception
+     */
+    private static int queryInt(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+
+            return resultSet.getInt(1);
+        }
+    }
+}
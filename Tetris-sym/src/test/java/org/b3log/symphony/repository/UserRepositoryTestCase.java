@@ -0,0 +1,216 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.repository;
+
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.cache.UserCache;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link UserRepository} test case, runs on an {@link EmbeddedDatabase}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class UserRepositoryTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "user";
+
+    /**
+     * User repository.
+     */
+    private UserRepository userRepository;
+
+    /**
+     * Starts the database and the repository.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(UserRepository.class, UserCache.class);
+        userRepository = Lifecycle.getBeanManager().getReference(UserRepository.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Debits never overdraw, an insufficient balance or an unknown user returns {@code null} and changes nothing.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void updatePoint() throws Exception {
+        final String userId = addUser("point", 100);
+
+        Transaction transaction = userRepository.beginTransaction();
+        Assert.assertNull(userRepository.updatePoint(userId, -150));
+        Assert.assertNull(userRepository.updatePoint("not-found", 10));
+        transaction.commit();
+        Assert.assertEquals(readPoint(userId), 100);
+
+        transaction = userRepository.beginTransaction();
+        final JSONObject user = userRepository.updatePoint(userId, -30);
+        transaction.commit();
+        Assert.assertEquals(user.optInt(UserExt.USER_POINT), 70);
+        Assert.assertEquals(user.optInt(UserExt.USER_USED_POINT), 30);
+        Assert.assertEquals(userRepository.get(userId).optInt(UserExt.USER_POINT), 70);
+
+        transaction = userRepository.beginTransaction();
+        Assert.assertEquals(userRepository.updatePoint(userId, 20).optInt(UserExt.USER_USED_POINT), 30);
+        transaction.commit();
+        Assert.assertEquals(readPoint(userId), 90);
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Concurrent debits drain the balance exactly and never below zero.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentDebits() throws Exception {
+        final int balance = 1000, debit = 10, threadCnt = 16, debitCntPerThread = 20;
+        final String userId = addUser("debits", balance);
+
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCnt; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < debitCntPerThread; i++) {
+                    final Transaction transaction = userRepository.beginTransaction();
+                    try {
+                        final JSONObject user = userRepository.updatePoint(userId, -debit);
+                        transaction.commit();
+                        if (null == user) {
+                            failed.incrementAndGet();
+                        } else {
+                            Assert.assertTrue(0 <= user.optInt(UserExt.USER_POINT));
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (final Exception e) {
+                        if (transaction.isActive()) {
+                            transaction.rollback();
+                        }
+                    } finally {
+                        JdbcRepository.dispose();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(succeeded.get(), balance / debit);
+        Assert.assertEquals(failed.get(), threadCnt * debitCntPerThread - balance / debit);
+        Assert.assertEquals(readPoint(userId), 0);
+    }
+
+    /**
+     * A user read before a transfer and written back after it keeps the transferred balance.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void updateKeepsPoint() throws Exception {
+        final String userId = addUser("update", 100);
+        final JSONObject user = new JSONObject(userRepository.get(userId).toString());
+
+        Transaction transaction = userRepository.beginTransaction();
+        userRepository.updatePoint(userId, 50);
+        transaction.commit();
+
+        user.put(UserExt.USER_CHECKIN_TIME, 1L);
+        transaction = userRepository.beginTransaction();
+        userRepository.update(userId, user);
+        transaction.commit();
+
+        Assert.assertEquals(readPoint(userId), 150);
+        Assert.assertEquals(userRepository.get(userId).optInt(UserExt.USER_POINT), 150);
+        Assert.assertEquals(userRepository.get(userId).optLong(UserExt.USER_CHECKIN_TIME), 1L);
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Adds a user with the specified name and point.
+     *
+     * @param name  the specified name
+     * @param point the specified point
+     * @return user id
+     * @throws Exception exception
+     */
+    private String addUser(final String name, final int point) throws Exception {
+        final Transaction transaction = userRepository.beginTransaction();
+        final String ret = userRepository.add(EmbeddedDatabase.record(User.USER).put(User.USER_NAME, name)
+                .put(UserExt.USER_POINT, point));
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        return ret;
+    }
+
+    /**
+     * Reads the point of the specified user from the database directly.
+     *
+     * @param userId the specified user id
+     * @return point
+     * @throws Exception exception
+     */
+    private int readPoint(final String userId) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT " + UserExt.USER_POINT + " FROM "
+                     + userRepository.getName() + " WHERE oId = '" + userId + "'")) {
+            Assert.assertTrue(resultSet.next());
+
+            return resultSet.getInt(1);
+        }
+    }
+}
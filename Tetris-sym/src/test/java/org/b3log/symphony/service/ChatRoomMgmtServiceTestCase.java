@@ -0,0 +1,127 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.model.User;
+import org.b3log.symphony.cache.ChatRoomCache;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.util.Markdowns;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ChatRoomMgmtService} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class ChatRoomMgmtServiceTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Multi-client load test, measures the pipeline throughput with Markdown rendering and no open sessions.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void load() throws Exception {
+        final int clientCnt = 8, msgCntPerClient = 2000, total = clientCnt * msgCntPerClient;
+        final AtomicInteger processed = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        final ChatRoomMgmtService service = new ChatRoomMgmtService() {
+            @Override
+            String render(final String content) {
+                return Markdowns.toHTML(content);
+            }
+
+            @Override
+            void updateLatestCmtTime(final Map<String, JSONObject> users) {
+            }
+
+            @Override
+            void process(final List<Task> batch) {
+                super.process(batch);
+
+                if (total == processed.addAndGet(batch.size())) {
+                    done.countDown();
+                }
+            }
+        };
+        final Field chatRoomCacheField = ChatRoomMgmtService.class.getDeclaredField("chatRoomCache");
+        chatRoomCacheField.setAccessible(true);
+        final File logFile = File.createTempFile("chat-room", ".log");
+        final ChatRoomCache chatRoomCache = new ChatRoomCache(40, logFile);
+        chatRoomCacheField.set(service, chatRoomCache);
+
+        final long start = System.nanoTime();
+        final Thread[] clients = new Thread[clientCnt];
+        for (int c = 0; c < clientCnt; c++) {
+            final JSONObject user = new JSONObject().put(Keys.OBJECT_ID, String.valueOf(c)).put(User.USER_NAME, "client" + c);
+            clients[c] = new Thread(() -> {
+                for (int i = 0; i < msgCntPerClient; i++) {
+                    while (!service.addChatRoomMsg(user, "**" + i + "**")) {
+                        Thread.yield(); // The room is busy, retries like a client would
+                    }
+                }
+            });
+            clients[c].start();
+        }
+        for (final Thread client : clients) {
+            client.join();
+        }
+        Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+        final long elapsed = System.nanoTime() - start;
+        service.stop();
+
+        System.out.println("Chat room pipeline [clients=" + clientCnt + ", msgs=" + total + ", elapsed="
+                + elapsed / 1000000 + "ms, throughput=" + (long) (total / (elapsed / 1e9)) + " msgs/s]");
+
+        Assert.assertEquals(Files.readAllLines(logFile.toPath()).size(), total);
+        logFile.delete();
+
+        // Messages of one client keep their order
+        final Map<String, Integer> lastSeen = new HashMap<>();
+        final List<JSONObject> msgs = chatRoomCache.getMessages();
+        Assert.assertFalse(msgs.isEmpty());
+        for (final JSONObject msg : msgs) {
+            Assert.assertTrue(msg.optString(Common.CONTENT).contains("<strong>"));
+
+            final int seq = Integer.valueOf(msg.optString(Common.CONTENT).replaceAll("\\D", ""));
+            final Integer newer = lastSeen.put(msg.optString(User.USER_NAME), seq);
+            Assert.assertTrue(null == newer || newer > seq);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.cache.UserCache;
+import org.b3log.symphony.model.Pointtransfer;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.b3log.symphony.repository.PointtransferRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link PointtransferMgmtService} test case, runs on an {@link EmbeddedDatabase}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class PointtransferMgmtServiceTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "pointtransfer";
+
+    /**
+     * Pointtransfer management service.
+     */
+    private PointtransferMgmtService pointtransferMgmtService;
+
+    /**
+     * User repository.
+     */
+    private UserRepository userRepository;
+
+    /**
+     * Starts the database and the beans of transferring.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(PointtransferMgmtService.class, PointtransferRepository.class,
+                UserRepository.class, UserCache.class);
+        pointtransferMgmtService = Lifecycle.getBeanManager().getReference(PointtransferMgmtService.class);
+        userRepository = Lifecycle.getBeanManager().getReference(UserRepository.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Concurrent idempotent transfers of one data id are applied once, all of them return the recorded id.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void idempotentTransfer() throws Exception {
+        final String userId = addUser("idempotent", 0);
+
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<>());
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    ids.add(String.valueOf(pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
+                            Pointtransfer.TRANSFER_TYPE_C_INIT, 100, userId, System.currentTimeMillis())));
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(ids.size(), 1);
+        Assert.assertFalse(ids.contains("null"));
+        Assert.assertEquals(queryInt("SELECT userPoint FROM symphony_user WHERE oId = '" + userId + "'"), 100);
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM symphony_pointtransfer WHERE dataId = '" + userId + "'"), 1);
+    }
+
+    /**
+     * A transfer over the balance fails and records nothing.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void insufficientBalance() throws Exception {
+        final String fromId = addUser("from", 10);
+        final String toId = addUser("to", 0);
+
+        Assert.assertNull(pointtransferMgmtService.transfer(fromId, toId,
+                Pointtransfer.TRANSFER_TYPE_C_ACCOUNT2ACCOUNT, 20, toId, System.currentTimeMillis()));
+        JdbcRepository.dispose();
+
+        Assert.assertEquals(queryInt("SELECT userPoint FROM symphony_user WHERE oId = '" + fromId + "'"), 10);
+        Assert.assertEquals(queryInt("SELECT userPoint FROM symphony_user WHERE oId = '" + toId + "'"), 0);
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM symphony_pointtransfer WHERE fromId = '" + fromId + "'"), 0);
+        Assert.assertEquals(userRepository.get(fromId).optInt(UserExt.USER_POINT), 10);
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Adds a user with the specified name and point.
+     *
+     * @param name  the specified name
+     * @param point the specified point
+     * @return user id
+     * @throws Exception exception
+     */
+    private String addUser(final String name, final int point) throws Exception {
+        final Transaction transaction = userRepository.beginTransaction();
+        final String ret = userRepository.add(EmbeddedDatabase.record(User.USER).put(User.USER_NAME, name)
+                .put(UserExt.USER_POINT, point));
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        return ret;
+    }
+
+    /**
+     * Queries an int by the specified SQL from the database directly.
+     *
+     * @param sql the specified SQL
+     * @return the int of the first column of the first row
+     * @throws Exception exception
+     */
+    private static int queryInt(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.repository.RowHandler;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * {@link PostExportService} test case, posts are scanned from an {@link EmbeddedDatabase} or synthesized.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class PostExportServiceTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "export";
+
+    /**
+     * Starts the database and the beans of exporting.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(PostExportService.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Exports the articles and comments of a user scanned from the repositories, posts of other users are skipped.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void exportScannedPosts() throws Exception {
+        final ArticleRepository articleRepository = Lifecycle.getBeanManager().getReference(ArticleRepository.class);
+        final CommentRepository commentRepository = Lifecycle.getBeanManager().getReference(CommentRepository.class);
+        final Transaction transaction = articleRepository.beginTransaction();
+        articleRepository.add(EmbeddedDatabase.record(Article.ARTICLE).put(Keys.OBJECT_ID, "1")
+                .put(Article.ARTICLE_AUTHOR_ID, "author").put(Article.ARTICLE_TITLE, "First")
+                .put(Article.ARTICLE_TAGS, "a,b").put(Article.ARTICLE_CONTENT, "line\nbreak \"quoted\"")
+                .put(Article.ARTICLE_CREATE_TIME, 1L));
+        articleRepository.add(EmbeddedDatabase.record(Article.ARTICLE).put(Keys.OBJECT_ID, "2")
+                .put(Article.ARTICLE_AUTHOR_ID, "other").put(Article.ARTICLE_TITLE, "Other"));
+        commentRepository.add(EmbeddedDatabase.record(Comment.COMMENT).put(Keys.OBJECT_ID, "3")
+                .put(Comment.COMMENT_AUTHOR_ID, "author").put(Comment.COMMENT_CONTENT, "reply")
+                .put(Comment.COMMENT_CREATE_TIME, 3L));
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        final PostExportService service = Lifecycle.getBeanManager().getReference(PostExportService.class);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Assert.assertEquals(service.exportPosts("author", bytes), 2);
+        JdbcRepository.dispose();
+
+        final List<JSONObject> posts = readPosts(bytes.toByteArray());
+        Assert.assertEquals(posts.size(), 2);
+        Assert.assertEquals(posts.get(0).optString("id"), "1");
+        Assert.assertEquals(posts.get(0).optString("type"), "article");
+        Assert.assertEquals(posts.get(0).optLong("created"), 1L);
+        final JSONObject content = new JSONObject(posts.get(0).optString("content"));
+        Assert.assertEquals(content.optString("title"), "First");
+        Assert.assertEquals(content.optString("tags"), "a,b");
+        Assert.assertEquals(content.optString("body"), "line\nbreak \"quoted\"");
+        Assert.assertEquals(posts.get(1).optString("id"), "3");
+        Assert.assertEquals(posts.get(1).optString("type"), "comment");
+        Assert.assertEquals(new JSONObject(posts.get(1).optString("content")).optString("body"), "reply");
+    }
+
+    /**
+     * Exports articles and comments, reads the zipped lines back.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void exportPosts() throws Exception {
+        final PostExportService service = new SyntheticPostExportService(2, 1);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Assert.assertEquals(service.exportPosts("user", bytes), 3);
+
+        final List<JSONObject> posts = readPosts(bytes.toByteArray());
+        Assert.assertEquals(posts.size(), 3);
+        Assert.assertEquals(posts.get(0).optString("id"), "a0");
+        Assert.assertEquals(posts.get(0).optString("type"), "article");
+        Assert.assertEquals(new JSONObject(posts.get(1).optString("content")).optString("title"), "Title 1");
+        Assert.assertEquals(posts.get(2).optString("id"), "c0");
+        Assert.assertEquals(posts.get(2).optString("type"), "comment");
+        Assert.assertEquals(new JSONObject(posts.get(2).optString("content")).optString("tags"), "");
+        Assert.assertEquals(posts.get(2).optLong("created"), 0L);
+    }
+
+    /**
+     * Exports one million posts, the heap used must not grow with the post count.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void exportMillionPostsInConstantMemory() throws Exception {
+        final int half = 500 * 1000;
+        final long[] maxUsed = {0};
+        final long baseline = usedHeap();
+
+        final PostExportService service = new SyntheticPostExportService(half, half) {
+            @Override
+            void generated(final long index) {
+                if (0 == index % (100 * 1000)) {
+                    maxUsed[0] = Math.max(maxUsed[0], usedHeap());
+                }
+            }
+        };
+
+        final long[] written = {0};
+        final OutputStream discard = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                written[0]++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                written[0] += len;
+            }
+        };
+
+        Assert.assertEquals(service.exportPosts("user", discard), 2L * half);
+        Assert.assertTrue(0 < written[0]);
+
+        // Holding the posts would take hundreds of megabytes
+        final long growth = maxUsed[0] - baseline;
+        Assert.assertTrue(growth < 32L * 1024 * 1024, "Heap grew [" + growth + "] bytes");
+    }
+
+    /**
+     * Reads the posts of the specified exported zip.
+     *
+     * @param zip the specified exported zip
+     * @return posts
+     * @throws Exception exception
+     */
+    private static List<JSONObject> readPosts(final byte[] zip) throws Exception {
+        final List<JSONObject> ret = new ArrayList<>();
+        try (final ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            final ZipEntry entry = zipInputStream.getNextEntry();
+            Assert.assertEquals(entry.getName(), "posts.ndjson");
+
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(zipInputStream, StandardCharsets.UTF_8));
+            String line;
+            while (null != (line = reader.readLine())) {
+                ret.add(new JSONObject(line));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the heap used after a full collection.
+     *
+     * @return used heap in bytes
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Post export service which synthesizes the specified count of articles and comments.
+     */
+    private static class SyntheticPostExportService extends PostExportService {
+
+        /**
+         * Body of synthesized posts.
+         */
+        private static final String BODY = new String(new char[256]).replace('\0', 'x');
+
+        /**
+         * Article count.
+         */
+        private final int articleCnt;
+
+        /**
+         * Comment count.
+         */
+        private final int commentCnt;
+
+        /**
+         * Count of the synthesized posts.
+         */
+        private long generatedCnt;
+
+        /**
+         * Constructs a service with the specified article count and comment count.
+         *
+         * @param articleCnt the specified article count
+         * @param commentCnt the specified comment count
+         */
+        SyntheticPostExportService(final int articleCnt, final int commentCnt) {
+            this.articleCnt = articleCnt;
+            this.commentCnt = commentCnt;
+        }
+
+        @Override
+        long scanArticles(final String userId, final RowHandler handler) {
+            return scan(articleCnt, i -> new JSONObject().put(Keys.OBJECT_ID, "a" + i)
+                    .put(Article.ARTICLE_TITLE, "Title " + i).put(Article.ARTICLE_TAGS, "tag")
+                    .put(Article.ARTICLE_CONTENT, BODY).put(Article.ARTICLE_CREATE_TIME, (long) i), handler);
+        }
+
+        @Override
+        long scanComments(final String userId, final RowHandler handler) {
+            return scan(commentCnt, i -> new JSONObject().put(Keys.OBJECT_ID, "c" + i)
+                    .put(Comment.COMMENT_CONTENT, BODY).put(Comment.COMMENT_CREATE_TIME, (long) i), handler);
+        }
+
+        /**
+         * Invoked before a post is handed to the export, for measuring.
+         *
+         * @param index index of the post
+         */
+        void generated(final long index) {
+        }
+
+        /**
+         * Hands the specified count of synthesized rows to the specified handler.
+         *
+         * @param cnt     the specified count
+         * @param rows    the specified row factory
+         * @param handler the specified handler
+         * @return count of the handled rows
+         */
+        private long scan(final int cnt, final IntFunction<JSONObject> rows, final RowHandler handler) {
+            try {
+                for (int i = 0; i < cnt; i++) {
+                    generated(generatedCnt++);
+                    handler.handle(rows.apply(i));
+                }
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            return cnt;
+        }
+    }
+}
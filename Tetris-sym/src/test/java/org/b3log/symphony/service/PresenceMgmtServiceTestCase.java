@@ -0,0 +1,229 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.symphony.cache.UserCache;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.b3log.symphony.repository.UserRepository;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PresenceMgmtService} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.1, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class PresenceMgmtServiceTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "presence";
+
+    /**
+     * Starts the database and the beans of presence persisting.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(PresenceMgmtService.class, UserRepository.class, UserCache.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Persisting presence writes the online flag and the latest login time only, a point change committed meanwhile
+     * (by another node, so the user cached here is stale) is kept.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void keepPoint() throws Exception {
+        final UserRepository userRepository = Lifecycle.getBeanManager().getReference(UserRepository.class);
+        final PresenceMgmtService service = Lifecycle.getBeanManager().getReference(PresenceMgmtService.class);
+
+        final Transaction transaction = userRepository.beginTransaction();
+        final String userId = userRepository.add(EmbeddedDatabase.record(User.USER).put(User.USER_NAME, "presence")
+                .put(UserExt.USER_POINT, 100));
+        transaction.commit();
+        Assert.assertEquals(userRepository.get(userId).optInt(UserExt.USER_POINT), 100);
+
+        sql("UPDATE " + userRepository.getName() + " SET " + UserExt.USER_POINT + " = " + UserExt.USER_POINT
+                + " + 50 WHERE oId = '" + userId + "'");
+
+        service.addConnection(userId);
+        Assert.assertEquals(service.flush(), 1);
+
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT " + UserExt.USER_POINT + ", "
+                     + UserExt.USER_ONLINE_FLAG + ", " + UserExt.USER_LATEST_LOGIN_TIME + " FROM "
+                     + userRepository.getName() + " WHERE oId = '" + userId + "'")) {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(resultSet.getInt(1), 150);
+            Assert.assertTrue(resultSet.getBoolean(2));
+            Assert.assertTrue(0 < resultSet.getLong(3));
+        }
+
+        final JSONObject cached = userRepository.get(userId);
+        Assert.assertEquals(cached.optInt(UserExt.USER_POINT), 150);
+        Assert.assertTrue(cached.optBoolean(UserExt.USER_ONLINE_FLAG));
+    }
+
+    /**
+     * Reconnect storm, thousands of sessions open and close between flushes, the user updates are bounded by the
+     * users whose state changed.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void storm() throws Exception {
+        final int userCnt = 100, threadCnt = 8, sessionCntPerThread = 2000, flushCnt = 5;
+        final AtomicInteger writes = new AtomicInteger();
+        final Map<String, Boolean> db = new HashMap<>();
+        final PresenceMgmtService service = new PresenceMgmtService() {
+            @Override
+            boolean persist(final Map<String, Boolean> changes) {
+                writes.addAndGet(changes.size());
+                db.putAll(changes);
+
+                return true;
+            }
+        };
+
+        // Every user keeps one session open, reconnects come and go around it
+        for (int i = 0; i < userCnt; i++) {
+            service.addConnection(String.valueOf(i));
+        }
+        Assert.assertEquals(service.flush(), userCnt);
+        writes.set(0);
+
+        for (int f = 0; f < flushCnt; f++) {
+            final int seed = f;
+            final List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < threadCnt; t++) {
+                final Random random = new Random(seed * threadCnt + t);
+                final Thread thread = new Thread(() -> {
+                    for (int i = 0; i < sessionCntPerThread; i++) {
+                        final String userId = String.valueOf(random.nextInt(userCnt));
+                        service.addConnection(userId);
+                        service.removeConnection(userId);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+
+            service.flush();
+        }
+        Assert.assertEquals(writes.get(), 0);
+
+        // Half of the users leave, each of them is written once however many times they reconnected
+        for (int i = 0; i < userCnt / 2; i++) {
+            final String userId = String.valueOf(i);
+            for (int j = 0; j < 10; j++) {
+                service.removeConnection(userId);
+                service.addConnection(userId);
+            }
+            service.removeConnection(userId);
+        }
+        Assert.assertEquals(service.flush(), userCnt / 2);
+        Assert.assertEquals(service.flush(), 0);
+        Assert.assertEquals(writes.get(), userCnt / 2);
+
+        for (int i = 0; i < userCnt; i++) {
+            final String userId = String.valueOf(i);
+            Assert.assertEquals(service.isOnline(userId), i >= userCnt / 2);
+            Assert.assertEquals(db.get(userId), Boolean.valueOf(service.isOnline(userId)));
+        }
+    }
+
+    /**
+     * Failed writes are retried in the next flush.
+     */
+    @Test
+    public void retry() {
+        final List<Map<String, Boolean>> persisted = new ArrayList<>();
+        final AtomicInteger failures = new AtomicInteger(1);
+        final PresenceMgmtService service = new PresenceMgmtService() {
+            @Override
+            boolean persist(final Map<String, Boolean> changes) {
+                if (0 <= failures.decrementAndGet()) {
+                    return false;
+                }
+
+                persisted.add(changes);
+
+                return true;
+            }
+        };
+
+        service.addConnection("1");
+        service.flush();
+        Assert.assertTrue(persisted.isEmpty());
+
+        service.flush();
+        Assert.assertEquals(persisted, Collections.singletonList(Collections.singletonMap("1", true)));
+    }
+
+    /**
+     * Executes the specified statement on the database directly.
+     *
+     * @param sql the specified statement
+     * @throws Exception exception
+     */
+    private static void sql(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.SearchOutbox;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.b3log.symphony.repository.SearchOutboxRepository;
+import org.b3log.symphony.util.JSONs;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SearchIndexMgmtService} test case, the search engines are an in-process {@link SearchStandIn} and the outbox
+ * is an {@link EmbeddedDatabase}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class SearchIndexMgmtServiceTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "search";
+
+    /**
+     * Articles, &lt;articleId, article&gt;.
+     */
+    private final Map<String, JSONObject> articles = new HashMap<>();
+
+    /**
+     * Search outbox repository.
+     */
+    private SearchOutboxRepository searchOutboxRepository;
+
+    /**
+     * Search engine stand-in.
+     */
+    private SearchStandIn standIn;
+
+    /**
+     * Service under test.
+     */
+    private SearchIndexMgmtService service;
+
+    /**
+     * Starts the database and the outbox repository.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        searchOutboxRepository = new SearchOutboxRepository();
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Starts the stand-in, empties the outbox and creates the service.
+     *
+     * @throws Exception exception
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        articles.clear();
+        sql("DELETE FROM " + searchOutboxRepository.getName());
+        standIn = new SearchStandIn();
+
+        service = new SearchIndexMgmtService() {
+            @Override
+            JSONObject getArticle(final String articleId) {
+                final JSONObject article = articles.get(articleId);
+
+                return null == article ? null : JSONs.clone(article);
+            }
+
+            @Override
+            boolean isAlgoliaEnabled() {
+                return true;
+            }
+
+            @Override
+            boolean isESEnabled() {
+                return true;
+            }
+        };
+
+        final Field searchOutboxRepositoryField = SearchIndexMgmtService.class.getDeclaredField("searchOutboxRepository");
+        searchOutboxRepositoryField.setAccessible(true);
+        searchOutboxRepositoryField.set(service, searchOutboxRepository);
+
+        final String server = standIn.getServer();
+        final Field searchMgmtServiceField = SearchIndexMgmtService.class.getDeclaredField("searchMgmtService");
+        searchMgmtServiceField.setAccessible(true);
+        searchMgmtServiceField.set(service, new SearchMgmtService() {
+            @Override
+            String getESServer() {
+                return server;
+            }
+
+            @Override
+            String getAlgoliaServer(final String appId, final int retries) {
+                return server;
+            }
+        });
+    }
+
+    /**
+     * Stops the stand-in.
+     */
+    @AfterMethod
+    public void tearDown() {
+        standIn.close();
+    }
+
+    /**
+     * Repeated updates of an article are coalesced, all changes of a drain go in one bulk request and one batch
+     * request.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void coalesce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            saveArticle(String.valueOf(i));
+        }
+        for (int n = 0; n < 50; n++) {
+            for (int i = 0; i < 3; i++) {
+                service.indexArticle(String.valueOf(i));
+            }
+        }
+        service.indexArticle("3");
+        service.removeArticle("3");
+
+        Assert.assertEquals(service.drain(), 4);
+        Assert.assertEquals(service.drain(), 0);
+
+        final List<String> requests = standIn.getRequests();
+        Assert.assertEquals(requests.size(), 2);
+
+        final String batch = find(requests, "/batch");
+        final JSONArray algoliaRequests = new JSONObject(batch.substring(batch.indexOf('\n') + 1)).optJSONArray("requests");
+        Assert.assertEquals(algoliaRequests.length(), 4);
+        Assert.assertEquals(algoliaRequests.optJSONObject(0).optString("action"), "updateObject");
+        Assert.assertFalse(algoliaRequests.optJSONObject(0).optJSONObject("body").optString(Article.ARTICLE_CONTENT).contains("**"));
+        Assert.assertEquals(algoliaRequests.optJSONObject(3).optString("action"), "deleteObject");
+        Assert.assertEquals(algoliaRequests.optJSONObject(3).optJSONObject("body").optString("objectID"), "3");
+
+        final String bulk = find(requests, "/_bulk");
+        final String[] lines = bulk.substring(bulk.indexOf('\n') + 1).split("\n");
+        Assert.assertEquals(lines.length, 3 * 2 + 1);
+        Assert.assertEquals(new JSONObject(lines[0]).optJSONObject("update").optString("_id"), "0");
+        Assert.assertTrue(new JSONObject(lines[1]).optBoolean("doc_as_upsert"));
+        Assert.assertEquals(new JSONObject(lines[6]).optJSONObject("delete").optString("_id"), "3");
+    }
+
+    /**
+     * Saving articles costs the same whatever the search engines latency is, the engines see one request each per
+     * batch of articles.
+     */
+    @Test
+    public void latency() throws Exception {
+        final int articleCnt = 200;
+        final long delay = 300;
+        standIn.setDelay(delay);
+        for (int i = 0; i < articleCnt; i++) {
+            saveArticle(String.valueOf(i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < articleCnt; i++) {
+            service.indexArticle(String.valueOf(i));
+        }
+        final long saveMillis = (System.nanoTime() - start) / 1000000;
+
+        start = System.nanoTime();
+        Assert.assertEquals(service.drain(), articleCnt);
+        final long drainMillis = (System.nanoTime() - start) / 1000000;
+
+        System.out.println("Search index [articles=" + articleCnt + ", engineDelay=" + delay + "ms, save="
+                + saveMillis + "ms, drain=" + drainMillis + "ms, requests=" + standIn.getRequests().size() + "]");
+
+        Assert.assertTrue(saveMillis < delay, "saves waited for the search engines");
+        Assert.assertEquals(standIn.getRequests().size(), 2 * (articleCnt / SearchIndexMgmtService.BATCH_SIZE));
+    }
+
+    /**
+     * Entries stay in the outbox until the engines accepted them.
+     */
+    @Test
+    public void retry() throws Exception {
+        saveArticle("1");
+        service.indexArticle("1");
+
+        standIn.fail(1);
+        Assert.assertEquals(service.drain(), 0);
+        Assert.assertEquals(outboxSize(), 1);
+
+        Assert.assertEquals(service.drain(), 1);
+        Assert.assertEquals(outboxSize(), 0);
+
+        final List<String> requests = new ArrayList<>(standIn.getRequests());
+        Assert.assertEquals(requests.size(), 4);
+    }
+
+    /**
+     * Putting an entry replaces the queued entry of the article, concurrent puts of one article all succeed.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void upsert() throws Exception {
+        service.indexArticle("1");
+        service.removeArticle("1");
+        List<JSONObject> entries = service.pending(10);
+        Assert.assertEquals(entries.size(), 1);
+        Assert.assertEquals(entries.get(0).optInt(SearchOutbox.SEARCH_OUTBOX_OP), SearchOutbox.SEARCH_OUTBOX_OP_C_REMOVE);
+
+        final AtomicInteger failed = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int time = i;
+            final Thread thread = new Thread(() -> {
+                final Transaction transaction = searchOutboxRepository.beginTransaction();
+                try {
+                    searchOutboxRepository.put("2", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, time);
+                    transaction.commit();
+                } catch (final Exception e) {
+                    failed.incrementAndGet();
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(failed.get(), 0);
+        Assert.assertEquals(outboxSize(), 2);
+    }
+
+    /**
+     * A failed write in a joined transaction is thrown, so the caller does not commit a removal without its entry.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void joinedFailure() throws Exception {
+        sql("ALTER TABLE " + searchOutboxRepository.getName() + " ADD CONSTRAINT searchOutboxOpCheck CHECK ("
+                + SearchOutbox.SEARCH_OUTBOX_OP + " < 1)");
+        try {
+            final Transaction transaction = searchOutboxRepository.beginTransaction();
+            try {
+                service.removeArticle("1");
+                Assert.fail("the failure is swallowed");
+            } catch (final IllegalStateException e) {
+                transaction.rollback();
+            } finally {
+                JdbcRepository.dispose();
+            }
+
+            service.removeArticle("1");
+            Assert.assertEquals(outboxSize(), 0);
+        } finally {
+            sql("ALTER TABLE " + searchOutboxRepository.getName() + " DROP CONSTRAINT searchOutboxOpCheck");
+        }
+    }
+
+    /**
+     * Pending entries are paged oldest first.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void pending() throws Exception {
+        final Transaction transaction = searchOutboxRepository.beginTransaction();
+        searchOutboxRepository.put("3", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 30);
+        searchOutboxRepository.put("1", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 20);
+        searchOutboxRepository.put("2", SearchOutbox.SEARCH_OUTBOX_OP_C_REMOVE, 10);
+        searchOutboxRepository.put("0", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 20);
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        final List<JSONObject> entries = service.pending(3);
+        Assert.assertEquals(entries.stream().map(entry -> entry.optString(Keys.OBJECT_ID)).collect(Collectors.toList()),
+                Arrays.asList("2", "0", "1"));
+        Assert.assertEquals(service.pending(10).size(), 4);
+    }
+
+    /**
+     * Acknowledging removes the sent entries only, an entry written again after it was read is kept.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void acknowledge() throws Exception {
+        Transaction transaction = searchOutboxRepository.beginTransaction();
+        searchOutboxRepository.put("1", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 10);
+        searchOutboxRepository.put("2", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 10);
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        final List<JSONObject> sent = service.pending(10);
+        transaction = searchOutboxRepository.beginTransaction();
+        searchOutboxRepository.put("2", SearchOutbox.SEARCH_OUTBOX_OP_C_UPDATE, 20);
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        service.acknowledge(sent);
+        final List<JSONObject> entries = service.pending(10);
+        Assert.assertEquals(entries.size(), 1);
+        Assert.assertEquals(entries.get(0).optString(Keys.OBJECT_ID), "2");
+        Assert.assertEquals(entries.get(0).optLong(SearchOutbox.SEARCH_OUTBOX_TIME), 20L);
+
+        service.acknowledge(entries);
+        Assert.assertEquals(outboxSize(), 0);
+    }
+
+    /**
+     * Starting creates the outbox table if it does not exist.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void initOutbox() throws Exception {
+        sql("DROP TABLE " + searchOutboxRepository.getName());
+        try {
+            service.start();
+        } finally {
+            service.stop();
+        }
+
+        service.indexArticle("1");
+        Assert.assertEquals(outboxSize(), 1);
+    }
+
+    /**
+     * Saves an article with the specified id.
+     *
+     * @param articleId the specified id
+     */
+    private void saveArticle(final String articleId) {
+        articles.put(articleId, new JSONObject().put(Keys.OBJECT_ID, articleId)
+                .put(Article.ARTICLE_TITLE, "Article " + articleId)
+                .put(Article.ARTICLE_CONTENT, "**Symphony** is a modern community platform, article " + articleId));
+    }
+
+    /**
+     * Finds the request to the specified path.
+     *
+     * @param requests the specified requests
+     * @param path     the specified path suffix
+     * @return request
+     */
+    private static String find(final List<String> requests, final String path) {
+        for (final String request : requests) {
+            if (request.substring(0, request.indexOf('\n')).endsWith(path)) {
+                return request;
+            }
+        }
+
+        throw new AssertionError("No request to [" + path + "]");
+    }
+
+    /**
+     * Counts the outbox entries.
+     *
+     * @return count
+     * @throws Exception exception
+     */
+    private long outboxSize() throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM "
+                     + searchOutboxRepository.getName())) {
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Executes the specified SQL on the database directly.
+     *
+     * @param sql the specified SQL
+     * @throws Exception exception
+     */
+    private static void sql(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process search engine stand-in, answers ES bulk requests and Algolia batch requests and records them.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class SearchStandIn implements AutoCloseable {
+
+    /**
+     * Received requests, "METHOD path" followed by a line separator and the body.
+     */
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    /**
+     * Count of the next requests to fail with status 500.
+     */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Response delay in milliseconds.
+     */
+    private volatile long delay;
+
+    /**
+     * HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Request handling executor.
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * Starts a stand-in on a random local port.
+     *
+     * @throws IOException io exception
+     */
+    public SearchStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            final String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + "\n" + body);
+
+            try {
+                Thread.sleep(delay);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            int code = 200;
+            String response = exchange.getRequestURI().getPath().endsWith("/_bulk")
+                    ? "{\"took\":1,\"errors\":false,\"items\":[]}" : "{\"taskID\":1}";
+            if (0 <= failures.decrementAndGet()) {
+                code = 500;
+                response = "{\"error\":\"stand-in failure\"}";
+            }
+
+            final byte[] data = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, data.length);
+            try (final OutputStream os = exchange.getResponseBody()) {
+                os.write(data);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Gets the serve address.
+     *
+     * @return serve address, for example "http://127.0.0.1:9200"
+     */
+    public String getServer() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the received requests.
+     *
+     * @return requests, "METHOD path" followed by a line separator and the body
+     */
+    public List<String> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Fails the specified count of the next requests.
+     *
+     * @param cnt the specified count
+     */
+    public void fail(final int cnt) {
+        failures.set(cnt);
+    }
+
+    /**
+     * Sets the response delay.
+     *
+     * @param delay the specified delay in milliseconds
+     */
+    public void setDelay(final long delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.io.IOUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.symphony.model.sitemap.Sitemap;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link SitemapMgmtService} test case, articles are generated by a stand-in query service which may fail.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class SitemapMgmtServiceTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Stand-in query service.
+     */
+    private StandInSitemapQueryService queryService;
+
+    /**
+     * Sitemap management service.
+     */
+    private SitemapMgmtService service;
+
+    /**
+     * Creates the services, removes the sitemaps of the former test.
+     *
+     * @throws Exception exception
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final File[] files = new File(SitemapMgmtService.SITEMAP_DIR).listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                Assert.assertTrue(file.delete());
+            }
+        }
+
+        queryService = new StandInSitemapQueryService();
+        service = new SitemapMgmtService();
+        final Field field = SitemapMgmtService.class.getDeclaredField("sitemapQueryService");
+        field.setAccessible(true);
+        field.set(service, queryService);
+    }
+
+    /**
+     * A generation failed to scan articles keeps the shards and the index of the former generation.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void failedGeneration() throws Exception {
+        queryService.articleCnt = 2;
+        service.genSitemaps();
+        final String shard = read(SitemapMgmtService.getShardFileName(1));
+        final String index = read(SitemapMgmtService.SITEMAP_INDEX_FILE_NAME);
+        Assert.assertTrue(shard.contains("/article/2<"));
+
+        queryService.articleCnt = 3;
+        queryService.fail = true;
+        service.genSitemaps();
+
+        Assert.assertEquals(read(SitemapMgmtService.getShardFileName(1)), shard);
+        Assert.assertEquals(read(SitemapMgmtService.SITEMAP_INDEX_FILE_NAME), index);
+    }
+
+    /**
+     * A flush failed to scan articles keeps the shard, the next flush rewrites it.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void failedFlush() throws Exception {
+        queryService.articleCnt = 2;
+        service.genSitemaps();
+        final String shard = read(SitemapMgmtService.getShardFileName(1));
+
+        queryService.articleCnt = 3;
+        queryService.fail = true;
+        flush(new JSONObject().put(Keys.OBJECT_ID, "3"));
+        Assert.assertEquals(read(SitemapMgmtService.getShardFileName(1)), shard);
+
+        queryService.fail = false;
+        flush(new JSONObject().put(Keys.OBJECT_ID, "1"));
+        Assert.assertTrue(read(SitemapMgmtService.getShardFileName(1)).contains("/article/3<"));
+        Assert.assertFalse(new File(SitemapMgmtService.SITEMAP_DIR, SitemapMgmtService.getShardFileName(2)).exists());
+    }
+
+    /**
+     * Refreshes the specified article and waits for the flush.
+     *
+     * @param article the specified article
+     * @throws Exception exception
+     */
+    private void flush(final JSONObject article) throws Exception {
+        final int calls = queryService.calls.get();
+        service.refreshArticle(article);
+
+        final long deadline = System.currentTimeMillis() + 10 * 1000;
+        while (calls == queryService.calls.get()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Not flushed");
+            Thread.sleep(10);
+        }
+
+        synchronized (service) {
+            // The flush holds the service until the shards and the index are written
+        }
+    }
+
+    /**
+     * Reads the specified sitemap file.
+     *
+     * @param fileName the specified file name
+     * @return content
+     * @throws Exception exception
+     */
+    private static String read(final String fileName) throws Exception {
+        InputStream inputStream = new FileInputStream(new File(SitemapMgmtService.SITEMAP_DIR, fileName));
+        if (fileName.endsWith(".gz")) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+
+        try (final InputStream in = inputStream) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Sitemap query service which generates articles with ids from 1 to the article count.
+     */
+    private static class StandInSitemapQueryService extends SitemapQueryService {
+
+        /**
+         * Article count.
+         */
+        private volatile int articleCnt;
+
+        /**
+         * Whether generating articles fails after generating one of them.
+         */
+        private volatile boolean fail;
+
+        /**
+         * Count of generating articles.
+         */
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void genDomains(final Sitemap sitemap) {
+        }
+
+        @Override
+        public long genArticles(final Sitemap sitemap, final long start, final long end, final int maxCount)
+                throws RepositoryException {
+            try {
+                int count = 0;
+                for (long id = Math.max(start, 1); id <= articleCnt && id < end; id++) {
+                    if (count >= maxCount) {
+                        return id;
+                    }
+
+                    final Sitemap.URL url = new Sitemap.URL();
+                    url.setLoc(Latkes.getServePath() + "/article/" + id);
+                    sitemap.addURL(url);
+                    count++;
+
+                    if (fail) {
+                        throw new RepositoryException("Scan failed");
+                    }
+                }
+
+                return -1;
+            } finally {
+                calls.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Repository;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
+import org.b3log.symphony.model.Statistic;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.b3log.symphony.repository.StatisticRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link StatisticMgmtService} and {@link StatisticQueryService} test case, runs on an {@link EmbeddedDatabase}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class StatisticMgmtServiceTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "statistic";
+
+    /**
+     * Statistic management service.
+     */
+    private StatisticMgmtService statisticMgmtService;
+
+    /**
+     * Statistic query service.
+     */
+    private StatisticQueryService statisticQueryService;
+
+    /**
+     * Starts the database and the beans of statistics.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(StatisticMgmtService.class, StatisticQueryService.class);
+        statisticMgmtService = Lifecycle.getBeanManager().getReference(StatisticMgmtService.class);
+        statisticQueryService = Lifecycle.getBeanManager().getReference(StatisticQueryService.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Concurrent increments of a day without statistic add one statistic and lose no increment.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentInc() throws Exception {
+        final long time = time("20250310") + DateUtils.MILLIS_PER_HOUR;
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 25; j++) {
+                        statisticMgmtService.incStatistic(time, Statistic.STATISTIC_ARTICLE_CNT);
+                    }
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        statisticMgmtService.incStatistic(time, Statistic.STATISTIC_USER_CNT);
+        JdbcRepository.dispose();
+
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM symphony_statistic WHERE statisticDate = '20250310'"), 1);
+        Assert.assertEquals(queryInt("SELECT statisticArticleCnt FROM symphony_statistic WHERE statisticDate = '20250310'"), 200);
+        Assert.assertEquals(queryInt("SELECT statisticUserCnt FROM symphony_statistic WHERE statisticDate = '20250310'"), 1);
+        Assert.assertEquals(queryInt("SELECT statisticCommentCnt FROM symphony_statistic WHERE statisticDate = '20250310'"), 0);
+    }
+
+    /**
+     * An unknown field changes nothing.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void unknownField() throws Exception {
+        statisticMgmtService.incStatistic(time("20250311"), "statisticUserCnt = 0, oId");
+        JdbcRepository.dispose();
+
+        Assert.assertEquals(queryInt("SELECT COUNT(*) FROM symphony_statistic WHERE statisticDate = '20250311'"), 0);
+    }
+
+    /**
+     * Day statistics fill the days without statistic with zeros, month statistics sum the days of each month.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void rollup() throws Exception {
+        inc("20240130", Statistic.STATISTIC_USER_CNT, 2);
+        inc("20240131", Statistic.STATISTIC_COMMENT_CNT, 3);
+        inc("20240201", Statistic.STATISTIC_USER_CNT, 1);
+        inc("20240229", Statistic.STATISTIC_ARTICLE_CNT, 4);
+        inc("20240401", Statistic.STATISTIC_ARTICLE_CNT, 5);
+
+        final List<JSONObject> days = statisticQueryService.getDayStatistics(new Date(time("20240130")),
+                new Date(time("20240202") + DateUtils.MILLIS_PER_HOUR));
+        JdbcRepository.dispose();
+        Assert.assertEquals(days.size(), 4);
+        assertStatistic(days.get(0), "20240130", 2, 0, 0);
+        assertStatistic(days.get(1), "20240131", 0, 0, 3);
+        assertStatistic(days.get(2), "20240201", 1, 0, 0);
+        assertStatistic(days.get(3), "20240202", 0, 0, 0);
+
+        final List<JSONObject> months = statisticQueryService.getMonthStatistics(
+                new Date(time("20240115")), new Date(time("20240410")));
+        JdbcRepository.dispose();
+        Assert.assertEquals(months.size(), 4);
+        assertStatistic(months.get(0), "202401", 2, 0, 3);
+        assertStatistic(months.get(1), "202402", 1, 4, 0);
+        assertStatistic(months.get(2), "202403", 0, 0, 0);
+        assertStatistic(months.get(3), "202404", 0, 5, 0);
+    }
+
+    /**
+     * Initializing an empty statistic table counts the valid users, articles and comments by the days of their ids,
+     * initializing it again changes nothing.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void backfill() throws Exception {
+        execute("DELETE FROM symphony_statistic");
+
+        final long day1 = time("20230501") + DateUtils.MILLIS_PER_HOUR;
+        final long day2 = time("20230502") + DateUtils.MILLIS_PER_HOUR;
+        add(UserRepository.class, User.USER, day1, UserExt.USER_STATUS, UserExt.USER_STATUS_C_VALID);
+        add(UserRepository.class, User.USER, day1 + 1, UserExt.USER_STATUS, UserExt.USER_STATUS_C_VALID);
+        add(UserRepository.class, User.USER, day1 + 2, UserExt.USER_STATUS, UserExt.USER_STATUS_C_INVALID);
+        add(ArticleRepository.class, Article.ARTICLE, day1 + 3, Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
+        add(ArticleRepository.class, Article.ARTICLE, day2, Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
+        add(CommentRepository.class, Comment.COMMENT, day2 + 1, Comment.COMMENT_STATUS, Comment.COMMENT_STATUS_C_VALID);
+        add(CommentRepository.class, Comment.COMMENT, day2 + 2, Comment.COMMENT_STATUS, Comment.COMMENT_STATUS_C_INVALID);
+
+        statisticMgmtService.initStatistic();
+        JdbcRepository.dispose();
+        statisticMgmtService.initStatistic();
+        JdbcRepository.dispose();
+
+        final StatisticRepository statisticRepository = Lifecycle.getBeanManager().getReference(StatisticRepository.class);
+        Assert.assertEquals(statisticRepository.count(), 2);
+        assertStatistic(statisticRepository.getByDate("20230501"), "20230501", 2, 1, 0);
+        assertStatistic(statisticRepository.getByDate("20230502"), "20230502", 0, 1, 1);
+
+        statisticMgmtService.incStatistic(day1, Statistic.STATISTIC_COMMENT_CNT);
+        JdbcRepository.dispose();
+        Assert.assertEquals(statisticRepository.count(), 2);
+        assertStatistic(statisticRepository.getByDate("20230501"), "20230501", 2, 1, 1);
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Increments the specified field of the statistic of the specified date by the specified times.
+     *
+     * @param date  the specified date
+     * @param field the specified field
+     * @param times the specified times
+     */
+    private void inc(final String date, final String field, final int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            statisticMgmtService.incStatistic(time(date) + i, field);
+        }
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Adds a record with the specified id and status by the repository of the specified class.
+     *
+     * @param repositoryClass the specified class
+     * @param table           the specified table name without prefix
+     * @param id              the specified id
+     * @param statusKey       the specified status key
+     * @param status          the specified status
+     * @throws Exception exception
+     */
+    private static void add(final Class<? extends Repository> repositoryClass, final String table, final long id,
+                            final String statusKey, final int status) throws Exception {
+        final Repository repository = Lifecycle.getBeanManager().getReference(repositoryClass);
+        final Transaction transaction = repository.beginTransaction();
+        repository.add(EmbeddedDatabase.record(table).put(Keys.OBJECT_ID, String.valueOf(id)).put(statusKey, status));
+        transaction.commit();
+        JdbcRepository.dispose();
+    }
+
+    /**
+     * Asserts the specified statistic.
+     *
+     * @param statistic  the specified statistic
+     * @param date       the expected date
+     * @param userCnt    the expected user count
+     * @param articleCnt the expected article count
+     * @param commentCnt the expected comment count
+     */
+    private static void assertStatistic(final JSONObject statistic, final String date, final int userCnt,
+                                        final int articleCnt, final int commentCnt) {
+        Assert.assertEquals(statistic.optString(Statistic.STATISTIC_DATE), date);
+        Assert.assertEquals(statistic.optInt(Statistic.STATISTIC_USER_CNT), userCnt, date);
+        Assert.assertEquals(statistic.optInt(Statistic.STATISTIC_ARTICLE_CNT), articleCnt, date);
+        Assert.assertEquals(statistic.optInt(Statistic.STATISTIC_COMMENT_CNT), commentCnt, date);
+    }
+
+    /**
+     * Gets the start time of the specified date.
+     *
+     * @param date the specified date, formatted as "yyyyMMdd"
+     * @return start time
+     * @throws Exception exception
+     */
+    private static long time(final String date) throws Exception {
+        return DateUtils.parseDate(date, new String[]{"yyyyMMdd"}).getTime();
+    }
+
+    /**
+     * Executes the specified SQL on the database directly.
+     *
+     * @param sql the specified SQL
+     * @throws Exception exception
+     */
+    private static void execute(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Queries an int by the specified SQL from the database directly.
+     *
+     * @param sql the specified SQL
+     * @return the int of the first column of the first row
+     * @throws Exception exception
+     */
+    private static int queryInt(final String sql) throws Exception {
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.util.BinaryJSON;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link BinaryJSON} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class BinaryJSONTestCase {
+
+    /**
+     * Numbers keep their types and values, including the boundaries.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void numbers() throws Exception {
+        final JSONObject jsonObject = new JSONObject()
+                .put("int0", 0).put("intMin", Integer.MIN_VALUE).put("intMax", Integer.MAX_VALUE)
+                .put("long", 1508221893211L).put("longMin", Long.MIN_VALUE).put("longMax", Long.MAX_VALUE)
+                .put("longNeg", -1L).put("double", 0.1D).put("doubleNeg", -1.5E300D)
+                .put("doubleMin", Double.MIN_VALUE).put("float", 3.25F)
+                .put("decimal", new BigDecimal("12345678901234567890.123456789"))
+                .put("bigInteger", new BigInteger("-123456789012345678901234567890"));
+
+        final JSONObject decoded = BinaryJSON.decode(BinaryJSON.encode(jsonObject));
+        Assert.assertEquals(decoded.length(), jsonObject.length());
+        for (final String key : JSONObject.getNames(jsonObject)) {
+            Assert.assertEquals(decoded.get(key), jsonObject.get(key), key);
+            Assert.assertEquals(decoded.get(key).getClass(), jsonObject.get(key).getClass(), key);
+        }
+    }
+
+    /**
+     * Strings round trip, including control characters, separators, surrogate pairs and lone surrogates
+     * (replaced by UTF-8 encoding).
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void strings() throws Exception {
+        final String emoji = new String(Character.toChars(0x1F600));
+        final JSONObject jsonObject = new JSONObject()
+                .put("", "empty key").put("empty", "").put("ascii", "</script>\"\\")
+                .put("control", "\u0000\u0001\b\t\n\r\u001f\u007f").put("separator", "\u2028\u2029")
+                .put("cjk", "中文").put("emoji", "a" + emoji + "b").put("键" + emoji, "key")
+                .put("long", new String(new char[100000]).replace('\0', 'x') + emoji);
+
+        final JSONObject decoded = BinaryJSON.decode(BinaryJSON.encode(jsonObject));
+        Assert.assertEquals(decoded.length(), jsonObject.length());
+        for (final String key : JSONObject.getNames(jsonObject)) {
+            Assert.assertEquals(decoded.getString(key), jsonObject.getString(key), key);
+        }
+
+        final JSONObject lone = BinaryJSON.decode(BinaryJSON.encode(new JSONObject().put("s", "\ud800")));
+        Assert.assertEquals(lone.getString("s"), "?");
+    }
+
+    /**
+     * Nulls, booleans and nested objects and arrays round trip.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void nested() throws Exception {
+        final JSONArray inner = new JSONArray().put(JSONObject.NULL).put(true).put(false).put(new JSONArray())
+                .put(new JSONObject()).put(7L);
+        final JSONObject jsonObject = new JSONObject()
+                .put("null", JSONObject.NULL).put("array", new JSONArray().put(inner).put(new JSONArray().put(inner)))
+                .put("object", new JSONObject().put("o", new JSONObject().put("a", inner)))
+                .put("list", Arrays.asList(1, "2")).put("ints", new int[]{3, 4});
+
+        final JSONObject decoded = BinaryJSON.decode(BinaryJSON.encode(jsonObject));
+        Assert.assertTrue(decoded.isNull("null"));
+
+        final JSONArray decodedInner = decoded.getJSONArray("array").getJSONArray(1).getJSONArray(0);
+        Assert.assertEquals(decodedInner.length(), inner.length());
+        Assert.assertTrue(decodedInner.isNull(0));
+        Assert.assertEquals(decodedInner.get(1), Boolean.TRUE);
+        Assert.assertEquals(decodedInner.get(2), Boolean.FALSE);
+        Assert.assertEquals(decodedInner.getJSONArray(3).length(), 0);
+        Assert.assertEquals(decodedInner.getJSONObject(4).length(), 0);
+        Assert.assertEquals(decodedInner.get(5), 7L);
+
+        Assert.assertEquals(decoded.getJSONObject("object").getJSONObject("o").getJSONArray("a").toString(),
+                inner.toString());
+        Assert.assertEquals(decoded.getJSONArray("list").toString(), "[1,\"2\"]");
+        Assert.assertEquals(decoded.getJSONArray("ints").toString(), "[3,4]");
+    }
+
+    /**
+     * JSON text is not binary, malformed values fail with {@link JSONException}.
+     */
+    @Test
+    public void malformed() {
+        Assert.assertFalse(BinaryJSON.isBinary(null));
+        Assert.assertFalse(BinaryJSON.isBinary(new byte[0]));
+        Assert.assertFalse(BinaryJSON.isBinary("{\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        final byte[] bytes = BinaryJSON.encode(new JSONObject().put("key", "value").put("n", 1234567L));
+        Assert.assertTrue(BinaryJSON.isBinary(bytes));
+
+        assertMalformed("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        for (int length = 1; length < bytes.length; length++) {
+            assertMalformed(Arrays.copyOf(bytes, length));
+        }
+
+        final byte[] unknownTag = Arrays.copyOf(bytes, bytes.length);
+        unknownTag[1] = 42;
+        assertMalformed(unknownTag);
+    }
+
+    /**
+     * Asserts decoding the specified bytes fails with {@link JSONException}.
+     *
+     * @param bytes the specified bytes
+     */
+    private static void assertMalformed(final byte[] bytes) {
+        try {
+            BinaryJSON.decode(bytes);
+            Assert.fail("Decoded malformed bytes " + Arrays.toString(bytes));
+        } catch (final JSONException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+
+/**
+ * {@link Captchas} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class CaptchasTestCase {
+
+    /**
+     * A challenge is accepted once and only before it expires.
+     */
+    @Test
+    public void challenge() {
+        final long now = System.currentTimeMillis();
+        Captchas.addChallenge("ab23", now);
+        Captchas.addChallenge("cd45", now);
+
+        Assert.assertFalse(Captchas.consumeChallenge("xy67", now));
+        Assert.assertTrue(Captchas.consumeChallenge("ab23", now + 1000));
+        Assert.assertFalse(Captchas.consumeChallenge("ab23", now + 1000));
+        Assert.assertFalse(Captchas.consumeChallenge("cd45", now + Captchas.CHALLENGE_TTL));
+    }
+
+    /**
+     * Challenges stay bounded, expired ones are dropped first.
+     */
+    @Test
+    public void bounded() {
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < 20000; i++) {
+            Captchas.addChallenge("old" + i, now - Captchas.CHALLENGE_TTL);
+        }
+        Captchas.addChallenge("live", now);
+
+        Assert.assertTrue(Captchas.getChallengeCount() <= 8192);
+        Assert.assertTrue(Captchas.consumeChallenge("live", now));
+    }
+
+    /**
+     * Pooled captchas are PNG images with 4 characters challenges.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void pool() throws Exception {
+        Captchas.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                final Captchas.Captcha captcha = Captchas.DEFAULT.take();
+                Assert.assertEquals(captcha.getChallenge().length(), 4);
+                Assert.assertNotNull(ImageIO.read(new ByteArrayInputStream(captcha.getPNG())));
+            }
+        } finally {
+            Captchas.stop();
+        }
+    }
+}
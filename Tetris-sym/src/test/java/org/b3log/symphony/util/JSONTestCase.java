@@ -0,0 +1,182 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+/**
+ * {@link JSONObject} and {@link JSONArray} streaming serialization test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class JSONTestCase {
+
+    /**
+     * Control characters, quotes and backslashes are escaped.
+     */
+    @Test
+    public void quoteEscapes() {
+        Assert.assertEquals(JSONObject.quote(null), "\"\"");
+        Assert.assertEquals(JSONObject.quote(""), "\"\"");
+        Assert.assertEquals(JSONObject.quote("plain"), "\"plain\"");
+        Assert.assertEquals(JSONObject.quote("a\"b\\c"), "\"a\\\"b\\\\c\"");
+        Assert.assertEquals(JSONObject.quote("\b\t\n\f\r"), "\"\\b\\t\\n\\f\\r\"");
+        Assert.assertEquals(JSONObject.quote("\u0000\u0001\u001f"), "\"\\u0000\\u0001\\u001f\"");
+        Assert.assertEquals(JSONObject.quote("\u007f\u0080\u009f\u00a0"), "\"\u007f\\u0080\\u009f\u00a0\"");
+    }
+
+    /**
+     * Only the slash of {@code </} is escaped, so that a script tag could not be closed.
+     */
+    @Test
+    public void quoteSlash() {
+        Assert.assertEquals(JSONObject.quote("</script>"), "\"<\\/script>\"");
+        Assert.assertEquals(JSONObject.quote("a/b"), "\"a/b\"");
+        Assert.assertEquals(JSONObject.quote("/"), "\"/\"");
+        Assert.assertEquals(JSONObject.quote("<</"), "\"<<\\/\"");
+    }
+
+    /**
+     * Line and paragraph separators are escaped, supplementary characters are written as is.
+     */
+    @Test
+    public void quoteUnicode() {
+        Assert.assertEquals(JSONObject.quote("a\u2028b\u2029c"), "\"a\\u2028b\\u2029c\"");
+        Assert.assertEquals(JSONObject.quote("\u20ac\u2100"), "\"\\u20ac\u2100\"");
+
+        final String emoji = new String(Character.toChars(0x1F600));
+        Assert.assertEquals(JSONObject.quote("x" + emoji + "y"), "\"x" + emoji + "y\"");
+        Assert.assertEquals(JSONObject.quote("\ud800"), "\"\ud800\"");
+    }
+
+    /**
+     * Every UTF-16 unit is quoted the same as the char by char implementation.
+     */
+    @Test
+    public void quoteAllChars() {
+        final StringBuilder all = new StringBuilder();
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            final String s = String.valueOf(c);
+            Assert.assertEquals(JSONObject.quote(s), legacyQuote(s));
+            Assert.assertEquals(JSONObject.quote("<" + s), legacyQuote("<" + s));
+
+            all.append(c);
+        }
+
+        Assert.assertEquals(JSONObject.quote(all.toString()), legacyQuote(all.toString()));
+    }
+
+    /**
+     * Writing to a writer produces the same text as {@code toString()}, and the text parses back.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void write() throws Exception {
+        final JSONObject nested = new JSONObject().put("k\u2028", "</v>").put("n", JSONObject.NULL);
+        final JSONArray array = new JSONArray().put(1).put(Long.MAX_VALUE).put(1.5D).put(new BigDecimal("0.1"))
+                .put(JSONObject.NULL).put(nested).put(new JSONArray().put("\u0000"));
+        final JSONObject jsonObject = new JSONObject().put("a", array).put("o", nested).put("b", true)
+                .put("s", "\"\\\t" + new String(Character.toChars(0x1F600)));
+
+        final StringWriter writer = new StringWriter();
+        jsonObject.write(writer);
+        Assert.assertEquals(writer.toString(), jsonObject.toString());
+
+        final StringWriter arrayWriter = new StringWriter();
+        array.write(arrayWriter);
+        Assert.assertEquals(arrayWriter.toString(), array.toString());
+        Assert.assertEquals(array.toString(),
+                "[1,9223372036854775807,1.5,0.1,null," + nested + ",[\"\\u0000\"]]");
+
+        final JSONObject parsed = new JSONObject(jsonObject.toString());
+        Assert.assertEquals(parsed.getString("s"), jsonObject.getString("s"));
+        Assert.assertEquals(parsed.getJSONObject("o").getString("k\u2028"), "</v>");
+        Assert.assertTrue(parsed.getJSONObject("o").isNull("n"));
+        Assert.assertEquals(parsed.getJSONArray("a").getLong(1), Long.MAX_VALUE);
+        Assert.assertEquals(parsed.getJSONArray("a").getJSONArray(6).getString(0), "\u0000");
+    }
+
+    /**
+     * The char by char quoting before the escape table, the reference of the expected output.
+     *
+     * @param string the specified string
+     * @return quoted string
+     */
+    private static String legacyQuote(final String string) {
+        if (string == null || string.length() == 0) {
+            return "\"\"";
+        }
+
+        char b;
+        char c = 0;
+        final StringBuilder sb = new StringBuilder(string.length() + 4);
+
+        sb.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            b = c;
+            c = string.charAt(i);
+            switch (c) {
+                case '\\':
+                case '"':
+                    sb.append('\\');
+                    sb.append(c);
+                    break;
+                case '/':
+                    if (b == '<') {
+                        sb.append('\\');
+                    }
+                    sb.append(c);
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
+                        final String t = "000" + Integer.toHexString(c);
+                        sb.append("\\u").append(t.substring(t.length() - 4));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+
+        return sb.toString();
+    }
+}
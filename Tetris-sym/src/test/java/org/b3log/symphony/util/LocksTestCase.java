@@ -0,0 +1,313 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Pointtransfer;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.EmbeddedDatabase;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.service.ArticleMgmtService;
+import org.b3log.symphony.service.PointtransferMgmtService;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Locks} test case, the point services run on an {@link EmbeddedDatabase}.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.2.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class LocksTestCase {
+
+    /**
+     * Database name.
+     */
+    private static final String DB = "locks";
+
+    /**
+     * Starts the database and the point services.
+     */
+    @BeforeClass
+    public void before() {
+        EmbeddedDatabase.start(DB);
+        EmbeddedDatabase.createTables();
+        EmbeddedDatabase.startBeans(ArticleMgmtService.class, PointtransferMgmtService.class);
+    }
+
+    /**
+     * Stops the database.
+     *
+     * @throws Exception exception
+     */
+    @AfterClass
+    public void after() throws Exception {
+        EmbeddedDatabase.stop();
+    }
+
+    /**
+     * Concurrent transfers between random users and article sticks paid by the authors never overdraw, and every
+     * balance is the initial one plus the recorded transfers.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void transfer() throws Exception {
+        final PointtransferMgmtService pointtransferMgmtService = Lifecycle.getBeanManager().getReference(PointtransferMgmtService.class);
+        final ArticleMgmtService articleMgmtService = Lifecycle.getBeanManager().getReference(ArticleMgmtService.class);
+        final UserRepository userRepository = Lifecycle.getBeanManager().getReference(UserRepository.class);
+        final ArticleRepository articleRepository = Lifecycle.getBeanManager().getReference(ArticleRepository.class);
+
+        final int userCnt = 8;
+        final int initBalance = 300;
+        final List<String> userIds = new ArrayList<>();
+        final List<String> articleIds = new ArrayList<>();
+        final Transaction transaction = userRepository.beginTransaction();
+        for (int i = 0; i < userCnt; i++) {
+            final String userId = userRepository.add(EmbeddedDatabase.record(User.USER).put(User.USER_NAME, "locks" + i)
+                    .put(UserExt.USER_POINT, initBalance));
+            userIds.add(userId);
+            articleIds.add(articleRepository.add(EmbeddedDatabase.record(Article.ARTICLE)
+                    .put(Article.ARTICLE_AUTHOR_ID, userId).put(Article.ARTICLE_TITLE, "Article " + i)));
+        }
+        transaction.commit();
+        JdbcRepository.dispose();
+
+        final int threadCnt = 8;
+        final int opCnt = 200;
+        final ExecutorService pool = Executors.newFixedThreadPool(threadCnt);
+        final CountDownLatch latch = new CountDownLatch(threadCnt);
+        for (int t = 0; t < threadCnt; t++) {
+            pool.submit(() -> {
+                try {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < opCnt; i++) {
+                        try {
+                            if (0 == random.nextInt(5)) {
+                                articleMgmtService.stick(articleIds.get(random.nextInt(userCnt)));
+                            } else {
+                                final String from = userIds.get(random.nextInt(userCnt));
+                                final String to = userIds.get(random.nextInt(userCnt));
+                                pointtransferMgmtService.transfer(from, to, Pointtransfer.TRANSFER_TYPE_C_ACCOUNT2ACCOUNT,
+                                        random.nextInt(1, 60), to, System.currentTimeMillis());
+                            }
+                        } catch (final ServiceException e) {
+                            // Insufficient balance or another article is stuck
+                        } finally {
+                            JdbcRepository.dispose();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        Assert.assertTrue(latch.await(120, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        try (final Connection connection = DriverManager.getConnection(EmbeddedDatabase.url(DB), "sa", "");
+             final Statement statement = connection.createStatement()) {
+            try (final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM symphony_pointtransfer WHERE "
+                    + Pointtransfer.FROM_BALANCE + " < 0 OR " + Pointtransfer.TO_BALANCE + " < 0")) {
+                resultSet.next();
+                Assert.assertEquals(resultSet.getInt(1), 0);
+            }
+            try (final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM symphony_pointtransfer WHERE "
+                    + Pointtransfer.TYPE + " = " + Pointtransfer.TRANSFER_TYPE_C_STICK_ARTICLE)) {
+                resultSet.next();
+                Assert.assertTrue(0 < resultSet.getInt(1), "No sticks paid");
+            }
+
+            for (final String userId : userIds) {
+                final String sql = "SELECT u." + UserExt.USER_POINT
+                        + ", (SELECT COALESCE(SUM(" + Pointtransfer.SUM + "), 0) FROM symphony_pointtransfer WHERE "
+                        + Pointtransfer.TO_ID + " = u.oId)"
+                        + ", (SELECT COALESCE(SUM(" + Pointtransfer.SUM + "), 0) FROM symphony_pointtransfer WHERE "
+                        + Pointtransfer.FROM_ID + " = u.oId)"
+                        + " FROM symphony_user u WHERE u.oId = '" + userId + "'";
+                try (final ResultSet resultSet = statement.executeQuery(sql)) {
+                    resultSet.next();
+                    final int balance = resultSet.getInt(1);
+                    Assert.assertTrue(0 <= balance, "User [" + userId + "] balance [" + balance + "]");
+                    Assert.assertEquals(balance, initBalance + resultSet.getInt(2) - resultSet.getInt(3));
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquiring a key held by another thread times out and releases the keys already acquired.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void timeout() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread holder = new Thread(() -> {
+            try (final Locks.Lease lease = Locks.lock(Locks.article("1"))) {
+                locked.countDown();
+                done.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        final long timeoutCnt = Locks.getStats().optLong("timeoutCnt");
+        try {
+            Locks.lock(100, TimeUnit.MILLISECONDS, Locks.user("2"), Locks.article("1"));
+            Assert.fail("Should time out");
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals(Locks.getStats().optLong("timeoutCnt"), timeoutCnt + 1);
+        } finally {
+            done.countDown();
+            holder.join();
+        }
+
+        final Thread other = new Thread(() -> Locks.lock(100, TimeUnit.MILLISECONDS, Locks.user("2")).close());
+        other.start();
+        other.join();
+    }
+
+    /**
+     * Tag keys are case-insensitive and leases are reentrant.
+     */
+    @Test
+    public void tags() {
+        Assert.assertEquals(Locks.tags("Java, latke,,"), new String[]{"tag-java", "tag-latke"});
+
+        try (final Locks.Lease lease = Locks.lock(Locks.tags("Java,Latke"))) {
+            try (final Locks.Lease inner = Locks.lock(Locks.tag("java"))) {
+                Assert.assertNotNull(inner);
+            }
+        }
+    }
+
+    /**
+     * Every nesting of the services succeeds whatever the keys hash to, see {@code ArticleMgmtService#addArticle},
+     * {@code #addArticleByAdmin} and {@code #updateArticle} (tags under the author or the article, then reentered by
+     * {@code tag()}), {@code #updateArticleByAdmin} (tags reentered) and the transfers under an outer lock.
+     */
+    @Test
+    public void servicePairs() {
+        final Random random = new Random(88250);
+        for (int i = 0; i < 10000; i++) {
+            final String id = String.valueOf(random.nextLong());
+            final String oldTags = "Java,Tag" + random.nextInt(), newTags = "Tag" + random.nextInt() + ",Latke";
+
+            try (final Locks.Lease outer = Locks.lock(Locks.user(id));
+                 final Locks.Lease tags = Locks.lock(Locks.tags(newTags))) {
+                Assert.assertNotNull(tags);
+            }
+            try (final Locks.Lease outer = Locks.lock(Locks.article(id));
+                 final Locks.Lease tags = Locks.lock(Locks.tags(oldTags + "," + newTags));
+                 final Locks.Lease tag = Locks.lock(Locks.tags(newTags))) {
+                Assert.assertNotNull(tag);
+            }
+            try (final Locks.Lease tags = Locks.lock(Locks.tags(oldTags + "," + newTags));
+                 final Locks.Lease tag = Locks.lock(Locks.tags(newTags))) {
+                Assert.assertNotNull(tag);
+            }
+            try (final Locks.Lease outer = Locks.lock(Locks.article(id), Locks.user(id));
+                 final Locks.Lease transfer = Locks.lock(Locks.isLocked() ? null : "pointtransfer-" + id)) {
+                Assert.assertNotNull(transfer);
+            }
+            try (final Locks.Lease outer = Locks.lock(Locks.user(id));
+                 final Locks.Lease activity = Locks.lock(Locks.user(id))) {
+                Assert.assertNotNull(activity);
+            }
+        }
+        Assert.assertFalse(Locks.isLocked());
+    }
+
+    /**
+     * Nested locking may only go inwards, tag keys under other keys, and fails at once otherwise, also if the stripes
+     * happen to be in order.
+     */
+    @Test
+    public void nested() {
+        Assert.assertFalse(Locks.isLocked());
+
+        try (final Locks.Lease lease = Locks.lock(Locks.article("1"), Locks.user("1"))) {
+            Assert.assertTrue(Locks.isLocked());
+
+            try (final Locks.Lease inner = Locks.lock(Locks.user("1"), Locks.tag("Java"), Locks.tag("Latke"))) {
+                Assert.assertNotNull(inner);
+            }
+
+            final long start = System.nanoTime();
+            try (final Locks.Lease tags = Locks.lock(Locks.tag("Java"))) {
+                Locks.lock(Locks.user("2"));
+                Assert.fail("Should fail out of order");
+            } catch (final IllegalStateException e) {
+                Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            }
+            Assert.assertTrue(Locks.isLocked());
+
+            // Only a key hashed onto a held stripe is reentered, whether the others sort after the held ones or not
+            final Random random = new Random(88250);
+            int failed = 0;
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    Locks.lock(Locks.user(String.valueOf(random.nextLong()))).close();
+                } catch (final IllegalStateException e) {
+                    failed++;
+                }
+            }
+            Assert.assertTrue(990 < failed, "Only [" + failed + "] failed");
+        }
+
+        try (final Locks.Lease tags = Locks.lock(Locks.tag("Java"))) {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    Locks.lock(Locks.tag("Tag" + i)).close();
+                    Assert.fail("Should fail under a tag key");
+                } catch (final IllegalStateException e) {
+                    Assert.assertTrue(Locks.isLocked());
+                }
+            }
+        }
+
+        Assert.assertFalse(Locks.isLocked());
+    }
+}
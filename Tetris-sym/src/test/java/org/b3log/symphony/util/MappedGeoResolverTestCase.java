@@ -0,0 +1,186 @@
+/*
+ * Symphony - A modern community (forum/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-2018,  b3log.org & hacpai.com
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * {@link MappedGeoResolver} test case.
+ *
+ * @author <a href="mailto:1755734563@qq.com">caoyy</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 2.4.0
+ */
+public class MappedGeoResolverTestCase {
+
+    /**
+     * Fixture table, unsorted on purpose.
+     */
+    private static final String FIXTURE = "# startIP,endIP,country,province,city\n"
+            + "223.0.0.0,223.255.255.255,中国,浙江,杭州\n"
+            + "1.0.1.0,1.0.3.255,中国,福建,福州\n"
+            + "\n"
+            + "1.0.8.0,1.0.15.255,中国,广东,广州\n"
+            + "8.8.8.0,8.8.8.255,美国,,\n"
+            + "255.255.255.0,255.255.255.255,保留,,\n";
+
+    /**
+     * Lookups in the fixture table, including addresses above 128.0.0.0 and gaps between ranges.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void resolve() throws Exception {
+        final MappedGeoResolver resolver = compile(FIXTURE);
+
+        final JSONObject fuzhou = resolver.resolve("1.0.2.3");
+        Assert.assertEquals(fuzhou.optString(Common.COUNTRY), "中国");
+        Assert.assertEquals(fuzhou.optString(Common.PROVINCE), "福建");
+        Assert.assertEquals(fuzhou.optString(Common.CITY), "福州");
+
+        Assert.assertEquals(resolver.resolve("1.0.1.0").optString(Common.CITY), "福州");
+        Assert.assertEquals(resolver.resolve("1.0.15.255").optString(Common.CITY), "广州");
+        Assert.assertEquals(resolver.resolve("223.5.5.5").optString(Common.CITY), "杭州");
+        Assert.assertEquals(resolver.resolve("8.8.8.8").optString(Common.COUNTRY), "美国");
+        Assert.assertEquals(resolver.resolve("8.8.8.8").optString(Common.PROVINCE), "");
+        Assert.assertEquals(resolver.resolve("255.255.255.255").optString(Common.COUNTRY), "保留");
+
+        Assert.assertNull(resolver.resolve("0.0.0.1"));
+        Assert.assertNull(resolver.resolve("1.0.4.0"));
+        Assert.assertNull(resolver.resolve("9.0.0.0"));
+        Assert.assertNull(resolver.resolve("224.0.0.0"));
+        Assert.assertNull(resolver.resolve("localhost"));
+        Assert.assertNull(resolver.resolve(""));
+        Assert.assertNull(resolver.resolve(null));
+    }
+
+    /**
+     * Generated table, lookups agree with a linear scan.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void generated() throws Exception {
+        final Random random = new Random(88250);
+        final int rangeCnt = 2000;
+        final long[][] ranges = new long[rangeCnt][];
+        final StringBuilder csv = new StringBuilder();
+        long start = 0;
+        for (int i = 0; i < rangeCnt; i++) {
+            start += 1 + random.nextInt(1 << 20);
+            final long end = start + random.nextInt(1 << 20);
+            ranges[i] = new long[]{start, end};
+            csv.append(toIP(start)).append(',').append(toIP(end)).append(",c,p").append(i % 7).append(",c").append(i).append('\n');
+            start = end;
+        }
+        final MappedGeoResolver resolver = compile(csv.toString());
+
+        for (int i = 0; i < 20000; i++) {
+            final long addr = random.nextLong() & ranges[rangeCnt - 1][1];
+            String expected = null;
+            for (int r = 0; r < rangeCnt; r++) {
+                if (ranges[r][0] <= addr && addr <= ranges[r][1]) {
+                    expected = "c" + r;
+
+                    break;
+                }
+            }
+
+            final JSONObject address = resolver.resolve(toIP(addr));
+            Assert.assertEquals(null == address ? null : address.optString(Common.CITY), expected, toIP(addr));
+        }
+    }
+
+    /**
+     * IPv4 parsing.
+     */
+    @Test
+    public void parseIPv4() {
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("0.0.0.0"), 0L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("1.2.3.4"), 0x01020304L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("255.255.255.255"), 0xFFFFFFFFL);
+
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("256.0.0.1"), -1L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("1.2.3"), -1L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("1.2.3.4.5"), -1L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("1..3.4"), -1L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("1.2.3."), -1L);
+        Assert.assertEquals(MappedGeoResolver.parseIPv4("::1"), -1L);
+    }
+
+    /**
+     * Invalid tables are rejected.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void invalid() throws Exception {
+        try {
+            compile("1.0.0.0,1.0.0.255,中国\n");
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().contains("line [1]"));
+        }
+
+        final Path file = Files.createTempFile("geo", ".txt");
+        Files.write(file, "1.0.0.0,1.0.0.255,中国,,\n".getBytes("UTF-8"));
+        try {
+            new MappedGeoResolver(file);
+            Assert.fail();
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Not a compiled"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Compiles the specified CSV table and maps it.
+     *
+     * @param csv the specified CSV table
+     * @return resolver
+     * @throws IOException io exception
+     */
+    private static MappedGeoResolver compile(final String csv) throws IOException {
+        final Path file = Files.createTempFile("geo", ".ipdb");
+        file.toFile().deleteOnExit();
+        MappedGeoResolver.compile(new BufferedReader(new StringReader(csv)), file);
+
+        return new MappedGeoResolver(file);
+    }
+
+    /**
+     * Formats the specified address.
+     *
+     * @param addr the specified address
+     * @return IPv4 address
+     */
+    private static String toIP(final long addr) {
+        return (addr >>> 24 & 0xFF) + "." + (addr >>> 16 & 0xFF) + "." + (addr >>> 8 & 0xFF) + "." + (addr & 0xFF);
+    }
+}